@@ -0,0 +1,57 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+/**
+ * Builds the logs used by the benchmarks: one power reading per minute of a device, starting on
+ * {@link #START}, with values drawn from a fixed seed so every run uses the same data.
+ */
+final class BenchmarkLogs {
+
+  static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private static final ILogFactory LOG_FACTORY = new LogFactoryImpl();
+
+  private BenchmarkLogs() {
+  }
+
+  /**
+   * Method to create the power readings of a device
+   *
+   * @param deviceID is the device the readings belong to.
+   * @param size     is the number of readings.
+   * @param seed     is the seed of the reading values.
+   * @return the readings, ordered by timestamp
+   */
+  static List<Log> powerReadings(DeviceID deviceID, int size, long seed) {
+    Random random = new Random(seed);
+    SensorID sensorID = new SensorID("sensor-" + deviceID.getID());
+    SensorTypeID sensorTypeID = new SensorTypeID("InstantPowerConsumption");
+    UnitID unitID = new UnitID("Watt");
+    List<Log> logs = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      logs.add(LOG_FACTORY.createLog(deviceID, sensorID, START.plusMinutes(i),
+          new ReadingValue(String.valueOf(random.nextInt(5000))), sensorTypeID, unitID));
+    }
+    return logs;
+  }
+}
@@ -0,0 +1,120 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import smarthome.controller.rest.ActuatorController;
+import smarthome.controller.rest.DeviceController;
+import smarthome.controller.rest.LinkTemplate;
+
+/**
+ * Per-element link of the device and actuator list endpoints, built with
+ * {@code linkTo(methodOn(...))} against expanding a link template resolved once. Each invocation
+ * links a list of {@link #ELEMENTS} elements, as a list endpoint does, and the time is reported
+ * per element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkBenchmark {
+
+  public static final int ELEMENTS = 100;
+  private static final LinkTemplate GET_DEVICE =
+      LinkTemplate.of(DeviceController.class, "getDevice", String.class);
+  private static final LinkTemplate GET_ACTUATOR =
+      LinkTemplate.of(ActuatorController.class, "getActuatorByID", String.class);
+
+  private final List<String> ids = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    for (int i = 0; i < ELEMENTS; i++) {
+      ids.add(UUID.randomUUID().toString());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public List<Link> deviceLinksWithMethodOn() {
+    List<Link> links = new ArrayList<>(ELEMENTS);
+    for (String id : ids) {
+      links.add(linkTo(methodOn(DeviceController.class).getDevice(id)).withRel("get-device")
+          .withTitle("Get Device")
+          .withType("GET"));
+    }
+    return links;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public List<Link> deviceLinksWithTemplate() {
+    String baseUri = LinkTemplate.currentBaseUri();
+    List<Link> links = new ArrayList<>(ELEMENTS);
+    for (String id : ids) {
+      links.add(GET_DEVICE.expand(baseUri, id).withRel("get-device")
+          .withTitle("Get Device")
+          .withType("GET"));
+    }
+    return links;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public List<Link> actuatorLinksWithMethodOn() {
+    List<Link> links = new ArrayList<>(ELEMENTS);
+    for (String id : ids) {
+      links.add(linkTo(methodOn(ActuatorController.class).getActuatorByID(id))
+          .withRel("get-actuator-by-id"));
+    }
+    return links;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ELEMENTS)
+  public List<Link> actuatorLinksWithTemplate() {
+    String baseUri = LinkTemplate.currentBaseUri();
+    List<Link> links = new ArrayList<>(ELEMENTS);
+    for (String id : ids) {
+      links.add(GET_ACTUATOR.expand(baseUri, id).withRel("get-actuator-by-id"));
+    }
+    return links;
+  }
+}
@@ -0,0 +1,78 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.TimeDelta;
+import smarthome.persistence.mem.DeviceRepository;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.persistence.mem.LogRollupRepository;
+import smarthome.persistence.mem.PowerPeakRepository;
+import smarthome.service.LogRollupServiceImpl;
+import smarthome.service.LogServiceImpl;
+import smarthome.service.PowerPeakServiceImpl;
+
+/**
+ * Analytics of LogServiceImpl behind /logs/peak-power-consumption and
+ * /logs/max-temperature-difference, on two devices with the given number of readings each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogAnalyticsBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  private LogServiceImpl logService;
+  private List<Log> readings1;
+  private List<Log> readings2;
+  private TimeDelta timeDelta;
+
+  @Setup
+  public void setUp() {
+    LogRepository logRepository = new LogRepository();
+    logService = new LogServiceImpl(logRepository, null, null, null, null,
+        new LogFactoryImpl(), new LogRollupServiceImpl(new LogRollupRepository(), logRepository),
+        new PowerPeakServiceImpl(new PowerPeakRepository(), logRepository,
+            new DeviceRepository()));
+    readings1 = BenchmarkLogs.powerReadings(new DeviceID("grid"), size, 1);
+    readings2 = BenchmarkLogs.powerReadings(new DeviceID("solar"), size, 2);
+    timeDelta = new TimeDelta(5);
+  }
+
+  @Benchmark
+  public int peakPowerConsumption() {
+    return logService.getPeakPowerConsumption(readings1, readings2, timeDelta);
+  }
+
+  @Benchmark
+  public int maxDifferenceWithinTimeDelta() throws Exception {
+    return logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(readings1, readings2,
+        timeDelta);
+  }
+}
@@ -0,0 +1,69 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.mapper.LogAssembler;
+import smarthome.persistence.assembler.LogDataModelAssembler;
+import smarthome.persistence.data_model.LogDataModel;
+import smarthome.utils.dto.LogDTO;
+
+/**
+ * Conversion of logs to DTOs, as done for every log a REST call returns, and of data models to
+ * logs, as done for every log a JPA repository loads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogAssemblerBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private LogAssembler logAssembler;
+  private LogDataModelAssembler logDataModelAssembler;
+  private List<Log> logs;
+  private List<LogDataModel> logDataModels;
+
+  @Setup
+  public void setUp() {
+    logAssembler = new LogAssembler();
+    logDataModelAssembler = new LogDataModelAssembler(new LogFactoryImpl());
+    logs = BenchmarkLogs.powerReadings(new DeviceID("grid"), size, 1);
+    logDataModels = logs.stream().map(LogDataModel::new).toList();
+  }
+
+  @Benchmark
+  public List<LogDTO> domainToDTO() {
+    return logAssembler.domainToDTO(logs);
+  }
+
+  @Benchmark
+  public List<Log> dataModelToDomain() {
+    return logDataModelAssembler.toDomain(logDataModels);
+  }
+}
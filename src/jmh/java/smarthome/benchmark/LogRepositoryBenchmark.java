@@ -0,0 +1,92 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import smarthome.DemoApplication;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.persistence.mem.LogRepository;
+
+/**
+ * Log queries of the in-memory repository against the Spring Data repository on the embedded H2
+ * database. Each query reads one hour of readings of a device holding the given number of logs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogRepositoryBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  @Param({"mem", "h2"})
+  public String repository;
+
+  private ConfigurableApplicationContext context;
+  private ILogRepository logRepository;
+  private DeviceID deviceID;
+  private DatePeriod lastHour;
+
+  @Setup
+  public void setUp() {
+    if (repository.equals("h2")) {
+      context = new SpringApplicationBuilder(DemoApplication.class)
+          .web(WebApplicationType.NONE)
+          .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+          .run();
+      logRepository = context.getBean(ILogRepository.class);
+    } else {
+      logRepository = new LogRepository();
+    }
+    deviceID = new DeviceID("grid");
+    List<Log> logs = BenchmarkLogs.powerReadings(deviceID, size, 1);
+    logRepository.saveAll(logs);
+    lastHour = new DatePeriod(BenchmarkLogs.START.plusMinutes(size - 60L),
+        BenchmarkLogs.START.plusMinutes(size));
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (context != null) {
+      context.close();
+    }
+  }
+
+  @Benchmark
+  public List<Log> findByDeviceIDAndDatePeriod() {
+    return logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, lastHour);
+  }
+
+  @Benchmark
+  public List<Log> findPage() {
+    return logRepository.findPageByDeviceIDAndDatePeriod(deviceID, lastHour, null, 50);
+  }
+}
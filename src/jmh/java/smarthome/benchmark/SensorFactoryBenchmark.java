@@ -0,0 +1,76 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.SensorFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.SensorName;
+import smarthome.domain.value_object.SensorTypeID;
+
+/**
+ * Creation of a sensor by SensorFactoryImpl, which reuses the constructor resolved for the model,
+ * against resolving the class and scanning its constructors on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SensorFactoryBenchmark {
+
+  private SensorFactoryImpl sensorFactory;
+  private Object[] parameters;
+
+  @Setup
+  public void setUp() {
+    sensorFactory = new SensorFactoryImpl();
+    parameters = new Object[]{new DeviceID("device1"),
+        new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor"),
+        new SensorTypeID("Temperature"), new SensorName("Temperature sensor")};
+  }
+
+  @Benchmark
+  public ISensor cachedConstructor() {
+    return sensorFactory.create(parameters);
+  }
+
+  @Benchmark
+  public ISensor reflectiveLookup() throws Exception {
+    Class<?> sensorClass = Class.forName(parameters[1].toString());
+    for (Constructor<?> constructor : sensorClass.getConstructors()) {
+      Class<?>[] parameterTypes = constructor.getParameterTypes();
+      if (parameterTypes.length != parameters.length) {
+        continue;
+      }
+      boolean match = true;
+      for (int i = 0; i < parameterTypes.length && match; i++) {
+        match = parameterTypes[i].isAssignableFrom(parameters[i].getClass());
+      }
+      if (match) {
+        return (ISensor) constructor.newInstance(parameters);
+      }
+    }
+    return null;
+  }
+}
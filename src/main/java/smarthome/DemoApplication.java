@@ -22,6 +22,8 @@ import smarthome.domain.actuator_type.ActuatorType;
 import smarthome.domain.device.Device;
 import smarthome.domain.device_type.DeviceType;
 import smarthome.domain.house.House;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
 import smarthome.domain.room.Room;
 import smarthome.domain.sensor.ISensor;
 import smarthome.domain.sensor_model.SensorModel;
@@ -67,6 +69,8 @@ import smarthome.service.ISensorTypeService;
 import smarthome.service.IUnitService;
 import smarthome.utils.ValueSimulator;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @SpringBootApplication
@@ -79,7 +83,7 @@ public class DemoApplication extends SpringBootServletInitializer {
 @Profile({"frontendtest", "docker", "demo"})
   public CommandLineRunner demo (IHouseService houseService, IRoomService roomService, IDeviceService deviceService, IDeviceTypeService deviceTypeService,
         IUnitService unitService, ISensorTypeService sensorTypeService, ISensorModelService sensorModelService, IActuatorModelService actuatorModelService, IActuatorTypeService actuatorTypeService,
-        ISensorService sensorService, IActuatorService actuatorService, ILogService logService) {
+        ISensorService sensorService, IActuatorService actuatorService, ILogService logService, ILogFactory logFactory) {
       return (args) -> {
         //House and rooms configuration
         if (houseService.getHouse().isEmpty()) {
@@ -396,20 +400,20 @@ public class DemoApplication extends SpringBootServletInitializer {
 
           /////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
           //Demo logs
-          logGeneratorForDemoPurposes(logService, bedroomThermostat.getID(), bedroomThermostatTemperatureSensor.getID(), temperature.getID(), celsiusUnit.getID(), 5, 20.0, 25.0);
-          logGeneratorForDemoPurposes(logService, kitchenThermostat.getID(), kitchenThermostatTemperatureSensor.getID(), temperature.getID(), celsiusUnit.getID(), 5, 20.0, 25.0);
-          logGeneratorForDemoPurposes(logService, gardenThermostat.getID(), gardenThermostatTemperatureSensor.getID(), temperature.getID(), celsiusUnit.getID(), 5, 20.0, 25.0);
+          logGeneratorForDemoPurposes(logService, logFactory, bedroomThermostat.getID(), bedroomThermostatTemperatureSensor.getID(), temperature.getID(), celsiusUnit.getID(), 5, 20.0, 25.0);
+          logGeneratorForDemoPurposes(logService, logFactory, kitchenThermostat.getID(), kitchenThermostatTemperatureSensor.getID(), temperature.getID(), celsiusUnit.getID(), 5, 20.0, 25.0);
+          logGeneratorForDemoPurposes(logService, logFactory, gardenThermostat.getID(), gardenThermostatTemperatureSensor.getID(), temperature.getID(), celsiusUnit.getID(), 5, 20.0, 25.0);
 
-          logGeneratorForDemoPurposes(logService, kitchenThermostat.getID(), kitchenThermostatHumiditySensor.getID(), humidity.getID(), percentUnit.getID(), 5, 60.4, 65.7);
-          logGeneratorForDemoPurposes(logService, bedroomThermostat.getID(), bedroomThermostatHumiditySensor.getID(), humidity.getID(), percentUnit.getID(), 5, 60.5, 65.8);
-          logGeneratorForDemoPurposes(logService, gardenThermostat.getID(), gardenThermostatHumiditySensor.getID(), humidity.getID(), percentUnit.getID(), 5, 50.5, 55.2);
+          logGeneratorForDemoPurposes(logService, logFactory, kitchenThermostat.getID(), kitchenThermostatHumiditySensor.getID(), humidity.getID(), percentUnit.getID(), 5, 60.4, 65.7);
+          logGeneratorForDemoPurposes(logService, logFactory, bedroomThermostat.getID(), bedroomThermostatHumiditySensor.getID(), humidity.getID(), percentUnit.getID(), 5, 60.5, 65.8);
+          logGeneratorForDemoPurposes(logService, logFactory, gardenThermostat.getID(), gardenThermostatHumiditySensor.getID(), humidity.getID(), percentUnit.getID(), 5, 50.5, 55.2);
 
 
-          logGeneratorForDemoPurposes(logService, gardenPowerMeter.getID(), gardenPowerMeterInstantPowerSensor.getID(), instantPower.getID(), wattUnit.getID(), 15, 0, 5000);
-          logGeneratorForDemoPurposes(logService, gardenPowerSource.getID(), gardenPowerSourceInstantPowerSensor.getID(), instantPower.getID(), wattUnit.getID(), 15, 0, 100);
+          logGeneratorForDemoPurposes(logService, logFactory, gardenPowerMeter.getID(), gardenPowerMeterInstantPowerSensor.getID(), instantPower.getID(), wattUnit.getID(), 15, 0, 5000);
+          logGeneratorForDemoPurposes(logService, logFactory, gardenPowerSource.getID(), gardenPowerSourceInstantPowerSensor.getID(), instantPower.getID(), wattUnit.getID(), 15, 0, 100);
 
           //Add log to blind roller device
-          logGeneratorForDemoPurposes(logService, bedroomBlindRoller.getID(), bedroomBlindRollerPercentagePositionSensor.getID(), percentagePos.getID(), percentUnit.getID(), 120, 0, 100);
+          logGeneratorForDemoPurposes(logService, logFactory, bedroomBlindRoller.getID(), bedroomBlindRollerPercentagePositionSensor.getID(), percentagePos.getID(), percentUnit.getID(), 120, 0, 100);
 
           //Add log do SunsetSunrise device
           IValueObject  sunsetTimeSensorValue= deviceSunsetTimeSensor.getValue();
@@ -422,32 +426,34 @@ public class DemoApplication extends SpringBootServletInitializer {
   }
 
 
-  private void logGeneratorForDemoPurposes(ILogService logService, DeviceID deviceID, SensorID sensorID, SensorTypeID description, UnitID unit, int timeBetweenLogsInMinutes, int min, int max) {
+  private void logGeneratorForDemoPurposes(ILogService logService, ILogFactory logFactory, DeviceID deviceID, SensorID sensorID, SensorTypeID description, UnitID unit, int timeBetweenLogsInMinutes, int min, int max) {
     // This is a demo method to generate logs for the sensors
     // This method is not part of the domain, it is only for demo purposes
     LocalDateTime now = LocalDateTime.now();
     LocalDateTime end = now.minusDays(1);
 
+    List<Log> logs = new ArrayList<>();
     for (LocalDateTime date = now; date.isAfter(end); date = date.minusMinutes(timeBetweenLogsInMinutes)) {
       int value = ValueSimulator.generateRandomValue(min, max);
-      String reading = String.valueOf(value);
-      ReadingValue readingValue = new ReadingValue(reading);
-      logService.addLog(deviceID, sensorID, date, readingValue, description, unit);
+      ReadingValue readingValue = new ReadingValue(value);
+      logs.add(logFactory.createLog(deviceID, sensorID, date, readingValue, description, unit));
     }
+    logService.addLogs(logs);
   }
-  private void logGeneratorForDemoPurposes(ILogService logService, DeviceID deviceID, SensorID sensorID, SensorTypeID description, UnitID unit, int timeBetweenLogsInMinutes, double min, double max) {
+  private void logGeneratorForDemoPurposes(ILogService logService, ILogFactory logFactory, DeviceID deviceID, SensorID sensorID, SensorTypeID description, UnitID unit, int timeBetweenLogsInMinutes, double min, double max) {
     // This is a demo method to generate logs for the sensors
     // This method is not part of the domain, it is only for demo purposes
     LocalDateTime now = LocalDateTime.now();
     LocalDateTime end = now.minusDays(1);
 
+    List<Log> logs = new ArrayList<>();
     for (LocalDateTime date = now; date.isAfter(end);
        date = date.minusMinutes(timeBetweenLogsInMinutes)) {
       double value = ValueSimulator.generateRandomValue(min, max);
-      String reading = String.valueOf(Math.round(value * 100) / 100);
-      ReadingValue readingValue = new ReadingValue(reading);
-      logService.addLog(deviceID, sensorID, date, readingValue, description, unit);
+      ReadingValue readingValue = new ReadingValue(Math.round(value * 100) / 100.0);
+      logs.add(logFactory.createLog(deviceID, sensorID, date, readingValue, description, unit));
     }
+    logService.addLogs(logs);
   }
 
   private void logGeneratorForDemoPurposes(ILogService logService, DeviceID deviceID, SensorID sensorID, SensorTypeID description, UnitID unit, IValueObject value){
@@ -16,6 +16,7 @@ import java.util.Optional;
 import smarthome.ddd.IAssembler;
 import smarthome.domain.device.Device;
 import smarthome.domain.device_type.DeviceType;
+import smarthome.domain.value_object.DeviceTypeID;
 import smarthome.service.IDeviceService;
 import smarthome.service.IDeviceTypeService;
 import smarthome.utils.Validator;
@@ -48,33 +49,24 @@ public class GetListOfAllDevicesGroupedByFunctionalityController {
 
 
   public Map<DeviceType, List<DeviceDTO>> getDevicesDTOGroupedByFunctionality() {
-    List<Device> devices = deviceService.getAllDevices();
+    Map<DeviceTypeID, List<Device>> devicesByDeviceType =
+        deviceService.getDevicesGroupedByDeviceTypeID();
 
-    if (devices.isEmpty()) {
+    if (devicesByDeviceType.isEmpty()) {
       throw new IllegalArgumentException("No devices found.");
     }
 
     Map<DeviceType, List<DeviceDTO>> devicesGroupedByFunctionality = new LinkedHashMap<>();
 
-    for (Device device : devices) {
+    for (Map.Entry<DeviceTypeID, List<Device>> entry : devicesByDeviceType.entrySet()) {
 
-      Optional<DeviceType> deviceType = deviceTypeService.getDeviceTypeByID(
-          device.getDeviceTypeID());
+      Optional<DeviceType> deviceType = deviceTypeService.getDeviceTypeByID(entry.getKey());
 
-      if (deviceType.isPresent()) {
-        DeviceType deviceTypeObj = deviceType.get();
-
-        if (devicesGroupedByFunctionality.containsKey(deviceTypeObj)) {
-          devicesGroupedByFunctionality.get(deviceTypeObj)
-              .add(deviceAssembler.domainToDTO(device));
-        } else {
-          List<DeviceDTO> newDeviceList = new ArrayList<>();
-          newDeviceList.add(deviceAssembler.domainToDTO(device));
-          devicesGroupedByFunctionality.put(deviceTypeObj, newDeviceList);
-        }
-      } else {
+      if (deviceType.isEmpty()) {
         throw new IllegalArgumentException("DeviceType not found.");
       }
+      devicesGroupedByFunctionality.put(deviceType.get(),
+          new ArrayList<>(deviceAssembler.domainToDTO(entry.getValue())));
     }
     return devicesGroupedByFunctionality;
   }
@@ -15,6 +15,7 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,7 +30,6 @@ import smarthome.ddd.IAssembler;
 import smarthome.domain.actuator.IActuator;
 import smarthome.domain.actuator.blind_roller_actuator.BlindRollerValue;
 import smarthome.utils.exceptions.NoLogRecordsFoundException;
-import smarthome.domain.log.Log;
 import smarthome.domain.value_object.ActuatorID;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.SensorTypeID;
@@ -44,6 +44,11 @@ import smarthome.utils.entry_dto.actuator_entry_dto.IActuatorEntryDTO;
 @RequestMapping("/actuators")
 public class ActuatorController {
 
+  private static final LinkTemplate GET_ACTUATOR =
+      LinkTemplate.of(ActuatorController.class, "getActuatorByID", String.class);
+  private static final LinkTemplate GET_ACTUATORS =
+      LinkTemplate.of(ActuatorController.class, "getAllActuators");
+
   private final IActuatorService actuatorService;
   private final IAssembler<IActuator, ActuatorDTO> actuatorAssembler;
   private final ILogService logService;
@@ -106,25 +111,21 @@ public class ActuatorController {
   public ResponseEntity<CollectionModel<EntityModel<ActuatorDTO>>> getAllActuators() {
     List<IActuator> actuators = actuatorService.getAllActuators();
     List<ActuatorDTO> actuatorDTOs = actuatorAssembler.domainToDTO(actuators);
+    String baseUri = LinkTemplate.currentBaseUri();
 
     // Transform each ActuatorDTO into EntityModel<ActuatorDTO>
     List<EntityModel<ActuatorDTO>> resources =
         actuatorDTOs.stream()
             .map(
                 actuatorDTO -> {
-                  WebMvcLinkBuilder linkToActuator =
-                      WebMvcLinkBuilder.linkTo(
-                          WebMvcLinkBuilder.methodOn(ActuatorController.class)
-                              .getActuatorByID(actuatorDTO.id));
+                  Link linkToActuator = GET_ACTUATOR.expand(baseUri, actuatorDTO.id);
 
                   return EntityModel.of(actuatorDTO, linkToActuator.withRel("get-actuator-by-id"));
                 })
             .collect(Collectors.toList());
 
     // Link to the collection itself
-    WebMvcLinkBuilder linkToSelf =
-        WebMvcLinkBuilder.linkTo(
-            WebMvcLinkBuilder.methodOn(ActuatorController.class).getAllActuators());
+    Link linkToSelf = GET_ACTUATORS.expand(baseUri);
 
     // Creating CollectionModel containing all EntityModel<ActuatorDTO>
     CollectionModel<EntityModel<ActuatorDTO>> collectionModel =
@@ -189,10 +190,9 @@ public class ActuatorController {
             WebMvcLinkBuilder.methodOn(ActuatorController.class)
                 .getActuatorsByDeviceID(strDeviceID));
 
+    String baseUri = LinkTemplate.currentBaseUri();
     for (ActuatorDTO actuatorDTO : actuatorDTOs) {
-      WebMvcLinkBuilder linkToActuator =
-          WebMvcLinkBuilder.linkTo(
-              WebMvcLinkBuilder.methodOn(ActuatorController.class).getActuatorByID(actuatorDTO.id));
+      Link linkToActuator = GET_ACTUATOR.expand(baseUri, actuatorDTO.id);
 
       EntityModel<ActuatorDTO> resource =
           EntityModel.of(
@@ -226,11 +226,7 @@ public class ActuatorController {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
     }
 
-    List<Log> logRecords =
-        logService.getDeviceReadingsByDeviceIDAndSensorTypeID(deviceID, sensorTypeID);
-    int index = logRecords.size();
-
-    if (index == 0) {
+    if (logService.getLatestReading(deviceID, sensorTypeID).isEmpty()) {
       throw new NoLogRecordsFoundException(
           "No log records found for the specified device and sensor type.");
     }
@@ -12,6 +12,7 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,18 +45,27 @@ import smarthome.service.IDeviceTypeService;
 import smarthome.utils.dto.DeviceDTO;
 import smarthome.utils.dto.DeviceTypeDTO;
 import smarthome.utils.entry_dto.DeviceEntryDTO;
-import smarthome.utils.entry_dto.actuator_entry_dto.ActuatorGenericDataDTOImp;
-import smarthome.utils.entry_dto.actuator_entry_dto.ActuatorWithDecimalLimitsEntryDTOImp;
-import smarthome.utils.entry_dto.actuator_entry_dto.ActuatorWithIntegerLimitsEntryDTOImp;
-import smarthome.utils.entry_dto.sensor_entry_dto.SensorGenericEntryDTOImp;
-import smarthome.utils.entry_dto.sensor_entry_dto.SensorWithDateEntryDTOImp;
-import smarthome.utils.entry_dto.sensor_entry_dto.SensorWithGPSEntryDTOImp;
+import smarthome.utils.entry_dto.actuator_entry_dto.IActuatorEntryDTO;
+import smarthome.utils.entry_dto.sensor_entry_dto.ISensorEntryDTO;
 
 /** Class representing a REST controller for operations related to devices in the smart home. */
 @RestController
 @RequestMapping("/devices")
 public class DeviceController {
 
+  private static final LinkTemplate ADD_DEVICE =
+      LinkTemplate.of(DeviceController.class, "addDevice", DeviceEntryDTO.class);
+  private static final LinkTemplate GET_DEVICE =
+      LinkTemplate.of(DeviceController.class, "getDevice", String.class);
+  private static final LinkTemplate LIST_DEVICES =
+      LinkTemplate.of(DeviceController.class, "listDevices");
+  private static final LinkTemplate DEACTIVATE_DEVICE =
+      LinkTemplate.of(DeviceController.class, "deactivateDevice", String.class);
+  private static final LinkTemplate ADD_ACTUATOR =
+      LinkTemplate.of(ActuatorController.class, "addActuator", IActuatorEntryDTO.class);
+  private static final LinkTemplate ADD_SENSOR =
+      LinkTemplate.of(SensorController.class, "addSensor", ISensorEntryDTO.class);
+
   private final IDeviceService deviceService;
   private final IAssembler<Device, DeviceDTO> deviceAssembler;
   private final IDeviceTypeService deviceTypeService;
@@ -97,40 +107,14 @@ public class DeviceController {
 
     DeviceDTO deviceDTO = deviceAssembler.domainToDTO(device);
 
-    Link selfLink = linkTo(methodOn(DeviceController.class).addDevice(data)).withRel("self")
+    String baseUri = LinkTemplate.currentBaseUri();
+    List<Link> links = new ArrayList<>();
+    links.add(ADD_DEVICE.expand(baseUri).withRel("self")
         .withTitle("Add Device")
-        .withType("POST");
-
-    // Links to addActuator method in ActuatorController
-    Link addGenericActuatorLink = linkTo(methodOn(ActuatorController.class).addActuator(new ActuatorGenericDataDTOImp())).withRel("add-actuator")
-        .withTitle("Add Generic Actuator")
-        .withType("POST");
-
-    Link addIntegerActuatorLink = linkTo(methodOn(ActuatorController.class).addActuator(new ActuatorWithIntegerLimitsEntryDTOImp())).withRel("add-actuator")
-        .withTitle("Add Set Integer Actuator")
-        .withType("POST");
-
-    Link addDecimalActuatorLink = linkTo(methodOn(ActuatorController.class).addActuator(new ActuatorWithDecimalLimitsEntryDTOImp())).withRel("add-actuator")
-        .withTitle("Add Set Decimal Actuator")
-        .withType("POST");
-
+        .withType("POST"));
+    links.addAll(addComponentLinks(baseUri));
 
-    // Links to addSensor method in SensorController
-    Link addGenericSensorLink = linkTo(methodOn(SensorController.class).addSensor(new SensorGenericEntryDTOImp())).withRel("add-sensor")
-        .withTitle("Add Generic Sensor")
-        .withType("POST");
-
-    Link addGpsSensorLink = linkTo(methodOn(SensorController.class).addSensor(new SensorWithGPSEntryDTOImp())).withRel("add-sensor")
-        .withTitle("Add GPS Sensor")
-        .withType("POST");
-
-    Link addDateSensorLink = linkTo(methodOn(SensorController.class).addSensor(new SensorWithDateEntryDTOImp())).withRel("add-sensor")
-        .withTitle("Add Date Sensor")
-        .withType("POST");
-
-    EntityModel<DeviceDTO> resource =
-        EntityModel.of(
-            deviceDTO, selfLink, addGenericActuatorLink, addIntegerActuatorLink, addDecimalActuatorLink, addGenericSensorLink, addGpsSensorLink, addDateSensorLink);
+    EntityModel<DeviceDTO> resource = EntityModel.of(deviceDTO, links);
 
     return ResponseEntity.status(HttpStatus.CREATED).body(resource);
   }
@@ -153,47 +137,19 @@ public class DeviceController {
     }
     DeviceDTO deviceDTO = deviceAssembler.domainToDTO(device.get());
 
+    String baseUri = LinkTemplate.currentBaseUri();
+    List<Link> links = new ArrayList<>();
     // Link to self
-    Link selfLink =
-        linkTo(methodOn(DeviceController.class).getDevice(id))
-            .withRel("self")
-            .withTitle("Get Device")
-            .withType("GET");
-
-    Link deactivateDeviceLink = linkTo(methodOn(DeviceController.class).deactivateDevice(id)).withRel("deactivate-device")
+    links.add(GET_DEVICE.expand(baseUri, id)
+        .withRel("self")
+        .withTitle("Get Device")
+        .withType("GET"));
+    links.add(DEACTIVATE_DEVICE.expand(baseUri, id).withRel("deactivate-device")
         .withTitle("Deactivate Device")
-        .withType("PUT");
-
-    // Links to addActuator method in ActuatorController
-    Link addGenericActuatorLink = linkTo(methodOn(ActuatorController.class).addActuator(new ActuatorGenericDataDTOImp())).withRel("add-actuator")
-            .withTitle("Add Generic Actuator")
-            .withType("POST");
-
-    Link addIntegerActuatorLink = linkTo(methodOn(ActuatorController.class).addActuator(new ActuatorWithIntegerLimitsEntryDTOImp())).withRel("add-actuator")
-            .withTitle("Add Set Integer Actuator")
-            .withType("POST");
-
-    Link addDecimalActuatorLink = linkTo(methodOn(ActuatorController.class).addActuator(new ActuatorWithDecimalLimitsEntryDTOImp())).withRel("add-actuator")
-            .withTitle("Add Set Decimal Actuator")
-            .withType("POST");
-
-
-    // Links to addSensor method in SensorController
-    Link addGenericSensorLink = linkTo(methodOn(SensorController.class).addSensor(new SensorGenericEntryDTOImp())).withRel("add-sensor")
-        .withTitle("Add Generic Sensor")
-        .withType("POST");
-
-    Link addGpsSensorLink = linkTo(methodOn(SensorController.class).addSensor(new SensorWithGPSEntryDTOImp())).withRel("add-sensor")
-        .withTitle("Add GPS Sensor")
-        .withType("POST");
-
-    Link addDateSensorLink = linkTo(methodOn(SensorController.class).addSensor(new SensorWithDateEntryDTOImp())).withRel("add-sensor")
-        .withTitle("Add Date Sensor")
-        .withType("POST");
+        .withType("PUT"));
+    links.addAll(addComponentLinks(baseUri));
 
-
-    EntityModel<DeviceDTO> entityModel =
-        EntityModel.of(deviceDTO, selfLink, deactivateDeviceLink, addGenericActuatorLink, addIntegerActuatorLink, addDecimalActuatorLink, addGenericSensorLink, addGpsSensorLink, addDateSensorLink);
+    EntityModel<DeviceDTO> entityModel = EntityModel.of(deviceDTO, links);
 
     return ResponseEntity.ok(entityModel);
   }
@@ -205,14 +161,10 @@ public class DeviceController {
 
     List<DeviceDTO> deviceDTOs = deviceAssembler.domainToDTO(devices);
 
-    for (DeviceDTO deviceDTO : deviceDTOs) {
-      Link getDeviceLink = linkTo(methodOn(DeviceController.class).getDevice(deviceDTO.deviceID)).withRel("get-device")
-          .withTitle("Get Device")
-          .withType("GET");
-      deviceDTO.add(getDeviceLink);
-    }
+    String baseUri = LinkTemplate.currentBaseUri();
+    addGetDeviceLinks(deviceDTOs, baseUri);
 
-    Link selfLink = linkTo(methodOn(DeviceController.class).listDevices()).withRel("self")
+    Link selfLink = LIST_DEVICES.expand(baseUri).withRel("self")
         .withTitle("Get All Devices")
         .withType("GET");
 
@@ -236,7 +188,7 @@ public class DeviceController {
 
     DeviceDTO deviceDTO = deviceAssembler.domainToDTO(deactivatedDevice);
 
-    Link selfLink = linkTo(methodOn(DeviceController.class).deactivateDevice(id)).withRel("self")
+    Link selfLink = DEACTIVATE_DEVICE.expand(LinkTemplate.currentBaseUri(), id).withRel("self")
         .withTitle("Deactivate Device")
         .withType("PUT");
 
@@ -249,9 +201,11 @@ public class DeviceController {
   @GetMapping("/grouped")
   public Map<DeviceTypeDTO, List<DeviceDTO>> getAllDevicesGroupedByFunctionality() {
     List<DeviceType> deviceTypes = deviceTypeService.getAllDeviceTypes();
+    Map<DeviceTypeID, List<Device>> devicesByDeviceType =
+        deviceService.getDevicesGroupedByDeviceTypeID();
     Map<DeviceTypeDTO, List<DeviceDTO>> devicesGroupedByFunctionality = new LinkedHashMap<>();
     for (DeviceType deviceType : deviceTypes) {
-      List<Device> devices = deviceService.getDevicesByDeviceTypeID(deviceType.getID());
+      List<Device> devices = devicesByDeviceType.getOrDefault(deviceType.getID(), List.of());
       DeviceTypeDTO deviceTypeDTO = deviceTypeAssembler.domainToDTO(deviceType);
       List<DeviceDTO> deviceDTOs = deviceAssembler.domainToDTO(devices);
       devicesGroupedByFunctionality.put(deviceTypeDTO, deviceDTOs);
@@ -288,12 +242,7 @@ public class DeviceController {
           .toList();
     }
 
-    for (DeviceDTO deviceDTO : deviceDTOs) {
-      Link getDeviceLink = linkTo(methodOn(DeviceController.class).getDevice(deviceDTO.deviceID)).withRel("get-device")
-          .withTitle("Get Device")
-          .withType("GET");
-      deviceDTO.add(getDeviceLink);
-    }
+    addGetDeviceLinks(deviceDTOs, LinkTemplate.currentBaseUri());
 
     Link selfLink = linkTo(methodOn(DeviceController.class).listDevices(roomIdStr,
         deviceTypeIdStr)).withRel("self")
@@ -304,4 +253,29 @@ public class DeviceController {
     return ResponseEntity.ok(resource);
   }
 
+  /**
+   * Method to add to each device the link to get it.
+   */
+  private static void addGetDeviceLinks(List<DeviceDTO> deviceDTOs, String baseUri) {
+    for (DeviceDTO deviceDTO : deviceDTOs) {
+      deviceDTO.add(GET_DEVICE.expand(baseUri, deviceDTO.deviceID).withRel("get-device")
+          .withTitle("Get Device")
+          .withType("GET"));
+    }
+  }
+
+  /**
+   * Method to get the links to add actuators and sensors to a device.
+   */
+  private static List<Link> addComponentLinks(String baseUri) {
+    Link addActuatorLink = ADD_ACTUATOR.expand(baseUri).withRel("add-actuator").withType("POST");
+    Link addSensorLink = ADD_SENSOR.expand(baseUri).withRel("add-sensor").withType("POST");
+    return List.of(
+        addActuatorLink.withTitle("Add Generic Actuator"),
+        addActuatorLink.withTitle("Add Set Integer Actuator"),
+        addActuatorLink.withTitle("Add Set Decimal Actuator"),
+        addSensorLink.withTitle("Add Generic Sensor"),
+        addSensorLink.withTitle("Add GPS Sensor"),
+        addSensorLink.withTitle("Add Date Sensor"));
+  }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * URI template of a controller method, such as /devices/{id}, read from its request mappings once,
+ * when the controller class is loaded. Expanding it only encodes the path variables and joins them
+ * to the parts of the template, where {@code linkTo(methodOn(...))} creates a proxy of the
+ * controller and introspects the method for each link.
+ * <p>
+ * The links are absolute, like the ones of {@code linkTo}: the base URI of the current request is
+ * read once per response with {@link #currentBaseUri()} and given to each expansion.
+ */
+public class LinkTemplate {
+
+  private static final Pattern VARIABLE = Pattern.compile("\\{([^}]+)}");
+
+  private final String template;
+  private final List<String> parts = new ArrayList<>();
+  private final List<String> variables = new ArrayList<>();
+
+  private LinkTemplate(String template) {
+    this.template = template;
+    Matcher matcher = VARIABLE.matcher(template);
+    int end = 0;
+    while (matcher.find()) {
+      parts.add(template.substring(end, matcher.start()));
+      variables.add(matcher.group(1));
+      end = matcher.end();
+    }
+    parts.add(template.substring(end));
+  }
+
+  /**
+   * Method to get the template of a controller method, from the request mappings of its class and
+   * of the method
+   *
+   * @param controller     is the controller class.
+   * @param method         is the name of the method.
+   * @param parameterTypes are the parameter types of the method.
+   * @return the template.
+   * @throws IllegalArgumentException if the method does not exist or is not mapped.
+   */
+  public static LinkTemplate of(Class<?> controller, String method, Class<?>... parameterTypes) {
+    Method handler;
+    try {
+      handler = controller.getMethod(method, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalArgumentException("Method " + method + " not found", e);
+    }
+    RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(handler,
+        RequestMapping.class);
+    if (mapping == null) {
+      throw new IllegalArgumentException("Method " + method + " is not mapped");
+    }
+    return new LinkTemplate(pathOf(AnnotatedElementUtils.findMergedAnnotation(controller,
+        RequestMapping.class)) + pathOf(mapping));
+  }
+
+  /**
+   * Method to get the base URI of the current request, which the links are relative to
+   *
+   * @return the base URI, such as http://localhost:8080.
+   */
+  public static String currentBaseUri() {
+    return ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+  }
+
+  /**
+   * Method to get the link of the template with the given values of its variables
+   *
+   * @param baseUri is the base URI of the current request.
+   * @param values  are the values of the variables, in the order of the template.
+   * @return the link.
+   * @throws IllegalArgumentException if the number of values is not the number of variables.
+   */
+  public Link expand(String baseUri, Object... values) {
+    if (values.length != variables.size()) {
+      throw new IllegalArgumentException("Template " + template + " takes " + variables.size()
+          + " values");
+    }
+    StringBuilder href = new StringBuilder(baseUri).append(parts.get(0));
+    for (int i = 0; i < values.length; i++) {
+      href.append(UriUtils.encodePathSegment(String.valueOf(values[i]), StandardCharsets.UTF_8))
+          .append(parts.get(i + 1));
+    }
+    return Link.of(href.toString());
+  }
+
+  @Override
+  public String toString() {
+    return template;
+  }
+
+  private static String pathOf(RequestMapping mapping) {
+    return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+  }
+}
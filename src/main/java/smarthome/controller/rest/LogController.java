@@ -8,47 +8,121 @@
 
 package smarthome.controller.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import smarthome.ddd.IAssembler;
-import smarthome.domain.device.Device;
 import smarthome.utils.exceptions.NoLogRecordsFoundException;
+import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
+import smarthome.domain.log_rollup.LogRollup;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
-import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.ReadingStatistics;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TimeDelta;
-import smarthome.service.IDeviceService;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILiveReadingService;
+import smarthome.service.LiveReadingSubscription;
+import smarthome.service.ILogRollupService;
 import smarthome.service.ILogService;
+import smarthome.service.IPowerPeakService;
+import smarthome.utils.Validator;
 import smarthome.utils.dto.LogDTO;
+import smarthome.utils.dto.LogPageDTO;
+import smarthome.utils.dto.LogRollupDTO;
+import smarthome.utils.dto.ReadingStatisticsDTO;
+import smarthome.utils.entry_dto.LogBatchEntryDTO;
+import smarthome.utils.entry_dto.LogReadingEntryDTO;
 
 @RestController
 @RequestMapping("/logs")
 public class LogController {
 
   private final ILogService logService;
-  private static final Integer PEAK_POWER_CONSUMPTION_TIME_DELTA = 15;
   private final IAssembler<Log, LogDTO> logAssembler;
-  private final IDeviceService deviceService;
+  private final IPowerPeakService powerPeakService;
+  private final ILogFactory logFactory;
+  private final ILogRollupService logRollupService;
+  private final IAssembler<LogRollup, LogRollupDTO> logRollupAssembler;
+  private final ObjectMapper objectMapper;
+  private final ILiveReadingService liveReadingService;
+  private static final String AUTO_RESOLUTION = "auto";
+  private static final String NDJSON = "application/x-ndjson";
+  private static final long LIVE_TIMEOUT_MILLIS = 30 * 60 * 1000L;
   /**
    * Constructor
    */
   @Autowired
   public LogController(ILogService logService, IAssembler<Log, LogDTO> logAssembler,
-      IDeviceService deviceService) {
+      IPowerPeakService powerPeakService, ILogFactory logFactory,
+      ILogRollupService logRollupService, IAssembler<LogRollup, LogRollupDTO> logRollupAssembler,
+      ObjectMapper objectMapper, ILiveReadingService liveReadingService) {
     this.logService = logService;
     this.logAssembler = logAssembler;
-    this.deviceService = deviceService;
+    this.powerPeakService = powerPeakService;
+    this.logFactory = logFactory;
+    this.logRollupService = logRollupService;
+    this.logRollupAssembler = logRollupAssembler;
+    this.objectMapper = objectMapper;
+    this.liveReadingService = liveReadingService;
+  }
+
+  /**
+   * Method to add a batch of readings in a single request. The readings are saved together: if
+   * one of them is invalid, none is saved, and an empty batch is rejected.
+   *
+   * @param logBatchEntryDTO is the batch of readings.
+   * @return the saved logs.
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<List<LogDTO>> addLogs(@RequestBody LogBatchEntryDTO logBatchEntryDTO) {
+    Validator.validateNotNull(logBatchEntryDTO.readings, "Readings");
+    try {
+      List<Log> logs = new ArrayList<>(logBatchEntryDTO.readings.size());
+      for (LogReadingEntryDTO reading : logBatchEntryDTO.readings) {
+        Validator.validateNotNull(reading, "Reading");
+        Validator.validateNotNull(reading.timestamp, "Timestamp");
+        logs.add(logFactory.createLog(
+            DeviceID.of(reading.deviceID),
+            SensorID.of(reading.sensorID),
+            LocalDateTime.parse(reading.timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+            new ReadingValue(reading.reading),
+            SensorTypeID.of(reading.sensorTypeID),
+            UnitID.of(reading.unitID)));
+      }
+      List<Log> savedLogs = logService.addLogs(logs);
+      return ResponseEntity.status(HttpStatus.CREATED).body(logAssembler.domainToDTO(savedLogs));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
   }
 
   /**
@@ -67,7 +141,7 @@ public class LogController {
       LocalDateTime start = LocalDateTime.parse(timeStart, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
       LocalDateTime end = LocalDateTime.parse(timeEnd, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
       DatePeriod period = new DatePeriod(start, end);
-      DeviceID deviceIDObj = new DeviceID(deviceID);
+      DeviceID deviceIDObj = DeviceID.of(deviceID);
       List<Log> logs = logService.getDeviceReadingsByTimePeriod(deviceIDObj, period);
       return ResponseEntity.ok(logAssembler.domainToDTO(logs));
     } catch (DateTimeParseException e) {
@@ -75,6 +149,184 @@ public class LogController {
     }
   }
 
+  /**
+   * Method to get Device Log (Readings) by Time Period one page at a time. Each page ends with the
+   * cursor of the next one, which is only absent on the last page.
+   *
+   * @param deviceID  is the device id.
+   * @param timeStart is the start time.
+   * @param timeEnd   is the end time.
+   * @param cursor    is the cursor returned with the previous page, absent for the first page.
+   * @param limit     is the maximum number of readings of the page.
+   * @return the page of readings.
+   */
+  @GetMapping("/page")
+  public ResponseEntity<LogPageDTO> getDeviceReadingsPageByTimePeriod(
+      @RequestParam String deviceID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "500") int limit) {
+    try {
+      DatePeriod period = parseDatePeriod(timeStart, timeEnd);
+      LogCursor after = cursor == null ? null : LogCursor.decode(cursor);
+      List<Log> logs = logService.getDeviceReadingsPage(DeviceID.of(deviceID), period, after,
+          limit);
+      String nextCursor =
+          logs.size() == limit ? LogCursor.of(logs.get(logs.size() - 1)).encode() : null;
+      return ResponseEntity.ok(new LogPageDTO(logAssembler.domainToDTO(logs), nextCursor));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Method to stream Device Log (Readings) by Time Period as newline delimited JSON. Each reading
+   * is written to the response as soon as it is read from the database, so long periods do not
+   * have to fit in memory.
+   *
+   * @param deviceID  is the device id.
+   * @param timeStart is the start time.
+   * @param timeEnd   is the end time.
+   * @return the readings, one JSON object per line.
+   */
+  @GetMapping(value = "/stream", produces = NDJSON)
+  public ResponseEntity<StreamingResponseBody> streamDeviceReadingsByTimePeriod(
+      @RequestParam String deviceID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd) {
+    try {
+      DatePeriod period = parseDatePeriod(timeStart, timeEnd);
+      DeviceID deviceIDObj = DeviceID.of(deviceID);
+      StreamingResponseBody body = outputStream -> {
+        OutputStream out = new BufferedOutputStream(outputStream);
+        logService.forEachDeviceReadingByTimePeriod(deviceIDObj, period,
+            log -> writeLine(out, logAssembler.domainToDTO(log)));
+        out.flush();
+      };
+      return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Method to receive the readings as they are added, as Server-Sent Events named "reading". Only
+   * new readings are sent; a client that reads slowly gets the latest reading of each sensor
+   * instead of every one it missed. The stream ends after 30 minutes, and the browser EventSource
+   * reconnects on its own.
+   *
+   * @param deviceID     is the device id, absent for every device.
+   * @param sensorTypeID is the sensor type id, absent for every sensor type.
+   * @return the event stream.
+   */
+  @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamLiveReadings(
+      @RequestParam(required = false) String deviceID,
+      @RequestParam(required = false) String sensorTypeID) {
+    SseEmitter emitter = new SseEmitter(LIVE_TIMEOUT_MILLIS);
+    LiveReadingSubscription subscription = liveReadingService.subscribe(
+        deviceID == null ? null : DeviceID.of(deviceID),
+        sensorTypeID == null ? null : SensorTypeID.of(sensorTypeID),
+        log -> sendEvent(emitter, logAssembler.domainToDTO(log)));
+    emitter.onCompletion(subscription::close);
+    emitter.onTimeout(subscription::close);
+    emitter.onError(e -> subscription.close());
+    return emitter;
+  }
+
+  /**
+   * Method to get the readings of a device over a time period summarized per time bucket (count,
+   * minimum, maximum and average per sensor), instead of every raw reading.
+   *
+   * @param deviceID   is the device id.
+   * @param timeStart  is the start time.
+   * @param timeEnd    is the end time.
+   * @param resolution is the bucket width (1m, 15m, 1h or 1d), or "auto" to choose the finest one
+   *                   that covers the period in at most maxPoints buckets.
+   * @param maxPoints  is the point budget used by the automatic resolution.
+   * @return the rollups of the device, in bucket order.
+   */
+  @GetMapping(params = "resolution")
+  public ResponseEntity<List<LogRollupDTO>> getDeviceReadingRollupsByTimePeriod(
+      @RequestParam String deviceID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd,
+      @RequestParam String resolution,
+      @RequestParam(defaultValue = "500") int maxPoints) {
+    try {
+      LocalDateTime start = LocalDateTime.parse(timeStart, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+      LocalDateTime end = LocalDateTime.parse(timeEnd, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+      DatePeriod period = new DatePeriod(start, end);
+      DeviceID deviceIDObj = DeviceID.of(deviceID);
+      RollupResolution rollupResolution = AUTO_RESOLUTION.equalsIgnoreCase(resolution)
+          ? RollupResolution.forPointBudget(period, maxPoints)
+          : RollupResolution.fromToken(resolution);
+      List<LogRollup> rollups = logRollupService.getRollups(deviceIDObj, period, rollupResolution);
+      return ResponseEntity.ok(logRollupAssembler.domainToDTO(rollups));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Method to rebuild the rollups of a device for the whole days of a time period from its logs,
+   * replacing the stored ones, for instance after importing logs directly into the database.
+   *
+   * @param deviceID  is the device id.
+   * @param timeStart is the start time.
+   * @param timeEnd   is the end time.
+   * @return the rebuilt rollups of the device.
+   */
+  @PostMapping("/rollups/rebuild")
+  public ResponseEntity<List<LogRollupDTO>> rebuildDeviceReadingRollups(
+      @RequestParam String deviceID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd) {
+    try {
+      DatePeriod period = parseDatePeriod(timeStart, timeEnd);
+      List<LogRollup> rollups = logRollupService.rebuildRollups(DeviceID.of(deviceID), period);
+      return ResponseEntity.ok(logRollupAssembler.domainToDTO(rollups));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Method to get the statistics (count, minimum, maximum, average and percentiles) of the numeric
+   * readings of a device for a sensor type over a time period. They are computed where the logs
+   * are stored; the readings themselves are not returned.
+   *
+   * @param deviceID     is the device id.
+   * @param sensorTypeID is the sensor type id.
+   * @param timeStart    is the start time, included.
+   * @param timeEnd      is the end time, included.
+   * @param percentiles  are the percentiles to compute, between 0 and 100.
+   * @return the statistics of the readings.
+   */
+  @GetMapping("/stats")
+  public ResponseEntity<ReadingStatisticsDTO> getDeviceReadingStatisticsByTimePeriod(
+      @RequestParam String deviceID,
+      @RequestParam String sensorTypeID,
+      @RequestParam String timeStart,
+      @RequestParam String timeEnd,
+      @RequestParam(defaultValue = "") List<Double> percentiles) {
+    try {
+      DatePeriod period = parseDatePeriod(timeStart, timeEnd);
+      ReadingStatistics statistics = logService.getReadingStatistics(DeviceID.of(deviceID),
+          SensorTypeID.of(sensorTypeID), period, percentiles);
+      Map<String, Double> percentileValues = new LinkedHashMap<>();
+      statistics.getPercentiles().forEach((percentile, value) -> percentileValues.put(
+          "p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(), value));
+      return ResponseEntity.ok(new ReadingStatisticsDTO(deviceID, sensorTypeID, timeStart, timeEnd,
+          statistics.getCount(), statistics.isEmpty() ? null : statistics.getMin(),
+          statistics.isEmpty() ? null : statistics.getMax(),
+          statistics.isEmpty() ? null : statistics.getAverage(), percentileValues));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   /**
    * Get the maximum instantaneous temperature difference between a device and the outside.
    *
@@ -91,9 +343,9 @@ public class LogController {
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime initialTime,
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime finalTime,
       @RequestParam int timeDelta) throws Exception {
-    DeviceID insideDeviceID = new DeviceID(outsideDeviceIDStr);
-    DeviceID outsideDeviceID = new DeviceID(insideDeviceIDStr);
-    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    DeviceID insideDeviceID = DeviceID.of(outsideDeviceIDStr);
+    DeviceID outsideDeviceID = DeviceID.of(insideDeviceIDStr);
+    SensorTypeID sensorTypeID = SensorTypeID.of("Temperature");
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
 
     /* Get readings for the inside and outside devices */
@@ -112,27 +364,8 @@ public class LogController {
   public ResponseEntity<Integer> getMaxPowerConsumption(
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime initialTime,
       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime finalTime) {
-    TimeDelta timeDeltaInMinutes = new TimeDelta(PEAK_POWER_CONSUMPTION_TIME_DELTA);
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
-    DeviceTypeID powerMeterDevices = new DeviceTypeID("PowerMeter");
-    DeviceTypeID powerSourceDevices = new DeviceTypeID("PowerSource");
-    SensorTypeID sensorTypeID = new SensorTypeID("InstantPowerConsumption");
-
-    List<Device> powerMeterDevicesList = deviceService.getDevicesByDeviceTypeID(powerMeterDevices);
-    List<Device> powerSourceDevicesList = deviceService.getDevicesByDeviceTypeID(
-        powerSourceDevices);
-
-    List<Log> powerMeterReadings = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(
-        powerMeterDevicesList, datePeriod,
-        sensorTypeID);
-    List<Log> powerSourceReadings = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(
-        powerSourceDevicesList, datePeriod,
-        sensorTypeID);
-
-    Integer maxPowerConsumption = logService.getPeakPowerConsumption(powerMeterReadings,
-        powerSourceReadings, timeDeltaInMinutes);
-
-    return ResponseEntity.ok(maxPowerConsumption);
+    return ResponseEntity.ok(powerPeakService.getPeakPowerConsumption(datePeriod));
   }
 
   /**
@@ -143,18 +376,36 @@ public class LogController {
   @GetMapping("/get-position-blindRoller")
   public ResponseEntity<Integer> getPositionBlindRoller(
       @RequestParam String deviceID) {
-    DeviceID deviceIDObj = new DeviceID(deviceID);
-    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
-    List<Log> logRecords = logService.getDeviceReadingsByDeviceIDAndSensorTypeID(deviceIDObj,
-        sensorTypeID);
-    int index = logRecords.size();
-
-    if (index == 0) {
-      throw new NoLogRecordsFoundException(
-          "No log records found for the specified device and sensor type.");
-    }
-    String value = logRecords.get(index - 1).getReadingValue().getValue();
-    int currentValueInt = Integer.parseInt(value);
+    DeviceID deviceIDObj = DeviceID.of(deviceID);
+    SensorTypeID sensorTypeID = SensorTypeID.of("PercentagePosition");
+    Log latestReading = logService.getLatestReading(deviceIDObj, sensorTypeID)
+        .orElseThrow(() -> new NoLogRecordsFoundException(
+            "No log records found for the specified device and sensor type."));
+
+    int currentValueInt = (int) latestReading.getReadingAsLong();
     return ResponseEntity.ok(currentValueInt);
   }
-}
\ No newline at end of file
+
+  private void writeLine(OutputStream out, LogDTO logDTO) {
+    try {
+      out.write(objectMapper.writeValueAsBytes(logDTO));
+      out.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void sendEvent(SseEmitter emitter, LogDTO logDTO) {
+    try {
+      emitter.send(SseEmitter.event().name("reading").id(logDTO.logID).data(logDTO));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private DatePeriod parseDatePeriod(String timeStart, String timeEnd) {
+    LocalDateTime start = LocalDateTime.parse(timeStart, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    LocalDateTime end = LocalDateTime.parse(timeEnd, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    return new DatePeriod(start, end);
+  }
+}
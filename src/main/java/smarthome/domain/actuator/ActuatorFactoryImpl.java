@@ -14,10 +14,13 @@ import java.util.Arrays;
 import java.util.Optional;
 import org.springframework.stereotype.Component;
 import smarthome.domain.value_object.ModelPath;
+import smarthome.utils.ConstructorRegistry;
 
 @Component
 public class ActuatorFactoryImpl implements IActuatorFactory {
 
+  private final ConstructorRegistry constructorRegistry = new ConstructorRegistry();
+
   /**
    * Create an actuator instance based on dynamic number of parameters.
    * @param parameters
@@ -29,7 +32,7 @@ public class ActuatorFactoryImpl implements IActuatorFactory {
         throw new IllegalArgumentException("At least 4 parameters are required.");
       }
     Class<?> actuatorClass = getActualActuatorClassFromParameters(parameters);
-    Optional<Constructor<?>> constructor = getConstructorMatchingParameters(actuatorClass,
+    Optional<Constructor<?>> constructor = constructorRegistry.findConstructor(actuatorClass,
         parameters);
     return constructor.map(value -> instantiateActuator(value, parameters)).orElse(null);
   }
@@ -57,15 +60,10 @@ public class ActuatorFactoryImpl implements IActuatorFactory {
    */
 
   private Class<?> getActualActuatorClassFromParameters(Object... parameters) {
-    try {
-      ModelPath modelPath = getModelPathFromParameters(parameters);
+    ModelPath modelPath = getModelPathFromParameters(parameters);
 
-      Class<?> actuatorClass = Class.forName(modelPath.toString());
-      return actuatorClass;
-
-    } catch (ClassNotFoundException e) {
-      throw new IllegalArgumentException("The model path is not valid.");
-    }
+    return constructorRegistry.findClass(modelPath.toString())
+        .orElseThrow(() -> new IllegalArgumentException("The model path is not valid."));
   }
 
   private ModelPath getModelPathFromParameters(Object... parameters) {
@@ -77,48 +75,4 @@ public class ActuatorFactoryImpl implements IActuatorFactory {
       return modelPath;
     }
   }
-
-  /**
-   * Get the constructor matching the parameters.
-   *
-   * @param actuatorClass
-   * @param parameters
-   * @return
-   */
-
-  private Optional<Constructor<?>> getConstructorMatchingParameters(Class<?> actuatorClass,
-      Object... parameters) {
-    Constructor<?>[] constructors = actuatorClass.getConstructors();
-
-    for (Constructor<?> constructor : constructors) {
-      if (tryConstructorAgainstParameters(constructor, parameters)) {
-        return Optional.of(constructor);
-      }
-    }
-    return Optional.empty();
-  }
-
-  /**
-   * Try to match the constructor against the parameters.
-   *
-   * @param constructor
-   * @param parameters
-   * @return
-   */
-
-  private boolean tryConstructorAgainstParameters(Constructor<?> constructor,
-      Object... parameters) {
-    if (constructor.getParameterCount() != parameters.length) {
-      return false;
-    } else {
-
-      Class<?>[] parameterTypes = constructor.getParameterTypes();
-      for (int i = 0; i < parameters.length; i++) {
-        if (!parameterTypes[i].isAssignableFrom(parameters[i].getClass())) {
-          return false;
-        }
-      }
-      return true;
-    }
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.Validator;
+
+/**
+ * Keeps the most recent reading of every (device, sensor type) pair, so the current value of a
+ * sensor can be read without loading its history.
+ * <p>
+ * Readings may arrive out of order: a reading only replaces the stored one if it is not older.
+ * When the store only sees part of the readings, as a cache in front of a repository filled
+ * before the application started, the first lookup of a sensor also loads its latest stored
+ * reading, and the newer of the two is kept. The store is safe to use from several threads.
+ */
+public class LatestReadingStore {
+
+  private final Map<ReadingKey, Latest> latestReadings = new ConcurrentHashMap<>();
+
+  /**
+   * Records a reading, keeping it only if it is the most recent one of its device and sensor type.
+   *
+   * @param log is the reading.
+   */
+  public void update(Log log) {
+    Validator.validateNotNull(log, "Log");
+    latestReadings.merge(ReadingKey.of(log), new Latest(log, false), Latest::newer);
+  }
+
+  /**
+   * Gets the most recent reading of a device for a sensor type, from the readings recorded.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return the most recent reading, or empty if none was recorded.
+   */
+  public Optional<Log> find(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Latest latest = latestReadings.get(new ReadingKey(deviceID, sensorTypeID));
+    return latest == null ? Optional.empty() : Optional.of(latest.log);
+  }
+
+  /**
+   * Gets the most recent reading of a device for a sensor type, loading the latest stored reading
+   * the first time the sensor is looked up. A reading recorded while it loads is not lost: the
+   * newer of the two is kept.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param stored       loads the latest stored reading of the sensor.
+   * @return the most recent reading, or empty if there is none.
+   */
+  public Optional<Log> find(DeviceID deviceID, SensorTypeID sensorTypeID,
+      Supplier<Optional<Log>> stored) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Validator.validateNotNull(stored, "Stored reading");
+    ReadingKey key = new ReadingKey(deviceID, sensorTypeID);
+    Latest latest = latestReadings.get(key);
+    if (latest != null && latest.loaded) {
+      return Optional.of(latest.log);
+    }
+
+    Optional<Log> storedReading = stored.get();
+    if (storedReading.isEmpty()) {
+      latest = latestReadings.computeIfPresent(key,
+          (readingKey, current) -> new Latest(current.log, true));
+      return latest == null ? Optional.empty() : Optional.of(latest.log);
+    }
+    return Optional.of(latestReadings.merge(key, new Latest(storedReading.get(), true),
+        Latest::newer).log);
+  }
+
+  /**
+   * Most recent reading of a sensor, and whether the latest stored reading was taken into account.
+   */
+  private static final class Latest {
+
+    private final Log log;
+    private final boolean loaded;
+
+    private Latest(Log log, boolean loaded) {
+      this.log = log;
+      this.loaded = loaded;
+    }
+
+    private static Latest newer(Latest current, Latest candidate) {
+      Log log = candidate.log.getTimeStamp().isBefore(current.log.getTimeStamp())
+          ? current.log : candidate.log;
+      return new Latest(log, current.loaded || candidate.loaded);
+    }
+  }
+}
@@ -114,6 +114,27 @@ public class Log implements IAggregateRoot<LogID> {
     return reading;
   }
 
+  /**
+   * @return true if the reading is an integer or a decimal number
+   */
+  public boolean hasNumericReading() {
+    return reading.isNumeric();
+  }
+
+  /**
+   * @return the reading as a double, for numeric readings
+   */
+  public double getReadingAsDouble() {
+    return reading.asDouble();
+  }
+
+  /**
+   * @return the reading rounded to a long, for numeric readings
+   */
+  public long getReadingAsLong() {
+    return reading.asLong();
+  }
+
   /**
    * @return the description
    */
@@ -0,0 +1,72 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import smarthome.utils.Validator;
+
+/**
+ * Two readings, one from each side of a time window join, that were taken close enough in time to
+ * be compared.
+ */
+public class LogPair {
+
+  private final Log first;
+  private final Log second;
+
+  /**
+   * Constructor of LogPair.
+   *
+   * @param first  is the reading taken from the first list.
+   * @param second is the reading taken from the second list.
+   */
+  public LogPair(Log first, Log second) {
+    Validator.validateNotNull(first, "First Log");
+    Validator.validateNotNull(second, "Second Log");
+    this.first = first;
+    this.second = second;
+  }
+
+  /**
+   * @return the reading taken from the first list.
+   */
+  public Log getFirst() {
+    return first;
+  }
+
+  /**
+   * @return the reading taken from the second list.
+   */
+  public Log getSecond() {
+    return second;
+  }
+
+  /**
+   * Compares the current object with another object of the same type.
+   *
+   * @param obj is the object to be compared.
+   * @return true if both pairs hold the same readings in the same order, false otherwise.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof LogPair logPair) {
+      return first.equals(logPair.first) && second.equals(logPair.second);
+    }
+    return false;
+  }
+
+  /**
+   * Gets the hash code value of the object.
+   *
+   * @return the hash code value of the object.
+   */
+  @Override
+  public int hashCode() {
+    return 31 * first.hashCode() + second.hashCode();
+  }
+}
@@ -0,0 +1,118 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import smarthome.domain.value_object.TimeDelta;
+import smarthome.utils.Validator;
+
+/**
+ * Joins two lists of readings on time proximity: every reading of the first list is paired with
+ * every reading of the second list taken strictly less than the time delta away from it.
+ * <p>
+ * Both lists are sorted by timestamp once and then walked with two pointers that only move
+ * forward, so the join costs O(n log n + m log m + k), k being the number of matching pairs,
+ * instead of comparing every reading with every other reading.
+ */
+public class LogTimeWindowJoin {
+
+  private final List<Log> firstReadings;
+  private final List<Log> secondReadings;
+  private final LocalDateTime[] firstTimestamps;
+  private final LocalDateTime[] secondTimestamps;
+  private final Duration window;
+
+  /**
+   * Constructor of LogTimeWindowJoin. The given lists are copied and are not modified.
+   *
+   * @param readings1 is one list of readings.
+   * @param readings2 is another list of readings.
+   * @param timeDelta is the maximum (exclusive) time distance between two paired readings.
+   */
+  public LogTimeWindowJoin(List<Log> readings1, List<Log> readings2, TimeDelta timeDelta) {
+    Validator.validateNotNull(readings1, "Readings");
+    Validator.validateNotNull(readings2, "Readings");
+    Validator.validateNotNull(timeDelta, "Time Delta");
+    this.firstReadings = sortByTimestamp(readings1);
+    this.secondReadings = sortByTimestamp(readings2);
+    this.firstTimestamps = timestampsOf(firstReadings);
+    this.secondTimestamps = timestampsOf(secondReadings);
+    this.window = Duration.ofMinutes(timeDelta.getMinutes());
+  }
+
+  /**
+   * Calls the consumer once for every pair of readings within the time delta, without collecting
+   * the pairs. Pairs are visited in timestamp order of the first reading.
+   *
+   * @param consumer receives the reading of the first list and the reading of the second list.
+   */
+  public void forEachPair(BiConsumer<Log, Log> consumer) {
+    int low = 0;
+    int high = 0;
+    for (int i = 0; i < firstTimestamps.length; i++) {
+      LocalDateTime lowerBound = firstTimestamps[i].minus(window);
+      LocalDateTime upperBound = firstTimestamps[i].plus(window);
+
+      while (low < secondTimestamps.length && !secondTimestamps[low].isAfter(lowerBound)) {
+        low++;
+      }
+      if (high < low) {
+        high = low;
+      }
+      while (high < secondTimestamps.length && secondTimestamps[high].isBefore(upperBound)) {
+        high++;
+      }
+      for (int j = low; j < high; j++) {
+        consumer.accept(firstReadings.get(i), secondReadings.get(j));
+      }
+    }
+  }
+
+  /**
+   * Collects every pair of readings within the time delta.
+   *
+   * @return the list of matching pairs, in timestamp order of the first reading.
+   */
+  public List<LogPair> getPairs() {
+    List<LogPair> pairs = new ArrayList<>();
+    forEachPair((first, second) -> pairs.add(new LogPair(first, second)));
+    return pairs;
+  }
+
+  /**
+   * Returns a copy of the readings sorted by timestamp.
+   *
+   * @param readings is the list of readings.
+   * @return the sorted copy.
+   */
+  private static List<Log> sortByTimestamp(List<Log> readings) {
+    List<Log> sorted = new ArrayList<>(readings);
+    sorted.sort(Comparator.comparing(Log::getTimeStamp));
+    return sorted;
+  }
+
+  /**
+   * Extracts the timestamps of sorted readings so the sweep does not call back into the logs.
+   *
+   * @param readings is the sorted list of readings.
+   * @return the timestamps, in the same order.
+   */
+  private static LocalDateTime[] timestampsOf(List<Log> readings) {
+    LocalDateTime[] timestamps = new LocalDateTime[readings.size()];
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = readings.get(i).getTimeStamp();
+    }
+    return timestamps;
+  }
+}
@@ -0,0 +1,91 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import smarthome.utils.Validator;
+
+/**
+ * Merges lists of readings that are each in (timestamp, logID) order, such as the readings of
+ * several devices, into a single list in that order.
+ * <p>
+ * The head of every list is kept in a priority queue, so merging k lists of n readings in total
+ * costs O(n log k) instead of sorting the n readings again.
+ */
+public final class LogTimelineMerge {
+
+  /**
+   * The (timestamp, logID) order of the readings.
+   */
+  public static final Comparator<Log> ORDER = Comparator.comparing(Log::getTimeStamp)
+      .thenComparing(log -> log.getID().getID());
+
+  private LogTimelineMerge() {
+  }
+
+  /**
+   * Method to merge lists of readings in (timestamp, logID) order
+   *
+   * @param timelines are the lists of readings, each in (timestamp, logID) order.
+   * @return the readings of every list, in (timestamp, logID) order.
+   */
+  public static List<Log> merge(List<List<Log>> timelines) {
+    Validator.validateNotNull(timelines, "Timelines");
+    int total = 0;
+    PriorityQueue<Cursor> heads = new PriorityQueue<>(Math.max(1, timelines.size()));
+    for (List<Log> timeline : timelines) {
+      total += timeline.size();
+      if (!timeline.isEmpty()) {
+        heads.add(new Cursor(timeline));
+      }
+    }
+    if (heads.size() == 1) {
+      return List.copyOf(heads.peek().timeline);
+    }
+    List<Log> merged = new ArrayList<>(total);
+    while (!heads.isEmpty()) {
+      Cursor cursor = heads.poll();
+      merged.add(cursor.head());
+      if (cursor.advance()) {
+        heads.add(cursor);
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Position in one of the lists being merged.
+   */
+  private static final class Cursor implements Comparable<Cursor> {
+
+    private final List<Log> timeline;
+    private int position;
+
+    private Cursor(List<Log> timeline) {
+      this.timeline = timeline;
+    }
+
+    private Log head() {
+      return timeline.get(position);
+    }
+
+    private boolean advance() {
+      position++;
+      return position < timeline.size();
+    }
+
+    @Override
+    public int compareTo(Cursor other) {
+      return ORDER.compare(head(), other.head());
+    }
+  }
+}
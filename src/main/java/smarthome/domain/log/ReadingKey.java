@@ -0,0 +1,57 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import java.util.Objects;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+
+/**
+ * Identifies the readings of one sensor type of one device, to keep one reading per sensor.
+ */
+public final class ReadingKey {
+
+  private final DeviceID deviceID;
+  private final SensorTypeID sensorTypeID;
+
+  /**
+   * ReadingKey constructor
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   */
+  public ReadingKey(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    this.deviceID = deviceID;
+    this.sensorTypeID = sensorTypeID;
+  }
+
+  /**
+   * Method to get the key of the sensor a reading was taken by
+   *
+   * @param log is the reading.
+   * @return the key of its device and sensor type.
+   */
+  public static ReadingKey of(Log log) {
+    return new ReadingKey(log.getDeviceID(), log.getDescription());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof ReadingKey key) {
+      return Objects.equals(deviceID, key.deviceID)
+          && Objects.equals(sensorTypeID, key.sensorTypeID);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(deviceID, sensorTypeID);
+  }
+}
@@ -0,0 +1,90 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import smarthome.domain.value_object.ReadingStatistics;
+
+/**
+ * Computes the {@link ReadingStatistics} of readings in a single pass, for the repositories that
+ * can not aggregate in a database. Only the count, minimum, maximum and sum are kept, plus the
+ * readings themselves as primitives when percentiles are requested.
+ */
+public class ReadingStatisticsAccumulator {
+
+  private final List<Double> percentiles;
+  private double[] values;
+  private long count;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+  private double sum;
+
+  /**
+   * Constructor for ReadingStatisticsAccumulator
+   *
+   * @param percentiles are the percentiles to compute, each between 0 and 100.
+   */
+  public ReadingStatisticsAccumulator(List<Double> percentiles) {
+    ReadingStatistics.validatePercentiles(percentiles);
+    this.percentiles = List.copyOf(percentiles);
+    this.values = percentiles.isEmpty() ? null : new double[64];
+  }
+
+  /**
+   * Method to add a log, ignored if its reading is not numeric
+   *
+   * @param log is the log to add.
+   */
+  public void add(Log log) {
+    if (log.hasNumericReading()) {
+      add(log.getReadingAsDouble());
+    }
+  }
+
+  /**
+   * Method to add a reading
+   *
+   * @param value is the reading.
+   */
+  public void add(double value) {
+    if (values != null) {
+      if (count == values.length) {
+        values = Arrays.copyOf(values, 2 * values.length);
+      }
+      values[(int) count] = value;
+    }
+    count++;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    sum += value;
+  }
+
+  /**
+   * Method to get the statistics of the readings added
+   *
+   * @return the statistics
+   */
+  public ReadingStatistics toStatistics() {
+    if (count == 0) {
+      return ReadingStatistics.empty();
+    }
+    Map<Double, Double> percentileValues = new LinkedHashMap<>();
+    if (values != null) {
+      Arrays.sort(values, 0, (int) count);
+      for (double percentile : percentiles) {
+        percentileValues.put(percentile,
+            values[(int) ReadingStatistics.rankOf(percentile, count) - 1]);
+      }
+    }
+    return new ReadingStatistics(count, min, max, sum / count, percentileValues);
+  }
+}
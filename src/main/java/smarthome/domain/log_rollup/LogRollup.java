@@ -0,0 +1,219 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log_rollup;
+
+import java.time.LocalDateTime;
+import smarthome.ddd.IAggregateRoot;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogRollupID;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.Validator;
+
+/**
+ * Summary (count, minimum, maximum and sum) of the numeric readings of one sensor within one time
+ * bucket. Rollups are built incrementally: readings are added as they are logged, and partial
+ * rollups of the same bucket can be merged.
+ */
+public class LogRollup implements IAggregateRoot<LogRollupID> {
+
+  private final LogRollupID id;
+  private final DeviceID deviceID;
+  private final SensorID sensorID;
+  private final SensorTypeID sensorTypeID;
+  private final UnitID unitID;
+  private final RollupResolution resolution;
+  private final LocalDateTime bucketStart;
+  private long count;
+  private double min;
+  private double max;
+  private double sum;
+
+  /**
+   * Creates the rollup of the bucket a reading falls in, holding only that reading.
+   *
+   * @param log        is a numeric reading.
+   * @param resolution is the width of the bucket.
+   */
+  public LogRollup(Log log, RollupResolution resolution) {
+    Validator.validateNotNull(log, "Log");
+    Validator.validateNotNull(resolution, "Resolution");
+    if (!log.hasNumericReading()) {
+      throw new IllegalArgumentException("Only numeric readings can be rolled up");
+    }
+    this.deviceID = log.getDeviceID();
+    this.sensorID = log.getSensorID();
+    this.sensorTypeID = log.getDescription();
+    this.unitID = log.getUnit();
+    this.resolution = resolution;
+    this.bucketStart = resolution.bucketStartOf(log.getTimeStamp());
+    this.id = new LogRollupID(sensorID, resolution, bucketStart);
+    double value = log.getReadingAsDouble();
+    this.count = 1;
+    this.min = value;
+    this.max = value;
+    this.sum = value;
+  }
+
+  /**
+   * Recreates a rollup from its stored state.
+   */
+  public LogRollup(DeviceID deviceID, SensorID sensorID, SensorTypeID sensorTypeID, UnitID unitID,
+      RollupResolution resolution, LocalDateTime bucketStart, long count, double min, double max,
+      double sum) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorID, "Sensor ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Validator.validateNotNull(unitID, "Unit ID");
+    Validator.validateNotNull(resolution, "Resolution");
+    Validator.validateNotNull(bucketStart, "Bucket start");
+    if (count <= 0) {
+      throw new IllegalArgumentException("Count must be positive");
+    }
+    this.deviceID = deviceID;
+    this.sensorID = sensorID;
+    this.sensorTypeID = sensorTypeID;
+    this.unitID = unitID;
+    this.resolution = resolution;
+    this.bucketStart = bucketStart;
+    this.id = new LogRollupID(sensorID, resolution, bucketStart);
+    this.count = count;
+    this.min = min;
+    this.max = max;
+    this.sum = sum;
+  }
+
+  /**
+   * Adds the readings summarized by another rollup of the same bucket to this one.
+   *
+   * @param other is a rollup with the same ID.
+   */
+  public void merge(LogRollup other) {
+    Validator.validateNotNull(other, "Log Rollup");
+    if (!id.equals(other.id)) {
+      throw new IllegalArgumentException("Only rollups of the same bucket can be merged");
+    }
+    count += other.count;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    sum += other.sum;
+  }
+
+  /**
+   * @return the rollup ID
+   */
+  @Override
+  public LogRollupID getID() {
+    return id;
+  }
+
+  /**
+   * @return the device ID
+   */
+  public DeviceID getDeviceID() {
+    return deviceID;
+  }
+
+  /**
+   * @return the sensor ID
+   */
+  public SensorID getSensorID() {
+    return sensorID;
+  }
+
+  /**
+   * @return the sensor type ID
+   */
+  public SensorTypeID getSensorTypeID() {
+    return sensorTypeID;
+  }
+
+  /**
+   * @return the unit ID
+   */
+  public UnitID getUnitID() {
+    return unitID;
+  }
+
+  /**
+   * @return the resolution
+   */
+  public RollupResolution getResolution() {
+    return resolution;
+  }
+
+  /**
+   * @return the start of the bucket
+   */
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  /**
+   * @return the number of readings in the bucket
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the smallest reading in the bucket
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * @return the largest reading in the bucket
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * @return the sum of the readings in the bucket
+   */
+  public double getSum() {
+    return sum;
+  }
+
+  /**
+   * @return the average of the readings in the bucket
+   */
+  public double getAverage() {
+    return sum / count;
+  }
+
+  /**
+   * Compares the current object with another object of the same type.
+   *
+   * @param obj is the object to be compared.
+   * @return true if both rollups cover the same bucket, false otherwise.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof LogRollup logRollup) {
+      return this.id.equals(logRollup.getID());
+    }
+    return false;
+  }
+
+  /**
+   * Gets the hash code value of the object.
+   *
+   * @return the hash code value of the object.
+   */
+  @Override
+  public int hashCode() {
+    return id.hashCode();
+  }
+}
@@ -0,0 +1,81 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.power_peak;
+
+import java.util.Arrays;
+
+/**
+ * Segment tree over a fixed number of slots, giving the highest value of any range of slots in
+ * O(log n). Values can only be raised, which is all the peaks need.
+ */
+public class MaxSegmentTree {
+
+  /**
+   * Value of the slots that were never raised.
+   */
+  public static final int EMPTY = Integer.MIN_VALUE;
+
+  private final int size;
+  private final int[] nodes;
+
+  /**
+   * Constructor of MaxSegmentTree
+   *
+   * @param size is the number of slots.
+   */
+  public MaxSegmentTree(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Size must be positive");
+    }
+    this.size = size;
+    this.nodes = new int[2 * size];
+    Arrays.fill(nodes, EMPTY);
+  }
+
+  /**
+   * Method to raise the value of a slot, if the new value is higher
+   *
+   * @param slot  is the slot.
+   * @param value is the new value.
+   */
+  public void raise(int slot, int value) {
+    int node = slot + size;
+    if (nodes[node] >= value) {
+      return;
+    }
+    nodes[node] = value;
+    for (node /= 2; node >= 1; node /= 2) {
+      int max = Math.max(nodes[2 * node], nodes[2 * node + 1]);
+      if (nodes[node] == max) {
+        return;
+      }
+      nodes[node] = max;
+    }
+  }
+
+  /**
+   * Method to get the highest value of a range of slots
+   *
+   * @param from is the first slot.
+   * @param to   is the slot after the last one.
+   * @return the highest value, EMPTY if no slot of the range was raised
+   */
+  public int max(int from, int to) {
+    int max = EMPTY;
+    for (int left = from + size, right = to + size; left < right; left /= 2, right /= 2) {
+      if ((left & 1) == 1) {
+        max = Math.max(max, nodes[left++]);
+      }
+      if ((right & 1) == 1) {
+        max = Math.max(max, nodes[--right]);
+      }
+    }
+    return max;
+  }
+}
@@ -0,0 +1,104 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.power_peak;
+
+import java.time.LocalDateTime;
+import smarthome.ddd.IAggregateRoot;
+import smarthome.domain.value_object.PowerPeakID;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.utils.Validator;
+
+/**
+ * Highest power consumption of the house ending within one minute: the largest single power meter
+ * or power source reading of the minute, or the largest sum of a power meter and a power source
+ * reading taken less than the peak window apart, the later of the two falling in the minute.
+ * <p>
+ * Since every combination is counted in the minute of its later reading, the peak of a time range
+ * is the highest peak of its minutes, except near the start of the range, where a combination may
+ * start before the range.
+ */
+public class PowerPeak implements IAggregateRoot<PowerPeakID> {
+
+  private final PowerPeakID id;
+  private final LocalDateTime bucketStart;
+  private int peak;
+
+  /**
+   * Creates the peak of the minute a timestamp falls in.
+   *
+   * @param timestamp is a time within the minute.
+   * @param peak      is the power consumption reached in the minute.
+   */
+  public PowerPeak(LocalDateTime timestamp, int peak) {
+    Validator.validateNotNull(timestamp, "Timestamp");
+    this.bucketStart = RollupResolution.ONE_MINUTE.bucketStartOf(timestamp);
+    this.id = new PowerPeakID(bucketStart);
+    this.peak = peak;
+  }
+
+  /**
+   * Raises the peak to a power consumption reached in the minute, if it is higher.
+   *
+   * @param value is the power consumption.
+   * @return true if the peak changed.
+   */
+  public boolean raise(int value) {
+    if (value <= peak) {
+      return false;
+    }
+    peak = value;
+    return true;
+  }
+
+  /**
+   * @return the power peak ID
+   */
+  @Override
+  public PowerPeakID getID() {
+    return id;
+  }
+
+  /**
+   * @return the start of the minute
+   */
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  /**
+   * @return the power consumption peak of the minute
+   */
+  public int getPeak() {
+    return peak;
+  }
+
+  /**
+   * Compares the current object with another object of the same type.
+   *
+   * @param obj is the object to be compared.
+   * @return true if both peaks cover the same minute, false otherwise.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof PowerPeak powerPeak) {
+      return this.id.equals(powerPeak.getID());
+    }
+    return false;
+  }
+
+  /**
+   * Gets the hash code value of the object.
+   *
+   * @return the hash code value of the object.
+   */
+  @Override
+  public int hashCode() {
+    return id.hashCode();
+  }
+}
@@ -0,0 +1,27 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.power_peak;
+
+/**
+ * Side of the house a power reading comes from. The power consumption peak combines a reading of
+ * each side.
+ */
+public enum PowerSide {
+  POWER_METER,
+  POWER_SOURCE;
+
+  /**
+   * Method to get the side the readings of this side are combined with
+   *
+   * @return the other side
+   */
+  public PowerSide other() {
+    return this == POWER_METER ? POWER_SOURCE : POWER_METER;
+  }
+}
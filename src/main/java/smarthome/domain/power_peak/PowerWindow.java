@@ -0,0 +1,126 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.power_peak;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.ObjIntConsumer;
+import smarthome.utils.Validator;
+
+/**
+ * Sliding window over the recent power readings, which gives the power consumption values reached
+ * as each new reading arrives: the reading itself, and its sum with every reading of the other
+ * side taken strictly less than the window apart. Each sum is reported at the timestamp of the
+ * later of its two readings, so that it belongs to a single minute whatever the order the readings
+ * arrive in.
+ * <p>
+ * Only the lowest and highest reading of each side and timestamp are kept: the sum with the
+ * largest magnitude is always made with one of them.
+ */
+public class PowerWindow {
+
+  private final Duration window;
+  private final Map<PowerSide, NavigableMap<LocalDateTime, double[]>> readings =
+      new EnumMap<>(PowerSide.class);
+
+  /**
+   * Constructor of PowerWindow
+   *
+   * @param window is the largest time between two readings that are combined, excluded.
+   */
+  public PowerWindow(Duration window) {
+    Validator.validateNotNull(window, "Window");
+    this.window = window;
+    for (PowerSide side : PowerSide.values()) {
+      readings.put(side, new TreeMap<>());
+    }
+  }
+
+  /**
+   * Method to add a reading and report the power consumption values it takes part in
+   *
+   * @param side      is the side of the reading.
+   * @param timestamp is the time of the reading.
+   * @param value     is the power of the reading.
+   * @param consumer  is called with the timestamp each value belongs to, and the value.
+   */
+  public void accept(PowerSide side, LocalDateTime timestamp, double value,
+      ObjIntConsumer<LocalDateTime> consumer) {
+    Validator.validateNotNull(side, "Power Side");
+    Validator.validateNotNull(timestamp, "Timestamp");
+    Validator.validateNotNull(consumer, "Consumer");
+
+    consumer.accept(timestamp, (int) Math.round(value));
+
+    NavigableMap<LocalDateTime, double[]> others = readings.get(side.other());
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (double[] range : others.subMap(timestamp.minus(window), false, timestamp, true)
+        .values()) {
+      min = Math.min(min, range[0]);
+      max = Math.max(max, range[1]);
+    }
+    if (min <= max) {
+      consumer.accept(timestamp, combine(value, min, max));
+    }
+    for (Map.Entry<LocalDateTime, double[]> later : others.subMap(timestamp, false,
+        timestamp.plus(window), false).entrySet()) {
+      consumer.accept(later.getKey(), combine(value, later.getValue()[0], later.getValue()[1]));
+    }
+
+    add(side, timestamp, value);
+  }
+
+  /**
+   * Method to add a reading without reporting anything, to restore the window
+   *
+   * @param side      is the side of the reading.
+   * @param timestamp is the time of the reading.
+   * @param value     is the power of the reading.
+   */
+  public void add(PowerSide side, LocalDateTime timestamp, double value) {
+    readings.get(side).merge(timestamp, new double[]{value, value},
+        (current, added) -> new double[]{Math.min(current[0], value),
+            Math.max(current[1], value)});
+  }
+
+  /**
+   * Method to forget the readings taken before a time
+   *
+   * @param time is the time of the oldest readings kept.
+   */
+  public void prune(LocalDateTime time) {
+    for (NavigableMap<LocalDateTime, double[]> side : readings.values()) {
+      side.headMap(time, false).clear();
+    }
+  }
+
+  /**
+   * Method to get the time of the most recent reading
+   *
+   * @return the time, null if the window is empty
+   */
+  public LocalDateTime latest() {
+    LocalDateTime latest = null;
+    for (NavigableMap<LocalDateTime, double[]> side : readings.values()) {
+      if (!side.isEmpty() && (latest == null || side.lastKey().isAfter(latest))) {
+        latest = side.lastKey();
+      }
+    }
+    return latest;
+  }
+
+  private static int combine(double value, double min, double max) {
+    return (int) Math.round(Math.max(Math.abs(value + min), Math.abs(value + max)));
+  }
+}
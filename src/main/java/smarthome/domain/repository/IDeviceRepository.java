@@ -9,6 +9,7 @@
 package smarthome.domain.repository;
 
 import java.util.List;
+import java.util.Map;
 import smarthome.ddd.IRepository;
 import smarthome.domain.device.Device;
 import smarthome.domain.value_object.DeviceID;
@@ -26,4 +27,12 @@ public interface IDeviceRepository extends IRepository<DeviceID, Device> {
 
   List<Device> findByDeviceTypeID(DeviceTypeID deviceTypeID);
 
+  /**
+   * Method to find all devices grouped by device type, in one read
+   *
+   * @return the devices of each device type that has devices, in device type ID order. The lists
+   * cannot be changed.
+   */
+  Map<DeviceTypeID, List<Device>> findAllGroupedByDeviceTypeID();
+
 }
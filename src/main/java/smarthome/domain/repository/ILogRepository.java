@@ -9,16 +9,28 @@
 package smarthome.domain.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import smarthome.ddd.IRepository;
 import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.SensorTypeID;
 
 
 public interface ILogRepository extends IRepository<LogID, Log> {
 
+  /**
+   * Method to save several logs at once, in a single transaction. Either every log is saved or none
+   * is.
+   *
+   * @param logs List of Log
+   * @return List of the saved Log
+   */
+  List<Log> saveAll(List<Log> logs);
 
   /**
    * Method to find logs by device and time period
@@ -29,6 +41,29 @@ public interface ILogRepository extends IRepository<LogID, Log> {
    */
   List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period);
 
+  /**
+   * Method to find a page of logs by device and time period, in (timestamp, logID) order
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor of the last log of the previous page, null for the first page
+   * @param limit    maximum number of logs of the page
+   * @return List of Log
+   */
+  List<Log> findPageByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit);
+
+  /**
+   * Method to go through the logs of a device in a time period, in (timestamp, logID) order,
+   * without loading them all in memory
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   is called with each log, in order
+   */
+  void forEachByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action);
+
   /**
    * Method to find logs by device and sensor type and time period
    *
@@ -40,9 +75,50 @@ public interface ILogRepository extends IRepository<LogID, Log> {
   List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
       SensorTypeID sensorTypeID, DatePeriod period);
 
+  /**
+   * Method to find the logs of several devices by sensor type and time period, in (timestamp,
+   * logID) order
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log of every device
+   */
+  List<Log> findByDeviceIDsAndSensorTypeAndDatePeriod(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period);
+
   /**
    * Method to find logs by device ID
    * @return List of Log
    */
   List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to find the most recent log of a device for a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of the most recent Log, empty if the device has no log of that type
+   */
+  Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to compute the statistics of the numeric readings of a device for a sensor type in a
+   * time period, bounds included, without loading the logs
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @param percentiles  percentiles to compute, each between 0 and 100
+   * @return ReadingStatistics of the period, empty if there is no numeric reading
+   */
+  ReadingStatistics findStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles);
+
+  /**
+   * Method to count the logs saved
+   *
+   * @return the number of logs
+   */
+  long count();
 }
@@ -0,0 +1,48 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.repository;
+
+import java.util.List;
+import smarthome.ddd.IRepository;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogRollupID;
+import smarthome.domain.value_object.RollupResolution;
+
+public interface ILogRollupRepository extends IRepository<LogRollupID, LogRollup> {
+
+  /**
+   * Method to find the rollups with the given IDs. IDs without a rollup are ignored.
+   *
+   * @param rollupIDs List of LogRollupID
+   * @return List of the existing LogRollup
+   */
+  List<LogRollup> findAllByIdentity(List<LogRollupID> rollupIDs);
+
+  /**
+   * Method to save several rollups, replacing the stored state of those that already exist.
+   *
+   * @param rollups List of LogRollup
+   * @return List of the saved LogRollup
+   */
+  List<LogRollup> saveAll(List<LogRollup> rollups);
+
+  /**
+   * Method to find the rollups of a device at a resolution whose bucket overlaps a period, in
+   * bucket order
+   *
+   * @param deviceID   DeviceID object
+   * @param resolution RollupResolution
+   * @param period     DatePeriod object
+   * @return List of LogRollup
+   */
+  List<LogRollup> findByDeviceIDAndResolutionAndDatePeriod(DeviceID deviceID,
+      RollupResolution resolution, DatePeriod period);
+}
@@ -0,0 +1,42 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.repository;
+
+import java.util.List;
+import smarthome.ddd.IRepository;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.PowerPeakID;
+
+public interface IPowerPeakRepository extends IRepository<PowerPeakID, PowerPeak> {
+
+  /**
+   * Method to find the peaks with the given IDs. IDs without a peak are ignored.
+   *
+   * @param powerPeakIDs List of PowerPeakID
+   * @return List of the existing PowerPeak
+   */
+  List<PowerPeak> findAllByIdentity(List<PowerPeakID> powerPeakIDs);
+
+  /**
+   * Method to save several peaks, replacing the stored state of those that already exist.
+   *
+   * @param powerPeaks List of PowerPeak
+   * @return List of the saved PowerPeak
+   */
+  List<PowerPeak> saveAll(List<PowerPeak> powerPeaks);
+
+  /**
+   * Method to find the peaks of the minutes starting in a period, bounds included, in minute order
+   *
+   * @param period DatePeriod object
+   * @return List of PowerPeak
+   */
+  List<PowerPeak> findByDatePeriod(DatePeriod period);
+}
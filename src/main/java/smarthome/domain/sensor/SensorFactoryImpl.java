@@ -10,14 +10,19 @@ package smarthome.domain.sensor;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
 import org.springframework.stereotype.Component;
 import smarthome.domain.value_object.ModelPath;
+import smarthome.utils.ConstructorRegistry;
 
 @Component
 public class SensorFactoryImpl implements ISensorFactory {
 
+  private final ConstructorRegistry constructorRegistry = new ConstructorRegistry();
+
   /**
-   * Creates a sensor object based on the given parameters
+   * Creates a sensor object based on the given parameters. The sensor class and the constructor
+   * matching the parameters are resolved once per model and parameter types, then reused.
    *
    * @param parameters are the parameters required to create a sensor object
    * @return Sensor
@@ -31,50 +36,22 @@ public class SensorFactoryImpl implements ISensorFactory {
 
       ModelPath modelPath = (ModelPath) parameters[1];
 
-      Class<?> sensorClass = Class.forName(modelPath.toString());
-      Constructor<?> constructor = findMatchingConstructor(sensorClass, parameters);
+      Optional<Class<?>> sensorClass = constructorRegistry.findClass(modelPath.toString());
+      if (sensorClass.isEmpty()) {
+        return null;
+      }
+      Optional<Constructor<?>> constructor =
+          constructorRegistry.findConstructor(sensorClass.get(), parameters);
 
-      if (constructor != null) {
-        return (ISensor) constructor.newInstance(parameters);
+      if (constructor.isPresent()) {
+        return (ISensor) constructor.get().newInstance(parameters);
       } else {
         throw new InstantiationException("No matching constructor found for class: " + modelPath);
       }
 
-    } catch (ClassNotFoundException | InstantiationException | ClassCastException |
+    } catch (InstantiationException | ClassCastException |
              IllegalAccessException | InvocationTargetException ignored) {
     }
     return null;
   }
-
-  /**
-   * Find a constructor that matches the given parameters
-   *
-   * @param sensorClass is the specific class of the sensor to be instantiated
-   * @param parameters  are the parameters required to create a sensor object
-   * @return Constructor
-   */
-  private Constructor<?> findMatchingConstructor(Class<?> sensorClass, Object... parameters) {
-    Constructor<?>[] constructors = sensorClass.getConstructors();
-
-    for (Constructor<?> constructor : constructors) {
-      Class<?>[] parameterTypes = constructor.getParameterTypes();
-
-      if (parameterTypes.length == parameters.length) {
-        boolean match = true;
-
-        for (int i = 0; i < parameterTypes.length; i++) {
-          if (!parameterTypes[i].isAssignableFrom(parameters[i].getClass())) {
-            match = false;
-            break;
-          }
-        }
-
-        if (match) {
-          return constructor;
-        }
-      }
-    }
-
-    return null;
-  }
 }
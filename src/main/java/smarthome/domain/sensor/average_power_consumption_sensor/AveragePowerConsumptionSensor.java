@@ -9,10 +9,7 @@
 package smarthome.domain.sensor.average_power_consumption_sensor;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import lombok.AccessLevel;
 import lombok.Getter;
 import smarthome.domain.sensor.ISensor;
@@ -33,7 +30,14 @@ public class AveragePowerConsumptionSensor implements ISensor {
    * ISensor interface with SensorID as its identifier.
    */
 
-  private final HashMap<LocalDateTime, Double> powerConsumptions;
+  /**
+   * Number of readings kept, the oldest being dropped beyond it. The history only grows to it as
+   * the readings arrive.
+   */
+  public static final int READINGS_KEPT = 100_000;
+
+  @Getter(AccessLevel.NONE)
+  private final PowerConsumptionHistory powerConsumptions;
   @Getter(AccessLevel.NONE)
   private AveragePowerConsumptionSensorValue averagePowerConsumptionSensorValue;
   private final SensorTypeID sensorTypeID;
@@ -65,7 +69,7 @@ public class AveragePowerConsumptionSensor implements ISensor {
     this.sensorName = sensorName;
 
     averagePowerConsumptionSensorValue = new AveragePowerConsumptionSensorValue(0);
-    powerConsumptions = new HashMap<>();
+    powerConsumptions = new PowerConsumptionHistory(READINGS_KEPT);
   }
 
   /**
@@ -85,7 +89,7 @@ public class AveragePowerConsumptionSensor implements ISensor {
     validateSensorTypeID(sensorTypeID);
 
     averagePowerConsumptionSensorValue = new AveragePowerConsumptionSensorValue(0);
-    powerConsumptions = new HashMap<>();
+    powerConsumptions = new PowerConsumptionHistory(READINGS_KEPT);
 
     this.sensorID = sensorID;
     this.deviceID = deviceID;
@@ -111,15 +115,11 @@ public class AveragePowerConsumptionSensor implements ISensor {
    *
    * @param readTime the time of the reading.
    * @param reading  the reading to be set.
-   * @return a new HashMap with the power consumptions.
+   * @return the reading.
    * @throws IllegalArgumentException if there is already a reading for this time.
    */
   protected double addReading(LocalDateTime readTime, double reading) {
-    if (powerConsumptions.containsKey(readTime)) {
-      throw new IllegalArgumentException("There is already a reading for this time");
-    }
-
-    this.powerConsumptions.put(readTime, reading);
+    this.powerConsumptions.add(readTime, reading);
     return reading;
 
   }
@@ -137,33 +137,7 @@ public class AveragePowerConsumptionSensor implements ISensor {
     if (initialTime.isAfter(finalTime)) {
       throw new IllegalArgumentException("Initial time must be before final time");
     }
-    // Calculate the average of the filtered power consumptions
-    double average =
-        filterPowerConsumptionsByTime(initialTime, finalTime).values().stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0);
-    return average;
-  }
-
-  /**
-   * Filters the power consumptions of the PowerConsumptionSensor by time.
-   *
-   * @param initialTime the initial time of the range.
-   * @param finalTime   the final time of the range.
-   * @return a new HashMap with the filtered power consumptions.
-   */
-  private Map<LocalDateTime, Double> filterPowerConsumptionsByTime(
-      LocalDateTime initialTime, LocalDateTime finalTime) {
-    // Filter the powerConsumptions map to only include entries within the specified time range
-    Map<LocalDateTime, Double> filteredPowerConsumptions =
-        powerConsumptions.entrySet().stream()
-            .filter(
-                entry ->
-                    !entry.getKey().isBefore(initialTime) && !entry.getKey().isAfter(finalTime))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-    return filteredPowerConsumptions;
+    return powerConsumptions.average(initialTime, finalTime);
   }
 
   @Override
@@ -0,0 +1,211 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.sensor.average_power_consumption_sensor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Readings of a power consumption sensor, kept in time order in primitive arrays used as a ring:
+ * once the capacity is reached, each new reading drops the oldest one. The running sum of the
+ * readings is stored along with them, so the average of any time range takes two binary searches
+ * and a subtraction, without allocating anything.
+ * <p>
+ * The arrays start small and double as readings are added, up to the capacity, so a sensor with
+ * few readings does not hold the memory of a full history.
+ * <p>
+ * Readings normally arrive in time order and are appended. A reading older than the last one is
+ * inserted in its place, which moves the newer readings; once the capacity is reached, a reading
+ * older than every reading kept is dropped.
+ */
+public class PowerConsumptionHistory {
+
+  static final int INITIAL_LENGTH = 16;
+
+  private final int capacity;
+  private long[] seconds;
+  private int[] nanos;
+  private double[] values;
+  private double[] runningSums;
+  private int head;
+  private int size;
+
+  /**
+   * Constructor of PowerConsumptionHistory
+   *
+   * @param capacity is the number of readings kept.
+   */
+  public PowerConsumptionHistory(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.capacity = capacity;
+    int length = Math.min(capacity, INITIAL_LENGTH);
+    seconds = new long[length];
+    nanos = new int[length];
+    values = new double[length];
+    runningSums = new double[length];
+  }
+
+  /**
+   * Method to add a reading
+   *
+   * @param time    is the time of the reading.
+   * @param reading is the reading.
+   * @throws IllegalArgumentException if there is already a reading for this time.
+   */
+  public void add(LocalDateTime time, double reading) {
+    long second = time.toEpochSecond(ZoneOffset.UTC);
+    int nano = time.getNano();
+    int position = lowerBound(second, nano);
+    if (position < size && compare(position, second, nano) == 0) {
+      throw new IllegalArgumentException("There is already a reading for this time");
+    }
+    if (size == seconds.length && size < capacity) {
+      grow();
+    }
+    if (size == seconds.length) {
+      if (position == 0) {
+        return;
+      }
+      head = (head + 1) % seconds.length;
+      size--;
+      position--;
+    }
+    for (int i = size; i > position; i--) {
+      copy(i - 1, i);
+    }
+    int slot = slot(position);
+    seconds[slot] = second;
+    nanos[slot] = nano;
+    values[slot] = reading;
+    size++;
+    double runningSum = position == 0 ? 0 : runningSums[slot(position - 1)];
+    for (int i = position; i < size; i++) {
+      runningSum += values[slot(i)];
+      runningSums[slot(i)] = runningSum;
+    }
+  }
+
+  /**
+   * Method to get the average of the readings of a time range, bounds included
+   *
+   * @param from is the start of the range.
+   * @param to   is the end of the range.
+   * @return the average, 0 if there is no reading in the range
+   */
+  public double average(LocalDateTime from, LocalDateTime to) {
+    int first = lowerBound(from.toEpochSecond(ZoneOffset.UTC), from.getNano());
+    int last = upperBound(to.toEpochSecond(ZoneOffset.UTC), to.getNano()) - 1;
+    if (first > last) {
+      return 0;
+    }
+    return (runningSums[slot(last)] - runningSumBefore(first)) / (last - first + 1);
+  }
+
+  /**
+   * Method to get the number of readings the arrays can hold before they grow again
+   *
+   * @return the length of the arrays.
+   */
+  int length() {
+    return seconds.length;
+  }
+
+  /**
+   * Method to get the number of readings kept
+   *
+   * @return the number of readings.
+   */
+  public int size() {
+    return size;
+  }
+
+  private double runningSumBefore(int position) {
+    return position == 0 ? runningSums[slot(0)] - values[slot(0)]
+        : runningSums[slot(position - 1)];
+  }
+
+  /**
+   * Method to double the length of the arrays, up to the capacity. The readings are copied in
+   * time order, so the ring starts again at the first slot.
+   */
+  private void grow() {
+    int length = (int) Math.min(capacity, 2L * seconds.length);
+    long[] grownSeconds = new long[length];
+    int[] grownNanos = new int[length];
+    double[] grownValues = new double[length];
+    double[] grownRunningSums = new double[length];
+    for (int i = 0; i < size; i++) {
+      int slot = slot(i);
+      grownSeconds[i] = seconds[slot];
+      grownNanos[i] = nanos[slot];
+      grownValues[i] = values[slot];
+      grownRunningSums[i] = runningSums[slot];
+    }
+    seconds = grownSeconds;
+    nanos = grownNanos;
+    values = grownValues;
+    runningSums = grownRunningSums;
+    head = 0;
+  }
+
+  private void copy(int from, int to) {
+    int source = slot(from);
+    int target = slot(to);
+    seconds[target] = seconds[source];
+    nanos[target] = nanos[source];
+    values[target] = values[source];
+    runningSums[target] = runningSums[source];
+  }
+
+  private int slot(int position) {
+    return (head + position) % seconds.length;
+  }
+
+  private int compare(int position, long second, int nano) {
+    int slot = slot(position);
+    int bySecond = Long.compare(seconds[slot], second);
+    return bySecond != 0 ? bySecond : Integer.compare(nanos[slot], nano);
+  }
+
+  /**
+   * Method to get the position of the first reading at or after a time.
+   */
+  private int lowerBound(long second, int nano) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(middle, second, nano) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Method to get the position of the first reading after a time.
+   */
+  private int upperBound(long second, int nano) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(middle, second, nano) <= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+}
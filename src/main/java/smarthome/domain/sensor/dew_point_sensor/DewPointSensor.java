@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor.dew_point_sensor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +20,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
-import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SimulationEngine;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -108,7 +109,8 @@ public class DewPointSensor implements ISensor {
 
   @Override
   public DewPointValue getValue() {
-    int dewPointValue = ValueSimulator.generateRandomValue(-70, 70);
+    int dewPointValue = (int) Math.round(SimulationEngine.shared()
+        .next(SimulationEngine.DEW_POINT, sensorID, LocalDateTime.now()));
     this.dewPointValue = new DewPointValue(dewPointValue);
 
     return this.dewPointValue;
@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor.humidity_sensor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +20,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
-import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SimulationEngine;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 /**
@@ -121,7 +122,8 @@ public class HumiditySensor implements ISensor {
    */
   @Override
   public HumiditySensorValue getValue() {
-    int humidityReadingReading = ValueSimulator.generateRandomValue(0, 100);
+    int humidityReadingReading = (int) Math.round(SimulationEngine.shared()
+        .next(SimulationEngine.HUMIDITY, sensorID, LocalDateTime.now()));
     humiditySensorValue = new HumiditySensorValue(humidityReadingReading);
     return humiditySensorValue;
   }
@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor.instant_power_consumption_sensor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +20,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
-import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SimulationEngine;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -118,7 +119,8 @@ public class InstantPowerConsumptionSensor implements ISensor {
    */
   @Override
   public InstantPowerConsumptionValue getValue() {
-    double instantPowerConsumptionValue = ValueSimulator.generateRandomValue(0.0, 100);
+    double instantPowerConsumptionValue = SimulationEngine.shared()
+        .next(SimulationEngine.INSTANT_POWER_CONSUMPTION, sensorID, LocalDateTime.now());
     this.instantPowerConsumptionValue =
         new InstantPowerConsumptionValue(instantPowerConsumptionValue);
 
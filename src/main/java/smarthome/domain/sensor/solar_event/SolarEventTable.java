@@ -0,0 +1,137 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.sensor.solar_event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.shredzone.commons.suncalc.SunTimes;
+import smarthome.domain.value_object.GPS;
+import smarthome.utils.Validator;
+
+/**
+ * Table of the sunrise and sunset times of the locations the solar sensors are at, so that reading
+ * a sensor is a lookup instead of an astronomical calculation.
+ * <p>
+ * The times of a location are kept per year in a primitive array holding the nano of day of the
+ * sunrise and of the sunset of each day, filled lazily one day at a time, or for the whole year at
+ * once with {@link #precompute(GPS, Year)}. Locations are keyed by their coordinates to the five
+ * decimal places a {@link GPS} holds, and by the time zone the times are given in. The least
+ * recently used years are dropped beyond {@link #MAX_YEARS}.
+ */
+public class SolarEventTable {
+
+  public static final int MAX_YEARS = 256;
+  private static final SolarEventTable SHARED = new SolarEventTable();
+  private static final double COORDINATE_SCALE = 100_000;
+  private static final int DAYS_PER_YEAR = 366;
+  private static final long NOT_COMPUTED = -1;
+  private static final long NO_EVENT = -2;
+
+  private final Map<YearKey, AtomicLongArray> years = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<YearKey, AtomicLongArray> eldest) {
+      return size() > MAX_YEARS;
+    }
+  };
+
+  private record YearKey(long latitude, long longitude, ZoneId zone, int year) {
+
+  }
+
+  /**
+   * Method to get the table shared by the solar sensors
+   *
+   * @return the shared table.
+   */
+  public static SolarEventTable shared() {
+    return SHARED;
+  }
+
+  /**
+   * Method to get the sunrise time of a day at a location, in the system time zone
+   *
+   * @param gps  is the location.
+   * @param date is the day.
+   * @return the sunrise time, null if the sun does not rise
+   */
+  public LocalTime sunrise(GPS gps, LocalDate date) {
+    return timeOf(eventsOf(gps, date), 2 * (date.getDayOfYear() - 1));
+  }
+
+  /**
+   * Method to get the sunset time of a day at a location, in the system time zone
+   *
+   * @param gps  is the location.
+   * @param date is the day.
+   * @return the sunset time, null if the sun does not set
+   */
+  public LocalTime sunset(GPS gps, LocalDate date) {
+    return timeOf(eventsOf(gps, date), 2 * (date.getDayOfYear() - 1) + 1);
+  }
+
+  /**
+   * Method to compute the sunrise and sunset times of every day of a year at a location
+   *
+   * @param gps  is the location.
+   * @param year is the year.
+   */
+  public void precompute(GPS gps, Year year) {
+    Validator.validateNotNull(year, "Year");
+    for (LocalDate date = year.atDay(1); date.getYear() == year.getValue();
+        date = date.plusDays(1)) {
+      eventsOf(gps, date);
+    }
+  }
+
+  /**
+   * Method to get the array of the year of a day, with the times of the day computed.
+   */
+  private AtomicLongArray eventsOf(GPS gps, LocalDate date) {
+    Validator.validateNotNull(gps, "GPS");
+    Validator.validateNotNull(date, "Date");
+    YearKey key = new YearKey(Math.round(gps.getLatitude() * COORDINATE_SCALE),
+        Math.round(gps.getLongitude() * COORDINATE_SCALE), ZoneId.systemDefault(),
+        date.getYear());
+    AtomicLongArray events;
+    synchronized (years) {
+      events = years.computeIfAbsent(key, k -> newYear());
+    }
+    int day = 2 * (date.getDayOfYear() - 1);
+    if (events.get(day) == NOT_COMPUTED) {
+      SunTimes times = SunTimes.compute().on(date)
+          .at(gps.getLatitude(), gps.getLongitude()).execute();
+      events.set(day + 1, nanoOfDay(times.getSet()));
+      events.set(day, nanoOfDay(times.getRise()));
+    }
+    return events;
+  }
+
+  private static AtomicLongArray newYear() {
+    AtomicLongArray events = new AtomicLongArray(2 * DAYS_PER_YEAR);
+    for (int i = 0; i < events.length(); i++) {
+      events.set(i, NOT_COMPUTED);
+    }
+    return events;
+  }
+
+  private static long nanoOfDay(ZonedDateTime time) {
+    return time == null ? NO_EVENT : time.toLocalTime().toNanoOfDay();
+  }
+
+  private static LocalTime timeOf(AtomicLongArray events, int index) {
+    long nanoOfDay = events.get(index);
+    return nanoOfDay == NO_EVENT ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+  }
+}
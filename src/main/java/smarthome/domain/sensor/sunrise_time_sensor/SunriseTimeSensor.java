@@ -13,8 +13,8 @@ import java.time.LocalTime;
 import java.util.Objects;
 import lombok.AccessLevel;
 import lombok.Getter;
-import org.shredzone.commons.suncalc.SunTimes;
 import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.solar_event.SolarEventTable;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.ModelPath;
@@ -98,8 +98,7 @@ public class SunriseTimeSensor implements ISensor {
    * @return the Sunrise Time of the GPS location for a given date.
    */
   private LocalTime getSunriseTime(LocalDate date) {
-    SunTimes time = SunTimes.compute().on(date).at(gps.getLatitude(), gps.getLongitude()).execute();
-    LocalTime sunrise = Objects.requireNonNull(time.getRise()).toLocalTime();
+    LocalTime sunrise = Objects.requireNonNull(SolarEventTable.shared().sunrise(gps, date));
     return sunrise;
   }
 
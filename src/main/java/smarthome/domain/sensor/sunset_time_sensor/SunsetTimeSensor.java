@@ -15,8 +15,8 @@ import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
-import org.shredzone.commons.suncalc.SunTimes;
 import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.solar_event.SolarEventTable;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.ModelPath;
@@ -156,8 +156,7 @@ public class SunsetTimeSensor implements ISensor {
    * @return The sunset time
    */
   private LocalTime getSunsetTime(LocalDate date) {
-    SunTimes time = SunTimes.compute().on(date).at(gps.getLatitude(), gps.getLongitude()).execute();
-    LocalTime sunset = Objects.requireNonNull(time.getSet()).toLocalTime()
+    LocalTime sunset = Objects.requireNonNull(SolarEventTable.shared().sunset(gps, date))
         .truncatedTo(ChronoUnit.SECONDS);
     return sunset;
   }
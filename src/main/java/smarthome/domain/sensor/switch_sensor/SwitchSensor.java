@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor.switch_sensor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +20,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
-import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SimulationEngine;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -116,7 +117,8 @@ public class SwitchSensor implements ISensor {
    */
   @Override
   public SwitchSensorValue getValue() {
-    boolean randomBoolean = ValueSimulator.generateRandomBoolean();
+    boolean randomBoolean = SimulationEngine.shared()
+        .next(SimulationEngine.SWITCH, sensorID, LocalDateTime.now()) >= 0.5;
     this.switchSensorValue = new SwitchSensorValue(randomBoolean);
 
     return this.switchSensorValue;
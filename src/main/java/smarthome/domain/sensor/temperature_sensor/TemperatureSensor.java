@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor.temperature_sensor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +20,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
-import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SimulationEngine;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -107,8 +108,9 @@ public class TemperatureSensor implements ISensor {
    */
   @Override
   public TemperatureSensorValue getValue() {
-    // Generate a random temperature as a simulation of hardware behavior
-    double temperatureReading = ValueSimulator.generateRandomValue(-50.0, 50.0);
+    // Follow the temperature over the day as a simulation of hardware behavior
+    double temperatureReading = SimulationEngine.shared()
+        .next(SimulationEngine.TEMPERATURE, sensorID, LocalDateTime.now());
     this.temperatureSensorValue = new TemperatureSensorValue(temperatureReading);
 
     return temperatureSensorValue;
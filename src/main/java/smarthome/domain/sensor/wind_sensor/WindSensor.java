@@ -8,6 +8,7 @@
 
 package smarthome.domain.sensor.wind_sensor;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 import lombok.AccessLevel;
@@ -19,7 +20,7 @@ import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorName;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
-import smarthome.utils.ValueSimulator;
+import smarthome.utils.simulation.SimulationEngine;
 import smarthome.utils.visitor_pattern.ISensorVisitor;
 
 @Getter
@@ -111,8 +112,11 @@ public class WindSensor implements ISensor {
    */
   @Override
   public WindSensorValue getValue() {
-    int speed = ValueSimulator.generateRandomValue(0, 408);
-    double direction = ValueSimulator.generateRandomValue(0.0, 2 * Math.PI);
+    LocalDateTime now = LocalDateTime.now();
+    int speed = (int) Math.round(
+        SimulationEngine.shared().next(SimulationEngine.WIND_SPEED, sensorID, now));
+    double direction =
+        SimulationEngine.shared().next(SimulationEngine.WIND_DIRECTION, sensorID, now);
     this.windSensorValue = new WindSensorValue(speed, direction);
     return windSensorValue;
   }
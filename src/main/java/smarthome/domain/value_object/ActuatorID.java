@@ -9,9 +9,12 @@
 package smarthome.domain.value_object;
 
 import smarthome.ddd.IDomainID;
+import smarthome.utils.Interner;
 
 public class ActuatorID implements IDomainID {
 
+  private static final Interner<ActuatorID> POOL = new Interner<>();
+
   private final String id;
 
 
@@ -25,6 +28,16 @@ public class ActuatorID implements IDomainID {
     this.id = actuatorID;
   }
 
+  /**
+   * Method to get the canonical instance of an actuator ID, shared by the equal IDs
+   *
+   * @param actuatorID is the ID.
+   * @return the actuator ID
+   */
+  public static ActuatorID of(String actuatorID) {
+    return POOL.intern(new ActuatorID(actuatorID));
+  }
+
   /**
    * Validates the ID of the actuator.
    *
@@ -9,9 +9,12 @@
 package smarthome.domain.value_object;
 
 import smarthome.ddd.IDomainID;
+import smarthome.utils.Interner;
 
 public class DeviceID implements IDomainID {
 
+  private static final Interner<DeviceID> POOL = new Interner<>();
+
   private final String id;
 
   /**
@@ -24,6 +27,16 @@ public class DeviceID implements IDomainID {
     this.id = deviceID.trim();
   }
 
+  /**
+   * Method to get the canonical instance of a device ID, shared by the equal IDs
+   *
+   * @param deviceID is the ID.
+   * @return the device ID
+   */
+  public static DeviceID of(String deviceID) {
+    return POOL.intern(new DeviceID(deviceID));
+  }
+
   /**
    * Validates the DeviceID. It should not be null, blank, or empty.
    *
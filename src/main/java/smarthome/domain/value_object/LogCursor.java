@@ -0,0 +1,124 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import smarthome.ddd.IValueObject;
+import smarthome.domain.log.Log;
+
+/**
+ * Value object for the position of a log in the (timestamp, logID) order. A page of logs starts
+ * right after the cursor, so pages stay stable while new logs are added and the database can seek
+ * to the cursor in the index instead of skipping an offset.
+ */
+public class LogCursor implements IValueObject {
+
+  private static final String SEPARATOR = "|";
+
+  private final LocalDateTime timestamp;
+  private final LogID logID;
+
+  /**
+   * Constructor for LogCursor
+   *
+   * @param timestamp is the timestamp of the last log read.
+   * @param logID     is the id of the last log read.
+   */
+  public LogCursor(LocalDateTime timestamp, LogID logID) {
+    if (timestamp == null || logID == null) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+    this.timestamp = timestamp;
+    this.logID = logID;
+  }
+
+  /**
+   * Method to create the cursor positioned on a log
+   *
+   * @param log Log object
+   * @return the cursor of the log
+   */
+  public static LogCursor of(Log log) {
+    return new LogCursor(log.getTimeStamp(), log.getID());
+  }
+
+  /**
+   * Method to read a cursor from its encoded form
+   *
+   * @param encoded is the text returned by {@link #encode()}.
+   * @return the cursor
+   */
+  public static LogCursor decode(String encoded) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+      int separator = decoded.indexOf(SEPARATOR);
+      return new LogCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+          new LogID(decoded.substring(separator + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+  }
+
+  /**
+   * Method to encode the cursor as an opaque, URL safe text
+   *
+   * @return the encoded cursor
+   */
+  public String encode() {
+    String value = timestamp + SEPARATOR + logID.getID();
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Method to check whether a log comes after the cursor
+   *
+   * @param log Log object
+   * @return true if the log is after the cursor in the (timestamp, logID) order
+   */
+  public boolean isBefore(Log log) {
+    int comparison = log.getTimeStamp().compareTo(timestamp);
+    return comparison > 0 || (comparison == 0 && log.getID().getID().compareTo(logID.getID()) > 0);
+  }
+
+  /**
+   * Get timestamp
+   *
+   * @return the timestamp
+   */
+  public LocalDateTime getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Get log ID
+   *
+   * @return the log ID
+   */
+  public LogID getLogID() {
+    return logID;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof LogCursor logCursor) {
+      return timestamp.equals(logCursor.timestamp) && logID.equals(logCursor.logID);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(timestamp, logID);
+  }
+}
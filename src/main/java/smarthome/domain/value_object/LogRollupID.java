@@ -0,0 +1,81 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import java.time.LocalDateTime;
+import smarthome.ddd.IDomainID;
+import smarthome.utils.Validator;
+
+public class LogRollupID implements IDomainID {
+
+  private final String id;
+
+  /**
+   * Constructor for LogRollupID. The ID is derived from what identifies a bucket, so the readings
+   * of the same sensor falling in the same bucket always map to the same rollup.
+   *
+   * @param sensorID    is the sensor the readings come from.
+   * @param resolution  is the width of the bucket.
+   * @param bucketStart is the start of the bucket.
+   */
+  public LogRollupID(SensorID sensorID, RollupResolution resolution, LocalDateTime bucketStart) {
+    Validator.validateNotNull(sensorID, "Sensor ID");
+    Validator.validateNotNull(resolution, "Resolution");
+    Validator.validateNotNull(bucketStart, "Bucket start");
+    this.id = sensorID.getID() + "|" + resolution.getToken() + "|" + bucketStart;
+  }
+
+  /**
+   * Getter for ID
+   *
+   * @return the logRollupID
+   */
+  @Override
+  public String getID() {
+    return id;
+  }
+
+  /**
+   * Equals method for LogRollupID
+   *
+   * @param o Object
+   * @return boolean
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (o instanceof LogRollupID objectLogRollupID) {
+      return this.id.equals(objectLogRollupID.id);
+    }
+    return false;
+  }
+
+  /**
+   * HashCode method for LogRollupID
+   *
+   * @return the hashcode as an int
+   */
+  @Override
+  public int hashCode() {
+    return id.hashCode();
+  }
+
+  /**
+   * toString method for LogRollupID
+   *
+   * @return the logRollupID as a string
+   */
+  @Override
+  public String toString() {
+    return id;
+  }
+}
@@ -0,0 +1,77 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import java.time.LocalDateTime;
+import smarthome.ddd.IDomainID;
+import smarthome.utils.Validator;
+
+public class PowerPeakID implements IDomainID {
+
+  private final String id;
+
+  /**
+   * Constructor for PowerPeakID. The ID is derived from the start of the minute the peak covers,
+   * so the readings of the same minute always map to the same peak.
+   *
+   * @param bucketStart is the start of the minute.
+   */
+  public PowerPeakID(LocalDateTime bucketStart) {
+    Validator.validateNotNull(bucketStart, "Bucket start");
+    this.id = bucketStart.toString();
+  }
+
+  /**
+   * Getter for ID
+   *
+   * @return the powerPeakID
+   */
+  @Override
+  public String getID() {
+    return id;
+  }
+
+  /**
+   * Equals method for PowerPeakID
+   *
+   * @param o Object
+   * @return boolean
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (o instanceof PowerPeakID objectPowerPeakID) {
+      return this.id.equals(objectPowerPeakID.id);
+    }
+    return false;
+  }
+
+  /**
+   * HashCode method for PowerPeakID
+   *
+   * @return the hashcode as an int
+   */
+  @Override
+  public int hashCode() {
+    return id.hashCode();
+  }
+
+  /**
+   * toString method for PowerPeakID
+   *
+   * @return the powerPeakID as a string
+   */
+  @Override
+  public String toString() {
+    return id;
+  }
+}
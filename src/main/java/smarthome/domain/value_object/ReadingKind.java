@@ -0,0 +1,27 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+/**
+ * Kind of value held by a {@link ReadingValue}.
+ */
+public enum ReadingKind {
+  INTEGER,
+  DECIMAL,
+  TEXT;
+
+  /**
+   * Method to check if readings of this kind have a numeric value.
+   *
+   * @return true for integer and decimal readings, false otherwise.
+   */
+  public boolean isNumeric() {
+    return this != TEXT;
+  }
+}
@@ -0,0 +1,160 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import smarthome.ddd.IValueObject;
+import smarthome.utils.Validator;
+
+/**
+ * Value object for the statistics of the numeric readings of a sensor type over a period: count,
+ * minimum, maximum, average and the requested percentiles. Percentiles use the nearest-rank
+ * method, so each one is a reading that was actually logged.
+ */
+public class ReadingStatistics implements IValueObject {
+
+  private static final ReadingStatistics EMPTY =
+      new ReadingStatistics(0, Double.NaN, Double.NaN, Double.NaN, Map.of());
+
+  private final long count;
+  private final double min;
+  private final double max;
+  private final double average;
+  private final Map<Double, Double> percentiles;
+
+  /**
+   * Constructor for ReadingStatistics
+   *
+   * @param count       is the number of numeric readings.
+   * @param min         is the lowest reading.
+   * @param max         is the highest reading.
+   * @param average     is the average of the readings.
+   * @param percentiles are the readings at each requested percentile, by percentile.
+   */
+  public ReadingStatistics(long count, double min, double max, double average,
+      Map<Double, Double> percentiles) {
+    Validator.validateNotNull(percentiles, "Percentiles");
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative");
+    }
+    this.count = count;
+    this.min = min;
+    this.max = max;
+    this.average = average;
+    this.percentiles = Collections.unmodifiableMap(new LinkedHashMap<>(percentiles));
+  }
+
+  /**
+   * Method to get the statistics of a period without numeric readings
+   *
+   * @return the empty statistics
+   */
+  public static ReadingStatistics empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Method to validate the requested percentiles
+   *
+   * @param percentiles are the percentiles, each between 0 and 100.
+   */
+  public static void validatePercentiles(List<Double> percentiles) {
+    Validator.validateNotNull(percentiles, "Percentiles");
+    for (Double percentile : percentiles) {
+      if (percentile == null || !(percentile >= 0 && percentile <= 100)) {
+        throw new IllegalArgumentException("Percentile must be between 0 and 100");
+      }
+    }
+  }
+
+  /**
+   * Method to get the rank, in ascending order and starting at 1, of the reading at a percentile
+   *
+   * @param percentile is the percentile, between 0 and 100.
+   * @param count      is the number of readings, at least 1.
+   * @return the rank of the reading
+   */
+  public static long rankOf(double percentile, long count) {
+    return Math.max(1, (long) Math.ceil(percentile / 100 * count));
+  }
+
+  /**
+   * Getter for the number of readings
+   *
+   * @return the number of readings
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Method to check if there were no numeric readings
+   *
+   * @return true if there were no numeric readings
+   */
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Getter for the lowest reading
+   *
+   * @return the lowest reading, NaN if there were none
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * Getter for the highest reading
+   *
+   * @return the highest reading, NaN if there were none
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * Getter for the average of the readings
+   *
+   * @return the average, NaN if there were none
+   */
+  public double getAverage() {
+    return average;
+  }
+
+  /**
+   * Getter for the readings at the requested percentiles
+   *
+   * @return the readings by percentile, in the order they were requested
+   */
+  public Map<Double, Double> getPercentiles() {
+    return percentiles;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof ReadingStatistics statistics) {
+      return count == statistics.count && Double.compare(min, statistics.min) == 0
+          && Double.compare(max, statistics.max) == 0
+          && Double.compare(average, statistics.average) == 0
+          && percentiles.equals(statistics.percentiles);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(count, min, max, average, percentiles);
+  }
+}
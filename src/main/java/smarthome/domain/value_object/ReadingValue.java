@@ -8,21 +8,64 @@
 
 package smarthome.domain.value_object;
 
+import java.util.regex.Pattern;
 import smarthome.ddd.IValueObject;
 import smarthome.utils.Validator;
 
 public class ReadingValue implements IValueObject {
 
+  private static final Pattern INTEGER_PATTERN = Pattern.compile("[+-]?\\d{1,18}");
+  private static final Pattern DECIMAL_PATTERN =
+      Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+
   private final String value;
+  private final ReadingKind kind;
+  private final double numericValue;
 
   /**
-   * Constructor of the class ReadingValue.
+   * Constructor of the class ReadingValue. The value is parsed once, so numeric readings can be
+   * read as primitives without parsing the text again.
    *
    * @param value is the value of the reading.
    */
   public ReadingValue(String value) {
     Validator.validateNotNull(value, "Reading Value");
     this.value = value;
+    if (INTEGER_PATTERN.matcher(value).matches()) {
+      this.kind = ReadingKind.INTEGER;
+      this.numericValue = Long.parseLong(value);
+    } else if (DECIMAL_PATTERN.matcher(value).matches()) {
+      this.kind = ReadingKind.DECIMAL;
+      this.numericValue = Double.parseDouble(value);
+    } else {
+      this.kind = ReadingKind.TEXT;
+      this.numericValue = Double.NaN;
+    }
+  }
+
+  /**
+   * Constructor of the class ReadingValue for an integer reading.
+   *
+   * @param value is the value of the reading.
+   */
+  public ReadingValue(long value) {
+    this.value = String.valueOf(value);
+    this.kind = ReadingKind.INTEGER;
+    this.numericValue = value;
+  }
+
+  /**
+   * Constructor of the class ReadingValue for a decimal reading.
+   *
+   * @param value is the value of the reading.
+   */
+  public ReadingValue(double value) {
+    if (!Double.isFinite(value)) {
+      throw new IllegalArgumentException("Reading Value must be a finite number");
+    }
+    this.value = String.valueOf(value);
+    this.kind = ReadingKind.DECIMAL;
+    this.numericValue = value;
   }
 
   /**
@@ -34,6 +77,53 @@ public class ReadingValue implements IValueObject {
     return value;
   }
 
+  /**
+   * Getter for the kind of the reading value.
+   *
+   * @return the kind of the reading value.
+   */
+  public ReadingKind getKind() {
+    return kind;
+  }
+
+  /**
+   * Method to check if the reading value is a number.
+   *
+   * @return true if the reading value is an integer or a decimal, false otherwise.
+   */
+  public boolean isNumeric() {
+    return kind.isNumeric();
+  }
+
+  /**
+   * Getter for the reading value as a double.
+   *
+   * @return the numeric value of the reading.
+   */
+  public double asDouble() {
+    validateNumeric();
+    return numericValue;
+  }
+
+  /**
+   * Getter for the reading value as a long. Decimal readings are rounded to the nearest integer.
+   *
+   * @return the numeric value of the reading, rounded.
+   */
+  public long asLong() {
+    validateNumeric();
+    return Math.round(numericValue);
+  }
+
+  /**
+   * Validates that the reading value is a number.
+   */
+  private void validateNumeric() {
+    if (!kind.isNumeric()) {
+      throw new IllegalArgumentException("Reading value is not numeric");
+    }
+  }
+
   /**
    * Equals method for ReadingValue.
    *
@@ -0,0 +1,114 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import smarthome.utils.Validator;
+
+/**
+ * Width of the time buckets readings are summarized into, from the finest to the coarsest.
+ */
+public enum RollupResolution {
+  ONE_MINUTE("1m", Duration.ofMinutes(1)),
+  FIFTEEN_MINUTES("15m", Duration.ofMinutes(15)),
+  ONE_HOUR("1h", Duration.ofHours(1)),
+  ONE_DAY("1d", Duration.ofDays(1));
+
+  private final String token;
+  private final Duration bucketSize;
+
+  RollupResolution(String token, Duration bucketSize) {
+    this.token = token;
+    this.bucketSize = bucketSize;
+  }
+
+  /**
+   * @return the short name of the resolution, as used in the API (1m, 15m, 1h, 1d).
+   */
+  public String getToken() {
+    return token;
+  }
+
+  /**
+   * @return the width of a bucket.
+   */
+  public Duration getBucketSize() {
+    return bucketSize;
+  }
+
+  /**
+   * Method to get the start of the bucket a timestamp falls in. Buckets are aligned on the clock:
+   * 15-minute buckets start at :00, :15, :30 and :45, daily buckets at midnight.
+   *
+   * @param timestamp is the timestamp.
+   * @return the start of its bucket.
+   */
+  public LocalDateTime bucketStartOf(LocalDateTime timestamp) {
+    Validator.validateNotNull(timestamp, "Timestamp");
+    LocalDateTime minute = timestamp.truncatedTo(ChronoUnit.MINUTES);
+    return switch (this) {
+      case ONE_MINUTE -> minute;
+      case FIFTEEN_MINUTES -> minute.minusMinutes(minute.getMinute() % 15L);
+      case ONE_HOUR -> timestamp.truncatedTo(ChronoUnit.HOURS);
+      case ONE_DAY -> timestamp.truncatedTo(ChronoUnit.DAYS);
+    };
+  }
+
+  /**
+   * Method to count the buckets needed to cover a period.
+   *
+   * @param period is the period.
+   * @return the number of buckets overlapping the period.
+   */
+  public long bucketCount(DatePeriod period) {
+    Validator.validateNotNull(period, "Date Period");
+    Duration covered = Duration.between(bucketStartOf(period.getStartDate()),
+        period.getEndDate());
+    return covered.dividedBy(bucketSize) + 1;
+  }
+
+  /**
+   * Method to get a resolution from its short name.
+   *
+   * @param token is the short name (1m, 15m, 1h or 1d).
+   * @return the resolution.
+   */
+  public static RollupResolution fromToken(String token) {
+    Validator.validateNotNull(token, "Resolution");
+    for (RollupResolution resolution : values()) {
+      if (resolution.token.equalsIgnoreCase(token.trim())) {
+        return resolution;
+      }
+    }
+    throw new IllegalArgumentException("Unknown resolution: " + token);
+  }
+
+  /**
+   * Method to choose the resolution for a period so that it is summarized in at most the given
+   * number of points. The finest resolution that fits is chosen, as every coarser one would only
+   * lose detail; if none fits, the coarsest resolution is used.
+   *
+   * @param period    is the period.
+   * @param maxPoints is the maximum number of points wanted.
+   * @return the resolution to use.
+   */
+  public static RollupResolution forPointBudget(DatePeriod period, int maxPoints) {
+    if (maxPoints <= 0) {
+      throw new IllegalArgumentException("Point budget must be positive");
+    }
+    for (RollupResolution resolution : values()) {
+      if (resolution.bucketCount(period) <= maxPoints) {
+        return resolution;
+      }
+    }
+    return ONE_DAY;
+  }
+}
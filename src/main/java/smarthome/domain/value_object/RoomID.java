@@ -9,9 +9,12 @@
 package smarthome.domain.value_object;
 
 import smarthome.ddd.IDomainID;
+import smarthome.utils.Interner;
 
 public class RoomID implements IDomainID {
 
+  private static final Interner<RoomID> POOL = new Interner<>();
+
   private final String id;
 
   /**
@@ -24,6 +27,16 @@ public class RoomID implements IDomainID {
     this.id = roomID;
   }
 
+  /**
+   * Method to get the canonical instance of a room ID, shared by the equal IDs
+   *
+   * @param roomID is the ID.
+   * @return the room ID
+   */
+  public static RoomID of(String roomID) {
+    return POOL.intern(new RoomID(roomID));
+  }
+
   /**
    * Validates the ID of the room.
    *
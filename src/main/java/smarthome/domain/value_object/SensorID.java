@@ -9,9 +9,12 @@
 package smarthome.domain.value_object;
 
 import smarthome.ddd.IDomainID;
+import smarthome.utils.Interner;
 
 public class SensorID implements IDomainID {
 
+  private static final Interner<SensorID> POOL = new Interner<>();
+
   private final String id;
 
   /**
@@ -24,6 +27,16 @@ public class SensorID implements IDomainID {
     this.id = sensorID.trim();
   }
 
+  /**
+   * Method to get the canonical instance of a sensor ID, shared by the equal IDs
+   *
+   * @param sensorID is the ID.
+   * @return the sensor ID
+   */
+  public static SensorID of(String sensorID) {
+    return POOL.intern(new SensorID(sensorID));
+  }
+
   /**
    * Validate the SensorID The value of 'sensorID' should not null, blank, or empty.
    *
@@ -9,9 +9,12 @@
 package smarthome.domain.value_object;
 
 import smarthome.ddd.IDomainID;
+import smarthome.utils.Interner;
 
 public class SensorTypeID implements IDomainID {
 
+  private static final Interner<SensorTypeID> POOL = new Interner<>();
+
   private final String id;
 
   /**
@@ -24,6 +27,16 @@ public class SensorTypeID implements IDomainID {
     this.id = sensorTypeID;
   }
 
+  /**
+   * Method to get the canonical instance of a sensor type ID, shared by the equal IDs
+   *
+   * @param sensorTypeID is the ID.
+   * @return the sensor type ID
+   */
+  public static SensorTypeID of(String sensorTypeID) {
+    return POOL.intern(new SensorTypeID(sensorTypeID));
+  }
+
   /**
    * Method to validate the ID.
    *
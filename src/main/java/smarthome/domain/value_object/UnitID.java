@@ -9,6 +9,7 @@
 package smarthome.domain.value_object;
 
 import smarthome.ddd.IDomainID;
+import smarthome.utils.Interner;
 
 /**
  * This class ensures that the unit ID adheres to specific validation rules before it is
@@ -16,6 +17,8 @@ import smarthome.ddd.IDomainID;
  */
 public class UnitID implements IDomainID {
 
+  private static final Interner<UnitID> POOL = new Interner<>();
+
   private final String unitID;
 
   /**
@@ -29,6 +32,16 @@ public class UnitID implements IDomainID {
     this.unitID = unitID.trim();
   }
 
+  /**
+   * Method to get the canonical instance of a unit ID, shared by the equal IDs
+   *
+   * @param unitID is the ID.
+   * @return the unit ID
+   */
+  public static UnitID of(String unitID) {
+    return POOL.intern(new UnitID(unitID));
+  }
+
   /**
    * Validates the given unit ID.
    *
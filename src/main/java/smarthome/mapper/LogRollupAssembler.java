@@ -0,0 +1,57 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.mapper;
+
+import java.util.List;
+import org.springframework.stereotype.Component;
+import smarthome.ddd.IAssembler;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.utils.Validator;
+import smarthome.utils.dto.LogRollupDTO;
+
+@Component
+public class LogRollupAssembler implements IAssembler<LogRollup, LogRollupDTO> {
+
+  /**
+   * Converts a LogRollup object to a LogRollupDTO object.
+   *
+   * @param domainEntity is the domain entity to be converted.
+   * @return the LogRollupDTO object.
+   */
+  @Override
+  public LogRollupDTO domainToDTO(LogRollup domainEntity) {
+    Validator.validateNotNull(domainEntity, "Log Rollup");
+
+    return new LogRollupDTO(
+        domainEntity.getDeviceID().toString(),
+        domainEntity.getSensorID().toString(),
+        domainEntity.getSensorTypeID().toString(),
+        domainEntity.getUnitID().toString(),
+        domainEntity.getResolution().getToken(),
+        domainEntity.getBucketStart().toString(),
+        domainEntity.getCount(),
+        domainEntity.getMin(),
+        domainEntity.getMax(),
+        domainEntity.getAverage());
+  }
+
+  /**
+   * Converts a list of LogRollup objects to a list of LogRollupDTO objects.
+   *
+   * @param domainEntities is the list of domain entities to be converted.
+   * @return the list of LogRollupDTO objects.
+   */
+  @Override
+  public List<LogRollupDTO> domainToDTO(List<LogRollup> domainEntities) {
+    if (domainEntities == null) {
+      throw new IllegalArgumentException("The list of Log Rollups cannot be null.");
+    }
+    return domainEntities.stream().map(this::domainToDTO).toList();
+  }
+}
@@ -28,7 +28,8 @@ import smarthome.utils.Validator;
 public class ActuatorDataModelAssembler implements
     IDataModelAssembler<ActuatorDataModel, IActuator> {
 
-  private final List<Object> parameters = new ArrayList<>();
+  private static final int MAX_PARAMETERS = 5;
+
   private final IActuatorFactory actuatorFactory;
 
   public ActuatorDataModelAssembler(IActuatorFactory actuatorFactory) {
@@ -39,19 +40,19 @@ public class ActuatorDataModelAssembler implements
   @Override
   public IActuator toDomain(ActuatorDataModel domainEntity) {
     Validator.validateNotNull(domainEntity, "Actuator data model");
-    parameters.clear();
-    getDeviceID(domainEntity);
-    getModelPath(domainEntity);
-    getActuatorTypeID(domainEntity);
-    getActuatorName(domainEntity);
+    List<Object> parameters = new ArrayList<>(MAX_PARAMETERS);
+    getDeviceID(domainEntity, parameters);
+    getModelPath(domainEntity, parameters);
+    getActuatorTypeID(domainEntity, parameters);
+    getActuatorName(domainEntity, parameters);
     if (Objects.equals(domainEntity.getActuatorTypeID(), "SetInteger")){
-      getIntegerLimits(domainEntity);
+      getIntegerLimits(domainEntity, parameters);
     }
 
     if (Objects.equals(domainEntity.getActuatorTypeID(), "SetDecimal")){
-      getDecimalLimits(domainEntity);
+      getDecimalLimits(domainEntity, parameters);
     }
-    getActuatorID(domainEntity);
+    getActuatorID(domainEntity, parameters);
 
     return actuatorFactory.create(parameters.toArray());
   }
@@ -64,34 +65,44 @@ public class ActuatorDataModelAssembler implements
    */
   @Override
   public List<IActuator> toDomain(List<ActuatorDataModel> domainEntities) {
-    return List.of(domainEntities.stream().map(this::toDomain).toArray(IActuator[]::new));
+    IActuator[] actuators = new IActuator[domainEntities.size()];
+    int i = 0;
+    for (ActuatorDataModel actuatorDataModel : domainEntities) {
+      actuators[i++] = toDomain(actuatorDataModel);
+    }
+    return List.of(actuators);
   }
 
-  private boolean getDeviceID(ActuatorDataModel actuatorDataModel) {
-    DeviceID deviceID = new DeviceID(actuatorDataModel.getDeviceID());
+  private boolean getDeviceID(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
+    DeviceID deviceID = DeviceID.of(actuatorDataModel.getDeviceID());
     parameters.add(deviceID);
     return true;
   }
 
-  private boolean getModelPath(ActuatorDataModel actuatorDataModel) {
+  private boolean getModelPath(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
     ModelPath modelPath = new ModelPath(actuatorDataModel.getModelPath());
     parameters.add(modelPath);
     return true;
   }
 
-  private boolean getActuatorTypeID(ActuatorDataModel actuatorDataModel) {
+  private boolean getActuatorTypeID(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
     ActuatorTypeID actuatorTypeID = new ActuatorTypeID(actuatorDataModel.getActuatorTypeID());
     parameters.add(actuatorTypeID);
     return true;
   }
 
-  private boolean getActuatorName(ActuatorDataModel actuatorDataModel) {
+  private boolean getActuatorName(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
     ActuatorName actuatorName = new ActuatorName(actuatorDataModel.getActuatorName());
     parameters.add(actuatorName);
     return true;
   }
 
-  private boolean getIntegerLimits(ActuatorDataModel actuatorDataModel) {
+  private boolean getIntegerLimits(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
     if (actuatorDataModel.getIntegerLowerBond() != null
         || actuatorDataModel.getIntegerUpperBond() != null) {
       int integerLowerBond = Integer.parseInt(actuatorDataModel.getIntegerLowerBond());
@@ -103,7 +114,8 @@ public class ActuatorDataModelAssembler implements
     return false;
   }
 
-  private boolean getDecimalLimits(ActuatorDataModel actuatorDataModel) {
+  private boolean getDecimalLimits(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
     if (actuatorDataModel.getDecimalLowerBond() != null
         || actuatorDataModel.getDecimalUpperBond() != null) {
       double decimalLowerBond = Double.parseDouble(actuatorDataModel.getDecimalLowerBond());
@@ -115,8 +127,9 @@ public class ActuatorDataModelAssembler implements
     return false;
   }
 
-  private boolean getActuatorID(ActuatorDataModel actuatorDataModel) {
-    ActuatorID actuatorID = new ActuatorID(actuatorDataModel.getActuatorID());
+  private boolean getActuatorID(ActuatorDataModel actuatorDataModel,
+      List<Object> parameters) {
+    ActuatorID actuatorID = ActuatorID.of(actuatorDataModel.getActuatorID());
     parameters.add(actuatorID);
     return true;
   }
@@ -53,11 +53,11 @@ public class DeviceDataModelAssembler implements IDataModelAssembler<DeviceDataM
   public Device toDomain(DeviceDataModel deviceDataModel) {
     Validator.validateNotNull(deviceDataModel, "Device Data Model");
 
-    RoomID roomID = new RoomID(deviceDataModel.getRoomID());
+    RoomID roomID = RoomID.of(deviceDataModel.getRoomID());
     DeviceName deviceName = new DeviceName(deviceDataModel.getDeviceName());
     DeviceTypeID deviceTypeID = new DeviceTypeID(deviceDataModel.getDeviceTypeID());
     DeviceStatus deviceStatus = new DeviceStatus(deviceDataModel.getDeviceStatus());
-    DeviceID deviceID = new DeviceID(deviceDataModel.getDeviceID());
+    DeviceID deviceID = DeviceID.of(deviceDataModel.getDeviceID());
 
     Device device = deviceFactory.createDevice(deviceID, roomID, deviceName, deviceStatus,
         deviceTypeID);
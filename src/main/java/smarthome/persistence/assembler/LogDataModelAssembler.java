@@ -49,12 +49,12 @@ public class LogDataModelAssembler implements IDataModelAssembler<LogDataModel,
     Validator.validateNotNull(logDataModel, "Log Data Model");
 
     LogID logID = new LogID(logDataModel.getLogID());
-    DeviceID deviceID = new DeviceID(logDataModel.getDeviceID());
-    SensorID sensorID = new SensorID(logDataModel.getSensorID());
+    DeviceID deviceID = DeviceID.of(logDataModel.getDeviceID());
+    SensorID sensorID = SensorID.of(logDataModel.getSensorID());
     LocalDateTime timeStamp = logDataModel.getTimestamp();
     ReadingValue readingValue = new ReadingValue(logDataModel.getReadingValue());
-    SensorTypeID description = new SensorTypeID(logDataModel.getDescription());
-    UnitID unit = new UnitID(logDataModel.getUnit());
+    SensorTypeID description = SensorTypeID.of(logDataModel.getDescription());
+    UnitID unit = UnitID.of(logDataModel.getUnit());
 
     Log log =
         logFactory.createLog(
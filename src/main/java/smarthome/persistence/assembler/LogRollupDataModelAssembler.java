@@ -0,0 +1,62 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.assembler;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.data_model.LogRollupDataModel;
+import smarthome.utils.Validator;
+
+@Component
+public class LogRollupDataModelAssembler implements
+    IDataModelAssembler<LogRollupDataModel, LogRollup> {
+
+  /**
+   * Converts a LogRollupDataModel instance to a LogRollup instance.
+   *
+   * @param logRollupDataModel is the data model to be converted.
+   * @return a LogRollup instance.
+   */
+  @Override
+  public LogRollup toDomain(LogRollupDataModel logRollupDataModel) {
+    Validator.validateNotNull(logRollupDataModel, "Log Rollup Data Model");
+
+    DeviceID deviceID = DeviceID.of(logRollupDataModel.getDeviceID());
+    SensorID sensorID = SensorID.of(logRollupDataModel.getSensorID());
+    SensorTypeID sensorTypeID = SensorTypeID.of(logRollupDataModel.getSensorTypeID());
+    UnitID unitID = UnitID.of(logRollupDataModel.getUnitID());
+
+    return new LogRollup(deviceID, sensorID, sensorTypeID, unitID,
+        logRollupDataModel.getResolution(), logRollupDataModel.getBucketStart(),
+        logRollupDataModel.getReadingCount(), logRollupDataModel.getMinReading(),
+        logRollupDataModel.getMaxReading(), logRollupDataModel.getSumReading());
+  }
+
+  /**
+   * Converts a list of LogRollupDataModel instances to a list of LogRollup instances.
+   *
+   * @param logRollupDataModels is the list of data models to be converted.
+   * @return a list of LogRollup instances.
+   */
+  @Override
+  public List<LogRollup> toDomain(List<LogRollupDataModel> logRollupDataModels) {
+    List<LogRollup> logRollups = new ArrayList<>(logRollupDataModels.size());
+
+    for (LogRollupDataModel logRollupDataModel : logRollupDataModels) {
+      logRollups.add(toDomain(logRollupDataModel));
+    }
+    return logRollups;
+  }
+}
@@ -0,0 +1,49 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.assembler;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.persistence.data_model.PowerPeakDataModel;
+import smarthome.utils.Validator;
+
+@Component
+public class PowerPeakDataModelAssembler implements
+    IDataModelAssembler<PowerPeakDataModel, PowerPeak> {
+
+  /**
+   * Converts a PowerPeakDataModel instance to a PowerPeak instance.
+   *
+   * @param powerPeakDataModel is the data model to be converted.
+   * @return a PowerPeak instance.
+   */
+  @Override
+  public PowerPeak toDomain(PowerPeakDataModel powerPeakDataModel) {
+    Validator.validateNotNull(powerPeakDataModel, "Power Peak Data Model");
+    return new PowerPeak(powerPeakDataModel.getBucketStart(), powerPeakDataModel.getPeak());
+  }
+
+  /**
+   * Converts a list of PowerPeakDataModel instances to a list of PowerPeak instances.
+   *
+   * @param powerPeakDataModels is the list of data models to be converted.
+   * @return a list of PowerPeak instances.
+   */
+  @Override
+  public List<PowerPeak> toDomain(List<PowerPeakDataModel> powerPeakDataModels) {
+    List<PowerPeak> powerPeaks = new ArrayList<>(powerPeakDataModels.size());
+
+    for (PowerPeakDataModel powerPeakDataModel : powerPeakDataModels) {
+      powerPeaks.add(toDomain(powerPeakDataModel));
+    }
+    return powerPeaks;
+  }
+}
@@ -47,7 +47,7 @@ public class RoomDataModelAssembler implements IDataModelAssembler<RoomDataModel
   public Room toDomain(RoomDataModel roomDataModel) {
     Validator.validateNotNull(roomDataModel, "Room Data Model");
 
-    RoomID roomID = new RoomID(roomDataModel.getRoomID());
+    RoomID roomID = RoomID.of(roomDataModel.getRoomID());
     HouseID houseID = new HouseID(roomDataModel.getHouseID());
     RoomFloor roomFloor = new RoomFloor(roomDataModel.getFloor());
     RoomName roomName = new RoomName(roomDataModel.getRoomName());
@@ -28,8 +28,9 @@ import smarthome.utils.Validator;
 @Component
 public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataModel, ISensor> {
 
+  private static final int MAX_PARAMETERS = 6;
+
   private final ISensorFactory sensorFactory;
-  private final List<Object> parameters = new ArrayList<>();
 
   /**
    * Class constructor
@@ -42,28 +43,29 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
   }
 
   /**
-   * Converts a SensorDataModel instance to a Sensor instance.
+   * Converts a SensorDataModel instance to a Sensor instance. The constructor parameters are
+   * collected in a list local to the call, so the assembler can be used by several threads.
    *
    * @param sensorDataModel is the domain entity to be converted.
    * @return a Sensor instance.
    */
   public ISensor toDomain(SensorDataModel sensorDataModel) {
     Validator.validateNotNull(sensorDataModel, "Sensor data model");
-    parameters.clear();
-    getDeviceID(sensorDataModel);
-    getModelPath(sensorDataModel);
-    getSensorTypeID(sensorDataModel);
-    getSensorName(sensorDataModel);
+    List<Object> parameters = new ArrayList<>(MAX_PARAMETERS);
+    getDeviceID(sensorDataModel, parameters);
+    getModelPath(sensorDataModel, parameters);
+    getSensorTypeID(sensorDataModel, parameters);
+    getSensorName(sensorDataModel, parameters);
     if (Objects.equals(sensorDataModel.getSensorTypeID(), "SunriseTime")
         || Objects.equals(sensorDataModel.getSensorTypeID(), "SunsetTime")) {
-      getGPS(sensorDataModel);
+      getGPS(sensorDataModel, parameters);
     }
 
     if (Objects.equals(sensorDataModel.getSensorTypeID(), "ElectricConsumptionWh")) {
-      getDatePeriod(sensorDataModel);
+      getDatePeriod(sensorDataModel, parameters);
 
     }
-    getSensorID(sensorDataModel);
+    getSensorID(sensorDataModel, parameters);
     return sensorFactory.create(parameters.toArray());
   }
 
@@ -74,7 +76,7 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * @return a list of Sensor instances.
    */
   public List<ISensor> toDomain(List<SensorDataModel> sensorDataModels) {
-    List<ISensor> sensors = new ArrayList<>();
+    List<ISensor> sensors = new ArrayList<>(sensorDataModels.size());
     for (SensorDataModel sensorDataModel : sensorDataModels) {
       ISensor sensor = toDomain(sensorDataModel);
       sensors.add(sensor);
@@ -86,10 +88,12 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a DeviceID instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the DeviceID instance was added to the parameters list, false otherwise.
    */
-  private boolean getDeviceID(SensorDataModel sensorDataModel) {
-    DeviceID deviceID = new DeviceID(sensorDataModel.getDeviceID());
+  private boolean getDeviceID(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
+    DeviceID deviceID = DeviceID.of(sensorDataModel.getDeviceID());
     parameters.add(deviceID);
     return true;
   }
@@ -98,9 +102,11 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a ModelPath instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the ModelPath instance was added to the parameters list, false otherwise.
    */
-  private boolean getModelPath(SensorDataModel sensorDataModel) {
+  private boolean getModelPath(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
     ModelPath modelPath = new ModelPath(sensorDataModel.getModelPath());
     parameters.add(modelPath);
     return true;
@@ -110,10 +116,12 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a SensorTypeID instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the SensorTypeID instance was added to the parameters list, false otherwise.
    */
-  private boolean getSensorTypeID(SensorDataModel sensorDataModel) {
-    SensorTypeID sensorTypeID = new SensorTypeID(sensorDataModel.getSensorTypeID());
+  private boolean getSensorTypeID(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
+    SensorTypeID sensorTypeID = SensorTypeID.of(sensorDataModel.getSensorTypeID());
     parameters.add(sensorTypeID);
     return true;
   }
@@ -122,9 +130,11 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a SensorName instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the SensorName instance was added to the parameters list, false otherwise.
    */
-  private boolean getSensorName(SensorDataModel sensorDataModel) {
+  private boolean getSensorName(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
     SensorName sensorName = new SensorName(sensorDataModel.getSensorName());
     parameters.add(sensorName);
     return true;
@@ -134,9 +144,11 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a GPS instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the GPS instance was added to the parameters list, false otherwise.
    */
-  private boolean getGPS(SensorDataModel sensorDataModel) {
+  private boolean getGPS(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
     if (sensorDataModel.getLatitude() != null && sensorDataModel.getLongitude() != null) {
       double latitude = Double.parseDouble(sensorDataModel.getLatitude());
       double longitude = Double.parseDouble(sensorDataModel.getLongitude());
@@ -151,9 +163,11 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a DatePeriod instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the DatePeriod instance was added to the parameters list, false otherwise.
    */
-  private boolean getDatePeriod(SensorDataModel sensorDataModel) {
+  private boolean getDatePeriod(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
     if (sensorDataModel.getStartDate() != null && sensorDataModel.getEndDate() != null) {
       LocalDateTime startDate = LocalDateTime.parse(sensorDataModel.getStartDate());
       LocalDateTime endDate = LocalDateTime.parse(sensorDataModel.getEndDate());
@@ -168,10 +182,12 @@ public class SensorDataModelAssembler implements IDataModelAssembler<SensorDataM
    * Adds a SensorID instance to the parameters list.
    *
    * @param sensorDataModel is the domain entity to be converted.
+   * @param parameters      is the list of constructor parameters being built.
    * @return true if the SensorID instance was added to the parameters list, false otherwise.
    */
-  private boolean getSensorID(SensorDataModel sensorDataModel) {
-    SensorID sensorID = new SensorID(sensorDataModel.getSensorID());
+  private boolean getSensorID(SensorDataModel sensorDataModel,
+      List<Object> parameters) {
+    SensorID sensorID = SensorID.of(sensorDataModel.getSensorID());
     parameters.add(sensorID);
     return true;
   }
@@ -0,0 +1,88 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.data_model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Stores an ID as binary: an ID that is the text of a UUID takes its 16 bytes instead of 36
+ * characters, which shrinks the column and the indexes that start with it. Any other ID is stored
+ * as a 0xFF marker followed by its UTF-8 bytes, with a second marker at the end if that would also
+ * make 16 bytes, so every ID is read back unchanged. UTF-8 text never holds a 0xFF byte.
+ */
+@Converter
+public class CompactIDConverter implements AttributeConverter<String, byte[]> {
+
+  private static final int UUID_LENGTH = 16;
+  private static final byte MARKER = (byte) 0xFF;
+
+  /**
+   * Method to convert an ID to its binary form
+   *
+   * @param id is the ID.
+   * @return the binary form of the ID
+   */
+  @Override
+  public byte[] convertToDatabaseColumn(String id) {
+    if (id == null) {
+      return null;
+    }
+    UUID uuid = asUUID(id);
+    if (uuid != null) {
+      return ByteBuffer.allocate(UUID_LENGTH).putLong(uuid.getMostSignificantBits())
+          .putLong(uuid.getLeastSignificantBits()).array();
+    }
+    byte[] text = id.getBytes(StandardCharsets.UTF_8);
+    int length = text.length + 1 == UUID_LENGTH ? UUID_LENGTH + 1 : text.length + 1;
+    byte[] bytes = new byte[length];
+    bytes[0] = MARKER;
+    System.arraycopy(text, 0, bytes, 1, text.length);
+    if (length > text.length + 1) {
+      bytes[length - 1] = MARKER;
+    }
+    return bytes;
+  }
+
+  /**
+   * Method to convert the binary form of an ID back to the ID
+   *
+   * @param bytes is the binary form of the ID.
+   * @return the ID
+   */
+  @Override
+  public String convertToEntityAttribute(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    if (bytes.length == UUID_LENGTH) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+    int end = bytes[bytes.length - 1] == MARKER && bytes.length > 1 ? bytes.length - 1
+        : bytes.length;
+    return new String(Arrays.copyOfRange(bytes, 1, end), StandardCharsets.UTF_8);
+  }
+
+  private static UUID asUUID(String id) {
+    if (id.length() != 36) {
+      return null;
+    }
+    try {
+      UUID uuid = UUID.fromString(id);
+      return uuid.toString().equals(id) ? uuid : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
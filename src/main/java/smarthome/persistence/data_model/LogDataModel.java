@@ -8,23 +8,41 @@
 
 package smarthome.persistence.data_model;
 
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import smarthome.domain.log.Log;
+import smarthome.domain.value_object.ReadingKind;
 
 @Entity
-@Table(name = "Logs")
+@Table(name = LogDataModel.TABLE_NAME, indexes = {
+    @Index(name = LogDataModel.DEVICE_DESCRIPTION_TIMESTAMP_INDEX,
+        columnList = "deviceID, description, timestamp"),
+    @Index(name = LogDataModel.DEVICE_TIMESTAMP_INDEX, columnList = "deviceID, timestamp, logID")
+})
 public class LogDataModel {
 
+  public static final String TABLE_NAME = "Logs";
+  public static final String DEVICE_DESCRIPTION_TIMESTAMP_INDEX = "idx_logs_device_description_timestamp";
+  public static final String DEVICE_TIMESTAMP_INDEX = "idx_logs_device_timestamp";
+
   @Id
   private String logID;
+  @Convert(converter = CompactIDConverter.class)
   private String deviceID;
+  @Convert(converter = CompactIDConverter.class)
   private String sensorID;
   private LocalDateTime timestamp;
   private String readingValue;
+  @Enumerated(EnumType.STRING)
+  private ReadingKind readingKind;
+  private Double numericReading;
   private String description;
   private String unit;
   @Version
@@ -46,6 +64,10 @@ public class LogDataModel {
     this.sensorID = log.getSensorID().getID();
     this.timestamp = log.getTimeStamp();
     this.readingValue = log.getReadingValue().getValue();
+    this.readingKind = log.getReadingValue().getKind();
+    if (log.hasNumericReading()) {
+      this.numericReading = log.getReadingAsDouble();
+    }
     this.description = log.getDescription().getID();
     this.unit = log.getUnit().getID();
   }
@@ -85,6 +107,20 @@ public class LogDataModel {
     return this.readingValue;
   }
 
+  /**
+   * Method to return the kind of the reading value.
+   */
+  public ReadingKind getReadingKind() {
+    return this.readingKind;
+  }
+
+  /**
+   * Method to return the reading value as a number, or null if the reading is not numeric.
+   */
+  public Double getNumericReading() {
+    return this.numericReading;
+  }
+
   /**
    * Method to return the description.
    */
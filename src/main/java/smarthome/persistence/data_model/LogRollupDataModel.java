@@ -0,0 +1,153 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.data_model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.value_object.RollupResolution;
+
+@Entity
+@Table(name = "LogRollups", indexes = {
+    @Index(name = "idx_log_rollups_device_resolution_bucket",
+        columnList = "deviceID, resolution, bucketStart")
+})
+public class LogRollupDataModel {
+
+  @Id
+  private String rollupID;
+  private String deviceID;
+  private String sensorID;
+  private String sensorTypeID;
+  private String unitID;
+  @Enumerated(EnumType.STRING)
+  private RollupResolution resolution;
+  private LocalDateTime bucketStart;
+  private long readingCount;
+  private double minReading;
+  private double maxReading;
+  private double sumReading;
+  /* Nullable so that Spring Data inserts new rollups instead of trying to merge them */
+  @Version
+  private Long version;
+
+
+  /**
+   * Empty class constructor
+   */
+  public LogRollupDataModel() {
+  }
+
+  /**
+   * Class constructor
+   */
+  public LogRollupDataModel(LogRollup logRollup) {
+    this.rollupID = logRollup.getID().getID();
+    this.deviceID = logRollup.getDeviceID().getID();
+    this.sensorID = logRollup.getSensorID().getID();
+    this.sensorTypeID = logRollup.getSensorTypeID().getID();
+    this.unitID = logRollup.getUnitID().getID();
+    this.resolution = logRollup.getResolution();
+    this.bucketStart = logRollup.getBucketStart();
+    updateFromDomain(logRollup);
+  }
+
+  /**
+   * Updates the aggregated values of the data model from the domain.
+   */
+  public void updateFromDomain(LogRollup logRollup) {
+    this.readingCount = logRollup.getCount();
+    this.minReading = logRollup.getMin();
+    this.maxReading = logRollup.getMax();
+    this.sumReading = logRollup.getSum();
+  }
+
+  /**
+   * Method to return the rollup ID.
+   */
+  public String getRollupID() {
+    return this.rollupID;
+  }
+
+  /**
+   * Method to return the device ID.
+   */
+  public String getDeviceID() {
+    return this.deviceID;
+  }
+
+  /**
+   * Method to return the sensor ID.
+   */
+  public String getSensorID() {
+    return this.sensorID;
+  }
+
+  /**
+   * Method to return the sensor type ID.
+   */
+  public String getSensorTypeID() {
+    return this.sensorTypeID;
+  }
+
+  /**
+   * Method to return the unit ID.
+   */
+  public String getUnitID() {
+    return this.unitID;
+  }
+
+  /**
+   * Method to return the resolution.
+   */
+  public RollupResolution getResolution() {
+    return this.resolution;
+  }
+
+  /**
+   * Method to return the start of the bucket.
+   */
+  public LocalDateTime getBucketStart() {
+    return this.bucketStart;
+  }
+
+  /**
+   * Method to return the number of readings.
+   */
+  public long getReadingCount() {
+    return this.readingCount;
+  }
+
+  /**
+   * Method to return the smallest reading.
+   */
+  public double getMinReading() {
+    return this.minReading;
+  }
+
+  /**
+   * Method to return the largest reading.
+   */
+  public double getMaxReading() {
+    return this.maxReading;
+  }
+
+  /**
+   * Method to return the sum of the readings.
+   */
+  public double getSumReading() {
+    return this.sumReading;
+  }
+}
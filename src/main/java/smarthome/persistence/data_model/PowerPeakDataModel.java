@@ -0,0 +1,76 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.data_model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.LocalDateTime;
+import smarthome.domain.power_peak.PowerPeak;
+
+@Entity
+@Table(name = "PowerPeaks", indexes = {
+    @Index(name = "idx_power_peaks_bucket", columnList = "bucketStart")
+})
+public class PowerPeakDataModel {
+
+  @Id
+  private String powerPeakID;
+  private LocalDateTime bucketStart;
+  private int peak;
+  /* Nullable so that Spring Data inserts new peaks instead of trying to merge them */
+  @Version
+  private Long version;
+
+
+  /**
+   * Empty class constructor
+   */
+  public PowerPeakDataModel() {
+  }
+
+  /**
+   * Class constructor
+   */
+  public PowerPeakDataModel(PowerPeak powerPeak) {
+    this.powerPeakID = powerPeak.getID().getID();
+    this.bucketStart = powerPeak.getBucketStart();
+    updateFromDomain(powerPeak);
+  }
+
+  /**
+   * Updates the peak of the data model from the domain.
+   */
+  public void updateFromDomain(PowerPeak powerPeak) {
+    this.peak = powerPeak.getPeak();
+  }
+
+  /**
+   * Method to return the power peak ID.
+   */
+  public String getPowerPeakID() {
+    return this.powerPeakID;
+  }
+
+  /**
+   * Method to return the start of the minute.
+   */
+  public LocalDateTime getBucketStart() {
+    return this.bucketStart;
+  }
+
+  /**
+   * Method to return the peak.
+   */
+  public int getPeak() {
+    return this.peak;
+  }
+}
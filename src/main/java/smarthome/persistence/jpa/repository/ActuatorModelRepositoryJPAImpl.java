@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -22,7 +20,7 @@ import smarthome.persistence.assembler.IDataModelAssembler;
 import smarthome.persistence.data_model.ActuatorModelDataModel;
 public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<ActuatorModelDataModel, ActuatorModel> dataModelAssembler;
 
   /**
@@ -34,7 +32,7 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
       IDataModelAssembler<ActuatorModelDataModel, ActuatorModel> dataModelAssembler,
       EntityManagerFactory factory) {
     validateDataModelConverter(dataModelAssembler);
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
     this.dataModelAssembler = dataModelAssembler;
   }
 
@@ -50,16 +48,6 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
     }
   }
 
-  /**
-   * Method to get entity manager
-   *
-   * @return EntityManager
-   */
-  private EntityManager getEntityManager() {
-    EntityManager manager = factory.createEntityManager();
-    return manager;
-  }
-
   /**
    * Method to save actuator model
    *
@@ -72,20 +60,10 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
       throw new IllegalArgumentException("The provided entity must not be null.");
     }
     ActuatorModelDataModel actuatorModelDataModel = new ActuatorModelDataModel(actuatorModel);
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(actuatorModelDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return actuatorModelDataModel;
+    });
     return actuatorModel;
   }
 
@@ -96,17 +74,14 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
    */
   @Override
   public List<ActuatorModel> findAll() {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       Query query =
           entityManager.createQuery(
               "SELECT ACTUATOR_MODEL FROM ActuatorModelDataModel ACTUATOR_MODEL");
       List<ActuatorModelDataModel> listDataModel = query.getResultList();
       List<ActuatorModel> listDomain = dataModelAssembler.toDomain(listDataModel);
       return listDomain;
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 
   /**
@@ -117,8 +92,7 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
    */
   @Override
   public Optional<ActuatorModel> ofIdentity(ModelPath actuatorModelID) {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       ActuatorModelDataModel actuatorModelDataModel =
           entityManager.find(ActuatorModelDataModel.class, actuatorModelID);
       if (actuatorModelDataModel == null) {
@@ -127,9 +101,7 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
         ActuatorModel actuatorModel = dataModelAssembler.toDomain(actuatorModelDataModel);
         return Optional.of(actuatorModel);
       }
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 
   /**
@@ -152,16 +124,13 @@ public class ActuatorModelRepositoryJPAImpl implements IActuatorModelRepository
    */
   @Override
   public List<ActuatorModel> findBy_actuatorTypeID(ActuatorTypeID actuatorTypeID) {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       Query query =
           entityManager.createQuery(
               "SELECT ACTUATOR_MODEL FROM ActuatorModelDataModel ACTUATOR_MODEL WHERE ACTUATOR_MODEL.actuatorTypeID = :actuatorTypeID");
       query.setParameter("actuatorTypeID", actuatorTypeID.getID());
       List<ActuatorModelDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 }
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -25,7 +23,7 @@ import smarthome.utils.visitor_pattern.IActuatorVisitorForDataModel;
 
 public class ActuatorRepositoryJPAImp implements IActuatorRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<ActuatorDataModel, IActuator> dataModelAssembler;
   private final IActuatorVisitorForDataModel actuatorVisitorForDataModel;
 
@@ -41,7 +39,7 @@ public class ActuatorRepositoryJPAImp implements IActuatorRepository {
       IActuatorVisitorForDataModel actuatorVisitorForDataModel, EntityManagerFactory factory) {
     validateDataModelAssembler(dataModelAssembler);
     this.dataModelAssembler = dataModelAssembler;
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
     validateActuatorVisitorForDataModel(actuatorVisitorForDataModel);
     this.actuatorVisitorForDataModel = actuatorVisitorForDataModel;
   }
@@ -84,20 +82,10 @@ public class ActuatorRepositoryJPAImp implements IActuatorRepository {
     }
     entity.accept(actuatorVisitorForDataModel);
     ActuatorDataModel actuatorDataModel = actuatorVisitorForDataModel.getActuatorDataModel();
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(actuatorDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return actuatorDataModel;
+    });
     return entity;
   }
 
@@ -108,14 +96,11 @@ public class ActuatorRepositoryJPAImp implements IActuatorRepository {
    */
   @Override
   public List<IActuator> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM ActuatorDataModel e");
       List<ActuatorDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -126,17 +111,14 @@ public class ActuatorRepositoryJPAImp implements IActuatorRepository {
    */
   @Override
   public Optional<IActuator> ofIdentity(ActuatorID actuatorID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       ActuatorDataModel actuatorDataModel = em.find(ActuatorDataModel.class, actuatorID);
       if (actuatorDataModel == null) {
         return Optional.empty();
       }
       IActuator actuator = dataModelAssembler.toDomain(actuatorDataModel);
       return Optional.of(actuator);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -150,25 +132,13 @@ public class ActuatorRepositoryJPAImp implements IActuatorRepository {
     return ofIdentity(actuatorID).isPresent();
   }
 
-  /**
-   * Returns a new instance of EntityManager.
-   *
-   * @return a new EntityManager instance
-   */
-  private EntityManager getEntityManager() {
-    return factory.createEntityManager();
-  }
-
   @Override
   public List<IActuator> ofDeviceID(DeviceID deviceID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM ActuatorDataModel e WHERE e.deviceID = :deviceID");
       query.setParameter("deviceID", deviceID.getID());
       List<ActuatorDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
   }
 }
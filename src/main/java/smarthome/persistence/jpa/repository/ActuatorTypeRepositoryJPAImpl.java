@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +21,7 @@ import smarthome.persistence.data_model.ActuatorTypeDataModel;
 
 public class ActuatorTypeRepositoryJPAImpl implements IActuatorTypeRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<ActuatorTypeDataModel, ActuatorType> dataModelAssembler;
 
   /**
@@ -37,7 +35,7 @@ public class ActuatorTypeRepositoryJPAImpl implements IActuatorTypeRepository {
       IDataModelAssembler<ActuatorTypeDataModel, ActuatorType> dataModelAssembler,
       EntityManagerFactory factory) {
     validateDataModelAssembler(dataModelAssembler);
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
     this.dataModelAssembler = dataModelAssembler;
   }
 
@@ -67,20 +65,10 @@ public class ActuatorTypeRepositoryJPAImpl implements IActuatorTypeRepository {
       throw new IllegalArgumentException("The provided entity must not be null.");
     }
     ActuatorTypeDataModel actuatorTypeDataModel = new ActuatorTypeDataModel(entity);
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(actuatorTypeDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return actuatorTypeDataModel;
+    });
     return entity;
   }
 
@@ -91,14 +79,11 @@ public class ActuatorTypeRepositoryJPAImpl implements IActuatorTypeRepository {
    */
   @Override
   public List<ActuatorType> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM ActuatorTypeDataModel e");
       List<ActuatorTypeDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -110,17 +95,14 @@ public class ActuatorTypeRepositoryJPAImpl implements IActuatorTypeRepository {
    */
   @Override
   public Optional<ActuatorType> ofIdentity(ActuatorTypeID objectID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       ActuatorTypeDataModel actuatorTypeDataModel = em.find(ActuatorTypeDataModel.class, objectID);
       if (actuatorTypeDataModel == null) {
         return Optional.empty();
       }
       ActuatorType actuatorType = dataModelAssembler.toDomain(actuatorTypeDataModel);
       return Optional.of(actuatorType);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -134,12 +116,4 @@ public class ActuatorTypeRepositoryJPAImpl implements IActuatorTypeRepository {
     return ofIdentity(objectID).isPresent();
   }
 
-  /**
-   * Returns a new instance of EntityManager.
-   *
-   * @return a new EntityManager instance
-   */
-  private EntityManager getEntityManager() {
-    return factory.createEntityManager();
-  }
 }
@@ -8,11 +8,12 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.device.Device;
 import smarthome.domain.repository.IDeviceRepository;
@@ -30,7 +31,7 @@ import smarthome.persistence.data_model.DeviceDataModel;
 
 public class DeviceRepositoryJPAImpl implements IDeviceRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<DeviceDataModel, Device> dataModelAssembler;
 
   /**
@@ -43,7 +44,7 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
   public DeviceRepositoryJPAImpl(IDataModelAssembler<DeviceDataModel, Device> dataModelConverter,
       EntityManagerFactory factory) {
     validateDataModelAssembler(dataModelConverter);
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
     dataModelAssembler = dataModelConverter;
   }
 
@@ -57,15 +58,6 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
     }
   }
 
-  /**
-   * Retrieves an EntityManager instance from the EntityManagerFactory.
-   *
-   * @return EntityManager to be used for database operations.
-   */
-  private EntityManager getEntityManager() {
-    return factory.createEntityManager();
-  }
-
   /**
    * Saves a Device entity into the database.
    *
@@ -79,21 +71,10 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
       throw new IllegalArgumentException("The provided entity must not be null.");
     }
     DeviceDataModel deviceDataModel = new DeviceDataModel(device);
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(deviceDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return deviceDataModel;
+    });
     return device;
   }
 
@@ -105,14 +86,11 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
 
   @Override
   public List<Device> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM DeviceDataModel e");
       List<DeviceDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -123,8 +101,7 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
    */
   @Override
   public Optional<Device> ofIdentity(DeviceID deviceID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       DeviceDataModel deviceDataModel = em.find(DeviceDataModel.class, deviceID.getID());
       if (deviceDataModel == null) {
         return Optional.empty();
@@ -132,10 +109,7 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
         Device device = dataModelAssembler.toDomain(deviceDataModel);
         return Optional.of(device);
       }
-    } finally {
-      em.close();
-
-    }
+    });
 
   }
 
@@ -160,20 +134,18 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
 
   @Override
   public List<Device> findByRoomID(RoomID roomId) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM DeviceDataModel e WHERE e.roomID = :roomId");
       query.setParameter("roomId", roomId.getID());
       List<DeviceDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
 
   }
 
   /**
-   * Updates a Device entity in the database.
+   * Updates a Device entity in the database. The data model is loaded and changed in the same
+   * transaction, so the change is written when it commits.
    *
    * @param device The Device entity to be updated.
    * @return The updated Device entity.
@@ -181,34 +153,14 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
    */
   @Override
   public Device update(Device device) {
-    DeviceDataModel deviceDataModel = getEntityManager().find(DeviceDataModel.class,
-        device.getID().getID());
-
-    if (deviceDataModel != null) {
-      boolean isUpdated = deviceDataModel.updateFromDomain(device);
-
-      if (isUpdated) {
-        EntityManager em = getEntityManager();
-        EntityTransaction tx = em.getTransaction();
-
-        try {
-          tx.begin();
-          em.merge(deviceDataModel);
-          tx.commit();
-        } catch (RuntimeException e) {
-          if (tx.isActive()) {
-            tx.rollback();
-          }
-          throw e;
-        } finally {
-          em.close();
-        }
+    return entityManagers.write(em -> {
+      DeviceDataModel deviceDataModel = em.find(DeviceDataModel.class, device.getID().getID());
+
+      if (deviceDataModel != null && deviceDataModel.updateFromDomain(device)) {
         return device;
-      } else {
-        return null;
       }
-    }
-    return null;
+      return null;
+    });
   }
 
 
@@ -220,14 +172,33 @@ public class DeviceRepositoryJPAImpl implements IDeviceRepository {
    */
   @Override
   public List<Device> findByDeviceTypeID(DeviceTypeID deviceTypeID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM DeviceDataModel e WHERE e.deviceTypeID = :deviceTypeID");
       query.setParameter("deviceTypeID", deviceTypeID.getID());
       List<DeviceDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
+  }
+
+  /**
+   * Retrieves all devices grouped by device type, with a single query ordered by device type.
+   *
+   * @return The devices of each device type that has devices, in device type ID order.
+   */
+  @Override
+  public Map<DeviceTypeID, List<Device>> findAllGroupedByDeviceTypeID() {
+    return entityManagers.read(em -> {
+      List<DeviceDataModel> listDataModel = em.createQuery(
+              "SELECT e FROM DeviceDataModel e ORDER BY e.deviceTypeID, e.deviceID",
+              DeviceDataModel.class)
+          .getResultList();
+      Map<DeviceTypeID, List<Device>> grouped = new LinkedHashMap<>();
+      for (DeviceDataModel dataModel : listDataModel) {
+        Device device = dataModelAssembler.toDomain(dataModel);
+        grouped.computeIfAbsent(device.getDeviceTypeID(), key -> new ArrayList<>()).add(device);
+      }
+      grouped.replaceAll((deviceTypeID, devices) -> List.copyOf(devices));
+      return grouped;
+    });
   }
 }
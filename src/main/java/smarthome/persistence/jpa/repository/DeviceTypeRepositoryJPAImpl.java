@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import java.util.List;
 import java.util.Optional;
 import smarthome.domain.device_type.DeviceType;
@@ -23,7 +21,7 @@ import smarthome.persistence.data_model.DeviceTypeDataModel;
 public class DeviceTypeRepositoryJPAImpl implements IDeviceTypeRepository {
 
   private final IDataModelAssembler<DeviceTypeDataModel, DeviceType> dataModelAssembler;
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
 
   /**
    * Creates an instance of {@link DeviceTypeRepositoryJPAImpl} with the provided data model
@@ -34,7 +32,7 @@ public class DeviceTypeRepositoryJPAImpl implements IDeviceTypeRepository {
       EntityManagerFactory factory) {
     validateDataModelAssembler(dataModelAssembler);
     this.dataModelAssembler = dataModelAssembler;
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -49,16 +47,6 @@ public class DeviceTypeRepositoryJPAImpl implements IDeviceTypeRepository {
     }
   }
 
-  /**
-   * Get the entity manager
-   *
-   * @return the entity manager
-   */
-  private EntityManager getEntityManager() {
-    EntityManager manager = this.factory.createEntityManager();
-    return manager;
-  }
-
   /**
    * Saves the device type in the database.
    *
@@ -73,20 +61,10 @@ public class DeviceTypeRepositoryJPAImpl implements IDeviceTypeRepository {
 
     DeviceTypeDataModel model = new DeviceTypeDataModel(deviceType);
 
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(model);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return model;
+    });
     return deviceType;
   }
 
@@ -97,15 +75,12 @@ public class DeviceTypeRepositoryJPAImpl implements IDeviceTypeRepository {
    */
   @Override
   public List<DeviceType> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       List<DeviceTypeDataModel> deviceTypeDataModels =
           em.createQuery("SELECT d FROM DeviceTypeDataModel d", DeviceTypeDataModel.class)
               .getResultList();
       return dataModelAssembler.toDomain(deviceTypeDataModels);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -116,16 +91,13 @@ public class DeviceTypeRepositoryJPAImpl implements IDeviceTypeRepository {
    */
   @Override
   public Optional<DeviceType> ofIdentity(DeviceTypeID deviceTypeID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       DeviceTypeDataModel deviceTypeDataModel = em.find(DeviceTypeDataModel.class, deviceTypeID);
       if (deviceTypeDataModel == null) {
         return Optional.empty();
       }
       return Optional.of(dataModelAssembler.toDomain(deviceTypeDataModel));
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -0,0 +1,91 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import java.util.function.Function;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+/**
+ * Runs the work of the JPA repositories with the right EntityManager.
+ * <p>
+ * When a Spring transaction is active, the EntityManager bound to it is used and left open, so
+ * every repository call of a service method shares one EntityManager and one connection. Outside a
+ * transaction, one EntityManager is created for the call, the work runs in its own resource-local
+ * transaction and the EntityManager is always closed.
+ */
+public class EntityManagerTemplate {
+
+  private final EntityManagerFactory factory;
+
+  /**
+   * EntityManagerTemplate constructor
+   *
+   * @param factory is the factory of the persistence unit.
+   */
+  public EntityManagerTemplate(EntityManagerFactory factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Method to run work that only reads. Outside a Spring transaction it runs in a read-only
+   * transaction: entities are loaded without snapshots and the session is never flushed.
+   *
+   * @param work is the work to run.
+   * @param <T>  is the type of the result.
+   * @return the result of the work.
+   */
+  public <T> T read(Function<EntityManager, T> work) {
+    return run(work, true);
+  }
+
+  /**
+   * Method to run work that writes. Outside a Spring transaction it is committed when the work
+   * ends, and rolled back if it throws.
+   *
+   * @param work is the work to run.
+   * @param <T>  is the type of the result.
+   * @return the result of the work.
+   */
+  public <T> T write(Function<EntityManager, T> work) {
+    return run(work, false);
+  }
+
+  private <T> T run(Function<EntityManager, T> work, boolean readOnly) {
+    EntityManager transactional = EntityManagerFactoryUtils.getTransactionalEntityManager(factory);
+    if (transactional != null) {
+      return work.apply(transactional);
+    }
+
+    EntityManager em = factory.createEntityManager();
+    EntityTransaction tx = em.getTransaction();
+    try {
+      if (readOnly) {
+        Session session = em.unwrap(Session.class);
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+      }
+      tx.begin();
+      T result = work.apply(em);
+      tx.commit();
+      return result;
+    } catch (RuntimeException e) {
+      if (tx.isActive()) {
+        tx.rollback();
+      }
+      throw e;
+    } finally {
+      em.close();
+    }
+  }
+}
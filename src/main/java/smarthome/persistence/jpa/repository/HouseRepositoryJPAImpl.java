@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +22,7 @@ import smarthome.utils.Validator;
 public class HouseRepositoryJPAImpl implements IHouseRepository {
 
   private final IDataModelAssembler<HouseDataModel, House> dataModelAssembler;
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
 
   /**
    * HouseRepositoryJPAImpl constructor
@@ -37,7 +35,7 @@ public class HouseRepositoryJPAImpl implements IHouseRepository {
       EntityManagerFactory factory) {
     validateDataModelAssembler(dataModelAssembler);
     this.dataModelAssembler = dataModelAssembler;
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -53,15 +51,6 @@ public class HouseRepositoryJPAImpl implements IHouseRepository {
     }
   }
 
-  /**
-   * Method to get entity manager
-   *
-   * @return EntityManager
-   */
-  private EntityManager getEntityManager() {
-    return factory.createEntityManager();
-  }
-
   /**
    * Method to save house
    *
@@ -74,12 +63,10 @@ public class HouseRepositoryJPAImpl implements IHouseRepository {
 
     if (thereShouldBeOnlyOneHouse()) {
       HouseDataModel houseDataModel = new HouseDataModel(house);
-      EntityManager em = getEntityManager();
-      EntityTransaction tx = em.getTransaction();
-      tx.begin();
-      em.persist(houseDataModel);
-      tx.commit();
-      em.close();
+      entityManagers.write(em -> {
+        em.persist(houseDataModel);
+        return houseDataModel;
+      });
       return house;
     } else {
       throw new IllegalArgumentException("The system supports only one house.");
@@ -93,10 +80,12 @@ public class HouseRepositoryJPAImpl implements IHouseRepository {
    */
   @Override
   public List<House> findAll() {
-    Query query = getEntityManager().createQuery(
-        "SELECT e FROM HouseDataModel e");
-    List<HouseDataModel> listDataModel = query.getResultList();
-    return dataModelAssembler.toDomain(listDataModel);
+    return entityManagers.read(em -> {
+      Query query = em.createQuery(
+          "SELECT e FROM HouseDataModel e");
+      List<HouseDataModel> listDataModel = query.getResultList();
+      return dataModelAssembler.toDomain(listDataModel);
+    });
   }
 
   /**
@@ -107,13 +96,15 @@ public class HouseRepositoryJPAImpl implements IHouseRepository {
    */
   @Override
   public Optional<House> ofIdentity(HouseID objectID) {
-    HouseDataModel houseDataModel = getEntityManager().find(HouseDataModel.class, objectID);
-    if (houseDataModel == null) {
-      return Optional.empty();
-    } else {
-      House house = dataModelAssembler.toDomain(houseDataModel);
-      return Optional.of(house);
-    }
+    return entityManagers.read(em -> {
+      HouseDataModel houseDataModel = em.find(HouseDataModel.class, objectID);
+      if (houseDataModel == null) {
+        return Optional.empty();
+      } else {
+        House house = dataModelAssembler.toDomain(houseDataModel);
+        return Optional.of(house);
+      }
+    });
   }
 
   /**
@@ -8,17 +8,22 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import smarthome.domain.log.Log;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.persistence.assembler.IDataModelAssembler;
 import smarthome.persistence.data_model.LogDataModel;
@@ -26,7 +31,8 @@ import smarthome.utils.Validator;
 
 public class LogRepositoryJPAImpl implements ILogRepository {
 
-  private final EntityManagerFactory factory;
+  private static final int FLUSH_INTERVAL = 500;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<LogDataModel, Log> dataModelAssembler;
 
   /**
@@ -39,17 +45,7 @@ public class LogRepositoryJPAImpl implements ILogRepository {
     Validator.validateNotNull(dataModelAssembler, "Data model assembler");
 
     this.dataModelAssembler = dataModelAssembler;
-    this.factory = factory;
-  }
-
-  /**
-   * Method to get entity manager
-   *
-   * @return EntityManager
-   */
-  private EntityManager getEntityManager() {
-    EntityManager manager = factory.createEntityManager();
-    return manager;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -66,23 +62,37 @@ public class LogRepositoryJPAImpl implements ILogRepository {
 
     LogDataModel logDataModel = new LogDataModel(log);
 
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(logDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return logDataModel;
+    });
     return log;
   }
 
+  /**
+   * Method to save several logs in a single transaction. The persistence context is flushed and
+   * cleared periodically so it does not grow with the size of the batch.
+   *
+   * @param logs List of Log
+   * @return List of the saved Log
+   */
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    return entityManagers.write(em -> {
+      for (int i = 0; i < logs.size(); i++) {
+        Validator.validateNotNull(logs.get(i), "Log");
+        em.persist(new LogDataModel(logs.get(i)));
+        if ((i + 1) % FLUSH_INTERVAL == 0) {
+          em.flush();
+          em.clear();
+        }
+      }
+      return logs;
+    });
+  }
+
   /**
    * Method to find all logs
    *
@@ -90,17 +100,14 @@ public class LogRepositoryJPAImpl implements ILogRepository {
    */
   @Override
   public List<Log> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM LogDataModel e");
 
       List<LogDataModel> logDataModels = query.getResultList();
       List<Log> logs = dataModelAssembler.toDomain(logDataModels);
 
       return logs;
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -111,17 +118,14 @@ public class LogRepositoryJPAImpl implements ILogRepository {
    */
   @Override
   public Optional<Log> ofIdentity(LogID logID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       LogDataModel logDataModel = em.find(LogDataModel.class, logID);
       if (logDataModel == null) {
         return Optional.empty();
       }
       Log log = dataModelAssembler.toDomain(logDataModel);
       return Optional.of(log);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -145,11 +149,10 @@ public class LogRepositoryJPAImpl implements ILogRepository {
    */
   @Override
   public List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query =
           em.createQuery(
-              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.timestamp BETWEEN :start AND :end");
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.timestamp BETWEEN :start AND :end ORDER BY e.timestamp");
       query.setParameter("deviceID", deviceID.getID());
       query.setParameter("start", period.getStartDate());
       query.setParameter("end", period.getEndDate());
@@ -158,9 +161,69 @@ public class LogRepositoryJPAImpl implements ILogRepository {
       List<Log> logs = dataModelAssembler.toDomain(logDataModels);
 
       return logs;
-    } finally {
-      em.close();
-    }
+    });
+  }
+
+  /**
+   * Method to find a page of logs by device ID and time period, after a cursor
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor object, null for the first page
+   * @param limit    maximum number of logs
+   * @return List<Log>
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    return entityManagers.read(em -> {
+      String keyset = after == null ? ""
+          : " AND (e.timestamp > :afterTimestamp OR (e.timestamp = :afterTimestamp AND e.logID > :afterLogID))";
+      Query query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.timestamp BETWEEN :start AND :end"
+                  + keyset + " ORDER BY e.timestamp, e.logID");
+      query.setParameter("deviceID", deviceID.getID());
+      query.setParameter("start", period.getStartDate());
+      query.setParameter("end", period.getEndDate());
+      if (after != null) {
+        query.setParameter("afterTimestamp", after.getTimestamp());
+        query.setParameter("afterLogID", after.getLogID().getID());
+      }
+      query.setMaxResults(limit);
+
+      List<LogDataModel> logDataModels = query.getResultList();
+      return dataModelAssembler.toDomain(logDataModels);
+    });
+  }
+
+  /**
+   * Method to go through the logs of a device in a time period. Each row is detached once
+   * converted, so the persistence context does not grow with the number of logs read.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   Consumer of Log
+   */
+  @Override
+  public void forEachByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action) {
+    entityManagers.read(em -> {
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.timestamp BETWEEN :start AND :end ORDER BY e.timestamp, e.logID", LogDataModel.class);
+      query.setParameter("deviceID", deviceID.getID());
+      query.setParameter("start", period.getStartDate());
+      query.setParameter("end", period.getEndDate());
+
+      try (Stream<LogDataModel> logDataModels = query.getResultStream()) {
+        logDataModels.forEach(logDataModel -> {
+          action.accept(dataModelAssembler.toDomain(logDataModel));
+          em.detach(logDataModel);
+        });
+      }
+      return null;
+    });
   }
 
   /**
@@ -174,11 +237,10 @@ public class LogRepositoryJPAImpl implements ILogRepository {
   @Override
   public List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
       SensorTypeID sensorTypeID, DatePeriod period) {
-    EntityManager em = getEntityManager();
-    try {
-      Query query =
+    return entityManagers.read(em -> {
+      TypedQuery<LogDataModel> query =
           em.createQuery(
-              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID AND e.timestamp BETWEEN :start AND :end");
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID AND e.timestamp BETWEEN :start AND :end ORDER BY e.timestamp", LogDataModel.class);
       query.setParameter("deviceID", deviceID.getID());
       query.setParameter("sensorTypeID", sensorTypeID.getID());
       query.setParameter("start", period.getStartDate());
@@ -188,18 +250,43 @@ public class LogRepositoryJPAImpl implements ILogRepository {
       List<Log> logs = dataModelAssembler.toDomain(logDataModels);
 
       return logs;
-    } finally {
-      em.close();
+    });
+  }
+
+  /**
+   * Method to find the logs of several devices by sensor type and time period, with one query
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, in (timestamp, logID) order
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriod(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    if (deviceIDs.isEmpty()) {
+      return List.of();
     }
+    return entityManagers.read(em -> {
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID IN :deviceIDs AND e.description = :sensorTypeID AND e.timestamp BETWEEN :start AND :end ORDER BY e.timestamp, e.logID", LogDataModel.class);
+      query.setParameter("deviceIDs", deviceIDs.stream().map(DeviceID::getID).distinct().toList());
+      query.setParameter("sensorTypeID", sensorTypeID.getID());
+      query.setParameter("start", period.getStartDate());
+      query.setParameter("end", period.getEndDate());
+
+      List<LogDataModel> logDataModels = query.getResultList();
+      return dataModelAssembler.toDomain(logDataModels);
+    });
   }
 
   @Override
   public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
-    EntityManager em = getEntityManager();
-    try {
-      Query query =
+    return entityManagers.read(em -> {
+      TypedQuery<LogDataModel> query =
           em.createQuery(
-              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID");
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID ORDER BY e.timestamp", LogDataModel.class);
       query.setParameter("deviceID", deviceID.getID());
       query.setParameter("sensorTypeID", sensorTypeID.getID());
 
@@ -207,8 +294,90 @@ public class LogRepositoryJPAImpl implements ILogRepository {
       List<Log> logs = dataModelAssembler.toDomain(logDataModels);
 
       return logs;
-    } finally {
-      em.close();
-    }
+    });
+  }
+
+  /**
+   * Method to find the most recent log of a device for a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional<Log>
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return entityManagers.read(em -> {
+      TypedQuery<LogDataModel> query =
+          em.createQuery(
+              "SELECT e FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID ORDER BY e.timestamp DESC", LogDataModel.class);
+      query.setParameter("deviceID", deviceID.getID());
+      query.setParameter("sensorTypeID", sensorTypeID.getID());
+      query.setMaxResults(1);
+
+      List<LogDataModel> logDataModels = query.getResultList();
+      if (logDataModels.isEmpty()) {
+        return Optional.empty();
+      }
+      return Optional.of(dataModelAssembler.toDomain(logDataModels.get(0)));
+    });
+  }
+
+  /**
+   * Method to count the logs saved
+   *
+   * @return the number of logs
+   */
+  @Override
+  public long count() {
+    return entityManagers.read(em -> em.createQuery(
+        "SELECT COUNT(e) FROM LogDataModel e", Long.class).getSingleResult());
+  }
+
+  /**
+   * Method to compute the statistics of the numeric readings of a device for a sensor type, with
+   * aggregate queries
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @param percentiles  percentiles to compute
+   * @return ReadingStatistics object
+   */
+  @Override
+  public ReadingStatistics findStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles) {
+    ReadingStatistics.validatePercentiles(percentiles);
+    return entityManagers.read(em -> {
+      Object[] summary = em.createQuery(
+              "SELECT COUNT(e.numericReading), MIN(e.numericReading), MAX(e.numericReading), AVG(e.numericReading) FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID AND e.timestamp BETWEEN :start AND :end",
+              Object[].class)
+          .setParameter("deviceID", deviceID.getID())
+          .setParameter("sensorTypeID", sensorTypeID.getID())
+          .setParameter("start", period.getStartDate())
+          .setParameter("end", period.getEndDate())
+          .getSingleResult();
+      long count = ((Number) summary[0]).longValue();
+      if (count == 0) {
+        return ReadingStatistics.empty();
+      }
+
+      Map<Double, Double> percentileValues = new LinkedHashMap<>();
+      for (double percentile : percentiles) {
+        Double reading = em.createQuery(
+                "SELECT e.numericReading FROM LogDataModel e WHERE e.deviceID = :deviceID AND e.description = :sensorTypeID AND e.timestamp BETWEEN :start AND :end AND e.numericReading IS NOT NULL ORDER BY e.numericReading",
+                Double.class)
+            .setParameter("deviceID", deviceID.getID())
+            .setParameter("sensorTypeID", sensorTypeID.getID())
+            .setParameter("start", period.getStartDate())
+            .setParameter("end", period.getEndDate())
+            .setFirstResult((int) ReadingStatistics.rankOf(percentile, count) - 1)
+            .setMaxResults(1)
+            .getSingleResult();
+        percentileValues.put(percentile, reading);
+      }
+      return new ReadingStatistics(count, ((Number) summary[1]).doubleValue(),
+          ((Number) summary[2]).doubleValue(), ((Number) summary[3]).doubleValue(),
+          percentileValues);
+    });
   }
 }
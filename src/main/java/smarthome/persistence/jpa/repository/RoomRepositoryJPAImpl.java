@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +21,7 @@ import smarthome.utils.Validator;
 
 public class RoomRepositoryJPAImpl implements IRoomRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<RoomDataModel, Room> dataModelConverter;
 
   /**
@@ -36,17 +34,7 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
     Validator.validateNotNull(dataModelConverter, "Data model assembler");
 
     this.dataModelConverter = dataModelConverter;
-    this.factory = factory;
-  }
-
-  /**
-   * Method to get entity manager
-   *
-   * @return EntityManager
-   */
-  private EntityManager getEntityManager() {
-    EntityManager manager = factory.createEntityManager();
-    return manager;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -63,20 +51,10 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
 
     RoomDataModel roomDataModel = new RoomDataModel(room);
 
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(roomDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return roomDataModel;
+    });
 
     return room;
   }
@@ -88,8 +66,7 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
    */
   @Override
   public List<Room> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery(
           "SELECT e FROM RoomDataModel e");
 
@@ -98,9 +75,7 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
       List<Room> listDomain = dataModelConverter.toDomain(listDataModel);
 
       return listDomain;
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -111,9 +86,7 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
    */
   @Override
   public Optional<Room> ofIdentity(RoomID objectID) {
-    EntityManager em = getEntityManager();
-
-    try {
+    return entityManagers.read(em -> {
       RoomDataModel roomDataModel = em.find(RoomDataModel.class, objectID);
 
       if (roomDataModel == null) {
@@ -123,9 +96,7 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
       Room room = dataModelConverter.toDomain(roomDataModel);
 
       return Optional.of(room);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -149,27 +120,13 @@ public class RoomRepositoryJPAImpl implements IRoomRepository {
    */
   @Override
   public Room update(Room room) {
-    RoomDataModel roomDataModel = getEntityManager().find(RoomDataModel.class,
-        room.getID().getID());
-
-    if (roomDataModel != null) {
-      boolean isUpdated = roomDataModel.updateFromDomain(room);
-
-      if (isUpdated) {
-        EntityManager em = getEntityManager();
-        EntityTransaction tx = em.getTransaction();
-        tx.begin();
-        em.merge(roomDataModel);
-        tx.commit();
-        em.close();
+    return entityManagers.write(em -> {
+      RoomDataModel roomDataModel = em.find(RoomDataModel.class, room.getID().getID());
 
+      if (roomDataModel != null && roomDataModel.updateFromDomain(room)) {
         return room;
-      } else {
-        return null;
       }
-    } else {
       return null;
-    }
-
+    });
   }
 }
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +21,7 @@ import smarthome.persistence.data_model.SensorModelDataModel;
 
 public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<SensorModelDataModel, SensorModel> dataModelConverter;
 
   /**
@@ -36,7 +34,7 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
       EntityManagerFactory factory) {
     validateDataModelConverter(dataModelConverter);
     this.dataModelConverter = dataModelConverter;
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
 
@@ -53,16 +51,6 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
     }
   }
 
-  /**
-   * Method to get entity manager
-   *
-   * @return EntityManager
-   */
-  private EntityManager getEntityManager() {
-    EntityManager manager = factory.createEntityManager();
-    return manager;
-  }
-
   /**
    * Method to save sensor model
    *
@@ -77,21 +65,10 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
     }
 
     SensorModelDataModel sensorModelDataModel = new SensorModelDataModel(sensorModel);
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(sensorModelDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return sensorModelDataModel;
+    });
     return sensorModel;
   }
 
@@ -103,17 +80,13 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
    */
   @Override
   public List<SensorModel> findAll() {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       Query query = entityManager.createQuery(
           "SELECT e FROM SensorModelDataModel e");
       List<SensorModelDataModel> listDataModel = query.getResultList();
       List<SensorModel> listDomain = dataModelConverter.toDomain(listDataModel);
       return listDomain;
-    } finally {
-      entityManager.close();
-
-    }
+    });
   }
 
 
@@ -126,8 +99,7 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
 
   @Override
   public Optional<SensorModel> ofIdentity(ModelPath objectID) {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       SensorModelDataModel sensorModelDataModel = entityManager.find(SensorModelDataModel.class,
           objectID);
       if (sensorModelDataModel != null) {
@@ -136,9 +108,7 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
         SensorModel sensorModel = dataModelConverter.toDomain(sensorModelDataModel);
         return Optional.of(sensorModel);
       }
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 
   /**
@@ -166,17 +136,14 @@ public class SensorModelRepositoryJPAImpl implements ISensorModelRepository {
   @Override
   public List<SensorModel> findBySensorTypeId(SensorTypeID sensorTypeID) {
 
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       Query query = entityManager.createQuery(
           "SELECT e FROM SensorModelDataModel e WHERE e._sensorTypeID = :sensorTypeID");
       query.setParameter("sensorTypeID", sensorTypeID);
       List<SensorModelDataModel> listDataModel = query.getResultList();
       List<SensorModel> listDomain = dataModelConverter.toDomain(listDataModel);
       return listDomain;
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 
 }
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -26,7 +24,7 @@ import smarthome.utils.visitor_pattern.ISensorVisitorForDataModel;
 
 public class SensorRepositoryJPAImp implements ISensorRepository {
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
   private final IDataModelAssembler<SensorDataModel, ISensor> dataModelAssembler;
   private final ISensorVisitorForDataModel sensorVisitorForDataModel;
 
@@ -44,16 +42,7 @@ public class SensorRepositoryJPAImp implements ISensorRepository {
     this.dataModelAssembler = dataModelAssembler;
     Validator.validateNotNull(sensorVisitorForDataModel, "Sensor visitor for data model");
     this.sensorVisitorForDataModel = sensorVisitorForDataModel;
-    this.factory = factory;
-  }
-
-  /**
-   * Get the entity manager
-   *
-   * @return the entity manager
-   */
-  private EntityManager getEntityManager() {
-    return factory.createEntityManager();
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -68,20 +57,10 @@ public class SensorRepositoryJPAImp implements ISensorRepository {
     Validator.validateNotNull(sensor, "Sensor");
     sensor.accept(sensorVisitorForDataModel);
     SensorDataModel sensorDataModel = sensorVisitorForDataModel.getSensorDataModel();
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(sensorDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return sensorDataModel;
+    });
     return sensor;
   }
 
@@ -92,14 +71,11 @@ public class SensorRepositoryJPAImp implements ISensorRepository {
    */
   @Override
   public List<ISensor> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM SensorDataModel e");
       List<SensorDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -110,17 +86,14 @@ public class SensorRepositoryJPAImp implements ISensorRepository {
    */
   @Override
   public Optional<ISensor> ofIdentity(SensorID sensorID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       SensorDataModel sensorDataModel = em.find(SensorDataModel.class, sensorID);
       if (sensorDataModel == null) {
         return Optional.empty();
       }
       ISensor sensor = dataModelAssembler.toDomain(sensorDataModel);
       return Optional.of(sensor);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
@@ -136,14 +109,11 @@ public class SensorRepositoryJPAImp implements ISensorRepository {
 
   @Override
   public List<ISensor> ofDeviceID(DeviceID deviceID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM SensorDataModel e WHERE e.deviceID = :deviceID");
       query.setParameter("deviceID", deviceID.getID());
       List<SensorDataModel> listDataModel = query.getResultList();
       return dataModelAssembler.toDomain(listDataModel);
-    } finally {
-      em.close();
-    }
+    });
   }
 }
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -23,7 +21,7 @@ import smarthome.persistence.data_model.SensorTypeDataModel;
 public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
 
   private final IDataModelAssembler<SensorTypeDataModel, SensorType> dataModelConverter;
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
 
   /**
    * Creates an instance of {@link SensorTypeRepositoryJPAImpl} with the provided data model
@@ -37,7 +35,7 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
     validateDataModelConverter(dataModelConverter);
 
     this.dataModelConverter = dataModelConverter;
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -52,17 +50,6 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
     }
   }
 
-  /**
-   * Get the entity manager
-   *
-   * @return the entity manager
-   */
-  private EntityManager getEntityManager() {
-    EntityManager manager = this.factory.createEntityManager();
-
-    return manager;
-  }
-
   /**
    * Saves the sensor type in the database.
    *
@@ -77,20 +64,10 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
 
     SensorTypeDataModel sensorTypeDataModel = new SensorTypeDataModel(sensorType);
 
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(sensorTypeDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return sensorTypeDataModel;
+    });
     return sensorType;
   }
 
@@ -101,8 +78,7 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
    */
   @Override
   public List<SensorType> findAll() {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       Query query = em.createQuery("SELECT e FROM SensorTypeDataModel e");
 
       List<SensorTypeDataModel> listDataModel = query.getResultList();
@@ -110,9 +86,7 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
       List<SensorType> listDomain = dataModelConverter.toDomain(listDataModel);
 
       return listDomain;
-    } finally {
-      em.close();
-    }
+    });
 
   }
 
@@ -124,8 +98,7 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
    */
   @Override
   public Optional<SensorType> ofIdentity(SensorTypeID sensorTypeID) {
-    EntityManager em = getEntityManager();
-    try {
+    return entityManagers.read(em -> {
       SensorTypeDataModel sensorTypeDataModel = em.find(SensorTypeDataModel.class, sensorTypeID);
 
       if (sensorTypeDataModel == null) {
@@ -135,9 +108,7 @@ public class SensorTypeRepositoryJPAImpl implements ISensorTypeRepository {
       SensorType sensorType = dataModelConverter.toDomain(sensorTypeDataModel);
 
       return Optional.of(sensorType);
-    } finally {
-      em.close();
-    }
+    });
   }
 
   /**
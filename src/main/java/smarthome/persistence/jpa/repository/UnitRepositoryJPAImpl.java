@@ -8,9 +8,7 @@
 
 package smarthome.persistence.jpa.repository;
 
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Query;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +22,7 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
 
   private final IDataModelAssembler<UnitDataModel, Unit> dataModelConverter;
 
-  private final EntityManagerFactory factory;
+  private final EntityManagerTemplate entityManagers;
 
   /**
    * RepositoryUninJPAImpl constructor
@@ -35,7 +33,7 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
       EntityManagerFactory factory) {
     validateDataModelConverter(dataModelAssembler);
     dataModelConverter = dataModelAssembler;
-    this.factory = factory;
+    this.entityManagers = new EntityManagerTemplate(factory);
   }
 
   /**
@@ -49,15 +47,6 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
     }
   }
 
-  /**
-   * Method to get entity manager
-   *
-   * @return EntityManager
-   */
-  private EntityManager getEntityManager() {
-    return factory.createEntityManager();
-  }
-
   /**
    * Method to save unit
    *
@@ -70,20 +59,10 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
       throw new IllegalArgumentException("Unit cannot be null");
     }
     UnitDataModel unitDataModel = new UnitDataModel(unit);
-    EntityManager em = getEntityManager();
-    EntityTransaction tx = em.getTransaction();
-    try {
-      tx.begin();
+    entityManagers.write(em -> {
       em.persist(unitDataModel);
-      tx.commit();
-    } catch (RuntimeException e) {
-      if (tx.isActive()) {
-        tx.rollback();
-      }
-      throw e;
-    } finally {
-      em.close();
-    }
+      return unitDataModel;
+    });
     return unit;
   }
 
@@ -94,15 +73,12 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
    */
   @Override
   public List<Unit> findAll() {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       Query query = entityManager.createQuery(
           "SELECT e FROM UnitDataModel e");
       List<UnitDataModel> listDataModel = query.getResultList();
       return dataModelConverter.toDomain(listDataModel);
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 
   /**
@@ -113,8 +89,7 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
    */
   @Override
   public Optional<Unit> ofIdentity(UnitID objectID) {
-    EntityManager entityManager = getEntityManager();
-    try {
+    return entityManagers.read(entityManager -> {
       UnitDataModel unitDataModel = entityManager.find(UnitDataModel.class, objectID);
       if (unitDataModel == null) {
         return Optional.empty();
@@ -122,9 +97,7 @@ public class UnitRepositoryJPAImpl implements IUnitRepository {
         Unit unit = dataModelConverter.toDomain(unitDataModel);
         return Optional.of(unit);
       }
-    } finally {
-      entityManager.close();
-    }
+    });
   }
 
   /**
@@ -0,0 +1,120 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.log_segment;
+
+/**
+ * Open-addressing hash map from the 128-bit log IDs of a store to the position of their record,
+ * kept as pairs of longs and an int so a million IDs take about 40 MB instead of the ~150 MB of a
+ * HashSet of LogID. Random UUIDs are stored as their two halves; other IDs as {@link #TEXT_ID} and
+ * their dictionary reference. The pair (0, 0) marks an empty slot: it is neither a random UUID nor
+ * a text ID.
+ * <p>
+ * Not thread-safe; the store synchronizes its use.
+ */
+final class LogIDIndex {
+
+  static final long TEXT_ID = -1L;
+  static final int NO_POSITION = -1;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private long[] keys = new long[2 * INITIAL_CAPACITY];
+  private int[] positions = new int[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Method to add an ID
+   *
+   * @param mostBits  are the most significant bits of the ID.
+   * @param leastBits are the least significant bits of the ID.
+   * @param position  is the position of the record of the ID in the store.
+   * @return true if the ID was added, false if it was already in the index
+   */
+  boolean add(long mostBits, long leastBits, int position) {
+    if (2 * (size + 1) > capacity()) {
+      grow();
+    }
+    int slot = find(keys, mostBits, leastBits);
+    if (keys[2 * slot] != 0 || keys[2 * slot + 1] != 0) {
+      return false;
+    }
+    keys[2 * slot] = mostBits;
+    keys[2 * slot + 1] = leastBits;
+    positions[slot] = position;
+    size++;
+    return true;
+  }
+
+  /**
+   * Method to check if an ID is in the index
+   *
+   * @param mostBits  are the most significant bits of the ID.
+   * @param leastBits are the least significant bits of the ID.
+   * @return true if the ID is in the index
+   */
+  boolean contains(long mostBits, long leastBits) {
+    return positionOf(mostBits, leastBits) != NO_POSITION;
+  }
+
+  /**
+   * Method to get the position of the record of an ID
+   *
+   * @param mostBits  are the most significant bits of the ID.
+   * @param leastBits are the least significant bits of the ID.
+   * @return the position of the record, or {@link #NO_POSITION} if the ID is not in the index
+   */
+  int positionOf(long mostBits, long leastBits) {
+    int slot = find(keys, mostBits, leastBits);
+    return keys[2 * slot] != 0 || keys[2 * slot + 1] != 0 ? positions[slot] : NO_POSITION;
+  }
+
+  /**
+   * Method to get the number of IDs
+   *
+   * @return the number of IDs
+   */
+  int size() {
+    return size;
+  }
+
+  private int capacity() {
+    return keys.length / 2;
+  }
+
+  private void grow() {
+    long[] previous = keys;
+    int[] previousPositions = positions;
+    keys = new long[2 * previous.length];
+    positions = new int[previous.length];
+    for (int i = 0; i < previous.length; i += 2) {
+      if (previous[i] != 0 || previous[i + 1] != 0) {
+        int slot = find(keys, previous[i], previous[i + 1]);
+        keys[2 * slot] = previous[i];
+        keys[2 * slot + 1] = previous[i + 1];
+        positions[slot] = previousPositions[i / 2];
+      }
+    }
+  }
+
+  /**
+   * Method to find the slot of an ID, or the empty slot where it would be added
+   */
+  private static int find(long[] keys, long mostBits, long leastBits) {
+    int mask = keys.length / 2 - 1;
+    long hash = mostBits * 0x9E3779B97F4A7C15L ^ leastBits;
+    int slot = (int) (hash ^ (hash >>> 32)) & mask;
+    while (keys[2 * slot] != 0 || keys[2 * slot + 1] != 0) {
+      if (keys[2 * slot] == mostBits && keys[2 * slot + 1] == leastBits) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+}
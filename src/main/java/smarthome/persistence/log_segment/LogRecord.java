@@ -0,0 +1,140 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.log_segment;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-width binary form of a log, as stored in a segment file. The text values (IDs, unit and
+ * text readings) are stored as references to the {@link StringDictionary}.
+ * <p>
+ * Layout, {@value #SIZE} bytes: log ID (16), epoch second (8), nanosecond (4), device, sensor,
+ * sensor type and unit references (4 each), reading kind (1), padding (3), reading (8) and the
+ * CRC32 of the previous bytes (4). A record whose checksum does not match was not completely
+ * written.
+ */
+final class LogRecord {
+
+  static final int SIZE = 64;
+
+  static final byte READING_LONG = 1;
+  static final byte READING_DOUBLE = 2;
+  static final byte READING_TEXT = 3;
+
+  private static final int CHECKSUM_OFFSET = SIZE - Integer.BYTES;
+
+  final long idMostBits;
+  final long idLeastBits;
+  final long epochSecond;
+  final int nano;
+  final int deviceRef;
+  final int sensorRef;
+  final int sensorTypeRef;
+  final int unitRef;
+  final byte readingKind;
+  final long reading;
+
+  LogRecord(long idMostBits, long idLeastBits, long epochSecond, int nano, int deviceRef,
+      int sensorRef, int sensorTypeRef, int unitRef, byte readingKind, long reading) {
+    this.idMostBits = idMostBits;
+    this.idLeastBits = idLeastBits;
+    this.epochSecond = epochSecond;
+    this.nano = nano;
+    this.deviceRef = deviceRef;
+    this.sensorRef = sensorRef;
+    this.sensorTypeRef = sensorTypeRef;
+    this.unitRef = unitRef;
+    this.readingKind = readingKind;
+    this.reading = reading;
+  }
+
+  /**
+   * Method to write the record and its checksum
+   *
+   * @param buffer is the buffer to write to.
+   * @param offset is the position of the record in the buffer.
+   */
+  void writeTo(ByteBuffer buffer, int offset) {
+    buffer.putLong(offset, idMostBits);
+    buffer.putLong(offset + 8, idLeastBits);
+    buffer.putLong(offset + 16, epochSecond);
+    buffer.putInt(offset + 24, nano);
+    buffer.putInt(offset + 28, deviceRef);
+    buffer.putInt(offset + 32, sensorRef);
+    buffer.putInt(offset + 36, sensorTypeRef);
+    buffer.putInt(offset + 40, unitRef);
+    buffer.put(offset + 44, readingKind);
+    buffer.put(offset + 45, (byte) 0);
+    buffer.putShort(offset + 46, (short) 0);
+    buffer.putLong(offset + 48, reading);
+    buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset));
+  }
+
+  /**
+   * Method to read a record
+   *
+   * @param buffer is the buffer to read from.
+   * @param offset is the position of the record in the buffer.
+   * @return the record, null if it is empty or was not completely written
+   */
+  static LogRecord readFrom(ByteBuffer buffer, int offset) {
+    if (buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(buffer, offset)) {
+      return null;
+    }
+    return new LogRecord(buffer.getLong(offset), buffer.getLong(offset + 8),
+        buffer.getLong(offset + 16), buffer.getInt(offset + 24), buffer.getInt(offset + 28),
+        buffer.getInt(offset + 32), buffer.getInt(offset + 36), buffer.getInt(offset + 40),
+        buffer.get(offset + 44), buffer.getLong(offset + 48));
+  }
+
+  /**
+   * Method to read the epoch second of a record without reading the rest of it
+   *
+   * @param buffer is the buffer to read from.
+   * @param offset is the position of the record in the buffer.
+   * @return the epoch second of the record
+   */
+  static long epochSecondAt(ByteBuffer buffer, int offset) {
+    return buffer.getLong(offset + 16);
+  }
+
+  /**
+   * Method to read the device reference of a record without reading the rest of it
+   *
+   * @param buffer is the buffer to read from.
+   * @param offset is the position of the record in the buffer.
+   * @return the device reference of the record
+   */
+  static int deviceRefAt(ByteBuffer buffer, int offset) {
+    return buffer.getInt(offset + 28);
+  }
+
+  /**
+   * Method to get the highest dictionary reference used by the record
+   *
+   * @return the highest reference
+   */
+  int maxRef() {
+    int maxRef = Math.max(Math.max(deviceRef, sensorRef), Math.max(sensorTypeRef, unitRef));
+    if (readingKind == READING_TEXT) {
+      maxRef = Math.max(maxRef, (int) reading);
+    }
+    if (idMostBits == LogIDIndex.TEXT_ID) {
+      maxRef = Math.max(maxRef, (int) idLeastBits);
+    }
+    return maxRef;
+  }
+
+  private static int checksum(ByteBuffer buffer, int offset) {
+    CRC32 crc = new CRC32();
+    crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+    return (int) crc.getValue();
+  }
+}
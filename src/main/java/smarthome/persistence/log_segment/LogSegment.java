@@ -0,0 +1,206 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.log_segment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * Segment file of the log store: a fixed number of {@link LogRecord}s, appended in order to a
+ * memory-mapped file.
+ * <p>
+ * Every block of {@value #BLOCK_RECORDS} records keeps the lowest and highest epoch second of its
+ * records and the devices that have a record in it. A query on a device and a time range only reads
+ * the blocks whose summary matches, so the index costs a few bytes per block instead of an entry
+ * per record.
+ * <p>
+ * Not thread-safe; the store synchronizes its use.
+ */
+final class LogSegment implements Closeable {
+
+  static final int CAPACITY = 65536;
+
+  private static final int BLOCK_RECORDS = 256;
+  private static final int BLOCKS = CAPACITY / BLOCK_RECORDS;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final long[] blockMinSecond = new long[BLOCKS];
+  private final long[] blockMaxSecond = new long[BLOCKS];
+  private final BitSet[] blockDevices = new BitSet[BLOCKS];
+  private int size;
+
+  private LogSegment(FileChannel channel, MappedByteBuffer buffer) {
+    this.channel = channel;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Method to open a segment file, creating it if it does not exist. The records are read from the
+   * start of the file up to the first one that is incomplete or refers to a text missing from the
+   * dictionary; that record and the ones after it are erased.
+   *
+   * @param path           is the segment file.
+   * @param dictionarySize is the number of texts of the dictionary.
+   * @return the segment
+   */
+  static LogSegment open(Path path, int dictionarySize) {
+    try {
+      FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) CAPACITY * LogRecord.SIZE);
+      LogSegment segment = new LogSegment(channel, buffer);
+      segment.recover(dictionarySize);
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open the log segment " + path, e);
+    }
+  }
+
+  /**
+   * Method to get the number of records
+   *
+   * @return the number of records
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Method to check if the segment has no room left
+   *
+   * @return true if the segment is full
+   */
+  boolean isFull() {
+    return size == CAPACITY;
+  }
+
+  /**
+   * Method to append a record. It is only durable after {@link #force(int)}.
+   *
+   * @param record is the record to append.
+   */
+  void append(LogRecord record) {
+    if (isFull()) {
+      throw new IllegalStateException("Log segment is full");
+    }
+    record.writeTo(buffer, size * LogRecord.SIZE);
+    index(size, record.epochSecond, record.deviceRef);
+    size++;
+  }
+
+  /**
+   * Method to write the records appended from a position to the disk
+   *
+   * @param from is the position of the first record to write.
+   */
+  void force(int from) {
+    if (from < size) {
+      buffer.force(from * LogRecord.SIZE, (size - from) * LogRecord.SIZE);
+    }
+  }
+
+  /**
+   * Method to read the record at a position
+   *
+   * @param position is the position of the record, lower than the size.
+   * @return the record
+   */
+  LogRecord get(int position) {
+    return LogRecord.readFrom(buffer, position * LogRecord.SIZE);
+  }
+
+  /**
+   * Method to go through the records of a device in a range of epoch seconds, in the order they
+   * were appended
+   *
+   * @param deviceRef  is the dictionary reference of the device.
+   * @param fromSecond is the lowest epoch second, included.
+   * @param toSecond   is the highest epoch second, included.
+   * @param action     is called with each record.
+   */
+  void forEach(int deviceRef, long fromSecond, long toSecond, Consumer<LogRecord> action) {
+    for (int block = 0; block * BLOCK_RECORDS < size; block++) {
+      if (blockMaxSecond[block] < fromSecond || blockMinSecond[block] > toSecond
+          || !blockDevices[block].get(deviceRef)) {
+        continue;
+      }
+      int end = Math.min(size, (block + 1) * BLOCK_RECORDS);
+      for (int position = block * BLOCK_RECORDS; position < end; position++) {
+        int offset = position * LogRecord.SIZE;
+        long epochSecond = LogRecord.epochSecondAt(buffer, offset);
+        if (LogRecord.deviceRefAt(buffer, offset) == deviceRef && epochSecond >= fromSecond
+            && epochSecond <= toSecond) {
+          action.accept(LogRecord.readFrom(buffer, offset));
+        }
+      }
+    }
+  }
+
+  /**
+   * Method to go through every record, in the order they were appended
+   *
+   * @param action is called with each record.
+   */
+  void forEach(Consumer<LogRecord> action) {
+    for (int position = 0; position < size; position++) {
+      action.accept(LogRecord.readFrom(buffer, position * LogRecord.SIZE));
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    buffer.force();
+    channel.close();
+  }
+
+  private void index(int position, long epochSecond, int deviceRef) {
+    int block = position / BLOCK_RECORDS;
+    if (position % BLOCK_RECORDS == 0) {
+      blockMinSecond[block] = epochSecond;
+      blockMaxSecond[block] = epochSecond;
+      blockDevices[block] = new BitSet();
+    } else {
+      blockMinSecond[block] = Math.min(blockMinSecond[block], epochSecond);
+      blockMaxSecond[block] = Math.max(blockMaxSecond[block], epochSecond);
+    }
+    blockDevices[block].set(deviceRef);
+  }
+
+  private void recover(int dictionarySize) {
+    while (size < CAPACITY) {
+      LogRecord record = LogRecord.readFrom(buffer, size * LogRecord.SIZE);
+      if (record == null || record.maxRef() >= dictionarySize) {
+        break;
+      }
+      index(size, record.epochSecond, record.deviceRef);
+      size++;
+    }
+    byte[] chunk = new byte[BLOCK_RECORDS * LogRecord.SIZE];
+    byte[] zeros = new byte[chunk.length];
+    int end = CAPACITY * LogRecord.SIZE;
+    for (int offset = size * LogRecord.SIZE; offset < end; offset += chunk.length) {
+      int length = Math.min(chunk.length, end - offset);
+      buffer.get(offset, chunk, 0, length);
+      if (!Arrays.equals(chunk, 0, length, zeros, 0, length)) {
+        buffer.put(offset, zeros, 0, length);
+      }
+    }
+    buffer.force();
+  }
+}
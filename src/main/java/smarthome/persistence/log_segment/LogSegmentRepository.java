@@ -0,0 +1,586 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.log_segment;
+
+import jakarta.annotation.PreDestroy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.LatestReadingStore;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogTimelineMerge;
+import smarthome.domain.log.ReadingStatisticsAccumulator;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingKind;
+import smarthome.domain.value_object.ReadingStatistics;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.BoundedFanOut;
+import smarthome.utils.Validator;
+
+/**
+ * Log repository that appends the logs to memory-mapped segment files, for hubs where a database
+ * is too heavy. It is used when the "log-segments" profile is active; the files are kept in the
+ * directory set by {@code smarthome.log-segments.directory}.
+ * <p>
+ * The texts of a log are interned in a {@link StringDictionary} and the log is stored as a
+ * {@link LogRecord} in the last {@link LogSegment}. Integer and decimal readings are stored as
+ * numbers when their text can be rebuilt from the number, any other reading as text, so every log
+ * is read back as it was saved. A log is durable when save or saveAll returns; saveAll writes its
+ * logs to the disk once.
+ * <p>
+ * Only the IDs of the logs and the latest reading of each sensor type are kept on the heap; they
+ * are rebuilt from the files when the repository is opened. Queries read the segment blocks that
+ * can hold matching logs. Writes are serialized, reads can run in parallel.
+ */
+@Repository
+@Profile("log-segments")
+public class LogSegmentRepository implements ILogRepository, Closeable {
+
+  private static final String DICTIONARY_FILE = "dictionary.dat";
+  private static final String SEGMENT_FILE = "segment-%08d.dat";
+  private static final int QUERY_PARALLELISM =
+      Math.min(8, Runtime.getRuntime().availableProcessors());
+
+  private final Path directory;
+  private final ILogFactory logFactory;
+  private final StringDictionary dictionary;
+  private final List<LogSegment> segments = new ArrayList<>();
+  private final LogIDIndex logIDs = new LogIDIndex();
+  private final LatestReadingStore latestReadings = new LatestReadingStore();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final BoundedFanOut queries = new BoundedFanOut("log-segment-query", QUERY_PARALLELISM);
+  private final Comparator<LogRecord> order = Comparator
+      .comparingLong((LogRecord record) -> record.epochSecond)
+      .thenComparingInt(record -> record.nano)
+      .thenComparing(this::logIDOf);
+
+  /**
+   * LogSegmentRepository constructor. Opens the files of the directory and recovers the logs that
+   * were completely written.
+   *
+   * @param directory  is the directory of the files.
+   * @param logFactory ILogFactory object
+   */
+  public LogSegmentRepository(
+      @Value("${smarthome.log-segments.directory:data/log-segments}") String directory,
+      ILogFactory logFactory) {
+
+    Validator.validateNotNull(directory, "Log segments directory");
+    this.directory = Path.of(directory);
+    Validator.validateNotNull(logFactory, "Log factory");
+    this.logFactory = logFactory;
+    try {
+      Files.createDirectories(this.directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot create the log segments directory " + directory, e);
+    }
+    this.dictionary = new StringDictionary(this.directory.resolve(DICTIONARY_FILE));
+    openSegments();
+  }
+
+
+  /**
+   * Method to save log
+   *
+   * @param log Log object
+   * @return Log object
+   */
+  @Override
+  public Log save(Log log) {
+    Validator.validateNotNull(log, "Log");
+
+    lock.writeLock().lock();
+    try {
+      if (containsLogID(log.getID())) {
+        throw new IllegalArgumentException("Log already exists.");
+      }
+      LogSegment segment = writableSegment();
+      int from = segment.size();
+      append(log);
+      segment.force(from);
+      return log;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Method to save several logs. Nothing is saved if any of the logs already exists, and the logs
+   * are written to the disk once.
+   *
+   * @param logs List of Log
+   * @return List of the saved Log
+   */
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    lock.writeLock().lock();
+    try {
+      Set<LogID> newIDs = new HashSet<>();
+      for (Log log : logs) {
+        Validator.validateNotNull(log, "Log");
+        if (containsLogID(log.getID()) || !newIDs.add(log.getID())) {
+          throw new IllegalArgumentException("Log already exists.");
+        }
+      }
+      int firstSegment = segments.size() - 1;
+      int from = segments.isEmpty() ? 0 : segments.get(firstSegment).size();
+      for (Log log : logs) {
+        append(log);
+      }
+      for (int i = Math.max(firstSegment, 0); i < segments.size(); i++) {
+        segments.get(i).force(i == firstSegment ? from : 0);
+      }
+      return logs;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+
+  /**
+   * Method to find all logs
+   *
+   * @return List of Log, in the order they were saved
+   */
+  @Override
+  public List<Log> findAll() {
+    List<Log> logs = new ArrayList<>();
+    read(() -> segments.forEach(segment -> segment.forEach(record -> logs.add(toLog(record)))));
+    return logs;
+  }
+
+
+  /**
+   * Method to find log by ID
+   *
+   * @param logID LogID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> ofIdentity(LogID logID) {
+    List<Log> found = new ArrayList<>(1);
+    read(() -> {
+      int position = positionOf(logID);
+      if (position != LogIDIndex.NO_POSITION) {
+        found.add(toLog(segments.get(position / LogSegment.CAPACITY)
+            .get(position % LogSegment.CAPACITY)));
+      }
+    });
+    return found.stream().findFirst();
+  }
+
+
+  /**
+   * Method to check if log exists
+   *
+   * @param logID LogID object
+   * @return boolean
+   */
+  @Override
+  public boolean containsOfIdentity(LogID logID) {
+    boolean[] found = new boolean[1];
+    read(() -> found[0] = containsLogID(logID));
+    return found[0];
+  }
+
+
+  /**
+   * Method to find logs by device ID and time period, bounds excluded
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @return List of Log, ordered by timestamp
+   */
+  @Override
+  public List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period) {
+    return toLogs(find(deviceID, period.getStartDate().plusNanos(1),
+        period.getEndDate().minusNanos(1), record -> true));
+  }
+
+  /**
+   * Method to find a page of logs by device ID and time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor object, null for the first page
+   * @param limit    maximum number of logs
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    List<LogRecord> records = find(deviceID, period.getStartDate(), period.getEndDate(),
+        record -> after == null || isAfter(record, after));
+    return toLogs(records.subList(0, Math.min(limit, records.size())));
+  }
+
+  /**
+   * Method to go through the logs of a device in a time period. Only the records of the period
+   * are held in memory, a log is created when it is passed to the action.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   Consumer of Log
+   */
+  @Override
+  public void forEachByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action) {
+    for (LogRecord record : find(deviceID, period.getStartDate(), period.getEndDate(),
+        record -> true)) {
+      action.accept(toLog(record));
+    }
+  }
+
+  /**
+   * Method to find logs by device ID, sensor type and time period
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, ordered by timestamp
+   */
+  @Override
+  public List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    int sensorTypeRef = dictionary.find(sensorTypeID.getID());
+    return toLogs(find(deviceID, period.getStartDate().minusSeconds(1).plusNanos(1),
+        period.getEndDate().plusSeconds(1).minusNanos(1),
+        record -> record.sensorTypeRef == sensorTypeRef));
+  }
+
+  /**
+   * Method to find the logs of several devices by sensor type and time period. The segments are
+   * indexed per device, so each device is read on its own, several at a time, and the results are
+   * merged.
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, in (timestamp, logID) order
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriod(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    if (deviceIDs.isEmpty()) {
+      return List.of();
+    }
+    return LogTimelineMerge.merge(queries.map(deviceIDs.stream().distinct().toList(),
+        deviceID -> findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID,
+            period)));
+  }
+
+  @Override
+  public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    int sensorTypeRef = dictionary.find(sensorTypeID.getID());
+    return toLogs(find(deviceID, LocalDateTime.MIN, LocalDateTime.MAX,
+        record -> record.sensorTypeRef == sensorTypeRef));
+  }
+
+  /**
+   * Method to find the most recent log of a device for a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return latestReadings.find(deviceID, sensorTypeID);
+  }
+
+  /**
+   * Method to compute the statistics of the numeric readings of a device for a sensor type. The
+   * readings are taken from the records, no log is created.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @param percentiles  percentiles to compute
+   * @return ReadingStatistics object
+   */
+  @Override
+  public ReadingStatistics findStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles) {
+    ReadingStatisticsAccumulator accumulator = new ReadingStatisticsAccumulator(percentiles);
+    int sensorTypeRef = dictionary.find(sensorTypeID.getID());
+    for (LogRecord record : find(deviceID, period.getStartDate(), period.getEndDate(),
+        record -> record.sensorTypeRef == sensorTypeRef)) {
+      if (record.readingKind == LogRecord.READING_LONG) {
+        accumulator.add(record.reading);
+      } else if (record.readingKind == LogRecord.READING_DOUBLE) {
+        accumulator.add(Double.longBitsToDouble(record.reading));
+      } else {
+        addIfNumeric(accumulator, dictionary.get((int) record.reading));
+      }
+    }
+    return accumulator.toStatistics();
+  }
+
+  /**
+   * Method to count the logs saved
+   *
+   * @return the number of logs
+   */
+  @Override
+  public long count() {
+    long[] count = new long[1];
+    read(() -> segments.forEach(segment -> count[0] += segment.size()));
+    return count[0];
+  }
+
+  /**
+   * Method to close the files. The repository can not be used afterwards.
+   *
+   * @throws IOException if a file can not be closed
+   */
+  @Override
+  @PreDestroy
+  public void close() throws IOException {
+    queries.close();
+    lock.writeLock().lock();
+    try {
+      for (LogSegment segment : segments) {
+        segment.close();
+      }
+      dictionary.close();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void openSegments() {
+    List<Path> paths;
+    try (Stream<Path> files = Files.list(directory)) {
+      paths = files.filter(path -> path.getFileName().toString().startsWith("segment-"))
+          .sorted().toList();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot list the log segments of " + directory, e);
+    }
+    for (Path path : paths) {
+      if (!segments.isEmpty() && !segments.get(segments.size() - 1).isFull()) {
+        deleteSegment(path);
+        continue;
+      }
+      LogSegment segment = LogSegment.open(path, dictionary.size());
+      int[] position = {segments.size() * LogSegment.CAPACITY};
+      segment.forEach(record -> {
+        logIDs.add(record.idMostBits, record.idLeastBits, position[0]++);
+        latestReadings.update(toLog(record));
+      });
+      segments.add(segment);
+    }
+  }
+
+  /**
+   * Method to delete a segment that follows an incomplete one: its logs were written after logs
+   * that were lost.
+   */
+  private static void deleteSegment(Path path) {
+    try {
+      Files.delete(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot delete the log segment " + path, e);
+    }
+  }
+
+  private LogSegment writableSegment() {
+    if (segments.isEmpty() || segments.get(segments.size() - 1).isFull()) {
+      Path path = directory.resolve(String.format(SEGMENT_FILE, segments.size()));
+      segments.add(LogSegment.open(path, dictionary.size()));
+    }
+    return segments.get(segments.size() - 1);
+  }
+
+  private void append(Log log) {
+    LogRecord record = toRecord(log);
+    LogSegment segment = writableSegment();
+    int position = (segments.size() - 1) * LogSegment.CAPACITY + segment.size();
+    segment.append(record);
+    logIDs.add(record.idMostBits, record.idLeastBits, position);
+    latestReadings.update(log);
+  }
+
+  /**
+   * Method to find the records of a device in a time range, bounds included
+   *
+   * @return the records, ordered by timestamp and log ID
+   */
+  private List<LogRecord> find(DeviceID deviceID, LocalDateTime from, LocalDateTime to,
+      Predicate<LogRecord> filter) {
+    List<LogRecord> records = new ArrayList<>();
+    int deviceRef = dictionary.find(deviceID.getID());
+    if (deviceRef < 0 || from.isAfter(to)) {
+      return records;
+    }
+    long fromSecond = from.toEpochSecond(ZoneOffset.UTC);
+    long toSecond = to.toEpochSecond(ZoneOffset.UTC);
+    read(() -> segments.forEach(segment -> segment.forEach(deviceRef, fromSecond, toSecond,
+        record -> {
+          LocalDateTime timestamp = timestampOf(record);
+          if (!timestamp.isBefore(from) && !timestamp.isAfter(to) && filter.test(record)) {
+            records.add(record);
+          }
+        })));
+    records.sort(order);
+    return records;
+  }
+
+  private void read(Runnable query) {
+    lock.readLock().lock();
+    try {
+      query.run();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<Log> toLogs(List<LogRecord> records) {
+    List<Log> logs = new ArrayList<>(records.size());
+    for (LogRecord record : records) {
+      logs.add(toLog(record));
+    }
+    return logs;
+  }
+
+  private boolean isAfter(LogRecord record, LogCursor cursor) {
+    int compared = timestampOf(record).compareTo(cursor.getTimestamp());
+    return compared > 0 || compared == 0 && logIDOf(record).compareTo(cursor.getLogID().getID()) > 0;
+  }
+
+  private boolean containsLogID(LogID logID) {
+    return positionOf(logID) != LogIDIndex.NO_POSITION;
+  }
+
+  /**
+   * Method to get the position of the record of a log ID, the segment number times the capacity
+   * of a segment plus the position in the segment
+   */
+  private int positionOf(LogID logID) {
+    UUID uuid = asRandomUUID(logID.getID());
+    if (uuid != null) {
+      return logIDs.positionOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+    int ref = dictionary.find(logID.getID());
+    return ref < 0 ? LogIDIndex.NO_POSITION : logIDs.positionOf(LogIDIndex.TEXT_ID, ref);
+  }
+
+  private LogRecord toRecord(Log log) {
+    String id = log.getID().getID();
+    UUID uuid = asRandomUUID(id);
+    long idMostBits = uuid == null ? LogIDIndex.TEXT_ID : uuid.getMostSignificantBits();
+    long idLeastBits = uuid == null ? dictionary.intern(id) : uuid.getLeastSignificantBits();
+
+    ReadingValue readingValue = log.getReadingValue();
+    String text = readingValue.getValue();
+    byte readingKind = LogRecord.READING_TEXT;
+    long reading = 0;
+    if (readingValue.getKind() == ReadingKind.INTEGER
+        && String.valueOf(readingValue.asLong()).equals(text)) {
+      readingKind = LogRecord.READING_LONG;
+      reading = readingValue.asLong();
+    } else if (readingValue.getKind() == ReadingKind.DECIMAL
+        && String.valueOf(readingValue.asDouble()).equals(text)) {
+      readingKind = LogRecord.READING_DOUBLE;
+      reading = Double.doubleToRawLongBits(readingValue.asDouble());
+    }
+    if (readingKind == LogRecord.READING_TEXT) {
+      reading = dictionary.intern(text);
+    }
+
+    LocalDateTime timestamp = log.getTimeStamp();
+    return new LogRecord(idMostBits, idLeastBits, timestamp.toEpochSecond(ZoneOffset.UTC),
+        timestamp.getNano(), dictionary.intern(log.getDeviceID().getID()),
+        dictionary.intern(log.getSensorID().getID()),
+        dictionary.intern(log.getDescription().getID()), dictionary.intern(log.getUnit().getID()),
+        readingKind, reading);
+  }
+
+  private Log toLog(LogRecord record) {
+    ReadingValue readingValue = switch (record.readingKind) {
+      case LogRecord.READING_LONG -> new ReadingValue(record.reading);
+      case LogRecord.READING_DOUBLE -> new ReadingValue(Double.longBitsToDouble(record.reading));
+      default -> new ReadingValue(dictionary.get((int) record.reading));
+    };
+    return logFactory.createLog(new LogID(logIDOf(record)),
+        DeviceID.of(dictionary.get(record.deviceRef)),
+        SensorID.of(dictionary.get(record.sensorRef)), timestampOf(record), readingValue,
+        SensorTypeID.of(dictionary.get(record.sensorTypeRef)),
+        UnitID.of(dictionary.get(record.unitRef)));
+  }
+
+  /**
+   * Method to add a reading stored as text, which is numeric when its text is not the one of its
+   * number, like "020"
+   */
+  private static void addIfNumeric(ReadingStatisticsAccumulator accumulator, String text) {
+    ReadingValue readingValue = new ReadingValue(text);
+    if (readingValue.isNumeric()) {
+      accumulator.add(readingValue.asDouble());
+    }
+  }
+
+  private String logIDOf(LogRecord record) {
+    if (record.idMostBits == LogIDIndex.TEXT_ID) {
+      return dictionary.get((int) record.idLeastBits);
+    }
+    return new UUID(record.idMostBits, record.idLeastBits).toString();
+  }
+
+  private static LocalDateTime timestampOf(LogRecord record) {
+    return LocalDateTime.ofEpochSecond(record.epochSecond, record.nano, ZoneOffset.UTC);
+  }
+
+  /**
+   * Method to read a log ID as a random UUID
+   *
+   * @param id is the log ID.
+   * @return the UUID, null if the ID is not the text of a random UUID
+   */
+  private static UUID asRandomUUID(String id) {
+    if (id.length() != 36) {
+      return null;
+    }
+    try {
+      UUID uuid = UUID.fromString(id);
+      return uuid.version() == 4 && uuid.toString().equals(id) ? uuid : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.log_segment;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file interning the texts of the log store (device, sensor, sensor type and unit
+ * IDs, and text readings), so records only hold an int reference to them. Each entry is written
+ * as its length, the CRC32 of its bytes and its UTF-8 bytes, and forced to disk before it is used
+ * by a record. On opening, the entries are read back up to the first incomplete one, which is cut
+ * off.
+ */
+final class StringDictionary implements Closeable {
+
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  private final FileChannel channel;
+  private final Map<String, Integer> refs = new ConcurrentHashMap<>();
+  private volatile String[] texts = new String[64];
+  private int size;
+
+  /**
+   * StringDictionary constructor. Reads the entries of an existing file.
+   *
+   * @param path is the dictionary file.
+   */
+  StringDictionary(Path path) {
+    try {
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      recover();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open the log dictionary " + path, e);
+    }
+  }
+
+  /**
+   * Method to get the reference of a text, adding it to the dictionary if needed
+   *
+   * @param text is the text to intern.
+   * @return the reference of the text
+   */
+  synchronized int intern(String text) {
+    Integer ref = refs.get(text);
+    if (ref != null) {
+      return ref;
+    }
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer entry = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+    entry.putInt(bytes.length).putInt(checksum(bytes)).put(bytes).flip();
+    try {
+      long position = channel.size();
+      while (entry.hasRemaining()) {
+        position += channel.write(entry, position);
+      }
+      channel.force(false);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write to the log dictionary", e);
+    }
+    return add(text);
+  }
+
+  /**
+   * Method to get the reference of a text without adding it
+   *
+   * @param text is the text to find.
+   * @return the reference of the text, -1 if it is not in the dictionary
+   */
+  int find(String text) {
+    return refs.getOrDefault(text, -1);
+  }
+
+  /**
+   * Method to get the text of a reference
+   *
+   * @param ref is the reference.
+   * @return the text
+   */
+  String get(int ref) {
+    return texts[ref];
+  }
+
+  /**
+   * Method to get the number of texts
+   *
+   * @return the number of texts
+   */
+  synchronized int size() {
+    return size;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private int add(String text) {
+    String[] current = texts;
+    if (size == current.length) {
+      current = Arrays.copyOf(current, 2 * current.length);
+    }
+    current[size] = text;
+    texts = current;
+    refs.put(text, size);
+    return size++;
+  }
+
+  private void recover() throws IOException {
+    long length = channel.size();
+    long position = 0;
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    while (position + HEADER_SIZE <= length) {
+      header.clear();
+      channel.read(header, position);
+      int textLength = header.getInt(0);
+      if (textLength < 0 || position + HEADER_SIZE + textLength > length) {
+        break;
+      }
+      ByteBuffer bytes = ByteBuffer.allocate(textLength);
+      channel.read(bytes, position + HEADER_SIZE);
+      if (checksum(bytes.array()) != header.getInt(Integer.BYTES)) {
+        break;
+      }
+      add(new String(bytes.array(), StandardCharsets.UTF_8));
+      position += HEADER_SIZE + textLength;
+    }
+    if (position < length) {
+      channel.truncate(position);
+    }
+  }
+
+  private static int checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return (int) crc.getValue();
+  }
+}
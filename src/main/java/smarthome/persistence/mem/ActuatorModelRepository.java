@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.actuator_model.ActuatorModel;
@@ -21,7 +19,8 @@ import smarthome.utils.Validator;
 
 public class ActuatorModelRepository implements IActuatorModelRepository {
 
-  private final Map<ModelPath, ActuatorModel> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<ModelPath, ActuatorModel> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Save an ActuatorModel. If the ActuatorModel is null, throw an IllegalArgumentException.
@@ -33,10 +32,8 @@ public class ActuatorModelRepository implements IActuatorModelRepository {
   public ActuatorModel save(ActuatorModel actuatorModel) {
     Validator.validateNotNull(actuatorModel, "ActuatorModel");
 
-    if (containsOfIdentity(actuatorModel.getID())) {
+    if (!DATA.putIfAbsent(actuatorModel.getID(), actuatorModel)) {
       throw new IllegalArgumentException("ActuatorModel already exists.");
-    } else {
-      DATA.put(actuatorModel.getID(), actuatorModel);
     }
     return actuatorModel;
   }
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.actuator.IActuator;
 import smarthome.domain.repository.IActuatorRepository;
@@ -24,7 +22,8 @@ public class ActuatorRepository implements IActuatorRepository {
   /**
    * Map to store the Actuator data.
    */
-  private final Map<ActuatorID, IActuator> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<ActuatorID, IActuator> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Method to save a domain actuator.
@@ -36,10 +35,8 @@ public class ActuatorRepository implements IActuatorRepository {
   public IActuator save(IActuator actuator) {
     Validator.validateNotNull(actuator, "Actuator");
 
-    if (containsOfIdentity(actuator.getID())) {
+    if (!DATA.putIfAbsent(actuator.getID(), actuator)) {
       throw new IllegalArgumentException("Actuator already exists.");
-    } else {
-      DATA.put(actuator.getID(), actuator);
     }
     return actuator;
   }
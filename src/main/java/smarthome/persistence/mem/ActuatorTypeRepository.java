@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.actuator_type.ActuatorType;
 import smarthome.domain.repository.IActuatorTypeRepository;
@@ -21,7 +19,8 @@ import smarthome.utils.Validator;
 
 public class ActuatorTypeRepository implements IActuatorTypeRepository {
 
-  private final Map<ActuatorTypeID, ActuatorType> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<ActuatorTypeID, ActuatorType> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Save an ActuatorType. If the ActuatorType is null, throw an IllegalArgumentException.
@@ -33,10 +32,8 @@ public class ActuatorTypeRepository implements IActuatorTypeRepository {
   public ActuatorType save(ActuatorType actuatorType) {
     Validator.validateNotNull(actuatorType, "ActuatorType");
 
-    if (containsOfIdentity(actuatorType.getID())) {
+    if (!DATA.putIfAbsent(actuatorType.getID(), actuatorType)) {
       throw new IllegalArgumentException("ActuatorType already exists.");
-    } else {
-      DATA.put(actuatorType.getID(), actuatorType);
     }
     return actuatorType;
   }
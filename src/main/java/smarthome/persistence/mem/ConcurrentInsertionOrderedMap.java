@@ -0,0 +1,145 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.mem;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe map of the in-memory repositories that, like a LinkedHashMap, returns its values in
+ * the order their keys were first added. Each key gets a position from a counter; the values are
+ * kept in a skip list ordered by position, so reads never block writers and iterating never
+ * throws a ConcurrentModificationException. Like a LinkedHashMap, it accepts a null key.
+ *
+ * @param <K> is the type of the keys.
+ * @param <V> is the type of the values.
+ */
+class ConcurrentInsertionOrderedMap<K, V> {
+
+  private static final Object NULL_KEY = new Object();
+
+  private final AtomicLong nextPosition = new AtomicLong();
+  private final Map<Object, Long> positions = new ConcurrentHashMap<>();
+  private final NavigableMap<Long, V> values = new ConcurrentSkipListMap<>();
+
+  /**
+   * Method to add a value if its key is not in the map yet. The check and the insertion are
+   * atomic.
+   *
+   * @param key   is the key of the value.
+   * @param value is the value to add.
+   * @return true if the value was added, false if the key was already in the map
+   */
+  boolean putIfAbsent(K key, V value) {
+    boolean[] added = {false};
+    positions.computeIfAbsent(maskNull(key), k -> {
+      long position = nextPosition.getAndIncrement();
+      values.put(position, value);
+      added[0] = true;
+      return position;
+    });
+    return added[0];
+  }
+
+  /**
+   * Method to add a value, or to replace the value of its key keeping the key in its position
+   *
+   * @param key   is the key of the value.
+   * @param value is the value to put.
+   */
+  void put(K key, V value) {
+    positions.compute(maskNull(key), (k, position) -> {
+      long valuePosition = position == null ? nextPosition.getAndIncrement() : position;
+      values.put(valuePosition, value);
+      return valuePosition;
+    });
+  }
+
+  /**
+   * Method to replace the value of a key that is in the map
+   *
+   * @param key   is the key of the value.
+   * @param value is the new value.
+   * @return the previous value, null if the key was not in the map
+   */
+  V replace(K key, V value) {
+    Object[] previous = {null};
+    positions.computeIfPresent(maskNull(key), (k, position) -> {
+      previous[0] = values.put(position, value);
+      return position;
+    });
+    @SuppressWarnings("unchecked")
+    V previousValue = (V) previous[0];
+    return previousValue;
+  }
+
+  /**
+   * Method to remove the value of a key
+   *
+   * @param key is the key of the value.
+   */
+  void remove(K key) {
+    positions.computeIfPresent(maskNull(key), (k, position) -> {
+      values.remove(position);
+      return null;
+    });
+  }
+
+  /**
+   * Method to get the value of a key
+   *
+   * @param key is the key of the value.
+   * @return the value, null if the key is not in the map
+   */
+  V get(K key) {
+    Long position = positions.get(maskNull(key));
+    return position == null ? null : values.get(position);
+  }
+
+  /**
+   * Method to check if a key is in the map
+   *
+   * @param key is the key to check.
+   * @return true if the key is in the map
+   */
+  boolean containsKey(K key) {
+    return positions.containsKey(maskNull(key));
+  }
+
+  /**
+   * Method to get the values in the order their keys were added. The view reflects later changes
+   * and can be iterated while the map is modified.
+   *
+   * @return the values
+   */
+  Collection<V> values() {
+    return Collections.unmodifiableCollection(values.values());
+  }
+
+  /**
+   * Method to get the number of values
+   *
+   * @return the number of values
+   */
+  int size() {
+    return positions.size();
+  }
+
+  /**
+   * Method to get the key stored for a key, since the concurrent maps do not accept null keys.
+   */
+  private static Object maskNull(Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+}
@@ -8,10 +8,13 @@
 
 package smarthome.persistence.mem;
 
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.Validate;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.device.Device;
@@ -26,7 +29,16 @@ public class DeviceRepository implements IDeviceRepository {
   /**
    * Map to store the device data.
    */
-  private final Map<DeviceID, Device> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<DeviceID, Device> DATA =
+      new ConcurrentInsertionOrderedMap<>();
+
+  /**
+   * Indexes of the devices by room and by device type.
+   */
+  private final Map<RoomID, ConcurrentInsertionOrderedMap<DeviceID, Device>> byRoom =
+      new ConcurrentHashMap<>();
+  private final Map<DeviceTypeID, ConcurrentInsertionOrderedMap<DeviceID, Device>> byDeviceType =
+      new ConcurrentHashMap<>();
 
   /**
    * Method to save a domain entity.
@@ -38,11 +50,11 @@ public class DeviceRepository implements IDeviceRepository {
   public Device save(Device device) {
     Validator.validateNotNull(device, "Device");
 
-    if (containsOfIdentity(device.getID())) {
+    if (!DATA.putIfAbsent(device.getID(), device)) {
       throw new IllegalArgumentException("Device already exists.");
-    } else {
-      DATA.put(device.getID(), device);
     }
+    index(byRoom, device.getRoomID(), device);
+    index(byDeviceType, device.getDeviceTypeID(), device);
     return device;
   }
 
@@ -89,9 +101,7 @@ public class DeviceRepository implements IDeviceRepository {
 
   @Override
   public List<Device> findByRoomID(RoomID roomId) {
-    List<Device> devices = DATA.values().stream()
-        .filter(device -> device.getRoomID().equals(roomId)).toList();
-    return devices;
+    return indexed(byRoom, roomId);
   }
 
   /**
@@ -100,18 +110,64 @@ public class DeviceRepository implements IDeviceRepository {
   @Override
   public Device update(Device device) {
     Validate.notNull(device, "Device");
-    if (containsOfIdentity(device.getID())) {
-      DATA.put(device.getID(), device);
-    } else {
+    Device previous = DATA.replace(device.getID(), device);
+    if (previous == null) {
       throw new IllegalArgumentException("Device does not exist.");
     }
+    if (!Objects.equals(previous.getRoomID(), device.getRoomID())) {
+      unindex(byRoom, previous.getRoomID(), previous);
+    }
+    if (!Objects.equals(previous.getDeviceTypeID(), device.getDeviceTypeID())) {
+      unindex(byDeviceType, previous.getDeviceTypeID(), previous);
+    }
+    index(byRoom, device.getRoomID(), device);
+    index(byDeviceType, device.getDeviceTypeID(), device);
     return device;
   }
 
   @Override
   public List<Device> findByDeviceTypeID(DeviceTypeID deviceTypeID) {
-    List<Device> devices = DATA.values().stream()
-        .filter(device -> device.getDeviceTypeID().equals(deviceTypeID)).toList();
-    return devices;
+    return indexed(byDeviceType, deviceTypeID);
+  }
+
+  /**
+   * Method to find all devices grouped by device type, from the device type index.
+   *
+   * @return the devices of each device type that has devices, in device type ID order.
+   */
+  @Override
+  public Map<DeviceTypeID, List<Device>> findAllGroupedByDeviceTypeID() {
+    Map<DeviceTypeID, List<Device>> grouped = new LinkedHashMap<>();
+    byDeviceType.keySet().stream()
+        .sorted(Comparator.comparing(DeviceTypeID::getID))
+        .forEach(deviceTypeID -> {
+          List<Device> devices = indexed(byDeviceType, deviceTypeID);
+          if (!devices.isEmpty()) {
+            grouped.put(deviceTypeID, devices);
+          }
+        });
+    return grouped;
+  }
+
+  private static <K> void index(Map<K, ConcurrentInsertionOrderedMap<DeviceID, Device>> index,
+      K key, Device device) {
+    if (key != null) {
+      index.computeIfAbsent(key, k -> new ConcurrentInsertionOrderedMap<>())
+          .put(device.getID(), device);
+    }
+  }
+
+  private static <K> void unindex(Map<K, ConcurrentInsertionOrderedMap<DeviceID, Device>> index,
+      K key, Device device) {
+    ConcurrentInsertionOrderedMap<DeviceID, Device> devices = key == null ? null : index.get(key);
+    if (devices != null) {
+      devices.remove(device.getID());
+    }
+  }
+
+  private static <K> List<Device> indexed(
+      Map<K, ConcurrentInsertionOrderedMap<DeviceID, Device>> index, K key) {
+    ConcurrentInsertionOrderedMap<DeviceID, Device> devices = key == null ? null : index.get(key);
+    return devices == null ? List.of() : List.copyOf(devices.values());
   }
 }
@@ -9,9 +9,7 @@
 package smarthome.persistence.mem;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.device_type.DeviceType;
@@ -22,7 +20,8 @@ import smarthome.utils.Validator;
 public class DeviceTypeRepository implements IDeviceTypeRepository {
 
   // Data structure to store device types
-  private final Map<DeviceTypeID, DeviceType> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<DeviceTypeID, DeviceType> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Saves a device type to the repository.
@@ -36,10 +35,8 @@ public class DeviceTypeRepository implements IDeviceTypeRepository {
   public DeviceType save(DeviceType deviceType) {
     Validator.validateNotNull(deviceType, "DeviceType");
 
-    if (containsOfIdentity(deviceType.getID())) {
+    if (!DATA.putIfAbsent(deviceType.getID(), deviceType)) {
       throw new IllegalArgumentException("DeviceType already exists.");
-    } else {
-      DATA.put(deviceType.getID(), deviceType);
     }
     return deviceType;
   }
@@ -9,9 +9,7 @@
 package smarthome.persistence.mem;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.house.House;
 import smarthome.domain.repository.IHouseRepository;
@@ -21,7 +19,8 @@ import smarthome.utils.Validator;
 
 public class HouseRepository implements IHouseRepository {
 
-  private final Map<HouseID, House> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<HouseID, House> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Saves a house in the repository.
@@ -31,7 +30,7 @@ public class HouseRepository implements IHouseRepository {
    * @throws IllegalArgumentException if the house is null or already exists in the repository.
    */
   @Override
-  public House save(House house) {
+  public synchronized House save(House house) {
     Validator.validateNotNull(house, "House");
 
     if (thereShouldBeOnlyOneHouse()) {
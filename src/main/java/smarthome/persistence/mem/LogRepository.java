@@ -8,22 +8,46 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import smarthome.domain.log.LatestReadingStore;
 import smarthome.domain.log.Log;
+import smarthome.domain.log.LogTimelineMerge;
+import smarthome.domain.log.ReadingStatisticsAccumulator;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.utils.Validator;
 
-
+/**
+ * In-memory log repository that can be used by several threads. Besides the logs by ID, it keeps
+ * the logs of each device, and of each device and sensor type, in skip lists ordered by
+ * (timestamp, logID), so a query on a time period only visits the logs inside the period.
+ */
 public class LogRepository implements ILogRepository {
 
-  private final Map<LogID, Log> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<LogID, Log> DATA =
+      new ConcurrentInsertionOrderedMap<>();
+  private final Map<DeviceID, NavigableMap<TimeKey, Log>> byDevice = new ConcurrentHashMap<>();
+  private final Map<DeviceID, Map<SensorTypeID, NavigableMap<TimeKey, Log>>> byDeviceAndSensorType =
+      new ConcurrentHashMap<>();
+  private final LatestReadingStore latestReadings = new LatestReadingStore();
 
 
   /**
@@ -36,15 +60,38 @@ public class LogRepository implements ILogRepository {
   public Log save(Log log) {
     Validator.validateNotNull(log, "Log");
 
-    if (containsOfIdentity(log.getID())) {
+    if (!DATA.putIfAbsent(log.getID(), log)) {
       throw new IllegalArgumentException("Log already exists.");
-    } else {
-      DATA.put(log.getID(), log);
     }
+    index(log);
     return log;
   }
 
 
+  /**
+   * Method to save several logs. Nothing is saved if any of the logs already exists.
+   *
+   * @param logs List of Log
+   * @return List of the saved Log
+   */
+  @Override
+  public List<Log> saveAll(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    Set<LogID> newIDs = new HashSet<>();
+    for (Log log : logs) {
+      Validator.validateNotNull(log, "Log");
+      if (containsOfIdentity(log.getID()) || !newIDs.add(log.getID())) {
+        throw new IllegalArgumentException("Log already exists.");
+      }
+    }
+    for (Log log : logs) {
+      save(log);
+    }
+    return logs;
+  }
+
+
   /**
    * Method to find all logs
    *
@@ -52,7 +99,7 @@ public class LogRepository implements ILogRepository {
    */
   @Override
   public List<Log> findAll() {
-    return List.copyOf(DATA.values().stream().toList());
+    return List.copyOf(DATA.values());
   }
 
 
@@ -81,19 +128,66 @@ public class LogRepository implements ILogRepository {
 
 
   /**
-   * Method to find logs by device ID and time period
+   * Method to find logs by device ID and time period, bounds excluded
    *
    * @param deviceID DeviceID object
    * @param period   DatePeriod object
-   * @return List of Log
+   * @return List of Log, ordered by timestamp
    */
   @Override
   public List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period) {
-    return DATA.values().stream()
-        .filter(log -> log.getDeviceID().getID().equals(deviceID.getID()))
-        .filter(log -> log.getTimeStamp().isAfter(period.getStartDate()))
-        .filter(log -> log.getTimeStamp().isBefore(period.getEndDate()))
-        .toList();
+    return List.copyOf(between(byDevice.get(deviceID), period.getStartDate(),
+        period.getEndDate()).values());
+  }
+
+  /**
+   * Method to find a page of logs by device ID and time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor object, null for the first page
+   * @param limit    maximum number of logs
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    NavigableMap<TimeKey, Log> logs = inDatePeriod(deviceID, period);
+    if (after != null && !logs.isEmpty()) {
+      TimeKey cursor = new TimeKey(after.getTimestamp(), after.getLogID().getID());
+      if (cursor.compareTo(logs.lastKey()) >= 0) {
+        return List.of();
+      }
+      if (cursor.compareTo(logs.firstKey()) >= 0) {
+        logs = logs.tailMap(cursor, false);
+      }
+    }
+    List<Log> page = new ArrayList<>(Math.min(limit, logs.size()));
+    for (Log log : logs.values()) {
+      if (page.size() == limit) {
+        break;
+      }
+      page.add(log);
+    }
+    return page;
+  }
+
+  /**
+   * Method to go through the logs of a device in a time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   Consumer of Log
+   */
+  @Override
+  public void forEachByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action) {
+    inDatePeriod(deviceID, period).values().forEach(action);
+  }
+
+  private NavigableMap<TimeKey, Log> inDatePeriod(DeviceID deviceID, DatePeriod period) {
+    return between(byDevice.get(deviceID), period.getStartDate().minusNanos(1),
+        period.getEndDate().plusNanos(1));
   }
 
   /**
@@ -102,24 +196,156 @@ public class LogRepository implements ILogRepository {
    * @param deviceID     DeviceID object
    * @param sensorTypeID SensorTypeID object
    * @param period       DatePeriod object
-   * @return List of Log
+   * @return List of Log, ordered by timestamp
    */
   @Override
   public List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
       SensorTypeID sensorTypeID, DatePeriod period) {
-    return DATA.values().stream()
-        .filter(log -> log.getDeviceID().getID().equals(deviceID.getID()))
-        .filter(log -> log.getDescription().getID().equals(sensorTypeID.getID()))
-        .filter(log -> log.getTimeStamp().isAfter(period.getStartDate().minusSeconds(1)))
-        .filter(log -> log.getTimeStamp().isBefore(period.getEndDate().plusSeconds(1)))
-        .toList();
+    return List.copyOf(between(ofSensorType(deviceID, sensorTypeID),
+        period.getStartDate().minusSeconds(1), period.getEndDate().plusSeconds(1)).values());
+  }
+
+  /**
+   * Method to find the logs of several devices by sensor type and time period. The logs of each
+   * device are already in order in the index, so they are merged instead of sorted.
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, in (timestamp, logID) order
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriod(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    List<List<Log>> timelines = new ArrayList<>(deviceIDs.size());
+    for (DeviceID deviceID : new LinkedHashSet<>(deviceIDs)) {
+      timelines.add(findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID,
+          period));
+    }
+    return LogTimelineMerge.merge(timelines);
   }
 
   @Override
   public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
-    return DATA.values().stream()
-        .filter(log -> log.getDeviceID().getID().equals(deviceID.getID()))
-        .filter(log -> log.getDescription().getID().equals(sensorTypeID.getID()))
-        .toList();
+    NavigableMap<TimeKey, Log> logs = ofSensorType(deviceID, sensorTypeID);
+    return logs == null ? List.of() : List.copyOf(logs.values());
+  }
+
+  /**
+   * Method to find the most recent log of a device for a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return latestReadings.find(deviceID, sensorTypeID);
+  }
+
+  /**
+   * Method to compute the statistics of the numeric readings of a device for a sensor type, in a
+   * single pass over the logs of the period
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @param percentiles  percentiles to compute
+   * @return ReadingStatistics object
+   */
+  @Override
+  public ReadingStatistics findStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles) {
+    ReadingStatisticsAccumulator accumulator = new ReadingStatisticsAccumulator(percentiles);
+    between(ofSensorType(deviceID, sensorTypeID), period.getStartDate().minusNanos(1),
+        period.getEndDate().plusNanos(1)).values().forEach(accumulator::add);
+    return accumulator.toStatistics();
+  }
+
+  /**
+   * Method to count the logs saved
+   *
+   * @return the number of logs
+   */
+  @Override
+  public long count() {
+    return DATA.size();
+  }
+
+  private void index(Log log) {
+    TimeKey key = TimeKey.of(log);
+    byDevice.computeIfAbsent(log.getDeviceID(), deviceID -> new ConcurrentSkipListMap<>())
+        .put(key, log);
+    byDeviceAndSensorType.computeIfAbsent(log.getDeviceID(), deviceID -> new ConcurrentHashMap<>())
+        .computeIfAbsent(log.getDescription(), sensorTypeID -> new ConcurrentSkipListMap<>())
+        .put(key, log);
+    latestReadings.update(log);
+  }
+
+  private NavigableMap<TimeKey, Log> ofSensorType(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    Map<SensorTypeID, NavigableMap<TimeKey, Log>> sensorTypes =
+        byDeviceAndSensorType.get(deviceID);
+    return sensorTypes == null ? null : sensorTypes.get(sensorTypeID);
+  }
+
+  /**
+   * Method to get the logs strictly after a time and strictly before another
+   *
+   * @param logs   logs ordered by time, null if there are none
+   * @param after  the logs must be after this time
+   * @param before the logs must be before this time
+   * @return a view of the logs between the two times
+   */
+  private static NavigableMap<TimeKey, Log> between(NavigableMap<TimeKey, Log> logs,
+      LocalDateTime after, LocalDateTime before) {
+    TimeKey from = TimeKey.first(after.plusNanos(1));
+    TimeKey to = TimeKey.first(before);
+    if (logs == null || from.compareTo(to) >= 0) {
+      return new ConcurrentSkipListMap<>();
+    }
+    return logs.subMap(from, true, to, false);
+  }
+
+  /**
+   * Position of a log in the (timestamp, logID) order. A key without a log ID comes before every
+   * log of its timestamp, so it can bound a range of timestamps.
+   */
+  private static final class TimeKey implements Comparable<TimeKey> {
+
+    private static final Comparator<TimeKey> ORDER = Comparator
+        .comparing((TimeKey key) -> key.timestamp)
+        .thenComparing(key -> key.logID, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final LocalDateTime timestamp;
+    private final String logID;
+
+    private TimeKey(LocalDateTime timestamp, String logID) {
+      this.timestamp = timestamp;
+      this.logID = logID;
+    }
+
+    private static TimeKey of(Log log) {
+      return new TimeKey(log.getTimeStamp(), log.getID().getID());
+    }
+
+    private static TimeKey first(LocalDateTime timestamp) {
+      return new TimeKey(timestamp, null);
+    }
+
+    @Override
+    public int compareTo(TimeKey other) {
+      return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      return object instanceof TimeKey key && timestamp.equals(key.timestamp)
+          && Objects.equals(logID, key.logID);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(timestamp, logID);
+    }
   }
 }
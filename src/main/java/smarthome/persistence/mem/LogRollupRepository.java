@@ -0,0 +1,130 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.mem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogRollupID;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.utils.Validator;
+
+
+public class LogRollupRepository implements ILogRollupRepository {
+
+  private final ConcurrentInsertionOrderedMap<LogRollupID, LogRollup> DATA =
+      new ConcurrentInsertionOrderedMap<>();
+
+
+  /**
+   * Method to save a rollup, replacing the stored one with the same ID
+   *
+   * @param logRollup LogRollup object
+   * @return LogRollup object
+   */
+  @Override
+  public LogRollup save(LogRollup logRollup) {
+    Validator.validateNotNull(logRollup, "Log Rollup");
+    DATA.put(logRollup.getID(), logRollup);
+    return logRollup;
+  }
+
+
+  /**
+   * Method to save several rollups
+   *
+   * @param logRollups List of LogRollup
+   * @return List of LogRollup
+   */
+  @Override
+  public List<LogRollup> saveAll(List<LogRollup> logRollups) {
+    Validator.validateNotNull(logRollups, "Log Rollups");
+    logRollups.forEach(this::save);
+    return logRollups;
+  }
+
+
+  /**
+   * Method to find all rollups
+   *
+   * @return List of LogRollup
+   */
+  @Override
+  public List<LogRollup> findAll() {
+    return List.copyOf(DATA.values());
+  }
+
+
+  /**
+   * Method to find rollup by ID
+   *
+   * @param logRollupID LogRollupID object
+   * @return Optional of LogRollup
+   */
+  @Override
+  public Optional<LogRollup> ofIdentity(LogRollupID logRollupID) {
+    return Optional.ofNullable(DATA.get(logRollupID));
+  }
+
+
+  /**
+   * Method to check if rollup exists
+   *
+   * @param logRollupID LogRollupID object
+   * @return boolean
+   */
+  @Override
+  public boolean containsOfIdentity(LogRollupID logRollupID) {
+    return DATA.containsKey(logRollupID);
+  }
+
+
+  /**
+   * Method to find the rollups with the given IDs
+   *
+   * @param logRollupIDs List of LogRollupID
+   * @return List of LogRollup
+   */
+  @Override
+  public List<LogRollup> findAllByIdentity(List<LogRollupID> logRollupIDs) {
+    Validator.validateNotNull(logRollupIDs, "Log Rollup IDs");
+    List<LogRollup> logRollups = new ArrayList<>();
+    for (LogRollupID logRollupID : logRollupIDs) {
+      ofIdentity(logRollupID).ifPresent(logRollups::add);
+    }
+    return logRollups;
+  }
+
+
+  /**
+   * Method to find the rollups of a device at a resolution whose bucket overlaps a period
+   *
+   * @param deviceID   DeviceID object
+   * @param resolution RollupResolution
+   * @param period     DatePeriod object
+   * @return List of LogRollup
+   */
+  @Override
+  public List<LogRollup> findByDeviceIDAndResolutionAndDatePeriod(DeviceID deviceID,
+      RollupResolution resolution, DatePeriod period) {
+    return DATA.values().stream()
+        .filter(logRollup -> logRollup.getDeviceID().equals(deviceID))
+        .filter(logRollup -> logRollup.getResolution() == resolution)
+        .filter(logRollup -> !logRollup.getBucketStart()
+            .isBefore(resolution.bucketStartOf(period.getStartDate())))
+        .filter(logRollup -> !logRollup.getBucketStart().isAfter(period.getEndDate()))
+        .sorted(Comparator.comparing(LogRollup::getBucketStart))
+        .toList();
+  }
+}
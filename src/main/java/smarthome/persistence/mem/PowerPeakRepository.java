@@ -0,0 +1,122 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.mem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.domain.repository.IPowerPeakRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.PowerPeakID;
+import smarthome.utils.Validator;
+
+
+public class PowerPeakRepository implements IPowerPeakRepository {
+
+  private final ConcurrentInsertionOrderedMap<PowerPeakID, PowerPeak> DATA =
+      new ConcurrentInsertionOrderedMap<>();
+
+
+  /**
+   * Method to save a peak, replacing the stored one with the same ID
+   *
+   * @param powerPeak PowerPeak object
+   * @return PowerPeak object
+   */
+  @Override
+  public PowerPeak save(PowerPeak powerPeak) {
+    Validator.validateNotNull(powerPeak, "Power Peak");
+    DATA.put(powerPeak.getID(), powerPeak);
+    return powerPeak;
+  }
+
+
+  /**
+   * Method to save several peaks
+   *
+   * @param powerPeaks List of PowerPeak
+   * @return List of PowerPeak
+   */
+  @Override
+  public List<PowerPeak> saveAll(List<PowerPeak> powerPeaks) {
+    Validator.validateNotNull(powerPeaks, "Power Peaks");
+    powerPeaks.forEach(this::save);
+    return powerPeaks;
+  }
+
+
+  /**
+   * Method to find all peaks
+   *
+   * @return List of PowerPeak
+   */
+  @Override
+  public List<PowerPeak> findAll() {
+    return List.copyOf(DATA.values());
+  }
+
+
+  /**
+   * Method to find peak by ID
+   *
+   * @param powerPeakID PowerPeakID object
+   * @return Optional of PowerPeak
+   */
+  @Override
+  public Optional<PowerPeak> ofIdentity(PowerPeakID powerPeakID) {
+    return Optional.ofNullable(DATA.get(powerPeakID));
+  }
+
+
+  /**
+   * Method to check if peak exists
+   *
+   * @param powerPeakID PowerPeakID object
+   * @return boolean
+   */
+  @Override
+  public boolean containsOfIdentity(PowerPeakID powerPeakID) {
+    return DATA.containsKey(powerPeakID);
+  }
+
+
+  /**
+   * Method to find the peaks with the given IDs
+   *
+   * @param powerPeakIDs List of PowerPeakID
+   * @return List of PowerPeak
+   */
+  @Override
+  public List<PowerPeak> findAllByIdentity(List<PowerPeakID> powerPeakIDs) {
+    Validator.validateNotNull(powerPeakIDs, "Power Peak IDs");
+    List<PowerPeak> powerPeaks = new ArrayList<>();
+    for (PowerPeakID powerPeakID : powerPeakIDs) {
+      ofIdentity(powerPeakID).ifPresent(powerPeaks::add);
+    }
+    return powerPeaks;
+  }
+
+
+  /**
+   * Method to find the peaks of the minutes starting in a period
+   *
+   * @param period DatePeriod object
+   * @return List of PowerPeak
+   */
+  @Override
+  public List<PowerPeak> findByDatePeriod(DatePeriod period) {
+    return DATA.values().stream()
+        .filter(powerPeak -> !powerPeak.getBucketStart().isBefore(period.getStartDate()))
+        .filter(powerPeak -> !powerPeak.getBucketStart().isAfter(period.getEndDate()))
+        .sorted(Comparator.comparing(PowerPeak::getBucketStart))
+        .toList();
+  }
+}
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.repository.IRoomRepository;
 import smarthome.domain.room.Room;
@@ -20,7 +18,8 @@ import smarthome.utils.Validator;
 
 public class RoomRepository implements IRoomRepository {
 
-  private final Map<RoomID, Room> DATA = new LinkedHashMap<RoomID, Room>();
+  private final ConcurrentInsertionOrderedMap<RoomID, Room> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Saves an object of type Room in the repository
@@ -31,10 +30,8 @@ public class RoomRepository implements IRoomRepository {
   public Room save(Room entity) {
     Validator.validateNotNull(entity, "Room");
 
-    if (containsOfIdentity(entity.getID())) {
+    if (!DATA.putIfAbsent(entity.getID(), entity)) {
       throw new IllegalArgumentException("Room already exists");
-    } else {
-      DATA.put(entity.getID(), entity);
     }
     return entity;
   }
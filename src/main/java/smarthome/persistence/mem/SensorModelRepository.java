@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.repository.ISensorModelRepository;
@@ -21,17 +19,15 @@ import smarthome.utils.Validator;
 
 public class SensorModelRepository implements ISensorModelRepository {
 
-  private final Map<ModelPath, SensorModel> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<ModelPath, SensorModel> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   @Override
   public SensorModel save(SensorModel entity) {
     Validator.validateNotNull(entity, "Sensor Model");
 
-    if (containsOfIdentity(entity.getID())) {
+    if (!DATA.putIfAbsent(entity.getModelPath(), entity)) {
       throw new IllegalArgumentException("SensorModel already exists.");
-    } else {
-
-      DATA.put(entity.getModelPath(), entity);
     }
     return entity;
   }
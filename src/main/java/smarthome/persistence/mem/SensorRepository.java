@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
 import smarthome.domain.actuator.IActuator;
@@ -23,7 +21,8 @@ import smarthome.utils.Validator;
 
 public class SensorRepository implements ISensorRepository {
 
-  private final Map<SensorID, ISensor> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<SensorID, ISensor> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Method to save a domain entity.
@@ -35,10 +34,8 @@ public class SensorRepository implements ISensorRepository {
   public ISensor save(ISensor Sensor) {
     Validator.validateNotNull(Sensor, "Sensor");
 
-    if (containsOfIdentity(Sensor.getID())) {
+    if (!DATA.putIfAbsent(Sensor.getID(), Sensor)) {
       throw new IllegalArgumentException("Sensor already exists.");
-    } else {
-      DATA.put(Sensor.getID(), Sensor);
     }
     return Sensor;
   }
@@ -9,9 +9,7 @@
 package smarthome.persistence.mem;
 
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.repository.ISensorTypeRepository;
 import smarthome.domain.sensor_type.SensorType;
@@ -21,7 +19,8 @@ import smarthome.utils.Validator;
 
 public class SensorTypeRepository implements ISensorTypeRepository {
 
-  private final Map<SensorTypeID, SensorType> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<SensorTypeID, SensorType> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
 
   /**
@@ -34,10 +33,8 @@ public class SensorTypeRepository implements ISensorTypeRepository {
   public SensorType save(SensorType sensorType) {
     Validator.validateNotNull(sensorType, "SensorType");
 
-    if (containsOfIdentity(sensorType.getID())) {
+    if (!DATA.putIfAbsent(sensorType.getID(), sensorType)) {
       throw new IllegalArgumentException("SensorType already exists.");
-    } else {
-      DATA.put(sensorType.getID(), sensorType);
     }
     return sensorType;
   }
@@ -8,9 +8,7 @@
 
 package smarthome.persistence.mem;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import smarthome.domain.repository.IUnitRepository;
 import smarthome.domain.unit.Unit;
@@ -19,7 +17,8 @@ import smarthome.utils.Validator;
 
 public class UnitRepository implements IUnitRepository {
 
-  private final Map<UnitID, Unit> DATA = new LinkedHashMap<>();
+  private final ConcurrentInsertionOrderedMap<UnitID, Unit> DATA =
+      new ConcurrentInsertionOrderedMap<>();
 
   /**
    * Save a unitType. If the unitType is null, throw an IllegalArgumentException. If
@@ -32,10 +31,8 @@ public class UnitRepository implements IUnitRepository {
   public Unit save(Unit entity) {
     Validator.validateNotNull(entity, "unitType");
 
-    if (containsOfIdentity(entity.getID())) {
+    if (!DATA.putIfAbsent(entity.getID(), entity)) {
       throw new IllegalArgumentException("unitType already exists.");
-    } else {
-      DATA.put(entity.getID(), entity);
     }
     return entity;
   }
@@ -9,12 +9,14 @@
 package smarthome.persistence.spring_data;
 
 import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
+import smarthome.persistence.spring_data.log.LogIDColumnMigration;
 
 @Configuration
 @EnableJpaRepositories(basePackages = "smarthome.persistence.spring_data")
@@ -27,4 +29,13 @@ public class SpringDataConfig {
     transactionManager.setEntityManagerFactory(entityManagerFactory);
     return transactionManager;
   }
+
+  /**
+   * Builds the entity manager factory, and generates the schema, only once the ID columns of the
+   * logs table are converted to binary.
+   */
+  @Bean
+  public static EntityManagerFactoryDependsOnPostProcessor logIDColumnMigrationDependency() {
+    return new EntityManagerFactoryDependsOnPostProcessor(LogIDColumnMigration.class);
+  }
 }
\ No newline at end of file
@@ -8,9 +8,14 @@
 
 package smarthome.persistence.spring_data.device;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import smarthome.domain.device.Device;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.value_object.DeviceID;
@@ -70,6 +75,23 @@ public class DeviceSpringDataRepository implements IDeviceRepository {
     return assembler.toDomain(deviceDataModels);
   }
 
+  /**
+   * Finds all devices grouped by device type, with a single query ordered by device type whose
+   * rows are streamed into the groups.
+   *
+   * @return the devices of each device type that has devices, in device type ID order.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Map<DeviceTypeID, List<Device>> findAllGroupedByDeviceTypeID() {
+    try (Stream<DeviceDataModel> models =
+        repository.streamAllByOrderByDeviceTypeIDAscDeviceIDAsc()) {
+      return models.map(model -> assembler.toDomain(model))
+          .collect(Collectors.groupingBy(Device::getDeviceTypeID, LinkedHashMap::new,
+              Collectors.toUnmodifiableList()));
+    }
+  }
+
   /**
    * Saves a new device entity to the database.
    *
@@ -8,8 +8,12 @@
 
 package smarthome.persistence.spring_data.device;
 
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import smarthome.persistence.data_model.DeviceDataModel;
 
 public interface IDeviceSpringDataRepository extends JpaRepository<DeviceDataModel, String> {
@@ -18,4 +22,11 @@ public interface IDeviceSpringDataRepository extends JpaRepository<DeviceDataMod
 
   List<DeviceDataModel> findByDeviceTypeID(String string);
 
+  /**
+   * Streams all the devices in (deviceTypeID, deviceID) order, so the devices of a type follow one
+   * another. Must be called inside a transaction and the stream must be closed.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<DeviceDataModel> streamAllByOrderByDeviceTypeIDAscDeviceIDAsc();
+
 }
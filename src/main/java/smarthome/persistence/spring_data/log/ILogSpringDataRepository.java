@@ -8,18 +8,124 @@
 
 package smarthome.persistence.spring_data.log;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import smarthome.persistence.data_model.LogDataModel;
 
 public interface ILogSpringDataRepository extends JpaRepository<LogDataModel, String> {
 
-  List<LogDataModel> findByDeviceIDAndTimestampBetween(
+  /**
+   * Finds the logs of a device in a time period, in timestamp order. Served by the (deviceID,
+   * timestamp) index.
+   */
+  List<LogDataModel> findByDeviceIDAndTimestampBetweenOrderByTimestampAsc(
       String deviceID, LocalDateTime start, LocalDateTime end);
 
-  List<LogDataModel> findByDeviceIDAndDescriptionAndTimestampBetween(
+  /**
+   * Finds the logs of a device and sensor type in a time period, in timestamp order. Served by the
+   * (deviceID, description, timestamp) index.
+   */
+  List<LogDataModel> findByDeviceIDAndDescriptionAndTimestampBetweenOrderByTimestampAsc(
       String deviceID, String sensorTypeID, LocalDateTime start, LocalDateTime end);
 
-  List<LogDataModel> findByDeviceIDAndDescription(String deviceID, String sensorTypeID);
+  /**
+   * Finds the logs of several devices and a sensor type in a time period, in (timestamp, logID)
+   * order, with a single IN-list query. Each device is a range of the (deviceID, description,
+   * timestamp) index.
+   */
+  List<LogDataModel> findByDeviceIDInAndDescriptionAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+      Collection<String> deviceIDs, String sensorTypeID, LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Finds every log of a device and sensor type, in timestamp order. Served by the (deviceID,
+   * description, timestamp) index.
+   */
+  List<LogDataModel> findByDeviceIDAndDescriptionOrderByTimestampAsc(String deviceID,
+      String sensorTypeID);
+
+  /**
+   * Finds the most recent log of a device and sensor type. Served by a backward scan of the
+   * (deviceID, description, timestamp) index, which stops at the first row.
+   */
+  Optional<LogDataModel> findFirstByDeviceIDAndDescriptionOrderByTimestampDesc(String deviceID,
+      String sensorTypeID);
+
+  /**
+   * Finds the first logs of a device in a time period, in (timestamp, logID) order. The size of
+   * the page is given by the pageable.
+   */
+  List<LogDataModel> findByDeviceIDAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+      String deviceID, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+  /**
+   * Finds the logs of a device in a time period that come after a (timestamp, logID) cursor. The
+   * database seeks to the cursor in the (deviceID, timestamp, logID) index instead of reading and
+   * discarding the previous pages.
+   */
+  @Query("SELECT l FROM LogDataModel l WHERE l.deviceID = :deviceID"
+      + " AND l.timestamp BETWEEN :start AND :end"
+      + " AND (l.timestamp > :afterTimestamp"
+      + " OR (l.timestamp = :afterTimestamp AND l.logID > :afterLogID))"
+      + " ORDER BY l.timestamp ASC, l.logID ASC")
+  List<LogDataModel> findPageAfter(@Param("deviceID") String deviceID,
+      @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+      @Param("afterTimestamp") LocalDateTime afterTimestamp, @Param("afterLogID") String afterLogID,
+      Pageable pageable);
+
+  /**
+   * Streams the logs of a device in a time period, in (timestamp, logID) order. The rows are
+   * fetched from the database in chunks as the stream is consumed. Must be called inside a
+   * transaction and the stream must be closed.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<LogDataModel> streamByDeviceIDAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+      String deviceID, LocalDateTime start, LocalDateTime end);
+
+  /**
+   * Computes the count, minimum, maximum and average of the numeric readings of a device and
+   * sensor type in a time period. The database aggregates the rows of the (deviceID, description,
+   * timestamp) index range; text readings have no numeric value and are not counted.
+   */
+  @Query("SELECT COUNT(l.numericReading) AS readingCount, MIN(l.numericReading) AS minReading,"
+      + " MAX(l.numericReading) AS maxReading, AVG(l.numericReading) AS averageReading"
+      + " FROM LogDataModel l WHERE l.deviceID = :deviceID AND l.description = :sensorTypeID"
+      + " AND l.timestamp BETWEEN :start AND :end")
+  NumericReadingSummary summarizeNumericReadings(@Param("deviceID") String deviceID,
+      @Param("sensorTypeID") String sensorTypeID, @Param("start") LocalDateTime start,
+      @Param("end") LocalDateTime end);
+
+  /**
+   * Finds the numeric readings of a device and sensor type in a time period, in ascending order.
+   * With a page of one reading at an offset, it returns the reading of that rank.
+   */
+  @Query("SELECT l.numericReading FROM LogDataModel l WHERE l.deviceID = :deviceID"
+      + " AND l.description = :sensorTypeID AND l.timestamp BETWEEN :start AND :end"
+      + " AND l.numericReading IS NOT NULL ORDER BY l.numericReading ASC")
+  List<Double> findNumericReadingsInOrder(@Param("deviceID") String deviceID,
+      @Param("sensorTypeID") String sensorTypeID, @Param("start") LocalDateTime start,
+      @Param("end") LocalDateTime end, Pageable pageable);
+
+  /**
+   * Aggregates of the numeric readings returned by {@link #summarizeNumericReadings}.
+   */
+  interface NumericReadingSummary {
+
+    long getReadingCount();
+
+    Double getMinReading();
+
+    Double getMaxReading();
+
+    Double getAverageReading();
+  }
 }
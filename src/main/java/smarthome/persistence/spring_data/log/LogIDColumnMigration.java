@@ -0,0 +1,235 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.log;
+
+import jakarta.annotation.PostConstruct;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import smarthome.persistence.data_model.CompactIDConverter;
+import smarthome.persistence.data_model.LogDataModel;
+import smarthome.utils.Validator;
+
+/**
+ * Converts in place the device and sensor ID columns of a logs table created before the IDs were
+ * stored as binary by {@link CompactIDConverter}: the "update" schema generation does not change
+ * the type of an existing column, and the binary IDs written into a text column would be read
+ * back wrong.
+ * <p>
+ * Each text column is converted through a binary column added next to it: the stored IDs are
+ * converted into it in batches, then the text column, and the indexes holding it, are dropped,
+ * and the binary column takes its name. Every step can be run again, so a conversion stopped
+ * half way resumes at the next startup. The entity manager factory is only built once the
+ * conversion is done, so the schema generation then recreates the dropped indexes.
+ * <p>
+ * The statements are the ones MariaDB, MySQL 8 and H2 share. The startup stops if the conversion
+ * fails, rather than writing binary IDs into text columns.
+ */
+@Component
+public class LogIDColumnMigration {
+
+  static final int BATCH_SIZE = 1000;
+  static final String COMPACT_SUFFIX = "_compact";
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogIDColumnMigration.class);
+  private static final List<String> ID_COLUMNS = List.of("deviceID", "sensorID");
+  private static final Set<Integer> TEXT_TYPES = Set.of(Types.CHAR, Types.VARCHAR,
+      Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.CLOB,
+      Types.NCLOB);
+  private static final CompactIDConverter CONVERTER = new CompactIDConverter();
+
+  private final DataSource dataSource;
+
+  /**
+   * LogIDColumnMigration constructor
+   *
+   * @param dataSource is the data source of the logs table.
+   */
+  public LogIDColumnMigration(DataSource dataSource) {
+    Validator.validateNotNull(dataSource, "Data source");
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Converts the text ID columns of the logs table before the schema is generated.
+   *
+   * @throws IllegalStateException if the columns could not be converted.
+   */
+  @PostConstruct
+  public void migrateColumns() {
+    try {
+      List<String> convertedColumns = convertTextColumns();
+      if (!convertedColumns.isEmpty()) {
+        LOGGER.info("Converted columns {} of table {} to binary IDs", convertedColumns,
+            LogDataModel.TABLE_NAME);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Could not convert the ID columns of table "
+          + LogDataModel.TABLE_NAME + " to binary IDs, the conversion resumes at the next start",
+          e);
+    }
+  }
+
+  /**
+   * Method to convert the text ID columns of the logs table to binary IDs. A table that does not
+   * exist yet, or whose ID columns are binary, is left as it is.
+   *
+   * @return the names of the converted columns.
+   * @throws SQLException if a column could not be converted.
+   */
+  public List<String> convertTextColumns() throws SQLException {
+    List<String> convertedColumns = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      String table = metaData.storesUpperCaseIdentifiers()
+          ? LogDataModel.TABLE_NAME.toUpperCase(Locale.ROOT)
+          : LogDataModel.TABLE_NAME.toLowerCase(Locale.ROOT);
+      Map<String, Integer> columnTypes = columnTypesOf(connection, table);
+      if (columnTypes.isEmpty()) {
+        return convertedColumns;
+      }
+
+      for (String idColumn : ID_COLUMNS) {
+        String column = findColumn(columnTypes, idColumn);
+        String compactColumn = findColumn(columnTypes, idColumn + COMPACT_SUFFIX);
+        if (column == null && compactColumn != null) {
+          column = compactColumn.substring(0, compactColumn.length() - COMPACT_SUFFIX.length());
+          execute(connection, "ALTER TABLE " + table + " RENAME COLUMN " + compactColumn + " TO "
+              + column);
+          convertedColumns.add(column);
+        } else if (column != null && TEXT_TYPES.contains(columnTypes.get(column))) {
+          if (compactColumn == null) {
+            compactColumn = column + COMPACT_SUFFIX;
+            execute(connection, "ALTER TABLE " + table + " ADD COLUMN " + compactColumn
+                + " VARBINARY(255)");
+          }
+          convertIDs(connection, table, primaryKeyOf(connection, table), column, compactColumn);
+          for (String index : indexesOf(connection, table, column)) {
+            execute(connection, "DROP INDEX " + index + " ON " + table);
+          }
+          execute(connection, "ALTER TABLE " + table + " DROP COLUMN " + column);
+          execute(connection, "ALTER TABLE " + table + " RENAME COLUMN " + compactColumn + " TO "
+              + column);
+          convertedColumns.add(column);
+        }
+      }
+    }
+    return convertedColumns;
+  }
+
+  /**
+   * Method to write the binary form of the IDs of a text column into the binary column, a batch
+   * at a time. Only the rows not converted yet are read, so the conversion resumes where it
+   * stopped.
+   */
+  private void convertIDs(Connection connection, String table, String primaryKey, String column,
+      String compactColumn) throws SQLException {
+    String select = "SELECT " + primaryKey + ", " + column + " FROM " + table + " WHERE "
+        + column + " IS NOT NULL AND " + compactColumn + " IS NULL";
+    String update = "UPDATE " + table + " SET " + compactColumn + " = ? WHERE " + primaryKey
+        + " = ?";
+    while (true) {
+      Map<String, String> ids = new LinkedHashMap<>();
+      try (Statement statement = connection.createStatement()) {
+        statement.setMaxRows(BATCH_SIZE);
+        try (ResultSet rows = statement.executeQuery(select)) {
+          while (rows.next()) {
+            ids.put(rows.getString(1), rows.getString(2));
+          }
+        }
+      }
+      if (ids.isEmpty()) {
+        return;
+      }
+      try (PreparedStatement statement = connection.prepareStatement(update)) {
+        for (Map.Entry<String, String> id : ids.entrySet()) {
+          statement.setBytes(1, CONVERTER.convertToDatabaseColumn(id.getValue()));
+          statement.setString(2, id.getKey());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+    }
+  }
+
+  private Map<String, Integer> columnTypesOf(Connection connection, String table)
+      throws SQLException {
+    Map<String, Integer> columnTypes = new LinkedHashMap<>();
+    try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), null,
+        table, null)) {
+      while (columns.next()) {
+        columnTypes.put(columns.getString("COLUMN_NAME"), columns.getInt("DATA_TYPE"));
+      }
+    }
+    return columnTypes;
+  }
+
+  private String primaryKeyOf(Connection connection, String table) throws SQLException {
+    try (ResultSet keys = connection.getMetaData().getPrimaryKeys(connection.getCatalog(), null,
+        table)) {
+      if (keys.next()) {
+        return keys.getString("COLUMN_NAME");
+      }
+    }
+    throw new SQLException("Table " + table + " has no primary key");
+  }
+
+  private Set<String> indexesOf(Connection connection, String table, String column)
+      throws SQLException {
+    Set<String> indexes = new LinkedHashSet<>();
+    try (ResultSet indexColumns = connection.getMetaData().getIndexInfo(connection.getCatalog(),
+        null, table, false, false)) {
+      while (indexColumns.next()) {
+        String index = indexColumns.getString("INDEX_NAME");
+        if (index != null && column.equals(indexColumns.getString("COLUMN_NAME"))) {
+          indexes.add(index);
+        }
+      }
+    }
+    return indexes;
+  }
+
+  private static void execute(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  /**
+   * Method to find a column whatever the naming strategy made of its name (deviceID, device_id,
+   * DEVICE_ID).
+   */
+  private static String findColumn(Map<String, Integer> columnTypes, String name) {
+    String normalized = normalize(name);
+    for (String column : columnTypes.keySet()) {
+      if (normalize(column).equals(normalized)) {
+        return column;
+      }
+    }
+    return null;
+  }
+
+  private static String normalize(String name) {
+    return name.replace("_", "").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,119 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.log;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import smarthome.persistence.data_model.LogDataModel;
+import smarthome.utils.Validator;
+
+/**
+ * Checks at startup that the secondary indexes declared on {@link LogDataModel} exist in the
+ * database, and reports the missing ones. Without them every range query on the logs table is a
+ * full scan.
+ */
+@Component
+public class LogIndexVerifier {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogIndexVerifier.class);
+  private static final List<String> EXPECTED_INDEXES = List.of(
+      LogDataModel.DEVICE_DESCRIPTION_TIMESTAMP_INDEX,
+      LogDataModel.DEVICE_TIMESTAMP_INDEX);
+
+  private final DataSource dataSource;
+
+  /**
+   * LogIndexVerifier constructor
+   *
+   * @param dataSource is the data source of the logs table.
+   */
+  public LogIndexVerifier(DataSource dataSource) {
+    Validator.validateNotNull(dataSource, "Data source");
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Reports the missing indexes once the application is ready and the schema has been generated.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void verifyIndexes() {
+    try {
+      List<String> missingIndexes = findMissingIndexes();
+      if (missingIndexes.isEmpty()) {
+        LOGGER.info("All indexes of table {} are present", LogDataModel.TABLE_NAME);
+      } else {
+        LOGGER.warn("Table {} is missing indexes {}, log range queries will scan the whole table",
+            LogDataModel.TABLE_NAME, missingIndexes);
+      }
+    } catch (SQLException e) {
+      LOGGER.warn("Could not verify the indexes of table {}", LogDataModel.TABLE_NAME, e);
+    }
+  }
+
+  /**
+   * Method to find the expected indexes of the logs table that do not exist in the database.
+   *
+   * @return the names of the missing indexes.
+   * @throws SQLException if the database metadata cannot be read.
+   */
+  public List<String> findMissingIndexes() throws SQLException {
+    Set<String> existingIndexes = new HashSet<>();
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      String tableName = toStoredIdentifier(metaData, LogDataModel.TABLE_NAME);
+      try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, tableName,
+          false, true)) {
+        while (indexes.next()) {
+          String indexName = indexes.getString("INDEX_NAME");
+          if (indexName != null) {
+            existingIndexes.add(indexName.toLowerCase(Locale.ROOT));
+          }
+        }
+      }
+    }
+
+    List<String> missingIndexes = new ArrayList<>();
+    for (String expectedIndex : EXPECTED_INDEXES) {
+      if (!existingIndexes.contains(expectedIndex.toLowerCase(Locale.ROOT))) {
+        missingIndexes.add(expectedIndex);
+      }
+    }
+    return missingIndexes;
+  }
+
+  /**
+   * Converts an unquoted identifier to the case the database stores it in (upper case for H2,
+   * lower case for MariaDB with the default naming strategy).
+   *
+   * @param metaData   is the database metadata.
+   * @param identifier is the unquoted identifier.
+   * @return the identifier as stored by the database.
+   * @throws SQLException if the database metadata cannot be read.
+   */
+  private String toStoredIdentifier(DatabaseMetaData metaData, String identifier)
+      throws SQLException {
+    if (metaData.storesUpperCaseIdentifiers()) {
+      return identifier.toUpperCase(Locale.ROOT);
+    }
+    return identifier.toLowerCase(Locale.ROOT);
+  }
+}
@@ -8,38 +8,62 @@
 
 package smarthome.persistence.spring_data.log;
 
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import smarthome.domain.log.Log;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
 import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.persistence.assembler.IDataModelAssembler;
 import smarthome.persistence.data_model.LogDataModel;
+import smarthome.persistence.spring_data.log.ILogSpringDataRepository.NumericReadingSummary;
 import smarthome.utils.Validator;
 
 @Repository
+@Profile("!log-segments")
 public class LogSpringDataRepository implements ILogRepository {
 
+  /**
+   * Number of rows persisted between two flushes of a batch insert. It matches
+   * spring.jpa.properties.hibernate.jdbc.batch_size, so each flush sends one JDBC batch.
+   */
+  public static final int BATCH_SIZE = 500;
+
   ILogSpringDataRepository repository;
   IDataModelAssembler<LogDataModel, Log> assembler;
+  EntityManager entityManager;
 
   /**
    * LogSpringDataRepository constructor
    *
-   * @param repository ILogSpringDataRepository object
-   * @param assembler  IDataModelAssembler object
+   * @param repository    ILogSpringDataRepository object
+   * @param assembler     IDataModelAssembler object
+   * @param entityManager EntityManager shared with the current transaction
    */
   public LogSpringDataRepository(
-      ILogSpringDataRepository repository, IDataModelAssembler<LogDataModel, Log> assembler) {
+      ILogSpringDataRepository repository, IDataModelAssembler<LogDataModel, Log> assembler,
+      EntityManager entityManager) {
 
     Validator.validateNotNull(repository, "Log repository");
     this.repository = repository;
     Validator.validateNotNull(assembler, "Log data model assembler");
     this.assembler = assembler;
+    Validator.validateNotNull(entityManager, "Entity manager");
+    this.entityManager = entityManager;
   }
 
 
@@ -59,6 +83,44 @@ public class LogSpringDataRepository implements ILogRepository {
     return entity;
   }
 
+  /**
+   * Method to save several domain entities in one transaction.
+   * <p>
+   * The data models are persisted directly instead of going through repository.saveAll: their
+   * identifier is assigned by the domain, so Spring Data would take them for existing rows and
+   * merge them one by one, issuing a select before every insert. Persisting them lets Hibernate
+   * group the inserts into JDBC batches. Each batch is detached once written, so a large call
+   * does not keep every data model in the persistence context; the other entities of the
+   * caller's transaction stay managed.
+   *
+   * @param entities are the domain entities to be saved.
+   * @return the saved domain entities.
+   */
+  @Override
+  @Transactional
+  public List<Log> saveAll(List<Log> entities) {
+    Validator.validateNotNull(entities, "Logs");
+
+    List<LogDataModel> batch = new ArrayList<>(Math.min(entities.size(), BATCH_SIZE));
+    for (Log entity : entities) {
+      Validator.validateNotNull(entity, "Log");
+      LogDataModel dataModel = new LogDataModel(entity);
+      entityManager.persist(dataModel);
+      batch.add(dataModel);
+      if (batch.size() == BATCH_SIZE) {
+        flushAndDetach(batch);
+      }
+    }
+    flushAndDetach(batch);
+    return entities;
+  }
+
+  private void flushAndDetach(List<LogDataModel> batch) {
+    entityManager.flush();
+    batch.forEach(entityManager::detach);
+    batch.clear();
+  }
+
   /**
    * Method to find all domain entities.
    *
@@ -108,11 +170,59 @@ public class LogSpringDataRepository implements ILogRepository {
   @Override
   public List<Log> findByDeviceIDAndDatePeriodBetween(DeviceID deviceID, DatePeriod period) {
     List<LogDataModel> models =
-        repository.findByDeviceIDAndTimestampBetween(
+        repository.findByDeviceIDAndTimestampBetweenOrderByTimestampAsc(
             deviceID.getID(), period.getStartDate(), period.getEndDate());
     return assembler.toDomain(models);
   }
 
+  /**
+   * Method to find a page of logs by device ID and time period. The page after a cursor is read
+   * with a keyset condition, so its cost does not depend on how many pages come before it.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor object, null for the first page
+   * @param limit    maximum number of logs
+   * @return List of Log
+   */
+  @Override
+  public List<Log> findPageByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      LogCursor after, int limit) {
+    PageRequest page = PageRequest.of(0, limit);
+    List<LogDataModel> models;
+    if (after == null) {
+      models = repository.findByDeviceIDAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+          deviceID.getID(), period.getStartDate(), period.getEndDate(), page);
+    } else {
+      models = repository.findPageAfter(deviceID.getID(), period.getStartDate(),
+          period.getEndDate(), after.getTimestamp(), after.getLogID().getID(), page);
+    }
+    return assembler.toDomain(models);
+  }
+
+  /**
+   * Method to go through the logs of a device in a time period. The rows are read from a
+   * database cursor and detached once converted, so memory use does not grow with the number of
+   * logs.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   Consumer of Log
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachByDeviceIDAndDatePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action) {
+    try (Stream<LogDataModel> models =
+        repository.streamByDeviceIDAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+            deviceID.getID(), period.getStartDate(), period.getEndDate())) {
+      models.forEach(model -> {
+        action.accept(assembler.toDomain(model));
+        entityManager.detach(model);
+      });
+    }
+  }
+
   /**
    * Method to find logs by device ID, sensor type and time period
    *
@@ -125,14 +235,92 @@ public class LogSpringDataRepository implements ILogRepository {
   public List<Log> findByDeviceIDAndSensorTypeAndDatePeriodBetween(DeviceID deviceID,
       SensorTypeID sensorTypeID, DatePeriod period) {
     List<LogDataModel> models =
-        repository.findByDeviceIDAndDescriptionAndTimestampBetween(
+        repository.findByDeviceIDAndDescriptionAndTimestampBetweenOrderByTimestampAsc(
             deviceID.getID(), sensorTypeID.toString(), period.getStartDate(), period.getEndDate());
     return assembler.toDomain(models);
   }
 
+  /**
+   * Method to find the logs of several devices by sensor type and time period, with one query
+   *
+   * @param deviceIDs    List of DeviceID
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @return List of Log, in (timestamp, logID) order
+   */
+  @Override
+  public List<Log> findByDeviceIDsAndSensorTypeAndDatePeriod(List<DeviceID> deviceIDs,
+      SensorTypeID sensorTypeID, DatePeriod period) {
+    if (deviceIDs.isEmpty()) {
+      return List.of();
+    }
+    List<LogDataModel> models =
+        repository.findByDeviceIDInAndDescriptionAndTimestampBetweenOrderByTimestampAscLogIDAsc(
+            deviceIDs.stream().map(DeviceID::getID).distinct().toList(), sensorTypeID.toString(),
+            period.getStartDate(), period.getEndDate());
+    return assembler.toDomain(models);
+  }
+
   @Override
   public List<Log> findByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID) {
-    List<LogDataModel> models = repository.findByDeviceIDAndDescription(deviceID.getID(), sensorTypeID.toString());
+    List<LogDataModel> models = repository.findByDeviceIDAndDescriptionOrderByTimestampAsc(
+        deviceID.getID(), sensorTypeID.toString());
     return assembler.toDomain(models);
   }
+
+  /**
+   * Method to find the most recent log of a device for a sensor type
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @return Optional of Log
+   */
+  @Override
+  public Optional<Log> findLatest(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return repository.findFirstByDeviceIDAndDescriptionOrderByTimestampDesc(
+        deviceID.getID(), sensorTypeID.toString()).map(assembler::toDomain);
+  }
+
+  /**
+   * Method to count the logs saved
+   *
+   * @return the number of logs
+   */
+  @Override
+  public long count() {
+    return repository.count();
+  }
+
+  /**
+   * Method to compute the statistics of the numeric readings of a device for a sensor type. The
+   * aggregates are computed by the database, and each percentile is read as the single reading
+   * of its rank, so no log is loaded.
+   *
+   * @param deviceID     DeviceID object
+   * @param sensorTypeID SensorTypeID object
+   * @param period       DatePeriod object
+   * @param percentiles  percentiles to compute
+   * @return ReadingStatistics object
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public ReadingStatistics findStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles) {
+    ReadingStatistics.validatePercentiles(percentiles);
+    NumericReadingSummary summary = repository.summarizeNumericReadings(deviceID.getID(),
+        sensorTypeID.getID(), period.getStartDate(), period.getEndDate());
+    if (summary.getReadingCount() == 0) {
+      return ReadingStatistics.empty();
+    }
+    Map<Double, Double> percentileValues = new LinkedHashMap<>();
+    for (double percentile : percentiles) {
+      long rank = ReadingStatistics.rankOf(percentile, summary.getReadingCount());
+      List<Double> readings = repository.findNumericReadingsInOrder(deviceID.getID(),
+          sensorTypeID.getID(), period.getStartDate(), period.getEndDate(),
+          PageRequest.of((int) rank - 1, 1));
+      percentileValues.put(percentile, readings.get(0));
+    }
+    return new ReadingStatistics(summary.getReadingCount(), summary.getMinReading(),
+        summary.getMaxReading(), summary.getAverageReading(), percentileValues);
+  }
 }
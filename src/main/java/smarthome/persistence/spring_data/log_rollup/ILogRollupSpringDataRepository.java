@@ -0,0 +1,26 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.log_rollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.persistence.data_model.LogRollupDataModel;
+
+public interface ILogRollupSpringDataRepository extends
+    JpaRepository<LogRollupDataModel, String> {
+
+  /**
+   * Finds the rollups of a device at a resolution whose bucket starts in a time range, in bucket
+   * order. Served by the (deviceID, resolution, bucketStart) index.
+   */
+  List<LogRollupDataModel> findByDeviceIDAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+      String deviceID, RollupResolution resolution, LocalDateTime start, LocalDateTime end);
+}
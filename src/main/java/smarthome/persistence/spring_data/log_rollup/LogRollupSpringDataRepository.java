@@ -0,0 +1,160 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.log_rollup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogRollupID;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.persistence.assembler.IDataModelAssembler;
+import smarthome.persistence.data_model.LogRollupDataModel;
+import smarthome.utils.Validator;
+
+@Repository
+public class LogRollupSpringDataRepository implements ILogRollupRepository {
+
+  ILogRollupSpringDataRepository repository;
+  IDataModelAssembler<LogRollupDataModel, LogRollup> assembler;
+
+  /**
+   * LogRollupSpringDataRepository constructor
+   *
+   * @param repository ILogRollupSpringDataRepository object
+   * @param assembler  IDataModelAssembler object
+   */
+  public LogRollupSpringDataRepository(ILogRollupSpringDataRepository repository,
+      IDataModelAssembler<LogRollupDataModel, LogRollup> assembler) {
+    Validator.validateNotNull(repository, "Log rollup repository");
+    this.repository = repository;
+    Validator.validateNotNull(assembler, "Log rollup data model assembler");
+    this.assembler = assembler;
+  }
+
+  /**
+   * Method to save a rollup, replacing its stored state if it already exists.
+   *
+   * @param entity is the rollup to be saved.
+   * @return the saved rollup.
+   */
+  @Override
+  @Transactional
+  public LogRollup save(LogRollup entity) {
+    Validator.validateNotNull(entity, "Log Rollup");
+    saveAll(List.of(entity));
+    return entity;
+  }
+
+  /**
+   * Method to save several rollups in one transaction. Existing rows are loaded with a single
+   * query and updated in place; the others are inserted.
+   *
+   * @param entities are the rollups to be saved.
+   * @return the saved rollups.
+   */
+  @Override
+  @Transactional
+  public List<LogRollup> saveAll(List<LogRollup> entities) {
+    Validator.validateNotNull(entities, "Log Rollups");
+
+    List<String> ids = new ArrayList<>(entities.size());
+    for (LogRollup entity : entities) {
+      Validator.validateNotNull(entity, "Log Rollup");
+      ids.add(entity.getID().getID());
+    }
+    Map<String, LogRollupDataModel> existingModels = new HashMap<>();
+    for (LogRollupDataModel model : repository.findAllById(ids)) {
+      existingModels.put(model.getRollupID(), model);
+    }
+
+    List<LogRollupDataModel> models = new ArrayList<>(entities.size());
+    for (LogRollup entity : entities) {
+      LogRollupDataModel model = existingModels.get(entity.getID().getID());
+      if (model == null) {
+        model = new LogRollupDataModel(entity);
+      } else {
+        model.updateFromDomain(entity);
+      }
+      models.add(model);
+    }
+    repository.saveAll(models);
+    return entities;
+  }
+
+  /**
+   * Method to find all rollups.
+   *
+   * @return the list of rollups.
+   */
+  @Override
+  public List<LogRollup> findAll() {
+    return assembler.toDomain(repository.findAll());
+  }
+
+  /**
+   * Method to find a rollup by its ID.
+   *
+   * @param objectID is the ID of the rollup.
+   * @return the rollup, or empty if it does not exist.
+   */
+  @Override
+  public Optional<LogRollup> ofIdentity(LogRollupID objectID) {
+    return repository.findById(objectID.getID()).map(assembler::toDomain);
+  }
+
+  /**
+   * Method to check if a rollup exists by its ID.
+   *
+   * @param objectID is the ID of the rollup.
+   * @return true if the rollup exists, false otherwise.
+   */
+  @Override
+  public boolean containsOfIdentity(LogRollupID objectID) {
+    return repository.existsById(objectID.getID());
+  }
+
+  /**
+   * Method to find the rollups with the given IDs, with a single query.
+   *
+   * @param rollupIDs are the IDs of the rollups.
+   * @return the existing rollups.
+   */
+  @Override
+  public List<LogRollup> findAllByIdentity(List<LogRollupID> rollupIDs) {
+    Validator.validateNotNull(rollupIDs, "Log Rollup IDs");
+    List<String> ids = rollupIDs.stream().map(LogRollupID::getID).toList();
+    return assembler.toDomain(repository.findAllById(ids));
+  }
+
+  /**
+   * Method to find the rollups of a device at a resolution whose bucket overlaps a period.
+   *
+   * @param deviceID   DeviceID object
+   * @param resolution RollupResolution
+   * @param period     DatePeriod object
+   * @return List of LogRollup
+   */
+  @Override
+  public List<LogRollup> findByDeviceIDAndResolutionAndDatePeriod(DeviceID deviceID,
+      RollupResolution resolution, DatePeriod period) {
+    List<LogRollupDataModel> models =
+        repository.findByDeviceIDAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+            deviceID.getID(), resolution, resolution.bucketStartOf(period.getStartDate()),
+            period.getEndDate());
+    return assembler.toDomain(models);
+  }
+}
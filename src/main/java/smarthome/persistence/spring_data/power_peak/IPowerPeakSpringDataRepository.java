@@ -0,0 +1,25 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.power_peak;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import smarthome.persistence.data_model.PowerPeakDataModel;
+
+public interface IPowerPeakSpringDataRepository extends
+    JpaRepository<PowerPeakDataModel, String> {
+
+  /**
+   * Finds the peaks of the minutes starting in a time range, in minute order. Served by the
+   * bucketStart index.
+   */
+  List<PowerPeakDataModel> findByBucketStartBetweenOrderByBucketStartAsc(LocalDateTime start,
+      LocalDateTime end);
+}
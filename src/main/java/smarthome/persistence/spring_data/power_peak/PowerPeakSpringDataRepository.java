@@ -0,0 +1,153 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.power_peak;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.domain.repository.IPowerPeakRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.PowerPeakID;
+import smarthome.persistence.assembler.IDataModelAssembler;
+import smarthome.persistence.data_model.PowerPeakDataModel;
+import smarthome.utils.Validator;
+
+@Repository
+public class PowerPeakSpringDataRepository implements IPowerPeakRepository {
+
+  IPowerPeakSpringDataRepository repository;
+  IDataModelAssembler<PowerPeakDataModel, PowerPeak> assembler;
+
+  /**
+   * PowerPeakSpringDataRepository constructor
+   *
+   * @param repository IPowerPeakSpringDataRepository object
+   * @param assembler  IDataModelAssembler object
+   */
+  public PowerPeakSpringDataRepository(IPowerPeakSpringDataRepository repository,
+      IDataModelAssembler<PowerPeakDataModel, PowerPeak> assembler) {
+    Validator.validateNotNull(repository, "Power peak repository");
+    this.repository = repository;
+    Validator.validateNotNull(assembler, "Power peak data model assembler");
+    this.assembler = assembler;
+  }
+
+  /**
+   * Method to save a peak, replacing its stored state if it already exists.
+   *
+   * @param entity is the peak to be saved.
+   * @return the saved peak.
+   */
+  @Override
+  @Transactional
+  public PowerPeak save(PowerPeak entity) {
+    Validator.validateNotNull(entity, "Power Peak");
+    saveAll(List.of(entity));
+    return entity;
+  }
+
+  /**
+   * Method to save several peaks in one transaction. Existing rows are loaded with a single query
+   * and updated in place; the others are inserted.
+   *
+   * @param entities are the peaks to be saved.
+   * @return the saved peaks.
+   */
+  @Override
+  @Transactional
+  public List<PowerPeak> saveAll(List<PowerPeak> entities) {
+    Validator.validateNotNull(entities, "Power Peaks");
+
+    List<String> ids = new ArrayList<>(entities.size());
+    for (PowerPeak entity : entities) {
+      Validator.validateNotNull(entity, "Power Peak");
+      ids.add(entity.getID().getID());
+    }
+    Map<String, PowerPeakDataModel> existingModels = new HashMap<>();
+    for (PowerPeakDataModel model : repository.findAllById(ids)) {
+      existingModels.put(model.getPowerPeakID(), model);
+    }
+
+    List<PowerPeakDataModel> models = new ArrayList<>(entities.size());
+    for (PowerPeak entity : entities) {
+      PowerPeakDataModel model = existingModels.get(entity.getID().getID());
+      if (model == null) {
+        model = new PowerPeakDataModel(entity);
+      } else {
+        model.updateFromDomain(entity);
+      }
+      models.add(model);
+    }
+    repository.saveAll(models);
+    return entities;
+  }
+
+  /**
+   * Method to find all peaks.
+   *
+   * @return the list of peaks.
+   */
+  @Override
+  public List<PowerPeak> findAll() {
+    return assembler.toDomain(repository.findAll());
+  }
+
+  /**
+   * Method to find a peak by its ID.
+   *
+   * @param objectID is the ID of the peak.
+   * @return the peak, or empty if it does not exist.
+   */
+  @Override
+  public Optional<PowerPeak> ofIdentity(PowerPeakID objectID) {
+    return repository.findById(objectID.getID()).map(assembler::toDomain);
+  }
+
+  /**
+   * Method to check if a peak exists by its ID.
+   *
+   * @param objectID is the ID of the peak.
+   * @return true if the peak exists, false otherwise.
+   */
+  @Override
+  public boolean containsOfIdentity(PowerPeakID objectID) {
+    return repository.existsById(objectID.getID());
+  }
+
+  /**
+   * Method to find the peaks with the given IDs, with a single query.
+   *
+   * @param powerPeakIDs are the IDs of the peaks.
+   * @return the existing peaks.
+   */
+  @Override
+  public List<PowerPeak> findAllByIdentity(List<PowerPeakID> powerPeakIDs) {
+    Validator.validateNotNull(powerPeakIDs, "Power Peak IDs");
+    List<String> ids = powerPeakIDs.stream().map(PowerPeakID::getID).toList();
+    return assembler.toDomain(repository.findAllById(ids));
+  }
+
+  /**
+   * Method to find the peaks of the minutes starting in a period.
+   *
+   * @param period DatePeriod object
+   * @return List of PowerPeak
+   */
+  @Override
+  public List<PowerPeak> findByDatePeriod(DatePeriod period) {
+    List<PowerPeakDataModel> models = repository.findByBucketStartBetweenOrderByBucketStartAsc(
+        period.getStartDate(), period.getEndDate());
+    return assembler.toDomain(models);
+  }
+}
@@ -135,6 +135,16 @@ public class DeviceServiceImpl implements IDeviceService {
     return deviceRepository.findByDeviceTypeID(deviceTypeID);
   }
 
+  /**
+   * Returns all the devices grouped by device type, read from the repository at once.
+   *
+   * @return the devices of each device type that has devices, in device type ID order.
+   */
+  @Override
+  public Map<DeviceTypeID, List<Device>> getDevicesGroupedByDeviceTypeID() {
+    return deviceRepository.findAllGroupedByDeviceTypeID();
+  }
+
   /**
    * Get devices grouped by temperature functionality from a Map.
    *
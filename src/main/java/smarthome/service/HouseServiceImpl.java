@@ -8,11 +8,13 @@
 
 package smarthome.service;
 
+import java.time.Year;
 import java.util.Optional;
 import org.springframework.stereotype.Service;
 import smarthome.domain.house.House;
 import smarthome.domain.house.IHouseFactory;
 import smarthome.domain.repository.IHouseRepository;
+import smarthome.domain.sensor.solar_event.SolarEventTable;
 import smarthome.domain.value_object.Address;
 import smarthome.domain.value_object.GPS;
 import smarthome.domain.value_object.HouseID;
@@ -40,7 +42,8 @@ public class HouseServiceImpl implements IHouseService {
 
 
   /**
-   * Adds a new House to the repository.
+   * Adds a new House to the repository. The sunrise and sunset times of the year are computed for
+   * its location, which is where the solar sensors of the house are read.
    *
    * @param address the address of the house
    * @param gps     the GPS coordinates of the house
@@ -50,6 +53,7 @@ public class HouseServiceImpl implements IHouseService {
   public House addHouse(Address address, GPS gps) {
     House house = houseFactory.createHouse(address, gps);
     houseRepository.save(house);
+    SolarEventTable.shared().precompute(gps, Year.now());
     return house;
   }
 
@@ -57,6 +61,7 @@ public class HouseServiceImpl implements IHouseService {
   public House addHouse(HouseID houseID, Address address, GPS gps) {
     House house = houseFactory.createHouse(houseID, address, gps);
     houseRepository.save(house);
+    SolarEventTable.shared().precompute(gps, Year.now());
     return house;
   }
 
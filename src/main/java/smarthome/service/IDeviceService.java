@@ -83,4 +83,11 @@ public interface IDeviceService extends IService {
   List<DeviceDTO> getDevicesFromListByRoomId(List<DeviceDTO> devicesDTO, RoomID roomID);
 
   List<Device> getDevicesByDeviceTypeID(DeviceTypeID deviceTypeID);
+
+  /**
+   * Get all devices grouped by device type.
+   *
+   * @return the devices of each device type that has devices, in device type ID order.
+   */
+  Map<DeviceTypeID, List<Device>> getDevicesGroupedByDeviceTypeID();
 }
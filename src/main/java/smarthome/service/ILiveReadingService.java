@@ -0,0 +1,41 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+import smarthome.ddd.IService;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+
+public interface ILiveReadingService extends IService {
+
+  /**
+   * Method to subscribe to the readings added from now on. A listener that can not keep up only
+   * gets the most recent reading of each device and sensor type it missed.
+   *
+   * @param deviceID     is the device whose readings are wanted, null for every device.
+   * @param sensorTypeID is the sensor type whose readings are wanted, null for every type.
+   * @param listener     is called with each reading, from a delivery thread. The subscription is
+   *                     closed if it throws.
+   * @return the subscription, to close when the readings are no longer wanted
+   * @throws smarthome.utils.exceptions.TooManySubscriptionsException if the limit is reached
+   */
+  LiveReadingSubscription subscribe(DeviceID deviceID, SensorTypeID sensorTypeID,
+      Consumer<Log> listener);
+
+  /**
+   * Method to deliver newly added readings to the matching subscriptions. It does not wait for
+   * the listeners.
+   *
+   * @param logs List of Log
+   */
+  void publish(List<Log> logs);
+}
@@ -0,0 +1,66 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.List;
+import smarthome.ddd.IService;
+import smarthome.domain.log.Log;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.RollupResolution;
+
+public interface ILogRollupService extends IService {
+
+  /**
+   * Method to add newly logged readings to the rollups of every resolution. Readings that are not
+   * numeric are ignored. The rollups are updated in a transaction of their own.
+   *
+   * @param logs List of Log
+   * @return List of the updated LogRollup
+   */
+  List<LogRollup> addToRollups(List<Log> logs);
+
+  /**
+   * Method to rebuild the rollups of the days of the given logs from all the logs of those days,
+   * replacing the stored ones. Rebuilding the same days again gives the same rollups.
+   *
+   * @param logs List of Log
+   * @return List of the rebuilt LogRollup
+   */
+  List<LogRollup> rebuildRollups(List<Log> logs);
+
+  /**
+   * Method to rebuild the rollups of a device for the whole days of a time period from its logs,
+   * replacing the stored ones
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @return List of the rebuilt LogRollup
+   */
+  List<LogRollup> rebuildRollups(DeviceID deviceID, DatePeriod period);
+
+  /**
+   * Method to mark the days of the given logs as stale, so that their rollups are rebuilt from the
+   * logs the next time they are read or updated
+   *
+   * @param logs List of Log
+   */
+  void markStale(List<Log> logs);
+
+  /**
+   * Method to get the rollups of a device at a resolution over a time period
+   *
+   * @param deviceID   DeviceID object
+   * @param period     DatePeriod object
+   * @param resolution RollupResolution
+   * @return List of LogRollup, in bucket order
+   */
+  List<LogRollup> getRollups(DeviceID deviceID, DatePeriod period, RollupResolution resolution);
+}
@@ -10,11 +10,15 @@ package smarthome.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import smarthome.ddd.IService;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
@@ -30,6 +34,17 @@ public interface ILogService extends IService {
   Log addLog(DeviceID deviceID, SensorID sensorID, LocalDateTime localDateTime,
       ReadingValue readingValue, SensorTypeID sensorTypeID, UnitID unitID);
 
+  /**
+   * Method to add several logs at once. Every device, sensor, sensor type and unit referenced by
+   * the batch is checked once, and the logs are saved together: if one of them is invalid, none is
+   * saved.
+   *
+   * @param logs List of Log
+   * @return List of the saved Log
+   * @throws IllegalArgumentException if the list is empty, or if a log is invalid
+   */
+  List<Log> addLogs(List<Log> logs);
+
   /**
    * Method to get device readings by time period
    *
@@ -39,6 +54,28 @@ public interface ILogService extends IService {
    */
   List<Log> getDeviceReadingsByTimePeriod(DeviceID deviceID, DatePeriod period);
 
+  /**
+   * Method to get a page of device readings by time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor of the last reading of the previous page, null for the first page
+   * @param limit    maximum number of readings of the page
+   * @return List of Log, in (timestamp, logID) order
+   */
+  List<Log> getDeviceReadingsPage(DeviceID deviceID, DatePeriod period, LogCursor after,
+      int limit);
+
+  /**
+   * Method to go through the device readings of a time period one at a time
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   is called with each reading, in (timestamp, logID) order
+   */
+  void forEachDeviceReadingByTimePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action);
+
 
   /**
    * Method to get device readings by sensor type and time period
@@ -92,4 +129,26 @@ public interface ILogService extends IService {
    * @return the list of readings.
    */
   List<Log> getDeviceReadingsByDeviceIDAndSensorTypeID(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to get the most recent reading of a device for a sensor type.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return the most recent reading, or empty if the device has no reading of that type.
+   */
+  Optional<Log> getLatestReading(DeviceID deviceID, SensorTypeID sensorTypeID);
+
+  /**
+   * Method to get the statistics of the numeric readings of a device for a sensor type over a
+   * time period, computed by the repository.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param period       is the time period, bounds included.
+   * @param percentiles  are the percentiles to compute, each between 0 and 100.
+   * @return the statistics, empty if there is no numeric reading in the period.
+   */
+  ReadingStatistics getReadingStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles);
 }
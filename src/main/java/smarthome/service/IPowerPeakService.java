@@ -0,0 +1,38 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.List;
+import smarthome.ddd.IService;
+import smarthome.domain.log.Log;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.domain.value_object.DatePeriod;
+
+public interface IPowerPeakService extends IService {
+
+  /**
+   * Method to add committed readings to the power consumption peaks, in a transaction of their
+   * own. Only the numeric instant power consumption readings of power meters and power sources
+   * are used, the others are ignored. Adding the same readings again raises nothing more.
+   *
+   * @param logs List of Log
+   * @return List of the raised PowerPeak
+   */
+  List<PowerPeak> addReadings(List<Log> logs);
+
+  /**
+   * Method to get the peak power consumption of the house over a time period: the highest power
+   * meter or power source reading, or the highest sum of a power meter and a power source reading
+   * taken less than 15 minutes apart.
+   *
+   * @param period DatePeriod object, bounds included
+   * @return the peak power consumption, 0 if there is no reading
+   */
+  int getPeakPowerConsumption(DatePeriod period);
+}
@@ -0,0 +1,111 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.Validator;
+import smarthome.utils.exceptions.TooManySubscriptionsException;
+
+/**
+ * Publishes the readings added to the subscribed clients. Each subscription is delivered by its
+ * own task on a bounded pool of daemon threads, so a client that writes slowly only delays itself
+ * until every delivery thread is busy. A subscription has at most one task waiting, so the tasks
+ * waiting for a thread are bounded by the number of subscriptions, which is limited too.
+ */
+@Service
+public class LiveReadingServiceImpl implements ILiveReadingService {
+
+  static final int DELIVERY_THREADS = 16;
+  static final int MAX_SUBSCRIPTIONS = 256;
+
+  private final Set<LiveReadingSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final ExecutorService delivery;
+  private final int maxSubscriptions;
+
+  /**
+   * Constructor of LiveReadingServiceImpl
+   */
+  public LiveReadingServiceImpl() {
+    this(DELIVERY_THREADS, MAX_SUBSCRIPTIONS);
+  }
+
+  LiveReadingServiceImpl(int deliveryThreads, int maxSubscriptions) {
+    AtomicInteger threads = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(deliveryThreads, deliveryThreads,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+          Thread thread = new Thread(task, "live-reading-" + threads.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    this.delivery = executor;
+    this.maxSubscriptions = maxSubscriptions;
+  }
+
+  /**
+   * Method to subscribe to the readings added from now on
+   *
+   * @param deviceID     DeviceID object, null for every device
+   * @param sensorTypeID SensorTypeID object, null for every sensor type
+   * @param listener     is called with each reading
+   * @return LiveReadingSubscription object
+   * @throws TooManySubscriptionsException if the limit of subscriptions is reached
+   */
+  @Override
+  public synchronized LiveReadingSubscription subscribe(DeviceID deviceID,
+      SensorTypeID sensorTypeID, Consumer<Log> listener) {
+    Validator.validateNotNull(listener, "Listener");
+    if (subscriptions.size() >= maxSubscriptions) {
+      throw new TooManySubscriptionsException("Too many live reading subscriptions");
+    }
+    LiveReadingSubscription subscription = new LiveReadingSubscription(deviceID, sensorTypeID,
+        listener, delivery, subscriptions::remove);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  /**
+   * Method to deliver newly added readings to the matching subscriptions
+   *
+   * @param logs List of Log
+   */
+  @Override
+  public void publish(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+    for (LiveReadingSubscription subscription : subscriptions) {
+      for (Log log : logs) {
+        if (subscription.matches(log)) {
+          subscription.offer(log);
+        }
+      }
+    }
+  }
+
+  /**
+   * Method to close the subscriptions and stop the delivery threads
+   */
+  @PreDestroy
+  public void shutdown() {
+    subscriptions.forEach(LiveReadingSubscription::close);
+    delivery.shutdownNow();
+  }
+}
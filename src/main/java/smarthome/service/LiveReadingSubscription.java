@@ -0,0 +1,123 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.ReadingKey;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+
+/**
+ * Subscription to the live readings of a device and/or sensor type.
+ * <p>
+ * Readings wait in a pending map holding one reading per (device, sensor type): a newer reading
+ * replaces the one not yet delivered. The pending readings are delivered by one task at a time,
+ * so the listener is never called concurrently, a slow listener never blocks the publisher, and
+ * the readings it falls behind on cost no more memory than one per sensor.
+ */
+public class LiveReadingSubscription implements AutoCloseable {
+
+  private final DeviceID deviceID;
+  private final SensorTypeID sensorTypeID;
+  private final Consumer<Log> listener;
+  private final Executor executor;
+  private final Consumer<LiveReadingSubscription> onClose;
+  private final Map<ReadingKey, Log> pending = new LinkedHashMap<>();
+  private boolean delivering;
+  private volatile boolean closed;
+
+  LiveReadingSubscription(DeviceID deviceID, SensorTypeID sensorTypeID, Consumer<Log> listener,
+      Executor executor, Consumer<LiveReadingSubscription> onClose) {
+    this.deviceID = deviceID;
+    this.sensorTypeID = sensorTypeID;
+    this.listener = listener;
+    this.executor = executor;
+    this.onClose = onClose;
+  }
+
+  /**
+   * Method to check if a reading is wanted by the subscription
+   *
+   * @param log is the reading.
+   * @return true if the reading matches the device and sensor type of the subscription
+   */
+  boolean matches(Log log) {
+    return (deviceID == null || deviceID.equals(log.getDeviceID()))
+        && (sensorTypeID == null || sensorTypeID.equals(log.getDescription()));
+  }
+
+  /**
+   * Method to queue a reading for delivery, replacing an older pending reading of its sensor
+   *
+   * @param log is the reading.
+   */
+  void offer(Log log) {
+    if (closed) {
+      return;
+    }
+    synchronized (this) {
+      pending.merge(ReadingKey.of(log), log,
+          (current, candidate) -> candidate.getTimeStamp().isBefore(current.getTimeStamp())
+              ? current : candidate);
+      if (delivering) {
+        return;
+      }
+      delivering = true;
+    }
+    executor.execute(this::deliver);
+  }
+
+  /**
+   * Method to check if the subscription was closed
+   *
+   * @return true if it was closed
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Method to stop receiving readings
+   */
+  @Override
+  public void close() {
+    if (!closed) {
+      closed = true;
+      onClose.accept(this);
+    }
+  }
+
+  private void deliver() {
+    while (true) {
+      List<Log> readings;
+      synchronized (this) {
+        if (pending.isEmpty() || closed) {
+          delivering = false;
+          return;
+        }
+        readings = new ArrayList<>(pending.values());
+        pending.clear();
+      }
+      for (Log reading : readings) {
+        try {
+          listener.accept(reading);
+        } catch (RuntimeException e) {
+          close();
+          return;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,349 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.log.Log;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.LogRollupID;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.utils.AfterCommit;
+import smarthome.utils.Validator;
+
+/**
+ * Keeps the rollups of the readings up to date as they are logged, and rebuilds them from the
+ * logs where they may be missing or wrong.
+ * <p>
+ * The rollups of a device are complete for every day it has a daily rollup for: the first
+ * rollups of a day are computed from every log of the day, and a day without any daily rollup,
+ * such as the days logged before the rollups were kept, is rebuilt from its logs the first time it
+ * is read. A day whose update failed is marked stale and rebuilt in the same way.
+ */
+@Service
+public class LogRollupServiceImpl implements ILogRollupService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogRollupServiceImpl.class);
+  private static final RollupResolution DAY = RollupResolution.ONE_DAY;
+
+  private final ILogRollupRepository logRollupRepository;
+  private final ILogRepository logRepository;
+  private final Map<DeviceID, Set<LocalDate>> staleDays = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor of LogRollupServiceImpl
+   *
+   * @param logRollupRepository ILogRollupRepository object
+   * @param logRepository       ILogRepository object, to rebuild the rollups from the logs
+   */
+  @Autowired
+  public LogRollupServiceImpl(ILogRollupRepository logRollupRepository,
+      ILogRepository logRepository) {
+    Validator.validateNotNull(logRollupRepository, "Log Rollup Repository");
+    this.logRollupRepository = logRollupRepository;
+    Validator.validateNotNull(logRepository, "Log Repository");
+    this.logRepository = logRepository;
+  }
+
+  /**
+   * Method to add newly logged readings to the rollups of every resolution. The readings are
+   * first summarized per bucket in memory, then the touched buckets are read with one query,
+   * merged and saved together, in a new transaction: the logs are added once their own
+   * transaction has committed, so a conflict on a rollup cannot roll them back. The days of a
+   * device without any daily rollup yet, or marked stale, are rebuilt from all their logs
+   * instead.
+   *
+   * @param logs List of Log
+   * @return List of the updated LogRollup
+   */
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<LogRollup> addToRollups(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    Map<LogRollupID, LogRollup> rollups = summarize(logs);
+    if (rollups.isEmpty()) {
+      return List.of();
+    }
+
+    List<LogRollup> storedRollups =
+        logRollupRepository.findAllByIdentity(new ArrayList<>(rollups.keySet()));
+    Set<LogRollupID> storedIDs = new HashSet<>();
+    storedRollups.forEach(storedRollup -> storedIDs.add(storedRollup.getID()));
+    Map<DeviceID, Set<LocalDate>> rebuiltDays = new HashMap<>();
+    for (LogRollup rollup : rollups.values()) {
+      LocalDate day = rollup.getBucketStart().toLocalDate();
+      if (rollup.getResolution() == DAY && (isStale(rollup.getDeviceID(), day)
+          || !storedIDs.contains(rollup.getID()) && !hasDailyRollup(rollup.getDeviceID(), day))) {
+        rebuiltDays.computeIfAbsent(rollup.getDeviceID(), deviceID -> new TreeSet<>()).add(day);
+      }
+    }
+
+    for (LogRollup storedRollup : storedRollups) {
+      if (!isIn(storedRollup, rebuiltDays)) {
+        storedRollup.merge(rollups.get(storedRollup.getID()));
+        rollups.put(storedRollup.getID(), storedRollup);
+      }
+    }
+    rebuiltDays.forEach((deviceID, days) -> {
+      rollups.values().removeIf(rollup -> rollup.getDeviceID().equals(deviceID)
+          && days.contains(rollup.getBucketStart().toLocalDate()));
+      for (LocalDate day : days) {
+        List<Log> dayLogs = new ArrayList<>(logRepository.findByDeviceIDAndDatePeriodBetween(
+            deviceID, dayPeriod(day, day)));
+        logs.stream().filter(log -> log.getDeviceID().equals(deviceID)
+            && log.getTimeStamp().toLocalDate().equals(day)).forEach(dayLogs::add);
+        rollups.putAll(summarize(distinct(dayLogs)));
+      }
+    });
+    List<LogRollup> saved = logRollupRepository.saveAll(new ArrayList<>(rollups.values()));
+    AfterCommit.run(() -> rebuiltDays.forEach(this::clearStale));
+    return saved;
+  }
+
+  /**
+   * Method to rebuild the rollups of the days of the given logs from all the logs of those days,
+   * replacing the stored ones, in a new transaction.
+   *
+   * @param logs List of Log
+   * @return List of the rebuilt LogRollup
+   */
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<LogRollup> rebuildRollups(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+    List<LogRollup> rebuilt = new ArrayList<>();
+    daysOf(logs).forEach((deviceID, days) -> rebuilt.addAll(rebuild(deviceID, days)));
+    return rebuilt;
+  }
+
+  /**
+   * Method to rebuild the rollups of a device for the whole days of a time period from its logs,
+   * replacing the stored ones.
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @return List of the rebuilt LogRollup
+   */
+  @Override
+  @Transactional
+  public List<LogRollup> rebuildRollups(DeviceID deviceID, DatePeriod period) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(period, "Date Period");
+    return rebuild(deviceID, daysOf(period));
+  }
+
+  /**
+   * Method to mark the days of the given logs as stale, after their rollups could not be updated,
+   * so that they are rebuilt from the logs the next time they are read or updated.
+   *
+   * @param logs List of Log
+   */
+  @Override
+  public void markStale(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+    daysOf(logs).forEach((deviceID, days) ->
+        staleDays.computeIfAbsent(deviceID, id -> ConcurrentHashMap.newKeySet()).addAll(days));
+  }
+
+  /**
+   * Method to get the rollups of a device at a resolution over a time period. The days of the
+   * period without any daily rollup, or marked stale, are rebuilt from their logs and stored.
+   *
+   * @param deviceID   DeviceID object
+   * @param period     DatePeriod object
+   * @param resolution RollupResolution
+   * @return List of LogRollup, in bucket order
+   */
+  @Override
+  public List<LogRollup> getRollups(DeviceID deviceID, DatePeriod period,
+      RollupResolution resolution) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(period, "Date Period");
+    Validator.validateNotNull(resolution, "Resolution");
+
+    List<LogRollup> dailyRollups =
+        logRollupRepository.findByDeviceIDAndResolutionAndDatePeriod(deviceID, DAY, period);
+    Set<LocalDate> missingDays = daysOf(period);
+    dailyRollups.forEach(rollup -> missingDays.remove(rollup.getBucketStart().toLocalDate()));
+    missingDays.addAll(staleDaysOf(deviceID, daysOf(period)));
+    List<LogRollup> stored = resolution == DAY ? dailyRollups
+        : logRollupRepository.findByDeviceIDAndResolutionAndDatePeriod(deviceID, resolution,
+            period);
+    if (missingDays.isEmpty()) {
+      return stored;
+    }
+
+    List<LogRollup> rollups = new ArrayList<>();
+    for (LogRollup rollup : stored) {
+      if (!missingDays.contains(rollup.getBucketStart().toLocalDate())) {
+        rollups.add(rollup);
+      }
+    }
+    for (LogRollup rollup : rebuildDays(deviceID, missingDays)) {
+      if (rollup.getResolution() == resolution && overlaps(rollup, period)) {
+        rollups.add(rollup);
+      }
+    }
+    rollups.sort(Comparator.comparing(LogRollup::getBucketStart));
+    return rollups;
+  }
+
+  /**
+   * Method to rebuild the rollups of missing days when they are read, with one query per run of
+   * consecutive days. The rebuilt rollups are stored so the days are only rebuilt once; a
+   * conflict with an ingestion storing the same buckets is left to that ingestion.
+   */
+  private List<LogRollup> rebuildDays(DeviceID deviceID, Set<LocalDate> days) {
+    List<LogRollup> rebuilt = new ArrayList<>();
+    LocalDate runStart = null;
+    LocalDate runEnd = null;
+    for (LocalDate day : new TreeSet<>(days)) {
+      if (runEnd != null && !day.equals(runEnd.plusDays(1))) {
+        rebuilt.addAll(summarizeDays(deviceID, runStart, runEnd).values());
+        runStart = null;
+      }
+      runStart = runStart == null ? day : runStart;
+      runEnd = day;
+    }
+    rebuilt.addAll(summarizeDays(deviceID, runStart, runEnd).values());
+
+    try {
+      logRollupRepository.saveAll(rebuilt);
+      clearStale(deviceID, days);
+    } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+      LOGGER.warn("Could not store the rebuilt rollups of device {}", deviceID.getID(), e);
+    }
+    return rebuilt;
+  }
+
+  private List<LogRollup> rebuild(DeviceID deviceID, Set<LocalDate> days) {
+    List<LogRollup> rebuilt = new ArrayList<>();
+    for (LocalDate day : days) {
+      rebuilt.addAll(summarizeDays(deviceID, day, day).values());
+    }
+    logRollupRepository.saveAll(rebuilt);
+    AfterCommit.run(() -> clearStale(deviceID, days));
+    return rebuilt;
+  }
+
+  private Map<LogRollupID, LogRollup> summarizeDays(DeviceID deviceID, LocalDate firstDay,
+      LocalDate lastDay) {
+    return summarize(logRepository.findByDeviceIDAndDatePeriodBetween(deviceID,
+        dayPeriod(firstDay, lastDay)));
+  }
+
+  private static Map<LogRollupID, LogRollup> summarize(List<Log> logs) {
+    Map<LogRollupID, LogRollup> rollups = new LinkedHashMap<>();
+    for (Log log : logs) {
+      if (!log.hasNumericReading()) {
+        continue;
+      }
+      for (RollupResolution resolution : RollupResolution.values()) {
+        LogRollup rollup = new LogRollup(log, resolution);
+        rollups.merge(rollup.getID(), rollup, (current, added) -> {
+          current.merge(added);
+          return current;
+        });
+      }
+    }
+    return rollups;
+  }
+
+  private static List<Log> distinct(List<Log> logs) {
+    Map<LogID, Log> distinctLogs = new LinkedHashMap<>();
+    logs.forEach(log -> distinctLogs.putIfAbsent(log.getID(), log));
+    return new ArrayList<>(distinctLogs.values());
+  }
+
+  private boolean hasDailyRollup(DeviceID deviceID, LocalDate day) {
+    return !logRollupRepository.findByDeviceIDAndResolutionAndDatePeriod(deviceID, DAY,
+        dayPeriod(day, day)).isEmpty();
+  }
+
+  private boolean isStale(DeviceID deviceID, LocalDate day) {
+    Set<LocalDate> days = staleDays.get(deviceID);
+    return days != null && days.contains(day);
+  }
+
+  private Set<LocalDate> staleDaysOf(DeviceID deviceID, Set<LocalDate> days) {
+    Set<LocalDate> stale = new TreeSet<>();
+    for (LocalDate day : days) {
+      if (isStale(deviceID, day)) {
+        stale.add(day);
+      }
+    }
+    return stale;
+  }
+
+  private void clearStale(DeviceID deviceID, Set<LocalDate> days) {
+    staleDays.computeIfPresent(deviceID, (id, stale) -> {
+      stale.removeAll(days);
+      return stale.isEmpty() ? null : stale;
+    });
+  }
+
+  private static boolean isIn(LogRollup rollup, Map<DeviceID, Set<LocalDate>> days) {
+    Set<LocalDate> deviceDays = days.get(rollup.getDeviceID());
+    return deviceDays != null && deviceDays.contains(rollup.getBucketStart().toLocalDate());
+  }
+
+  private static boolean overlaps(LogRollup rollup, DatePeriod period) {
+    LocalDateTime bucketEnd = rollup.getBucketStart().plus(rollup.getResolution().getBucketSize());
+    return !rollup.getBucketStart().isAfter(period.getEndDate())
+        && bucketEnd.isAfter(period.getStartDate());
+  }
+
+  private static Map<DeviceID, Set<LocalDate>> daysOf(List<Log> logs) {
+    Map<DeviceID, Set<LocalDate>> days = new HashMap<>();
+    for (Log log : logs) {
+      Validator.validateNotNull(log, "Log");
+      days.computeIfAbsent(log.getDeviceID(), deviceID -> new TreeSet<>())
+          .add(log.getTimeStamp().toLocalDate());
+    }
+    return days;
+  }
+
+  private static Set<LocalDate> daysOf(DatePeriod period) {
+    Set<LocalDate> days = new TreeSet<>();
+    for (LocalDate day = period.getStartDate().toLocalDate();
+        !day.isAfter(period.getEndDate().toLocalDate()); day = day.plusDays(1)) {
+      days.add(day);
+    }
+    return days;
+  }
+
+  private static DatePeriod dayPeriod(LocalDate firstDay, LocalDate lastDay) {
+    return new DatePeriod(firstDay.atStartOfDay(),
+        lastDay.plusDays(1).atStartOfDay().minusNanos(1));
+  }
+}
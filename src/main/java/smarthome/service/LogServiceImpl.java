@@ -10,16 +10,25 @@ package smarthome.service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IntSummaryStatistics;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.LatestReadingStore;
 import smarthome.domain.log.Log;
+import smarthome.domain.log.LogPair;
+import smarthome.domain.log.LogTimeWindowJoin;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.repository.ISensorRepository;
@@ -27,40 +36,57 @@ import smarthome.domain.repository.ISensorTypeRepository;
 import smarthome.domain.repository.IUnitRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.TimeDelta;
 import smarthome.domain.value_object.UnitID;
+import smarthome.utils.AfterCommit;
 import smarthome.utils.Validator;
 
 @Service
 public class LogServiceImpl implements ILogService {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogServiceImpl.class);
+  static final int MAX_UPDATE_ATTEMPTS = 3;
+
   private final ILogRepository logRepository;
   private final IDeviceRepository deviceRepository;
   private final ISensorRepository sensorRepository;
   private final ISensorTypeRepository sensorTypeRepository;
   private final IUnitRepository unitRepository;
   private final ILogFactory logFactory;
+  private final ILogRollupService logRollupService;
+  private final IPowerPeakService powerPeakService;
+  private final LatestReadingStore latestReadings = new LatestReadingStore();
   private static final int VALUE_IF_NO_POWER_CONSUMPTION = 0;
+  public static final int MAX_PAGE_SIZE = 1000;
 
 
   /**
    * Constructor of LogServiceImpl
    *
-   * @param logRepository ILogRepository object
+   * @param logRepository    ILogRepository object
+   * @param logRollupService ILogRollupService keeping the rollups up to date with the logs
+   * @param powerPeakService IPowerPeakService keeping the power peaks up to date with the logs
    */
 
   @Autowired
   public LogServiceImpl(ILogRepository logRepository, IDeviceRepository deviceRepository,
       ISensorRepository sensorRepository, ISensorTypeRepository sensorTypeRepository,
-      IUnitRepository unitRepository, ILogFactory logFactory) {
+      IUnitRepository unitRepository, ILogFactory logFactory, ILogRollupService logRollupService,
+      IPowerPeakService powerPeakService) {
     this.deviceRepository = deviceRepository;
     this.sensorRepository = sensorRepository;
     this.sensorTypeRepository = sensorTypeRepository;
     this.unitRepository = unitRepository;
     this.logFactory = logFactory;
+    Validator.validateNotNull(logRollupService, "Log Rollup Service");
+    this.logRollupService = logRollupService;
+    Validator.validateNotNull(powerPeakService, "Power Peak Service");
+    this.powerPeakService = powerPeakService;
     Validator.validateNotNull(logRepository, "Log Repository");
     this.logRepository = logRepository;
   }
@@ -76,6 +102,7 @@ public class LogServiceImpl implements ILogService {
    * @param unitID
    */
   @Override
+  @Transactional
   public Log addLog(DeviceID deviceID, SensorID sensorID, LocalDateTime localDateTime,
       ReadingValue readingValue, SensorTypeID sensorTypeID, UnitID unitID) {
     deviceIDexists(deviceID);
@@ -86,7 +113,99 @@ public class LogServiceImpl implements ILogService {
     Log log = logFactory.createLog(deviceID, sensorID, localDateTime, readingValue, sensorTypeID,
         unitID);
 
-    return logRepository.save(log);
+    Log savedLog = logRepository.save(log);
+    AfterCommit.run(() -> addToRollups(List.of(log)));
+    AfterCommit.run(() -> addToPowerPeaks(List.of(log)));
+    AfterCommit.run(() -> latestReadings.update(log));
+    return savedLog;
+  }
+
+  /**
+   * Method to add several logs at once. Each distinct ID of the batch is checked only once, and
+   * the logs are saved in a single transaction.
+   *
+   * @param logs List of Log
+   * @return List of the saved Log
+   * @throws IllegalArgumentException if the list is empty
+   */
+  @Override
+  @Transactional
+  public List<Log> addLogs(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+    if (logs.isEmpty()) {
+      throw new IllegalArgumentException("Logs cannot be empty");
+    }
+
+    Set<DeviceID> deviceIDs = new HashSet<>();
+    Set<SensorID> sensorIDs = new HashSet<>();
+    Set<SensorTypeID> sensorTypeIDs = new HashSet<>();
+    Set<UnitID> unitIDs = new HashSet<>();
+    for (Log log : logs) {
+      Validator.validateNotNull(log, "Log");
+      deviceIDs.add(log.getDeviceID());
+      sensorIDs.add(log.getSensorID());
+      sensorTypeIDs.add(log.getDescription());
+      unitIDs.add(log.getUnit());
+    }
+
+    deviceIDs.forEach(this::deviceIDexists);
+    sensorIDs.forEach(this::sensorIDexists);
+    sensorTypeIDs.forEach(this::sensorTypeIDexists);
+    unitIDs.forEach(this::unitIDexists);
+
+    List<Log> savedLogs = logRepository.saveAll(logs);
+    AfterCommit.run(() -> addToRollups(logs));
+    AfterCommit.run(() -> addToPowerPeaks(logs));
+    AfterCommit.run(() -> logs.forEach(latestReadings::update));
+    return savedLogs;
+  }
+
+  /**
+   * Method to add committed logs to the rollups, in a transaction of their own. After a conflict
+   * the days of the logs are rebuilt from the logs instead, as the rollups they were merged into
+   * may already hold them; days that still cannot be updated are marked stale, to be rebuilt when
+   * they are next read or updated.
+   */
+  private void addToRollups(List<Log> logs) {
+    if (!updateWithRetry("Rollups", logs, logRollupService::addToRollups,
+        logRollupService::rebuildRollups)) {
+      logRollupService.markStale(logs);
+    }
+  }
+
+  /**
+   * Method to add committed logs to the power peaks, in a transaction of their own. Adding the
+   * same readings again raises nothing more, so they are simply added again after a conflict.
+   */
+  private void addToPowerPeaks(List<Log> logs) {
+    updateWithRetry("Power peaks", logs, powerPeakService::addReadings,
+        powerPeakService::addReadings);
+  }
+
+  /**
+   * Method to update what is kept from committed logs. A conflict with another ingestion updating
+   * the same rows is retried with the given retry, and an update that still fails is left behind
+   * with a warning: the logs are already saved and stay so.
+   *
+   * @return true if the update succeeded
+   */
+  private boolean updateWithRetry(String name, List<Log> logs, Consumer<List<Log>> update,
+      Consumer<List<Log>> retry) {
+    for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+      try {
+        (attempt == 1 ? update : retry).accept(logs);
+        return true;
+      } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+        if (attempt == MAX_UPDATE_ATTEMPTS) {
+          LOGGER.warn("{} of {} logs could not be updated after {} attempts", name, logs.size(),
+              attempt, e);
+        }
+      } catch (RuntimeException e) {
+        LOGGER.warn("{} of {} logs could not be updated", name, logs.size(), e);
+        return false;
+      }
+    }
+    return false;
   }
 
   /**
@@ -146,6 +265,42 @@ public class LogServiceImpl implements ILogService {
     return logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
   }
 
+  /**
+   * Method to get a page of device readings by time period
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param after    LogCursor object, null for the first page
+   * @param limit    maximum number of readings, between 1 and MAX_PAGE_SIZE
+   * @return List of Log
+   */
+  @Override
+  public List<Log> getDeviceReadingsPage(DeviceID deviceID, DatePeriod period, LogCursor after,
+      int limit) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(period, "Date Period");
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    return logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period, after, limit);
+  }
+
+  /**
+   * Method to go through the device readings of a time period one at a time
+   *
+   * @param deviceID DeviceID object
+   * @param period   DatePeriod object
+   * @param action   Consumer of Log
+   */
+  @Override
+  public void forEachDeviceReadingByTimePeriod(DeviceID deviceID, DatePeriod period,
+      Consumer<Log> action) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(period, "Date Period");
+    Validator.validateNotNull(action, "Action");
+    logRepository.forEachByDeviceIDAndDatePeriod(deviceID, period, action);
+  }
+
   /**
    * Method to get device readings by sensor type and time period
    *
@@ -178,17 +333,15 @@ public class LogServiceImpl implements ILogService {
   @Override
   public int getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(List<Log> readings1, List<Log> readings2, TimeDelta timeDelta)
       throws Exception {
-    List<Integer> valueDifferences = new ArrayList<>();
-    int timeDeltaMinutes = timeDelta.getMinutes();
+    IntSummaryStatistics valueDifferences = new IntSummaryStatistics();
 
-    Map<Integer, Integer> positionMap = calculateMapWithPositionsOfReadingsWithinTimeDelta(readings1, readings2, timeDeltaMinutes);
-    for (Map.Entry<Integer, Integer> entry : positionMap.entrySet()) {
-      int difference = getDifferenceBetweenReadings(readings1.get(entry.getKey()), readings2.get(entry.getValue()));
-      valueDifferences.add(difference);
-    }
-    if (valueDifferences.isEmpty()) {
+    new LogTimeWindowJoin(readings1, readings2, timeDelta).forEachPair(
+        (reading1, reading2) -> valueDifferences.accept(
+            getDifferenceBetweenReadings(reading1, reading2)));
+
+    if (valueDifferences.getCount() == 0) {
       throw new IllegalArgumentException(("No readings found within the given time interval"));
-    }else return Collections.max(valueDifferences);
+    }else return valueDifferences.getMax();
   }
 
   /**
@@ -226,20 +379,15 @@ public class LogServiceImpl implements ILogService {
    */
   protected int getMaxSumOfAnyReadingsWithinDelta(List<Log> readings1, List<Log> readings2,
       TimeDelta timeDelta) {
-    List<Integer> sumOfReadings = new ArrayList<>();
-    int timeDeltaMinutes = timeDelta.getMinutes();
-
-    Map<Integer, Integer> positionMap = calculateMapWithPositionsOfReadingsWithinTimeDelta(readings1, readings2,
-        timeDeltaMinutes);
-    for (Map.Entry<Integer, Integer> entry : positionMap.entrySet()) {
-      int sum = getSumOfTwoIntegerReadings(readings1.get(entry.getKey()),
-          readings2.get(entry.getValue()));
-      sumOfReadings.add(sum);
-    }
-    if (sumOfReadings.isEmpty()) {
+    IntSummaryStatistics sumOfReadings = new IntSummaryStatistics();
+
+    new LogTimeWindowJoin(readings1, readings2, timeDelta).forEachPair(
+        (reading1, reading2) -> sumOfReadings.accept(getSumOfTwoIntegerReadings(reading1, reading2)));
+
+    if (sumOfReadings.getCount() == 0) {
       return VALUE_IF_NO_POWER_CONSUMPTION;
     } else {
-      return Collections.max(sumOfReadings);
+      return sumOfReadings.getMax();
     }
   }
 
@@ -252,12 +400,7 @@ public class LogServiceImpl implements ILogService {
    */
 
   protected int getSumOfTwoIntegerReadings(Log reading1, Log reading2) {
-    try {
-      return Math.abs(Integer.parseInt(reading1.getReadingValue().getValue()) + Integer.parseInt(
-          reading2.getReadingValue().getValue()));
-    } catch (NumberFormatException e) {
-      throw new IllegalArgumentException("Reading values are not integers");
-    }
+    return (int) Math.round(Math.abs(numericValueOf(reading1) + numericValueOf(reading2)));
   }
 
   /**
@@ -269,12 +412,7 @@ public class LogServiceImpl implements ILogService {
    */
 
   protected int getDifferenceBetweenReadings(Log reading1, Log reading2) {
-    try {
-      return Math.abs(Integer.parseInt(reading1.getReadingValue().getValue()) - Integer.parseInt(
-          reading2.getReadingValue().getValue()));
-    } catch (NumberFormatException e) {
-      throw new IllegalArgumentException("Reading values are not integers");
-    }
+    return (int) Math.round(Math.abs(numericValueOf(reading1) - numericValueOf(reading2)));
   }
 
   /**
@@ -284,34 +422,36 @@ public class LogServiceImpl implements ILogService {
    * @return
    */
   protected int getMaximumValueFromListOfIntegers(List<Log> readings) {
-    List<Integer> values = new ArrayList<>();
-    for (Log reading : readings) {
-      values.add(Integer.parseInt(reading.getReadingValue().getValue()));
+    double max = readings.stream().mapToDouble(this::numericValueOf).max().orElseThrow();
+    return (int) Math.round(max);
+  }
+
+  /**
+   * Method to get the numeric value of a reading, as parsed when the reading was created.
+   *
+   * @param reading
+   * @return the value of the reading as a double.
+   */
+  private double numericValueOf(Log reading) {
+    ReadingValue readingValue = reading.getReadingValue();
+    if (!readingValue.isNumeric()) {
+      throw new IllegalArgumentException("Reading values are not numeric");
     }
-    return Collections.max(values);
+    return readingValue.asDouble();
   }
 
   /**
-   * Method to get the positions of readings within a time delta.
+   * Method to get every pair of readings, one from each list, that are within a time delta.
    *
    * @param readings1
    * @param readings2
    * @param timeDelta
-   * @return a map of the positions of readings within the time delta.
+   * @return the list of pairs of readings within the time delta.
    */
 
-  protected Map<Integer, Integer> calculateMapWithPositionsOfReadingsWithinTimeDelta(List<Log> readings1,
-      List<Log> readings2, int timeDelta) {
-    Map<Integer, Integer> positionMap = new HashMap<>();
-    for (int i = 0; i < readings1.size(); i++) {
-      for (int j = 0; j < readings2.size(); j++) {
-        boolean isWithinTimeDelta = shouldReturnTrueWhenReadingIsWithinTimeDelta(readings1.get(i), readings2.get(j), timeDelta);
-        if (isWithinTimeDelta) {
-          positionMap.put(i, j);
-        }
-      }
-    }
-    return positionMap;
+  protected List<LogPair> calculatePairsOfReadingsWithinTimeDelta(List<Log> readings1,
+      List<Log> readings2, TimeDelta timeDelta) {
+    return new LogTimeWindowJoin(readings1, readings2, timeDelta).getPairs();
   }
 
   /**
@@ -329,21 +469,28 @@ public class LogServiceImpl implements ILogService {
     return Math.abs(diffInMinutes) < timeDelta;
   }
 
+  /**
+   * Method to get the readings of a sensor type of several devices over a time period, with a
+   * single repository query.
+   *
+   * @param devices      are the devices.
+   * @param datePeriod   is the time period.
+   * @param sensorTypeID is the sensor type ID.
+   * @return the readings of every device, in timestamp order, empty if there are none.
+   */
+  @Override
   public List<Log> getReadingsInTimePeriodByListOfDevicesAndSensorType(List<Device> devices,
       DatePeriod datePeriod,
       SensorTypeID sensorTypeID) {
-    List<Log> readings = new ArrayList<>();
-    for (Device device : devices) {
-      DeviceID deviceID = device.getID();
-      try {
-        List<Log> deviceReadings = getDeviceReadingsBySensorTypeAndTimePeriod(deviceID,
-            sensorTypeID, datePeriod);
-        readings.addAll(deviceReadings);
-      } catch (Exception ignored) {
-        readings.addAll(new ArrayList<>());
-      }
+    Validator.validateNotNull(devices, "Devices");
+    Validator.validateNotNull(datePeriod, "Date Period");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    if (devices.isEmpty()) {
+      return List.of();
     }
-    return readings;
+    List<DeviceID> deviceIDs = devices.stream().map(Device::getID).distinct().toList();
+    return logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(deviceIDs, sensorTypeID,
+        datePeriod);
   }
 
   /**
@@ -356,5 +503,39 @@ public class LogServiceImpl implements ILogService {
     return logRepository.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID);
   }
 
-}
+  /**
+   * Method to get the most recent reading of a device for a sensor type. The repository is asked
+   * for its latest log the first time a sensor is looked up; after that, the reading is answered
+   * from memory, raised by the readings added through this service once their transaction has
+   * committed.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @return the most recent reading, or empty if the device has no reading of that type.
+   */
+  @Override
+  public Optional<Log> getLatestReading(DeviceID deviceID, SensorTypeID sensorTypeID) {
+    return latestReadings.find(deviceID, sensorTypeID,
+        () -> logRepository.findLatest(deviceID, sensorTypeID));
+  }
 
+  /**
+   * Method to get the statistics of the numeric readings of a device for a sensor type over a
+   * time period. The aggregation is left to the repository, no reading is loaded here.
+   *
+   * @param deviceID     is the device ID.
+   * @param sensorTypeID is the sensor type ID.
+   * @param period       is the time period, bounds included.
+   * @param percentiles  are the percentiles to compute, each between 0 and 100.
+   * @return the statistics, empty if there is no numeric reading in the period.
+   */
+  @Override
+  public ReadingStatistics getReadingStatistics(DeviceID deviceID, SensorTypeID sensorTypeID,
+      DatePeriod period, List<Double> percentiles) {
+    Validator.validateNotNull(deviceID, "Device ID");
+    Validator.validateNotNull(sensorTypeID, "Sensor Type ID");
+    Validator.validateNotNull(period, "Date Period");
+    ReadingStatistics.validatePercentiles(percentiles);
+    return logRepository.findStatistics(deviceID, sensorTypeID, period, percentiles);
+  }
+}
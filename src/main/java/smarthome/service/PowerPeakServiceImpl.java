@@ -0,0 +1,524 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import smarthome.domain.device.Device;
+import smarthome.domain.log.Log;
+import smarthome.domain.power_peak.MaxSegmentTree;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.domain.power_peak.PowerSide;
+import smarthome.domain.power_peak.PowerWindow;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.IPowerPeakRepository;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.PowerPeakID;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.utils.AfterCommit;
+import smarthome.utils.Validator;
+
+/**
+ * Keeps the power consumption peak of every minute up to date as the readings are logged, and
+ * answers the peak of a time period from those minutes instead of pairing all its readings again.
+ * <p>
+ * The minute peaks of each day are held in a segment tree, so the peak of any period takes one
+ * lookup per day it spans. Only the first 15 minutes and the last minute of the period are
+ * computed from the readings themselves, because their combinations may involve readings outside
+ * of the period.
+ * <p>
+ * A day with stored peaks always has the peaks of all its readings: the first peaks stored for a
+ * day are computed from every reading of the day, and a day without stored peaks, such as the days
+ * logged before the peaks were kept, is computed from its readings the first time it is needed.
+ * <p>
+ * The window and the segment trees are shared by every ingestion, and are only locked while they
+ * are read or changed in memory, never while the repositories are queried.
+ */
+@Service
+public class PowerPeakServiceImpl implements IPowerPeakService {
+
+  public static final Duration PEAK_WINDOW = Duration.ofMinutes(15);
+  private static final SensorTypeID POWER_SENSOR_TYPE = new SensorTypeID("InstantPowerConsumption");
+  private static final Map<PowerSide, DeviceTypeID> DEVICE_TYPES = Map.of(
+      PowerSide.POWER_METER, new DeviceTypeID("PowerMeter"),
+      PowerSide.POWER_SOURCE, new DeviceTypeID("PowerSource"));
+  private static final RollupResolution MINUTE = RollupResolution.ONE_MINUTE;
+  private static final int MINUTES_PER_DAY = 24 * 60;
+  private static final int CACHED_DAYS = 366;
+  private static final int VALUE_IF_NO_POWER_CONSUMPTION = 0;
+  private static final MaxSegmentTree NO_PEAKS = new MaxSegmentTree(1);
+  private static final Logger LOGGER = LoggerFactory.getLogger(PowerPeakServiceImpl.class);
+
+  private final IPowerPeakRepository powerPeakRepository;
+  private final ILogRepository logRepository;
+  private final IDeviceRepository deviceRepository;
+  private final Map<DeviceID, Optional<PowerSide>> sides = new ConcurrentHashMap<>();
+  private final PowerWindow window = new PowerWindow(PEAK_WINDOW);
+  private final Set<LocalDate> daysWithPeaks = ConcurrentHashMap.newKeySet();
+  private LocalDateTime loadedFrom;
+  private LocalDateTime loadedTo;
+  private final Map<LocalDate, MaxSegmentTree> days = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<LocalDate, MaxSegmentTree> eldest) {
+      return size() > CACHED_DAYS;
+    }
+  };
+
+  /**
+   * Constructor of PowerPeakServiceImpl
+   *
+   * @param powerPeakRepository IPowerPeakRepository object
+   * @param logRepository       ILogRepository object, to restore the window and compute the
+   *                            edges of a period
+   * @param deviceRepository    IDeviceRepository object, to find the power meters and sources
+   */
+  @Autowired
+  public PowerPeakServiceImpl(IPowerPeakRepository powerPeakRepository,
+      ILogRepository logRepository, IDeviceRepository deviceRepository) {
+    Validator.validateNotNull(powerPeakRepository, "Power Peak Repository");
+    this.powerPeakRepository = powerPeakRepository;
+    Validator.validateNotNull(logRepository, "Log Repository");
+    this.logRepository = logRepository;
+    Validator.validateNotNull(deviceRepository, "Device Repository");
+    this.deviceRepository = deviceRepository;
+  }
+
+  /**
+   * Method to add committed readings to the power consumption peaks, in a transaction of their
+   * own. Each reading is combined with the readings of the other side kept in the sliding window;
+   * the window is restored from the log repository when a reading needs older readings than it
+   * holds, after a restart for instance. The raised minutes are read with one query and saved
+   * together, and the cached days are raised once they are committed. The first peaks of a day
+   * are computed from all the readings of the day instead.
+   * <p>
+   * Adding the same readings again raises nothing more, so a call that failed on a conflict with
+   * another ingestion can simply be repeated.
+   *
+   * @param logs List of Log
+   * @return List of the raised PowerPeak
+   */
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<PowerPeak> addReadings(List<Log> logs) {
+    Validator.validateNotNull(logs, "Logs");
+
+    List<Log> readings = new ArrayList<>();
+    for (Log log : logs) {
+      if (log.getDescription().equals(POWER_SENSOR_TYPE) && log.hasNumericReading()
+          && sideOf(log.getDeviceID()).isPresent()) {
+        readings.add(log);
+      }
+    }
+    if (readings.isEmpty()) {
+      return List.of();
+    }
+
+    LocalDateTime first = readings.get(0).getTimeStamp();
+    LocalDateTime last = first;
+    for (Log reading : readings) {
+      first = reading.getTimeStamp().isBefore(first) ? reading.getTimeStamp() : first;
+      last = reading.getTimeStamp().isAfter(last) ? reading.getTimeStamp() : last;
+    }
+    LocalDateTime from = MINUTE.bucketStartOf(first.minus(PEAK_WINDOW));
+    LocalDateTime to = nextMinute(last.plus(PEAK_WINDOW));
+
+    Map<LocalDateTime, Integer> raises = new HashMap<>();
+    while (true) {
+      List<DatePeriod> missing;
+      synchronized (window) {
+        missing = missingPeriods(from, to);
+        if (missing.isEmpty()) {
+          for (Log reading : readings) {
+            window.accept(sideOf(reading.getDeviceID()).orElseThrow(), reading.getTimeStamp(),
+                reading.getReadingAsDouble(), (timestamp, value) ->
+                    raises.merge(MINUTE.bucketStartOf(timestamp), value, Math::max));
+          }
+          pruneWindow();
+          break;
+        }
+      }
+      restoreWindow(missing);
+    }
+    addDaysWithoutPeaks(raises);
+    return savePeaks(raises);
+  }
+
+  /**
+   * Method to get the peak power consumption of the house over a time period
+   *
+   * @param period DatePeriod object, bounds included
+   * @return the peak power consumption, 0 if there is no reading
+   */
+  @Override
+  public int getPeakPowerConsumption(DatePeriod period) {
+    Validator.validateNotNull(period, "Date Period");
+    LocalDateTime start = period.getStartDate();
+    LocalDateTime end = period.getEndDate();
+    Map<PowerSide, List<DeviceID>> devices = devicesBySide();
+
+    LocalDateTime firstMinute = nextMinute(start.plus(PEAK_WINDOW));
+    LocalDateTime lastMinute = MINUTE.bucketStartOf(end);
+    if (!firstMinute.isBefore(lastMinute)) {
+      return Math.max(VALUE_IF_NO_POWER_CONSUMPTION, peakOfReadings(devices, start, end));
+    }
+
+    int peak = VALUE_IF_NO_POWER_CONSUMPTION;
+    peak = Math.max(peak, peakOfReadings(devices, start, firstMinute));
+    peak = Math.max(peak, peakOfMinutes(firstMinute, lastMinute));
+    LocalDateTime lastWindow = lastMinute.minus(PEAK_WINDOW);
+    peak = Math.max(peak, peakOfReadings(devices, lastWindow.isBefore(start) ? start : lastWindow,
+        end));
+    return peak;
+  }
+
+  private Optional<PowerSide> sideOf(DeviceID deviceID) {
+    return sides.computeIfAbsent(deviceID, id -> deviceRepository.ofIdentity(id)
+        .map(Device::getDeviceTypeID)
+        .flatMap(deviceTypeID -> DEVICE_TYPES.entrySet().stream()
+            .filter(entry -> entry.getValue().equals(deviceTypeID))
+            .map(Map.Entry::getKey)
+            .findFirst()));
+  }
+
+  private Map<PowerSide, List<DeviceID>> devicesBySide() {
+    Map<PowerSide, List<DeviceID>> devices = new EnumMap<>(PowerSide.class);
+    for (PowerSide side : PowerSide.values()) {
+      devices.put(side, deviceRepository.findByDeviceTypeID(DEVICE_TYPES.get(side)).stream()
+          .map(Device::getID).toList());
+    }
+    return devices;
+  }
+
+  private Map<PowerSide, List<Log>> readingsOf(Map<PowerSide, List<DeviceID>> devices,
+      LocalDateTime from, LocalDateTime to) {
+    Map<PowerSide, List<Log>> readings = new EnumMap<>(PowerSide.class);
+    for (PowerSide side : PowerSide.values()) {
+      readings.put(side, logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+          devices.get(side), POWER_SENSOR_TYPE, new DatePeriod(from, to)));
+    }
+    return readings;
+  }
+
+  /**
+   * Method to get the periods between two times that the window does not hold yet. The caller
+   * holds the lock of the window.
+   */
+  private List<DatePeriod> missingPeriods(LocalDateTime from, LocalDateTime to) {
+    if (loadedFrom == null || to.isBefore(loadedFrom) || from.isAfter(loadedTo)) {
+      return List.of(new DatePeriod(from, to));
+    }
+    List<DatePeriod> missing = new ArrayList<>();
+    if (from.isBefore(loadedFrom)) {
+      missing.add(new DatePeriod(from, loadedFrom));
+    }
+    if (to.isAfter(loadedTo)) {
+      missing.add(new DatePeriod(loadedTo, to));
+    }
+    return missing;
+  }
+
+  /**
+   * Method to read the missing periods from the log repository, without holding the window, and
+   * add them to it. Another ingestion may load or prune the same readings meanwhile: adding a
+   * reading twice changes nothing, and a period that no longer joins the loaded one replaces it,
+   * so the loaded period never claims readings the window lost.
+   */
+  private void restoreWindow(List<DatePeriod> missing) {
+    Map<PowerSide, List<DeviceID>> devices = devicesBySide();
+    List<Map<PowerSide, List<Log>>> loaded = new ArrayList<>();
+    for (DatePeriod period : missing) {
+      loaded.add(readingsOf(devices, period.getStartDate(), period.getEndDate()));
+    }
+
+    synchronized (window) {
+      for (int i = 0; i < missing.size(); i++) {
+        loaded.get(i).forEach((side, readings) -> {
+          for (Log reading : readings) {
+            if (reading.hasNumericReading()) {
+              window.add(side, reading.getTimeStamp(), reading.getReadingAsDouble());
+            }
+          }
+        });
+        LocalDateTime from = missing.get(i).getStartDate();
+        LocalDateTime to = missing.get(i).getEndDate();
+        if (loadedFrom == null || to.isBefore(loadedFrom) || from.isAfter(loadedTo)) {
+          loadedFrom = from;
+          loadedTo = to;
+        } else {
+          loadedFrom = from.isBefore(loadedFrom) ? from : loadedFrom;
+          loadedTo = to.isAfter(loadedTo) ? to : loadedTo;
+        }
+      }
+    }
+  }
+
+  /**
+   * Method to forget the readings too old to be combined with the coming ones, assuming readings
+   * arrive roughly in time order. An older reading makes the window load them again.
+   */
+  private void pruneWindow() {
+    LocalDateTime latest = window.latest();
+    if (latest == null) {
+      return;
+    }
+    LocalDateTime oldest = MINUTE.bucketStartOf(latest.minus(PEAK_WINDOW.multipliedBy(2)));
+    window.prune(oldest);
+    if (loadedFrom.isBefore(oldest)) {
+      loadedFrom = oldest;
+    }
+    if (loadedTo.isBefore(loadedFrom)) {
+      loadedFrom = null;
+      loadedTo = null;
+    }
+  }
+
+  /**
+   * Method to add the peaks of all the readings of the raised days that have no stored peak yet,
+   * so that their first stored peaks are complete: the readings of such a day may have been
+   * logged before the peaks were kept, or before a reading logged late for that day.
+   */
+  private void addDaysWithoutPeaks(Map<LocalDateTime, Integer> raises) {
+    Set<LocalDate> newDays = new TreeSet<>();
+    for (LocalDateTime minute : raises.keySet()) {
+      LocalDate day = minute.toLocalDate();
+      if (!daysWithPeaks.contains(day) && !newDays.contains(day)) {
+        if (loadDays(day, day).isEmpty()) {
+          newDays.add(day);
+        } else {
+          daysWithPeaks.add(day);
+        }
+      }
+    }
+    if (!newDays.isEmpty()) {
+      Map<PowerSide, List<DeviceID>> devices = devicesBySide();
+      for (LocalDate day : newDays) {
+        peaksOfDays(devices, day, day)
+            .forEach((minute, peak) -> raises.merge(minute, peak, Math::max));
+      }
+    }
+  }
+
+  private List<PowerPeak> savePeaks(Map<LocalDateTime, Integer> raises) {
+    List<PowerPeak> raised = storePeaks(raises);
+    if (!raised.isEmpty()) {
+      List<PowerPeak> committed = List.copyOf(raised);
+      AfterCommit.run(() -> raiseDays(committed));
+    }
+    return raised;
+  }
+
+  private List<PowerPeak> storePeaks(Map<LocalDateTime, Integer> raises) {
+    List<PowerPeakID> ids = raises.keySet().stream().map(PowerPeakID::new).toList();
+    Map<LocalDateTime, PowerPeak> storedPeaks = new HashMap<>();
+    for (PowerPeak storedPeak : powerPeakRepository.findAllByIdentity(ids)) {
+      storedPeaks.put(storedPeak.getBucketStart(), storedPeak);
+    }
+
+    List<PowerPeak> raised = new ArrayList<>();
+    for (Map.Entry<LocalDateTime, Integer> raise : raises.entrySet()) {
+      PowerPeak storedPeak = storedPeaks.get(raise.getKey());
+      if (storedPeak == null) {
+        raised.add(new PowerPeak(raise.getKey(), raise.getValue()));
+      } else if (storedPeak.raise(raise.getValue())) {
+        raised.add(storedPeak);
+      }
+    }
+    if (!raised.isEmpty()) {
+      powerPeakRepository.saveAll(raised);
+    }
+    return raised;
+  }
+
+  /**
+   * Method to raise the cached days with committed peaks. A day not cached is left to be read
+   * with the peaks when it is needed, and a day cached without any peak is dropped so it is read
+   * again.
+   */
+  private void raiseDays(List<PowerPeak> peaks) {
+    synchronized (days) {
+      for (PowerPeak powerPeak : peaks) {
+        LocalDate day = powerPeak.getBucketStart().toLocalDate();
+        daysWithPeaks.add(day);
+        MaxSegmentTree tree = days.get(day);
+        if (tree == NO_PEAKS) {
+          days.remove(day);
+        } else if (tree != null) {
+          tree.raise(minuteOfDay(powerPeak.getBucketStart()), powerPeak.getPeak());
+        }
+      }
+    }
+  }
+
+  /**
+   * Method to get the highest peak of the minutes starting in a range, from the segment trees of
+   * the days. The days not in the cache are read with a single query, and the days without any
+   * stored peak are rebuilt from their readings.
+   */
+  private int peakOfMinutes(LocalDateTime from, LocalDateTime to) {
+    LocalDate firstDay = from.toLocalDate();
+    LocalDate lastDay = to.minusNanos(1).toLocalDate();
+    int peak = MaxSegmentTree.EMPTY;
+
+    synchronized (days) {
+      Map<LocalDate, MaxSegmentTree> trees = new HashMap<>();
+      LocalDate firstMissing = null;
+      LocalDate lastMissing = null;
+      for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        MaxSegmentTree tree = days.get(day);
+        if (tree == null) {
+          firstMissing = firstMissing == null ? day : firstMissing;
+          lastMissing = day;
+        } else {
+          trees.put(day, tree);
+        }
+      }
+      if (firstMissing != null) {
+        Map<LocalDate, MaxSegmentTree> loaded = loadDays(firstMissing, lastMissing);
+        rebuildDays(firstMissing, lastMissing, trees, loaded);
+        for (LocalDate day = firstMissing; !day.isAfter(lastMissing); day = day.plusDays(1)) {
+          if (!trees.containsKey(day)) {
+            MaxSegmentTree tree = loaded.getOrDefault(day, NO_PEAKS);
+            trees.put(day, tree);
+            days.put(day, tree);
+          }
+        }
+      }
+
+      for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+        MaxSegmentTree tree = trees.get(day);
+        if (tree != NO_PEAKS) {
+          int fromSlot = day.equals(firstDay) ? minuteOfDay(from) : 0;
+          int toSlot = day.equals(to.toLocalDate()) ? minuteOfDay(to) : MINUTES_PER_DAY;
+          peak = Math.max(peak, tree.max(fromSlot, toSlot));
+        }
+      }
+    }
+    return peak;
+  }
+
+  private Map<LocalDate, MaxSegmentTree> loadDays(LocalDate firstDay, LocalDate lastDay) {
+    Map<LocalDate, MaxSegmentTree> trees = new HashMap<>();
+    DatePeriod period = new DatePeriod(firstDay.atStartOfDay(),
+        lastDay.plusDays(1).atStartOfDay().minus(MINUTE.getBucketSize()));
+    for (PowerPeak powerPeak : powerPeakRepository.findByDatePeriod(period)) {
+      trees.computeIfAbsent(powerPeak.getBucketStart().toLocalDate(),
+              day -> new MaxSegmentTree(MINUTES_PER_DAY))
+          .raise(minuteOfDay(powerPeak.getBucketStart()), powerPeak.getPeak());
+    }
+    return trees;
+  }
+
+  /**
+   * Method to rebuild the days of a range that are neither cached nor stored from their readings,
+   * with one query per run of consecutive days. The rebuilt peaks are stored so the days are only
+   * rebuilt once; a conflict with an ingestion storing the same minutes is left to that
+   * ingestion, which computes the same peaks. The caller holds the lock of the days.
+   */
+  private void rebuildDays(LocalDate firstDay, LocalDate lastDay,
+      Map<LocalDate, MaxSegmentTree> cached, Map<LocalDate, MaxSegmentTree> loaded) {
+    Map<PowerSide, List<DeviceID>> devices = null;
+    LocalDate runStart = null;
+    for (LocalDate day = firstDay; !day.isAfter(lastDay.plusDays(1)); day = day.plusDays(1)) {
+      boolean missing = !day.isAfter(lastDay) && !cached.containsKey(day)
+          && !loaded.containsKey(day);
+      if (missing && runStart == null) {
+        runStart = day;
+      } else if (!missing && runStart != null) {
+        devices = devices == null ? devicesBySide() : devices;
+        Map<LocalDateTime, Integer> peaks = peaksOfDays(devices, runStart, day.minusDays(1));
+        peaks.forEach((minute, peak) -> loaded.computeIfAbsent(minute.toLocalDate(),
+            rebuiltDay -> new MaxSegmentTree(MINUTES_PER_DAY)).raise(minuteOfDay(minute), peak));
+        try {
+          storePeaks(peaks);
+          peaks.keySet().forEach(minute -> daysWithPeaks.add(minute.toLocalDate()));
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+          LOGGER.warn("Could not store the rebuilt power peaks from {} to {}", runStart,
+              day.minusDays(1), e);
+        }
+        runStart = null;
+      }
+    }
+  }
+
+  /**
+   * Method to compute the peak of every minute of a range of days from their readings, combined
+   * with the readings of the last 15 minutes before the range.
+   */
+  private Map<LocalDateTime, Integer> peaksOfDays(Map<PowerSide, List<DeviceID>> devices,
+      LocalDate firstDay, LocalDate lastDay) {
+    LocalDateTime from = firstDay.atStartOfDay();
+    LocalDateTime to = lastDay.plusDays(1).atStartOfDay();
+    PowerWindow readingsWindow = new PowerWindow(PEAK_WINDOW);
+    Map<LocalDateTime, Integer> peaks = new HashMap<>();
+    readingsOf(devices, from.minus(PEAK_WINDOW), to.minusNanos(1)).forEach((side, readings) -> {
+      for (Log reading : readings) {
+        if (reading.hasNumericReading()) {
+          readingsWindow.accept(side, reading.getTimeStamp(), reading.getReadingAsDouble(),
+              (timestamp, value) -> {
+                if (!timestamp.isBefore(from)) {
+                  peaks.merge(MINUTE.bucketStartOf(timestamp), value, Math::max);
+                }
+              });
+        }
+      }
+    });
+    return peaks;
+  }
+
+  /**
+   * Method to compute the peak of the readings between two times directly, with a window of its
+   * own.
+   */
+  private int peakOfReadings(Map<PowerSide, List<DeviceID>> devices, LocalDateTime from,
+      LocalDateTime to) {
+    PowerWindow readingsWindow = new PowerWindow(PEAK_WINDOW);
+    int[] peak = {MaxSegmentTree.EMPTY};
+    readingsOf(devices, from, to).forEach((side, readings) -> {
+      for (Log reading : readings) {
+        if (reading.hasNumericReading()) {
+          readingsWindow.accept(side, reading.getTimeStamp(), reading.getReadingAsDouble(),
+              (timestamp, value) -> peak[0] = Math.max(peak[0], value));
+        }
+      }
+    });
+    return peak[0];
+  }
+
+  private static LocalDateTime nextMinute(LocalDateTime timestamp) {
+    LocalDateTime minute = MINUTE.bucketStartOf(timestamp);
+    return minute.equals(timestamp) ? minute : minute.plus(MINUTE.getBucketSize());
+  }
+
+  private static int minuteOfDay(LocalDateTime timestamp) {
+    return timestamp.getHour() * 60 + timestamp.getMinute();
+  }
+}
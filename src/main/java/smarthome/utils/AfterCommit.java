@@ -0,0 +1,42 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs actions once the current transaction commits, for the state kept in memory next to the
+ * database, so a transaction rolled back leaves no trace in it. Without a transaction, the action
+ * is run at once.
+ */
+public class AfterCommit {
+
+  private AfterCommit() {
+  }
+
+  /**
+   * Method to run an action once the current transaction commits
+   *
+   * @param action is the action to run.
+   */
+  public static void run(Runnable action) {
+    Validator.validateNotNull(action, "Action");
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,91 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a task for each item of a list on a fixed number of threads, so that independent blocking
+ * calls (one query per device, for instance) overlap instead of running one after the other,
+ * while never using more than the given number of threads at once.
+ */
+public class BoundedFanOut implements AutoCloseable {
+
+  private final ExecutorService executor;
+
+  /**
+   * Constructor of BoundedFanOut
+   *
+   * @param name        is the prefix of the names of the threads.
+   * @param parallelism is the maximum number of tasks running at once.
+   */
+  public BoundedFanOut(String name, int parallelism) {
+    Validator.validateNotNull(name, "Name");
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive");
+    }
+    AtomicInteger threads = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(parallelism, task -> {
+      Thread thread = new Thread(task, name + "-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Method to apply a task to each item, in parallel, and wait for every result. A single item is
+   * handled on the calling thread.
+   *
+   * @param items are the items.
+   * @param task  is the task applied to each item.
+   * @return the results, in the order of the items.
+   */
+  public <T, R> List<R> map(List<T> items, Function<T, R> task) {
+    Validator.validateNotNull(items, "Items");
+    Validator.validateNotNull(task, "Task");
+    if (items.size() == 1) {
+      return List.of(task.apply(items.get(0)));
+    }
+    List<Callable<R>> calls = new ArrayList<>(items.size());
+    for (T item : items) {
+      calls.add(() -> task.apply(item));
+    }
+    try {
+      List<R> results = new ArrayList<>(items.size());
+      for (Future<R> future : executor.invokeAll(calls)) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the results", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Method to stop the threads
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,132 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the classes and public constructors used by the reflective factories. A class name
+ * is looked up once, and the constructor matching a list of argument types is searched once; later
+ * calls with the same class and argument types get the resolved constructor from the registry. It
+ * is safe to use from several threads.
+ * <p>
+ * Only the classes and constructors found are held, so the registry is bounded by the classes of
+ * the application: the class names may come from the clients, and a name that does not exist is
+ * looked up again each time instead of being remembered.
+ */
+public class ConstructorRegistry {
+
+  private final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+  private final Map<Signature, Constructor<?>> constructors = new ConcurrentHashMap<>();
+
+  /**
+   * Method to find a class by its fully qualified name
+   *
+   * @param className is the fully qualified name of the class.
+   * @return the class, empty if it does not exist
+   */
+  public Optional<Class<?>> findClass(String className) {
+    Validator.validateNotNull(className, "Class name");
+    return Optional.ofNullable(classes.computeIfAbsent(className, ConstructorRegistry::loadClass));
+  }
+
+  /**
+   * Method to find the first public constructor of a class that accepts the given arguments
+   *
+   * @param type      is the class to instantiate.
+   * @param arguments are the arguments to pass to the constructor.
+   * @return the constructor, empty if no constructor accepts the arguments
+   */
+  public Optional<Constructor<?>> findConstructor(Class<?> type, Object... arguments) {
+    Validator.validateNotNull(type, "Class");
+    Class<?>[] argumentTypes = new Class<?>[arguments.length];
+    for (int i = 0; i < arguments.length; i++) {
+      argumentTypes[i] = arguments[i].getClass();
+    }
+    return Optional.ofNullable(constructors.computeIfAbsent(new Signature(type, argumentTypes),
+        ConstructorRegistry::matchConstructor));
+  }
+
+  /**
+   * Method to get the number of lookups held by the registry
+   *
+   * @return the number of classes and of resolved (class, argument types) pairs
+   */
+  public int size() {
+    return classes.size() + constructors.size();
+  }
+
+  /**
+   * Method to load a class, null if it does not exist so that it is not held.
+   */
+  private static Class<?> loadClass(String className) {
+    try {
+      return Class.forName(className);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Method to match a constructor, null if none accepts the arguments so that it is not held.
+   */
+  private static Constructor<?> matchConstructor(Signature signature) {
+    for (Constructor<?> constructor : signature.type.getConstructors()) {
+      if (accepts(constructor.getParameterTypes(), signature.argumentTypes)) {
+        return constructor;
+      }
+    }
+    return null;
+  }
+
+  private static boolean accepts(Class<?>[] parameterTypes, Class<?>[] argumentTypes) {
+    if (parameterTypes.length != argumentTypes.length) {
+      return false;
+    }
+    for (int i = 0; i < parameterTypes.length; i++) {
+      if (!parameterTypes[i].isAssignableFrom(argumentTypes[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A class and the types of the arguments passed to its constructor.
+   */
+  private static class Signature {
+
+    private final Class<?> type;
+    private final Class<?>[] argumentTypes;
+    private final int hashCode;
+
+    private Signature(Class<?> type, Class<?>[] argumentTypes) {
+      this.type = type;
+      this.argumentTypes = argumentTypes;
+      this.hashCode = 31 * type.hashCode() + Arrays.hashCode(argumentTypes);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (object instanceof Signature signature) {
+        return type.equals(signature.type) && Arrays.equals(argumentTypes, signature.argumentTypes);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
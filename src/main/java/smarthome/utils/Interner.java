@@ -0,0 +1,76 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of canonical instances of immutable values. Interning a value returns the instance of the
+ * pool equal to it, so equal values loaded many times share one instance and can be compared by
+ * identity. The instances are weakly held: a value no longer used elsewhere is dropped from the
+ * pool by the garbage collector.
+ * <p>
+ * The pool is split in stripes by hash code, so several threads can intern values at once.
+ *
+ * @param <T> is the type of the values.
+ */
+public class Interner<T> {
+
+  private static final int STRIPES = 16;
+
+  private final List<Map<T, WeakReference<T>>> stripes = new ArrayList<>(STRIPES);
+
+  /**
+   * Interner constructor
+   */
+  public Interner() {
+    for (int i = 0; i < STRIPES; i++) {
+      stripes.add(new WeakHashMap<>());
+    }
+  }
+
+  /**
+   * Method to get the canonical instance of a value
+   *
+   * @param value is the value to intern.
+   * @return the instance of the pool equal to the value, the value itself if there was none
+   */
+  public T intern(T value) {
+    Validator.validateNotNull(value, "Value");
+    Map<T, WeakReference<T>> stripe = stripes.get((value.hashCode() & 0x7FFFFFFF) % STRIPES);
+    synchronized (stripe) {
+      WeakReference<T> reference = stripe.get(value);
+      T canonical = reference == null ? null : reference.get();
+      if (canonical == null) {
+        stripe.put(value, new WeakReference<>(value));
+        canonical = value;
+      }
+      return canonical;
+    }
+  }
+
+  /**
+   * Method to get the number of values in the pool
+   *
+   * @return the number of values not yet collected
+   */
+  public int size() {
+    int size = 0;
+    for (Map<T, WeakReference<T>> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+}
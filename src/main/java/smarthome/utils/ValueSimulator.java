@@ -8,15 +8,14 @@
 
 package smarthome.utils;
 
-import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * This class is used to simulate values for testing purposes.
+ * This class is used to simulate values for testing purposes. The values are drawn from the random
+ * generator of the calling thread, so concurrent callers do not contend on a shared one.
  */
 public class ValueSimulator {
 
-  static SecureRandom random = new SecureRandom();
-
   /**
    * Generates a random value between the lower and upper bond.
    * @param lowerBond the lower bond.
@@ -30,7 +29,7 @@ public class ValueSimulator {
       throw new IllegalArgumentException("Lower bond should be less than upper bond");
     }
 
-    return lowerBond + (upperBond - lowerBond) * random.nextDouble();
+    return lowerBond + (upperBond - lowerBond) * ThreadLocalRandom.current().nextDouble();
   }
 
   /**
@@ -46,7 +45,7 @@ public class ValueSimulator {
     if (Math.min(lowerBond, upperBond) == upperBond) {
       throw new IllegalArgumentException("Lower bond should be less than upper bond");
     }
-    return lowerBond + random.nextInt(upperBond - lowerBond);
+    return lowerBond + ThreadLocalRandom.current().nextInt(upperBond - lowerBond);
   }
 
   /**
@@ -55,6 +54,6 @@ public class ValueSimulator {
    */
 
   public static boolean generateRandomBoolean() {
-    return random.nextBoolean();
+    return ThreadLocalRandom.current().nextBoolean();
   }
 }
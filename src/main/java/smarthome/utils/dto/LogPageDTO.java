@@ -0,0 +1,29 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.dto;
+
+import java.util.List;
+import smarthome.ddd.IDTO;
+
+public class LogPageDTO implements IDTO {
+
+  public List<LogDTO> logs;
+  public String nextCursor;
+
+  /**
+   * Constructs a new LogPageDTO object with the logs of a page and the cursor of the next one.
+   *
+   * @param logs       are the logs of the page.
+   * @param nextCursor is the cursor to request the next page, null if this is the last page.
+   */
+  public LogPageDTO(List<LogDTO> logs, String nextCursor) {
+    this.logs = logs;
+    this.nextCursor = nextCursor;
+  }
+}
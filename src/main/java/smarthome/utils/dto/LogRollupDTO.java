@@ -0,0 +1,42 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.dto;
+
+import smarthome.ddd.IDTO;
+
+public class LogRollupDTO implements IDTO {
+
+  public String deviceID;
+  public String sensorID;
+  public String sensorTypeID;
+  public String unitID;
+  public String resolution;
+  public String bucketStart;
+  public long count;
+  public double min;
+  public double max;
+  public double average;
+
+  /**
+   * Constructs a new LogRollupDTO object with the specified rollup details.
+   */
+  public LogRollupDTO(String deviceID, String sensorID, String sensorTypeID, String unitID,
+      String resolution, String bucketStart, long count, double min, double max, double average) {
+    this.deviceID = deviceID;
+    this.sensorID = sensorID;
+    this.sensorTypeID = sensorTypeID;
+    this.unitID = unitID;
+    this.resolution = resolution;
+    this.bucketStart = bucketStart;
+    this.count = count;
+    this.min = min;
+    this.max = max;
+    this.average = average;
+  }
+}
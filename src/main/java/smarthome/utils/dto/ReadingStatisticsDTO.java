@@ -0,0 +1,43 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.dto;
+
+import java.util.Map;
+import smarthome.ddd.IDTO;
+
+public class ReadingStatisticsDTO implements IDTO {
+
+  public String deviceID;
+  public String sensorTypeID;
+  public String timeStart;
+  public String timeEnd;
+  public long count;
+  public Double min;
+  public Double max;
+  public Double average;
+  public Map<String, Double> percentiles;
+
+  /**
+   * Constructs a new ReadingStatisticsDTO object with the statistics of a sensor type over a
+   * period. The minimum, maximum and average are null when there is no numeric reading.
+   */
+  public ReadingStatisticsDTO(String deviceID, String sensorTypeID, String timeStart,
+      String timeEnd, long count, Double min, Double max, Double average,
+      Map<String, Double> percentiles) {
+    this.deviceID = deviceID;
+    this.sensorTypeID = sensorTypeID;
+    this.timeStart = timeStart;
+    this.timeEnd = timeEnd;
+    this.count = count;
+    this.min = min;
+    this.max = max;
+    this.average = average;
+    this.percentiles = percentiles;
+  }
+}
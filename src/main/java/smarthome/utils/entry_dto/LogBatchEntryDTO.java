@@ -0,0 +1,25 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+/**
+ * This class represents the data transfer object for a batch of readings
+ * to be received from the client.
+ */
+
+package smarthome.utils.entry_dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogBatchEntryDTO {
+
+  public List<LogReadingEntryDTO> readings;
+}
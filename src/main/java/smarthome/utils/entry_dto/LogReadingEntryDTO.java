@@ -0,0 +1,29 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+/**
+ * This class represents the data transfer object for a single reading of a log batch
+ * to be received from the client.
+ */
+
+package smarthome.utils.entry_dto;
+
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogReadingEntryDTO {
+
+  public String deviceID;
+  public String sensorID;
+  public String timestamp;
+  public String reading;
+  public String sensorTypeID;
+  public String unitID;
+}
@@ -51,6 +51,16 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(TooManySubscriptionsException.class)
+  public ResponseEntity<Object> handleTooManySubscriptionsException(
+      TooManySubscriptionsException ex) {
+    ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+        HttpStatus.SERVICE_UNAVAILABLE.value(),
+        ex.getMessage());
+
+    return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Object> handleException(Exception ex) {
     return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
@@ -0,0 +1,62 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.live_reading;
+
+import java.util.List;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import smarthome.domain.log.Log;
+import smarthome.service.ILiveReadingService;
+import smarthome.utils.AfterCommit;
+import smarthome.utils.Validator;
+
+/**
+ * Feeds the live readings with the logs added through {@link smarthome.service.ILogService}. The
+ * readings are published once the transaction of addLog or addLogs commits, so they are never
+ * published when saving them failed, whatever the order of the aspect among the other advisors.
+ */
+@Aspect
+@Component
+public class LiveReadingFeed {
+
+  private final ILiveReadingService liveReadingService;
+
+  /**
+   * LiveReadingFeed constructor
+   *
+   * @param liveReadingService is the service the readings are published to.
+   */
+  public LiveReadingFeed(ILiveReadingService liveReadingService) {
+    Validator.validateNotNull(liveReadingService, "Live Reading Service");
+    this.liveReadingService = liveReadingService;
+  }
+
+  /**
+   * Method to publish a log added
+   *
+   * @param log is the log added.
+   */
+  @AfterReturning(pointcut = "execution(* smarthome.service.ILogService+.addLog(..))",
+      returning = "log")
+  public void publishLog(Log log) {
+    AfterCommit.run(() -> liveReadingService.publish(List.of(log)));
+  }
+
+  /**
+   * Method to publish a batch of logs added
+   *
+   * @param logs are the logs added.
+   */
+  @AfterReturning(pointcut = "execution(* smarthome.service.ILogService+.addLogs(..))",
+      returning = "logs")
+  public void publishLogs(List<Log> logs) {
+    AfterCommit.run(() -> liveReadingService.publish(logs));
+  }
+}
@@ -0,0 +1,89 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.utils.Validator;
+
+/**
+ * Metrics of the logs: a counter of the logs added through {@link smarthome.service.ILogService},
+ * whose rate is the ingestion rate, and a gauge of the number of logs stored. The logs in the
+ * repository are counted once, when the application is ready, and the gauge is then raised with the
+ * logs added, so reading the metrics does not count the rows of the Logs table. The repository is
+ * resolved lazily so the aspect does not create it before it can be instrumented itself.
+ */
+@Aspect
+@Component
+public class LogMetrics {
+
+  public static final String LOGS_INGESTED = "smarthome.logs.ingested";
+  public static final String LOGS_STORED = "smarthome.logs.stored";
+
+  private final Counter logsIngested;
+  private final AtomicLong logsStored = new AtomicLong();
+  private final ILogRepository logRepository;
+
+  /**
+   * LogMetrics constructor
+   *
+   * @param meterRegistry is the registry the metrics are published in.
+   * @param logRepository is the repository whose logs are counted.
+   */
+  public LogMetrics(MeterRegistry meterRegistry, @Lazy ILogRepository logRepository) {
+    Validator.validateNotNull(meterRegistry, "Meter registry");
+    Validator.validateNotNull(logRepository, "Log Repository");
+    this.logRepository = logRepository;
+    this.logsIngested = Counter.builder(LOGS_INGESTED)
+        .description("Logs added")
+        .register(meterRegistry);
+    Gauge.builder(LOGS_STORED, logsStored, AtomicLong::get)
+        .description("Logs stored")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Method to count the logs stored, once the application is ready
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void countLogsStored() {
+    logsStored.set(logRepository.count());
+  }
+
+  /**
+   * Method to count a log added
+   */
+  @AfterReturning("execution(* smarthome.service.ILogService+.addLog(..))")
+  public void countLog() {
+    logsIngested.increment();
+    logsStored.incrementAndGet();
+  }
+
+  /**
+   * Method to count a batch of logs added
+   *
+   * @param logs are the logs added.
+   */
+  @AfterReturning(pointcut = "execution(* smarthome.service.ILogService+.addLogs(..))",
+      returning = "logs")
+  public void countLogs(List<?> logs) {
+    logsIngested.increment(logs.size());
+    logsStored.addAndGet(logs.size());
+  }
+}
@@ -0,0 +1,87 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+import smarthome.utils.Validator;
+
+/**
+ * Times every public method of the services ({@link smarthome.ddd.IService}) and of the repositories
+ * ({@link smarthome.ddd.IRepository}). Each call is recorded in a timer tagged with the class, the
+ * method and the exception thrown ("none" when the call succeeds), so the timers also count the
+ * calls and the failures. The timers are published on /actuator/metrics when the "metrics"
+ * profile is active.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+  public static final String SERVICE_TIMER = "smarthome.service";
+  public static final String REPOSITORY_TIMER = "smarthome.repository";
+  private static final String NO_EXCEPTION = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * MetricsAspect constructor
+   *
+   * @param meterRegistry is the registry the timers are recorded in.
+   */
+  public MetricsAspect(MeterRegistry meterRegistry) {
+    Validator.validateNotNull(meterRegistry, "Meter registry");
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Method to time a call to a service
+   *
+   * @param joinPoint is the service call.
+   * @return the result of the call.
+   * @throws Throwable the exception thrown by the call.
+   */
+  @Around("execution(public * smarthome.ddd.IService+.*(..))")
+  public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(SERVICE_TIMER, joinPoint);
+  }
+
+  /**
+   * Method to time a call to a repository
+   *
+   * @param joinPoint is the repository call.
+   * @return the result of the call.
+   * @throws Throwable the exception thrown by the call.
+   */
+  @Around("execution(public * smarthome.ddd.IRepository+.*(..))")
+  public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return time(REPOSITORY_TIMER, joinPoint);
+  }
+
+  private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = NO_EXCEPTION;
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      sample.stop(Timer.builder(timerName)
+          .tag("class", AopProxyUtils.ultimateTargetClass(joinPoint.getTarget()).getSimpleName())
+          .tag("method", joinPoint.getSignature().getName())
+          .tag("exception", exception)
+          .register(meterRegistry));
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.reference_cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import smarthome.utils.Validator;
+
+/**
+ * Least recently used cache bounded by the total weight of its values rather than by their number,
+ * so that a cached list of every entity counts as much as the entities it holds.
+ * <p>
+ * Each invalidation starts a new generation. A value computed before an invalidation is not
+ * cached, since it may have been read before the write that caused it.
+ */
+public class BoundedCache<K, V> {
+
+  private final long maxWeight;
+  private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long weight;
+  private long generation;
+  private long evictions;
+
+  private record Entry<V>(V value, long weight) {
+
+  }
+
+  /**
+   * Constructor of BoundedCache
+   *
+   * @param maxWeight is the highest total weight of the values cached.
+   */
+  public BoundedCache(long maxWeight) {
+    if (maxWeight < 1) {
+      throw new IllegalArgumentException("Maximum weight must be positive");
+    }
+    this.maxWeight = maxWeight;
+  }
+
+  /**
+   * Method to get a cached value
+   *
+   * @param key is the key of the value.
+   * @return the value, null if it is not cached
+   */
+  public synchronized V get(K key) {
+    Entry<V> entry = entries.get(key);
+    return entry == null ? null : entry.value();
+  }
+
+  /**
+   * Method to get the current generation, to be given back when caching a value computed from now
+   *
+   * @return the generation.
+   */
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Method to cache a value, unless the cache was invalidated since the given generation or the
+   * value weighs more than the whole cache. The least recently used values are evicted to make
+   * room for it.
+   *
+   * @param key        is the key of the value.
+   * @param value      is the value.
+   * @param weight     is the weight of the value.
+   * @param generation is the generation the value was computed in.
+   */
+  public synchronized void put(K key, V value, long weight, long generation) {
+    Validator.validateNotNull(key, "Key");
+    Validator.validateNotNull(value, "Value");
+    if (generation != this.generation || weight > maxWeight) {
+      return;
+    }
+    Entry<V> previous = entries.put(key, new Entry<>(value, weight));
+    this.weight += weight - (previous == null ? 0 : previous.weight());
+    Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+    while (this.weight > maxWeight) {
+      this.weight -= eldest.next().getValue().weight();
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  /**
+   * Method to remove every value and start a new generation
+   */
+  public synchronized void invalidate() {
+    entries.clear();
+    weight = 0;
+    generation++;
+  }
+
+  /**
+   * Method to get the total weight of the values cached
+   *
+   * @return the weight.
+   */
+  public synchronized long weight() {
+    return weight;
+  }
+
+  /**
+   * Method to get the number of values evicted to make room for others
+   *
+   * @return the number of evictions.
+   */
+  public synchronized long evictions() {
+    return evictions;
+  }
+}
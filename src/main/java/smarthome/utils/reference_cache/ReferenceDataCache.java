@@ -0,0 +1,206 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.reference_cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import smarthome.utils.Validator;
+
+/**
+ * Caches the reads of the reference data repositories (units, sensor and actuator types and
+ * models, device types), which are written when the configuration is loaded and hardly ever after.
+ * Adding a log checks its unit and sensor type, and adding a sensor or an actuator reads its type,
+ * so those reads are answered from memory instead of the database. The devices grouped by device
+ * type are cached as well, since the grouping only changes when a device is added or changed.
+ * <p>
+ * Each repository has a cache of its own, bounded by the number of entities it holds. Any write
+ * to a repository invalidates its cache, and again once the transaction of the write completes, so
+ * a value read by another transaction before the commit is not kept. The hits, misses, evictions
+ * and size of each cache are published on /actuator/metrics when the
+ * "metrics" profile is active.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReferenceDataCache {
+
+  public static final String REQUESTS = "smarthome.reference.cache.requests";
+  public static final String EVICTIONS = "smarthome.reference.cache.evictions";
+  public static final String SIZE = "smarthome.reference.cache.size";
+  private static final List<String> WRITE_PREFIXES = List.of("save", "update", "delete");
+
+  private final MeterRegistry meterRegistry;
+  private final long maxSize;
+  private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+  private record Key(String method, List<Object> arguments) {
+
+  }
+
+  private record Region(BoundedCache<Key, Object> cache, Counter hits, Counter misses) {
+
+  }
+
+  /**
+   * ReferenceDataCache constructor
+   *
+   * @param meterRegistry is the registry the metrics are published in.
+   * @param maxSize       is the highest number of entities cached for each repository.
+   */
+  public ReferenceDataCache(MeterRegistry meterRegistry,
+      @Value("${smarthome.reference-cache.max-size:10000}") long maxSize) {
+    Validator.validateNotNull(meterRegistry, "Meter registry");
+    this.meterRegistry = meterRegistry;
+    this.maxSize = maxSize;
+  }
+
+  @Pointcut("execution(public * smarthome.domain.repository.IUnitRepository+.*(..))"
+      + " || execution(public * smarthome.domain.repository.ISensorTypeRepository+.*(..))"
+      + " || execution(public * smarthome.domain.repository.ISensorModelRepository+.*(..))"
+      + " || execution(public * smarthome.domain.repository.IActuatorTypeRepository+.*(..))"
+      + " || execution(public * smarthome.domain.repository.IActuatorModelRepository+.*(..))"
+      + " || execution(public * smarthome.domain.repository.IDeviceTypeRepository+.*(..))")
+  void referenceDataRepository() {
+  }
+
+  @Pointcut("execution(public * smarthome.domain.repository.IDeviceRepository+"
+      + ".findAllGroupedByDeviceTypeID())"
+      + " || execution(public * smarthome.domain.repository.IDeviceRepository+.save*(..))"
+      + " || execution(public * smarthome.domain.repository.IDeviceRepository+.update*(..))"
+      + " || execution(public * smarthome.domain.repository.IDeviceRepository+.delete*(..))")
+  void deviceGrouping() {
+  }
+
+  /**
+   * Method to answer a read of a reference data repository from the cache, or to invalidate the
+   * cache on a write
+   *
+   * @param joinPoint is the repository call.
+   * @return the result of the call.
+   * @throws Throwable the exception thrown by the call.
+   */
+  @Around("referenceDataRepository() || deviceGrouping()")
+  public Object cache(ProceedingJoinPoint joinPoint) throws Throwable {
+    Region region = regionOf(
+        AopProxyUtils.ultimateTargetClass(joinPoint.getTarget()).getSimpleName());
+    String method = joinPoint.getSignature().getName();
+    if (WRITE_PREFIXES.stream().anyMatch(method::startsWith)) {
+      return write(region, joinPoint);
+    }
+
+    Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+    Object cached = region.cache().get(key);
+    if (cached != null) {
+      region.hits().increment();
+      return copyOf(cached);
+    }
+    region.misses().increment();
+    long generation = region.cache().generation();
+    Object result = joinPoint.proceed();
+    if (result != null) {
+      Object value = immutableCopyOf(result);
+      region.cache().put(key, value, weightOf(value), generation);
+      return copyOf(value);
+    }
+    return result;
+  }
+
+  private Object write(Region region, ProceedingJoinPoint joinPoint) throws Throwable {
+    region.cache().invalidate();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      region.cache().invalidate();
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+              @Override
+              public void afterCompletion(int status) {
+                region.cache().invalidate();
+              }
+            });
+      }
+    }
+  }
+
+  private Region regionOf(String repository) {
+    return regions.computeIfAbsent(repository, name -> {
+      BoundedCache<Key, Object> cache = new BoundedCache<>(maxSize);
+      Gauge.builder(SIZE, cache, BoundedCache::weight)
+          .description("Entities cached")
+          .tag("repository", name)
+          .register(meterRegistry);
+      FunctionCounter.builder(EVICTIONS, cache, BoundedCache::evictions)
+          .description("Cached results evicted to make room for others")
+          .tag("repository", name)
+          .register(meterRegistry);
+      return new Region(cache, requests(name, "hit"), requests(name, "miss"));
+    });
+  }
+
+  private Counter requests(String repository, String result) {
+    return Counter.builder(REQUESTS)
+        .description("Reads of the reference data repositories")
+        .tag("repository", repository)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Method to get the weight of a result: the number of entities of a list, or of the lists of a
+   * map, 1 otherwise.
+   */
+  private static long weightOf(Object value) {
+    if (value instanceof Map<?, ?> map) {
+      return Math.max(1, map.values().stream().mapToLong(ReferenceDataCache::weightOf).sum());
+    }
+    return value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+  }
+
+  /**
+   * Method to copy a result before it is cached, so the callers cannot change it.
+   */
+  private static Object immutableCopyOf(Object value) {
+    if (value instanceof Map<?, ?> map) {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+    }
+    return value instanceof List<?> list ? List.copyOf(list) : value;
+  }
+
+  /**
+   * Method to copy a cached list or map, so the callers can change the ones they are given.
+   */
+  private static Object copyOf(Object value) {
+    if (value instanceof Map<?, ?> map) {
+      return new LinkedHashMap<>(map);
+    }
+    return value instanceof List<?> list ? new ArrayList<>(list) : value;
+  }
+}
@@ -0,0 +1,59 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * Signal following the course of a day, such as the outdoor temperature: a cosine around a mean,
+ * highest at the peak hour and lowest twelve hours later, with gaussian noise on top.
+ */
+public class DiurnalSignal implements ISignalModel {
+
+  private static final double SECONDS_PER_DAY = 86_400;
+
+  private final double min;
+  private final double max;
+  private final double mean;
+  private final double amplitude;
+  private final double peakHour;
+  private final double noise;
+
+  /**
+   * Constructor of DiurnalSignal
+   *
+   * @param min       is the lowest value of the signal.
+   * @param max       is the highest value of the signal.
+   * @param mean      is the mean of the signal over a day.
+   * @param amplitude is the difference between the value at the peak hour and the mean.
+   * @param peakHour  is the hour of the day the signal is highest at.
+   * @param noise     is the standard deviation of the noise.
+   */
+  public DiurnalSignal(double min, double max, double mean, double amplitude, double peakHour,
+      double noise) {
+    if (min >= max) {
+      throw new IllegalArgumentException("Lower bond should be less than upper bond");
+    }
+    this.min = min;
+    this.max = max;
+    this.mean = mean;
+    this.amplitude = amplitude;
+    this.peakHour = peakHour;
+    this.noise = noise;
+  }
+
+  @Override
+  public double next(LocalDateTime time, RandomGenerator random) {
+    double dayFraction = time.toLocalTime().toSecondOfDay() / SECONDS_PER_DAY - peakHour / 24;
+    double value = mean + amplitude * Math.cos(2 * Math.PI * dayFraction)
+        + noise * random.nextGaussian();
+    return Math.max(min, Math.min(max, value));
+  }
+}
@@ -0,0 +1,28 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * Model of the signal a simulated sensor measures. A model may keep the last value it gave, so
+ * each source of a signal has a model of its own.
+ */
+public interface ISignalModel {
+
+  /**
+   * Method to get the value of the signal at a time
+   *
+   * @param time   is the time of the reading.
+   * @param random is the random generator of the calling thread.
+   * @return the value, within the bounds of the model
+   */
+  double next(LocalDateTime time, RandomGenerator random);
+}
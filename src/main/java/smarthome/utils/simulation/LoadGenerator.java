@@ -0,0 +1,211 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor_type.SensorType;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILogService;
+import smarthome.service.ISensorService;
+import smarthome.service.ISensorTypeService;
+import smarthome.utils.Validator;
+
+/**
+ * Generates ingestion load when the "load-generator" profile is active: once the application is
+ * ready, the sensors of the house are read in turn and their readings are logged through
+ * {@link ILogService#addLogs} at a steady number of readings per second, in batches, from a number
+ * of threads, for a given duration. The profile turns the web server off, so the application exits
+ * when the load is done.
+ * <p>
+ * The sensors are the ones already configured, for instance by the "frontendtest" profile, so the
+ * readings pass the checks of a real ingestion. A sensor that cannot be read is left out.
+ */
+@Component
+@Profile("load-generator")
+public class LoadGenerator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final ILogService logService;
+  private final ISensorService sensorService;
+  private final ISensorTypeService sensorTypeService;
+  private final ILogFactory logFactory;
+  private final int readingsPerSecond;
+  private final int threads;
+  private final int batchSize;
+  private final Duration duration;
+
+  private record Source(ISensor sensor, UnitID unitID) {
+
+  }
+
+  /**
+   * LoadGenerator constructor
+   *
+   * @param logService        is the service the readings are logged through.
+   * @param sensorService     is the service the sensors are read from.
+   * @param sensorTypeService is the service the units of the sensors are read from.
+   * @param logFactory        is the factory of the logs.
+   * @param readingsPerSecond is the number of readings logged per second.
+   * @param threads           is the number of threads logging readings.
+   * @param batchSize         is the number of readings logged at once.
+   * @param durationSeconds   is the duration of the load, 0 to keep it up until the application
+   *                          stops.
+   */
+  public LoadGenerator(ILogService logService, ISensorService sensorService,
+      ISensorTypeService sensorTypeService, ILogFactory logFactory,
+      @Value("${smarthome.load-generator.readings-per-second:1000}") int readingsPerSecond,
+      @Value("${smarthome.load-generator.threads:4}") int threads,
+      @Value("${smarthome.load-generator.batch-size:100}") int batchSize,
+      @Value("${smarthome.load-generator.duration-seconds:60}") long durationSeconds) {
+    Validator.validateNotNull(logService, "Log Service");
+    Validator.validateNotNull(sensorService, "Sensor Service");
+    Validator.validateNotNull(sensorTypeService, "Sensor Type Service");
+    Validator.validateNotNull(logFactory, "Log Factory");
+    if (readingsPerSecond < 1 || threads < 1 || batchSize < 1) {
+      throw new IllegalArgumentException(
+          "Readings per second, threads and batch size must be positive");
+    }
+    if (durationSeconds < 0) {
+      throw new IllegalArgumentException("Duration cannot be negative");
+    }
+    this.logService = logService;
+    this.sensorService = sensorService;
+    this.sensorTypeService = sensorTypeService;
+    this.logFactory = logFactory;
+    this.readingsPerSecond = readingsPerSecond;
+    this.threads = Math.min(threads, readingsPerSecond);
+    this.batchSize = batchSize;
+    this.duration = Duration.ofSeconds(durationSeconds);
+  }
+
+  /**
+   * Method to generate the load once the application is ready
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting for the load.
+   * @throws ExecutionException   if logging the readings failed.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() throws InterruptedException, ExecutionException {
+    generate();
+  }
+
+  /**
+   * Method to log readings of the sensors at the configured rate for the configured duration
+   *
+   * @return the number of readings logged.
+   * @throws InterruptedException if the thread is interrupted while waiting for the load.
+   * @throws ExecutionException   if logging the readings failed.
+   */
+  public long generate() throws InterruptedException, ExecutionException {
+    List<Source> sources = sources();
+    if (sources.isEmpty()) {
+      LOGGER.warn("There are no sensors to read, no load is generated");
+      return 0;
+    }
+    LOGGER.info("Logging {} readings per second of {} sensors from {} threads",
+        readingsPerSecond, sources.size(), threads);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long start = System.nanoTime();
+    long end = duration.isZero() ? Long.MAX_VALUE : start + duration.toNanos();
+    try {
+      List<Future<Long>> workers = new ArrayList<>();
+      for (int worker = 0; worker < threads; worker++) {
+        int rate = readingsPerSecond / threads + (worker < readingsPerSecond % threads ? 1 : 0);
+        int first = worker;
+        workers.add(executor.submit(() -> drive(sources, first, rate, start, end)));
+      }
+      long logged = 0;
+      for (Future<Long> worker : workers) {
+        logged += worker.get();
+      }
+      double seconds = (System.nanoTime() - start) / (double) NANOS_PER_SECOND;
+      LOGGER.info("Logged {} readings in {} s, {} readings per second", logged,
+          Math.round(seconds), Math.round(logged / seconds));
+      return logged;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Method to log readings at a rate until the end, each batch waiting for the time it is due at
+   * so that a late batch is caught up by the next ones.
+   */
+  private long drive(List<Source> sources, int first, int rate, long start, long end) {
+    long logged = 0;
+    int next = first % sources.size();
+    while (!Thread.currentThread().isInterrupted()) {
+      long due = start + logged * NANOS_PER_SECOND / rate;
+      if (due >= end) {
+        break;
+      }
+      LockSupport.parkNanos(due - System.nanoTime());
+      List<Log> logs = new ArrayList<>(batchSize);
+      for (int i = 0; i < batchSize; i++) {
+        logs.add(read(sources.get(next)));
+        next = (next + 1) % sources.size();
+      }
+      logService.addLogs(logs);
+      logged += logs.size();
+    }
+    return logged;
+  }
+
+  private Log read(Source source) {
+    ISensor sensor = source.sensor();
+    return logFactory.createLog(sensor.getDeviceID(), sensor.getID(), LocalDateTime.now(),
+        new ReadingValue(sensor.getValue().toString()), sensor.getSensorTypeID(),
+        source.unitID());
+  }
+
+  /**
+   * Method to get the sensors that can be read, with the units of their readings.
+   */
+  private List<Source> sources() {
+    List<Source> sources = new ArrayList<>();
+    for (ISensor sensor : sensorService.getAllSensors()) {
+      Optional<SensorType> sensorType =
+          sensorTypeService.getSensorTypeByID(sensor.getSensorTypeID());
+      if (sensorType.isEmpty()) {
+        continue;
+      }
+      try {
+        sensor.getValue();
+        sources.add(new Source(sensor, sensorType.get().getUnitID()));
+      } catch (RuntimeException e) {
+        LOGGER.warn("Sensor {} cannot be read, it is left out of the load", sensor.getID(), e);
+      }
+    }
+    return sources;
+  }
+}
@@ -0,0 +1,69 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * Signal drifting from one reading to the next, such as the wind speed: each value is the previous
+ * one plus a gaussian step. The first value is drawn uniformly between the bounds. A value past a
+ * bound is reflected back inside, or wrapped around when the signal is circular, like a direction.
+ */
+public class RandomWalkSignal implements ISignalModel {
+
+  private final double min;
+  private final double max;
+  private final double step;
+  private final boolean circular;
+  private double value = Double.NaN;
+
+  /**
+   * Constructor of RandomWalkSignal
+   *
+   * @param min      is the lowest value of the signal.
+   * @param max      is the highest value of the signal.
+   * @param step     is the standard deviation of the change between two readings.
+   * @param circular is true if the highest value is followed by the lowest one.
+   */
+  public RandomWalkSignal(double min, double max, double step, boolean circular) {
+    if (min >= max) {
+      throw new IllegalArgumentException("Lower bond should be less than upper bond");
+    }
+    this.min = min;
+    this.max = max;
+    this.step = step;
+    this.circular = circular;
+  }
+
+  @Override
+  public synchronized double next(LocalDateTime time, RandomGenerator random) {
+    if (Double.isNaN(value)) {
+      value = random.nextDouble(min, max);
+    } else {
+      value = circular ? wrap(value + step * random.nextGaussian())
+          : reflect(value + step * random.nextGaussian());
+    }
+    return value;
+  }
+
+  private double wrap(double next) {
+    double wrapped = min + (next - min) % (max - min);
+    return wrapped < min ? wrapped + (max - min) : wrapped;
+  }
+
+  private double reflect(double next) {
+    double period = 2 * (max - min);
+    double offset = (next - min) % period;
+    if (offset < 0) {
+      offset += period;
+    }
+    return offset <= max - min ? min + offset : max - (offset - (max - min));
+  }
+}
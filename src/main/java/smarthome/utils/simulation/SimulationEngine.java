@@ -0,0 +1,110 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import smarthome.utils.Validator;
+
+/**
+ * Engine giving the simulated sensors their values. Each signal, such as the temperature or the
+ * wind speed, has a model factory, and each source of a signal (a sensor) gets a model of its own
+ * the first time it is read, so that successive readings of a sensor follow one another instead
+ * of being white noise. The factory of a signal can be replaced with {@link #register}.
+ * <p>
+ * The values are drawn from the random generator of the calling thread, so concurrent readings
+ * do not contend on a shared generator. Beyond {@link #MAX_SOURCES} sources, new sources get a
+ * fresh model at each reading.
+ */
+public class SimulationEngine {
+
+  public static final String TEMPERATURE = "Temperature";
+  public static final String HUMIDITY = "Humidity";
+  public static final String DEW_POINT = "DewPoint";
+  public static final String WIND_SPEED = "WindSpeed";
+  public static final String WIND_DIRECTION = "WindDirection";
+  public static final String INSTANT_POWER_CONSUMPTION = "InstantPowerConsumption";
+  public static final String SWITCH = "Switch";
+  public static final int MAX_SOURCES = 100_000;
+  private static final SimulationEngine SHARED = createDefault();
+
+  private final Map<String, Supplier<ISignalModel>> factories = new ConcurrentHashMap<>();
+  private final Map<Source, ISignalModel> models = new ConcurrentHashMap<>();
+
+  private record Source(String signal, Object source) {
+
+  }
+
+  /**
+   * Method to get the engine shared by the simulated sensors
+   *
+   * @return the shared engine.
+   */
+  public static SimulationEngine shared() {
+    return SHARED;
+  }
+
+  /**
+   * Method to create an engine with the models of the signals of the simulated sensors
+   *
+   * @return the engine.
+   */
+  public static SimulationEngine createDefault() {
+    SimulationEngine engine = new SimulationEngine();
+    engine.register(TEMPERATURE, () -> new DiurnalSignal(-50, 50, 15, 6, 15, 0.5));
+    engine.register(HUMIDITY, () -> new DiurnalSignal(0, 100, 65, 15, 4, 2));
+    engine.register(DEW_POINT, () -> new RandomWalkSignal(-70, 70, 0.5, false));
+    engine.register(WIND_SPEED, () -> new RandomWalkSignal(0, 408, 2, false));
+    engine.register(WIND_DIRECTION, () -> new RandomWalkSignal(0, 2 * Math.PI, 0.1, true));
+    engine.register(INSTANT_POWER_CONSUMPTION, () -> new StepSignal(0, 100, 0.05));
+    engine.register(SWITCH, () -> new StepSignal(0, 1, 0.1));
+    return engine;
+  }
+
+  /**
+   * Method to set the model factory of a signal. The sources already read get a new model.
+   *
+   * @param signal  is the name of the signal.
+   * @param factory creates the model of a source of the signal.
+   */
+  public void register(String signal, Supplier<ISignalModel> factory) {
+    Validator.validateNotNull(signal, "Signal");
+    Validator.validateNotNull(factory, "Factory");
+    factories.put(signal, factory);
+    models.keySet().removeIf(source -> source.signal().equals(signal));
+  }
+
+  /**
+   * Method to get the value of a signal read by a source
+   *
+   * @param signal is the name of the signal.
+   * @param source is the source of the signal, such as the ID of a sensor.
+   * @param time   is the time of the reading.
+   * @return the value.
+   * @throws IllegalArgumentException if the signal has no model.
+   */
+  public double next(String signal, Object source, LocalDateTime time) {
+    Validator.validateNotNull(source, "Source");
+    Validator.validateNotNull(time, "Time");
+    Supplier<ISignalModel> factory = factories.get(signal);
+    if (factory == null) {
+      throw new IllegalArgumentException("No model for signal " + signal);
+    }
+    Source key = new Source(signal, source);
+    ISignalModel model = models.get(key);
+    if (model == null) {
+      model = models.size() < MAX_SOURCES
+          ? models.computeIfAbsent(key, k -> factory.get()) : factory.get();
+    }
+    return model.next(time, ThreadLocalRandom.current());
+  }
+}
@@ -0,0 +1,52 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+
+/**
+ * Signal holding a level until it jumps to another one, such as the power drawn by an appliance
+ * turned on and off: at each reading the level changes with the given probability, to a value
+ * drawn uniformly between the bounds.
+ */
+public class StepSignal implements ISignalModel {
+
+  private final double min;
+  private final double max;
+  private final double changeProbability;
+  private double level = Double.NaN;
+
+  /**
+   * Constructor of StepSignal
+   *
+   * @param min               is the lowest level of the signal.
+   * @param max               is the highest level of the signal.
+   * @param changeProbability is the probability the level changes at a reading.
+   */
+  public StepSignal(double min, double max, double changeProbability) {
+    if (min >= max) {
+      throw new IllegalArgumentException("Lower bond should be less than upper bond");
+    }
+    if (changeProbability < 0 || changeProbability > 1) {
+      throw new IllegalArgumentException("Change probability must be between 0 and 1");
+    }
+    this.min = min;
+    this.max = max;
+    this.changeProbability = changeProbability;
+  }
+
+  @Override
+  public synchronized double next(LocalDateTime time, RandomGenerator random) {
+    if (Double.isNaN(level) || random.nextDouble() < changeProbability) {
+      level = random.nextDouble(min, max);
+    }
+    return level;
+  }
+}
@@ -60,7 +60,9 @@ import smarthome.service.DeviceServiceImpl;
 import smarthome.service.HouseServiceImpl;
 import smarthome.service.IDeviceService;
 import smarthome.service.IHouseService;
+import smarthome.service.ILogRollupService;
 import smarthome.service.ILogService;
+import smarthome.service.IPowerPeakService;
 import smarthome.service.IRoomService;
 import smarthome.service.LogServiceImpl;
 import smarthome.service.RoomServiceImpl;
@@ -93,7 +95,8 @@ class GetLogFromDeviceControllerTest {
     unitRepository = mock(IUnitRepository.class);
     logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
     IAssembler<Log, LogDTO> logAssembler = new LogAssembler();
     IDeviceFactory deviceFactory = new DeviceFactoryImpl();
     roomRepository = mock(IRoomRepository.class);
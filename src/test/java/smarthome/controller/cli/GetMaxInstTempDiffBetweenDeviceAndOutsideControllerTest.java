@@ -32,7 +32,9 @@ import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILogRollupService;
 import smarthome.service.ILogService;
+import smarthome.service.IPowerPeakService;
 import smarthome.service.LogServiceImpl;
 
 class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
@@ -52,7 +54,8 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     ILogFactory logFactory = new LogFactoryImpl();
 
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     //Act
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
@@ -98,7 +101,8 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
         logService);
@@ -174,7 +178,8 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
         logService);
@@ -248,7 +253,8 @@ class GetMaxInstTempDiffBetweenDeviceAndOutsideControllerTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     ILogService logService = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     GetMaxInstTempDiffBetweenDeviceAndOutsideController getMaxInstTempDiffBetweenDeviceAndOutsideController = new GetMaxInstTempDiffBetweenDeviceAndOutsideController(
         logService);
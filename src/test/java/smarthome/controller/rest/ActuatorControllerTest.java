@@ -821,8 +821,8 @@ class ActuatorControllerTest {
 
     Log log1 = new LogFactoryImpl().createLog(device.getID(), sensorID, timeStamp, readingValue,
         sensorTypeID, actuatorUnit.getID());
-    when(logService.getDeviceReadingsByDeviceIDAndSensorTypeID(device.getID(),
-        sensorTypeID)).thenReturn(List.of(log1));
+    when(logService.getLatestReading(device.getID(), sensorTypeID))
+        .thenReturn(Optional.of(log1));
 
     //Act + Assert
     MvcResult result = mockMvc.perform(post("/actuators/set-blindRoller")
@@ -901,8 +901,8 @@ class ActuatorControllerTest {
 
     Log log1 = new LogFactoryImpl().createLog(device.getID(), sensorID, timeStamp, readingValue,
         sensorTypeID, actuatorUnit.getID());
-    when(logService.getDeviceReadingsByDeviceIDAndSensorTypeID(device.getID(),
-        sensorTypeID)).thenReturn(List.of(log1));
+    when(logService.getLatestReading(device.getID(), sensorTypeID))
+        .thenReturn(Optional.of(log1));
 
     //Act + Assert
     MvcResult result = mockMvc.perform(post("/actuators/set-blindRoller")
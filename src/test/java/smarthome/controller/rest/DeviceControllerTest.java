@@ -19,7 +19,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -474,9 +476,10 @@ class DeviceControllerTest {
     when(roomRepository.ofIdentity(room.getID())).thenReturn(Optional.of(room));
     when(deviceTypeRepository.findAll()).thenReturn(List.of(deviceType, deviceType2));
 
-    when(deviceRepository.findByDeviceTypeID(deviceType.getID())).thenReturn(List.of(device));
-    when(deviceRepository.findByDeviceTypeID(deviceType2.getID())).thenReturn(
-        List.of(deviceTwo, deviceThree));
+    Map<DeviceTypeID, List<Device>> devicesByDeviceType = new LinkedHashMap<>();
+    devicesByDeviceType.put(deviceType.getID(), List.of(device));
+    devicesByDeviceType.put(deviceType2.getID(), List.of(deviceTwo, deviceThree));
+    when(deviceRepository.findAllGroupedByDeviceTypeID()).thenReturn(devicesByDeviceType);
 
     String expectedResponse =
         "{\"Bulb\":[{\"deviceID\":\"" + device.getID().getID() + "\",\"roomID\":\"" +
@@ -0,0 +1,103 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.controller.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class LinkTemplateTest {
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  /**
+   * Test that the template joins the request mappings of the controller and of the method.
+   */
+  @Test
+  void shouldReadTemplateFromRequestMappings() {
+    // Act
+    LinkTemplate getDevice = LinkTemplate.of(DeviceController.class, "getDevice", String.class);
+    LinkTemplate listDevices = LinkTemplate.of(DeviceController.class, "listDevices");
+
+    // Assert
+    assertEquals("/devices/{id}", getDevice.toString());
+    assertEquals("/devices", listDevices.toString());
+  }
+
+  /**
+   * Test that the values of the variables are encoded as path segments.
+   */
+  @Test
+  void shouldEncodeValues_WhenTemplateIsExpanded() {
+    // Arrange
+    LinkTemplate template = LinkTemplate.of(DeviceController.class, "deactivateDevice",
+        String.class);
+
+    // Act
+    Link link = template.expand("http://localhost", "living room/1");
+
+    // Assert
+    assertEquals("http://localhost/devices/deactivate/living%20room%2F1", link.getHref());
+  }
+
+  /**
+   * Test that the base URI is the one of the current request.
+   */
+  @Test
+  void shouldReturnBaseUriOfCurrentRequest() {
+    // Arrange
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setServerPort(8080);
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    // Act
+    String baseUri = LinkTemplate.currentBaseUri();
+
+    // Assert
+    assertEquals("http://localhost:8080", baseUri);
+  }
+
+  /**
+   * Test that a template takes exactly one value per variable.
+   */
+  @Test
+  void shouldThrowException_WhenNumberOfValuesDoesNotMatch() {
+    // Arrange
+    LinkTemplate template = LinkTemplate.of(DeviceController.class, "getDevice", String.class);
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> template.expand("http://localhost"));
+
+    // Assert
+    assertEquals("Template /devices/{id} takes 1 values", exception.getMessage());
+  }
+
+  /**
+   * Test that a method without request mapping has no template.
+   */
+  @Test
+  void shouldThrowException_WhenMethodIsNotMapped() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> LinkTemplate.of(DeviceController.class, "toString"));
+
+    // Assert
+    assertEquals("Method toString is not mapped", exception.getMessage());
+  }
+}
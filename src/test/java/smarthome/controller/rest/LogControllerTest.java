@@ -10,14 +10,26 @@ package smarthome.controller.rest;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -25,23 +37,38 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import smarthome.ddd.IAssembler;
 import smarthome.domain.device.Device;
 import smarthome.domain.device.IDeviceFactory;
 import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.log_rollup.LogRollup;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.repository.IPowerPeakRepository;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.repository.IUnitRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.DeviceName;
 import smarthome.domain.value_object.DeviceStatus;
 import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.ReadingStatistics;
 import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RollupResolution;
 import smarthome.domain.value_object.RoomID;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
 import smarthome.domain.value_object.UnitID;
+import smarthome.utils.LoadDefaultConfiguration;
+import smarthome.utils.dto.LogDTO;
+import smarthome.utils.entry_dto.LogBatchEntryDTO;
+import smarthome.utils.entry_dto.LogReadingEntryDTO;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -62,6 +89,30 @@ class LogControllerTest {
   @MockBean
   private ILogRepository logRepository;
 
+  @MockBean
+  private ILogRollupRepository logRollupRepository;
+
+  @MockBean
+  private IPowerPeakRepository powerPeakRepository;
+
+  @MockBean
+  private ISensorRepository sensorRepository;
+
+  @MockBean
+  private ISensorTypeRepository sensorTypeRepository;
+
+  @MockBean
+  private IUnitRepository unitRepository;
+
+  @MockBean
+  private LoadDefaultConfiguration loadDefaultConfiguration;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private IAssembler<Log, LogDTO> logAssembler;
+
   Log setupLog() {
     ILogFactory logFactory = new LogFactoryImpl();
     LocalDateTime timeStamp = LocalDateTime.of(2021, 5, 1, 12, 0);
@@ -417,11 +468,11 @@ class LogControllerTest {
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerMeter.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerSource.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerSourceLogs);
 
     // Act & Assert
@@ -441,8 +492,8 @@ class LogControllerTest {
   @Test
   void shouldReturnZeroWhenNoLogsFound_WhenParametersAreValid() throws Exception {
     // Arrange
-    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 1, 12, 0);
-    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 1, 13, 0);
+    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 2, 12, 0);
+    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 2, 13, 0);
 
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
 
@@ -459,11 +510,11 @@ class LogControllerTest {
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerMeter.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerSource.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerSourceLogs);
 
     // Act & Assert
@@ -485,13 +536,13 @@ class LogControllerTest {
   @Test
   void shouldReturnHighestReadingOfOneList_WhenLogsOutOfTimeDelta() throws Exception {
     // Arrange
-    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 1, 12, 0);
-    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 1, 13, 0);
+    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 3, 12, 0);
+    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 3, 13, 0);
 
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
 
-    LocalDateTime initialTimeOutOfDelta = LocalDateTime.of(2021, 5, 1, 13, 16);
-    LocalDateTime finalTimeOutOfDelta = LocalDateTime.of(2021, 5, 1, 14, 16);
+    LocalDateTime initialTimeOutOfDelta = LocalDateTime.of(2021, 5, 3, 13, 16);
+    LocalDateTime finalTimeOutOfDelta = LocalDateTime.of(2021, 5, 3, 14, 16);
 
     DatePeriod datePeriodOutOfDelta = new DatePeriod(initialTimeOutOfDelta, finalTimeOutOfDelta);
 
@@ -515,11 +566,11 @@ class LogControllerTest {
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerMeter.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerSource.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerSourceLogs);
 
     // Act & Assert
@@ -540,8 +591,8 @@ class LogControllerTest {
   @Test
   void shouldReturnMaxPowerConsumption_WhenOnlyOneListHasValues() throws Exception {
     // Arrange
-    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 1, 12, 0);
-    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 1, 13, 0);
+    LocalDateTime initialTime = LocalDateTime.of(2021, 5, 4, 12, 0);
+    LocalDateTime finalTime = LocalDateTime.of(2021, 5, 4, 13, 0);
 
     DatePeriod datePeriod = new DatePeriod(initialTime, finalTime);
 
@@ -562,11 +613,11 @@ class LogControllerTest {
     when(deviceRepository.findByDeviceTypeID(powerSource.getDeviceTypeID()))
         .thenReturn(List.of(powerSource));
 
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerMeter.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerMeter.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerMeterLogs);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(
-        powerSource.getID(), sensorTypeID, datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        eq(List.of(powerSource.getID())), eq(sensorTypeID), any(DatePeriod.class)))
         .thenReturn(powerSourceLogs);
 
     // Act & Assert
@@ -593,8 +644,7 @@ class LogControllerTest {
     DeviceID deviceID = new DeviceID(deviceIDStr);
     SensorTypeID sensorTypeID = new SensorTypeID(sensorTypeIDStr);
 
-    when(logRepository.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID))
-        .thenReturn(List.of(log));
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.of(log));
 
     // Act & Assert
     mockMvc
@@ -618,7 +668,7 @@ class LogControllerTest {
     DeviceID deviceID = new DeviceID(deviceIDStr);
     SensorTypeID sensorTypeID = new SensorTypeID(sensorTypeIDStr);
 
-    when(logRepository.findByDeviceIDAndSensorTypeID(deviceID, sensorTypeID)).thenReturn(List.of());
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.empty());
 
     // Act & Assert
     mockMvc
@@ -631,4 +681,280 @@ class LogControllerTest {
         .andExpect(jsonPath("$.message").value(
             "No log records found for the specified device and sensor type."));
   }
+
+  /**
+   * Test that a batch of readings is saved and returned with status created.
+   */
+  @Test
+  void shouldReturnCreated_WhenBatchOfReadingsIsValid() throws Exception {
+    // Arrange
+    LogReadingEntryDTO reading1 = new LogReadingEntryDTO("2", "1", "2024-01-01T10:00:00", "20",
+        "Temperature", "C");
+    LogReadingEntryDTO reading2 = new LogReadingEntryDTO("2", "1", "2024-01-01T10:05:00", "21",
+        "Temperature", "C");
+    LogBatchEntryDTO batch = new LogBatchEntryDTO(List.of(reading1, reading2));
+
+    when(deviceRepository.containsOfIdentity(any(DeviceID.class))).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any(SensorID.class))).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any(SensorTypeID.class))).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any(UnitID.class))).thenReturn(true);
+    when(logRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$", hasSize(2)));
+  }
+
+  /**
+   * Test that an empty batch of readings is rejected.
+   */
+  @Test
+  void shouldReturnBadRequest_WhenBatchOfReadingsIsEmpty() throws Exception {
+    // Arrange
+    LogBatchEntryDTO batch = new LogBatchEntryDTO(List.of());
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test that a batch without readings is rejected.
+   */
+  @Test
+  void shouldReturnBadRequest_WhenBatchHasNoReadings() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test that the rollups of a device are returned at the requested resolution.
+   */
+  @Test
+  void shouldReturnRollups_WhenResolutionIsGiven() throws Exception {
+    // Arrange
+    LogRollup logRollup = new LogRollup(setupLog(), RollupResolution.ONE_HOUR);
+
+    when(logRollupRepository.findByDeviceIDAndResolutionAndDatePeriod(
+        any(DeviceID.class), any(RollupResolution.class), any(DatePeriod.class)))
+        .thenReturn(List.of(logRollup));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs")
+                .param("deviceID", "123")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("resolution", "1h"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].resolution").value("1h"))
+        .andExpect(jsonPath("$[0].average").value(20.0));
+  }
+
+  /**
+   * Test that the rollups of a device are rebuilt from its logs.
+   */
+  @Test
+  void shouldReturnRebuiltRollups_WhenRollupsAreRebuilt() throws Exception {
+    // Arrange
+    Log log = setupLog();
+    when(logRepository.findByDeviceIDAndDatePeriodBetween(any(DeviceID.class),
+        any(DatePeriod.class))).thenReturn(List.of(log));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/logs/rollups/rebuild")
+                .param("deviceID", "2")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-01T23:59:00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(RollupResolution.values().length)))
+        .andExpect(jsonPath("$[0].resolution").value("1m"));
+  }
+
+  /**
+   * Test that the statistics of a sensor type are returned with the requested percentiles.
+   */
+  @Test
+  void shouldReturnStatistics_WhenPercentilesAreGiven() throws Exception {
+    // Arrange
+    ReadingStatistics statistics = new ReadingStatistics(4, 10, 40, 25,
+        Map.of(50.0, 20.0, 99.5, 40.0));
+
+    when(logRepository.findStatistics(any(DeviceID.class), any(SensorTypeID.class),
+        any(DatePeriod.class), eq(List.of(50.0, 99.5))))
+        .thenReturn(statistics);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/stats")
+                .param("deviceID", "123")
+                .param("sensorTypeID", "Temperature")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("percentiles", "50,99.5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count").value(4))
+        .andExpect(jsonPath("$.average").value(25.0))
+        .andExpect(jsonPath("$.percentiles.p50").value(20.0))
+        .andExpect(jsonPath("$.percentiles['p99.5']").value(40.0));
+  }
+
+  /**
+   * Test that a percentile above 100 is rejected.
+   */
+  @Test
+  void shouldReturnBadRequest_WhenPercentileIsAbove100() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/stats")
+                .param("deviceID", "123")
+                .param("sensorTypeID", "Temperature")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("percentiles", "101"))
+        .andExpect(status().isBadRequest());
+  }
+
+  /**
+   * Test that an unknown resolution is rejected.
+   */
+  @Test
+  void shouldReturnBadRequest_WhenResolutionIsUnknown() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs")
+                .param("deviceID", "123")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("resolution", "5m"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Unknown resolution: 5m"));
+  }
+
+  /**
+   * Test that a full page of logs comes with the cursor of its last log.
+   */
+  @Test
+  void shouldReturnPageWithNextCursor_WhenPageIsFull() throws Exception {
+    // Arrange
+    Log log = setupLog();
+
+    when(logRepository.findPageByDeviceIDAndDatePeriod(
+        any(DeviceID.class), any(DatePeriod.class), isNull(), eq(1)))
+        .thenReturn(List.of(log));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/page")
+                .param("deviceID", "2")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.logs", hasSize(1)))
+        .andExpect(jsonPath("$.nextCursor").value(LogCursor.of(log).encode()));
+  }
+
+  /**
+   * Test that the last page of logs has no next cursor.
+   */
+  @Test
+  void shouldReturnPageWithoutNextCursor_WhenPageIsNotFull() throws Exception {
+    // Arrange
+    Log log = setupLog();
+    LogCursor cursor = LogCursor.of(setupLog());
+
+    when(logRepository.findPageByDeviceIDAndDatePeriod(
+        any(DeviceID.class), any(DatePeriod.class), eq(cursor), eq(10)))
+        .thenReturn(List.of(log));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/page")
+                .param("deviceID", "2")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("cursor", cursor.encode())
+                .param("limit", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.logs", hasSize(1)))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  /**
+   * Test that a cursor that was not returned by the API is rejected.
+   */
+  @Test
+  void shouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/logs/page")
+                .param("deviceID", "2")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00")
+                .param("cursor", "not a cursor"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Invalid cursor"));
+  }
+
+  /**
+   * Test that the logs are streamed one JSON object per line.
+   */
+  @Test
+  void shouldStreamLogsAsNewlineDelimitedJson() throws Exception {
+    // Arrange
+    Log log1 = setupLog();
+    Log log2 = setupLog();
+
+    doAnswer(invocation -> {
+      Consumer<Log> action = invocation.getArgument(2);
+      action.accept(log1);
+      action.accept(log2);
+      return null;
+    }).when(logRepository).forEachByDeviceIDAndDatePeriod(
+        any(DeviceID.class), any(DatePeriod.class), any());
+
+    // Act
+    MvcResult result = mockMvc
+        .perform(
+            get("/logs/stream")
+                .param("deviceID", "2")
+                .param("timeStart", "2021-05-01T00:00:00")
+                .param("timeEnd", "2021-05-02T00:00:00"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // Assert
+    String expected = objectMapper.writeValueAsString(logAssembler.domainToDTO(log1)) + "\n"
+        + objectMapper.writeValueAsString(logAssembler.domainToDTO(log2)) + "\n";
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string(expected));
+  }
 }
@@ -0,0 +1,142 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.SensorTypeID;
+
+class LatestReadingStoreTest {
+
+  private Log createMockLog(DeviceID deviceID, SensorTypeID sensorTypeID,
+      LocalDateTime timestamp) {
+    Log log = mock(Log.class);
+    when(log.getDeviceID()).thenReturn(deviceID);
+    when(log.getDescription()).thenReturn(sensorTypeID);
+    when(log.getTimeStamp()).thenReturn(timestamp);
+    return log;
+  }
+
+  /**
+   * Test that a newer reading replaces the stored one.
+   */
+  @Test
+  void shouldReturnNewerReading_WhenReadingsArriveInOrder() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("device1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    Log log1 = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 0));
+    Log log2 = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 5));
+    LatestReadingStore store = new LatestReadingStore();
+
+    // Act
+    store.update(log1);
+    store.update(log2);
+
+    // Assert
+    assertEquals(Optional.of(log2), store.find(deviceID, sensorTypeID));
+  }
+
+  /**
+   * Test that an older reading arriving late does not replace the stored one.
+   */
+  @Test
+  void shouldKeepNewerReading_WhenOlderReadingArrivesLate() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("device1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    Log log1 = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 5));
+    Log log2 = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 0));
+    LatestReadingStore store = new LatestReadingStore();
+
+    // Act
+    store.update(log1);
+    store.update(log2);
+
+    // Assert
+    assertEquals(Optional.of(log1), store.find(deviceID, sensorTypeID));
+  }
+
+  /**
+   * Test that readings of other devices or sensor types are not returned.
+   */
+  @Test
+  void shouldReturnEmpty_WhenNoReadingOfDeviceAndSensorType() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("device1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    LatestReadingStore store = new LatestReadingStore();
+    store.update(createMockLog(new DeviceID("device2"), sensorTypeID,
+        LocalDateTime.of(2024, 1, 1, 1, 0)));
+    store.update(createMockLog(deviceID, new SensorTypeID("Temperature"),
+        LocalDateTime.of(2024, 1, 1, 1, 0)));
+
+    // Act
+    Optional<Log> result = store.find(deviceID, sensorTypeID);
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the latest stored reading is kept when it is newer than the readings recorded.
+   */
+  @Test
+  void shouldReturnStoredReading_WhenNewerThanRecordedReading() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("device1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    Log stored = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 5));
+    LatestReadingStore store = new LatestReadingStore();
+    store.update(createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 0)));
+
+    // Act
+    Optional<Log> result = store.find(deviceID, sensorTypeID, () -> Optional.of(stored));
+
+    // Assert
+    assertEquals(Optional.of(stored), result);
+  }
+
+  /**
+   * Test that the latest stored reading is only loaded on the first lookup of a sensor, the
+   * readings recorded after it being kept when newer.
+   */
+  @Test
+  void shouldLoadStoredReadingOnce_WhenSensorIsLookedUpAgain() {
+    // Arrange
+    DeviceID deviceID = new DeviceID("device1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    Log stored = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 0));
+    Log recorded = createMockLog(deviceID, sensorTypeID, LocalDateTime.of(2024, 1, 1, 1, 5));
+    LatestReadingStore store = new LatestReadingStore();
+    int[] loads = {0};
+    store.find(deviceID, sensorTypeID, () -> {
+      loads[0]++;
+      return Optional.of(stored);
+    });
+    store.update(recorded);
+
+    // Act
+    Optional<Log> result = store.find(deviceID, sensorTypeID, () -> {
+      loads[0]++;
+      return Optional.of(stored);
+    });
+
+    // Assert
+    assertEquals(Optional.of(recorded), result);
+    assertEquals(1, loads[0]);
+  }
+}
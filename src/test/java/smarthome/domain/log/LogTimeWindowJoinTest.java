@@ -0,0 +1,135 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.TimeDelta;
+
+class LogTimeWindowJoinTest {
+
+  private Log createMockLog(LocalDateTime timestamp) {
+    Log log = mock(Log.class);
+    when(log.getTimeStamp()).thenReturn(timestamp);
+    return log;
+  }
+
+  /**
+   * Test that every reading of the second list within the time delta is paired, not only the last
+   * one.
+   */
+  @Test
+  void shouldReturnAllPairsWithinTimeDelta_WhenGetPairsIsCalled() {
+    // Arrange
+    Log log1 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 5));
+    Log log2 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 1));
+    Log log3 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 7));
+    Log log4 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 10));
+
+    LogTimeWindowJoin join = new LogTimeWindowJoin(List.of(log1), List.of(log4, log3, log2),
+        new TimeDelta(5));
+
+    List<LogPair> expected = List.of(new LogPair(log1, log2), new LogPair(log1, log3));
+
+    // Act
+    List<LogPair> result = join.getPairs();
+
+    // Assert
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Test that readings exactly one time delta apart are not paired.
+   */
+  @Test
+  void shouldNotPairReadingsExactlyTimeDeltaApart_WhenGetPairsIsCalled() {
+    // Arrange
+    Log log1 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 5));
+    Log log2 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 0));
+    Log log3 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 10));
+    Log log4 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 9, 59));
+
+    LogTimeWindowJoin join = new LogTimeWindowJoin(List.of(log1), List.of(log2, log3, log4),
+        new TimeDelta(5));
+
+    List<LogPair> expected = List.of(new LogPair(log1, log4));
+
+    // Act
+    List<LogPair> result = join.getPairs();
+
+    // Assert
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Test that overlapping windows of consecutive readings of the first list share readings of the
+   * second list.
+   */
+  @Test
+  void shouldPairSameReadingWithOverlappingWindows_WhenForEachPairIsCalled() {
+    // Arrange
+    Log log1 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 0));
+    Log log2 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 2));
+    Log log3 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 1));
+    Log log4 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 20));
+
+    LogTimeWindowJoin join = new LogTimeWindowJoin(List.of(log2, log1), List.of(log3, log4),
+        new TimeDelta(5));
+
+    List<LogPair> expected = List.of(new LogPair(log1, log3), new LogPair(log2, log3));
+    List<LogPair> result = new ArrayList<>();
+
+    // Act
+    join.forEachPair((first, second) -> result.add(new LogPair(first, second)));
+
+    // Assert
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Test that no pairs are returned when one of the lists is empty.
+   */
+  @Test
+  void shouldReturnEmptyList_WhenOneListIsEmpty() {
+    // Arrange
+    Log log1 = createMockLog(LocalDateTime.of(2024, 1, 1, 1, 0));
+    LogTimeWindowJoin join = new LogTimeWindowJoin(List.of(log1), List.of(), new TimeDelta(5));
+
+    // Act
+    List<LogPair> result = join.getPairs();
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the join cannot be created without a time delta.
+   */
+  @Test
+  void shouldThrowException_WhenTimeDeltaIsNull() {
+    // Arrange
+    List<Log> readings = List.of();
+    String expectedMessage = "Time Delta is required";
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogTimeWindowJoin(readings, readings, null));
+
+    // Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+}
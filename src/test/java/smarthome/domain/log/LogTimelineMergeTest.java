@@ -0,0 +1,60 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.LogID;
+
+class LogTimelineMergeTest {
+
+  private Log createMockLog(String logID, int minute) {
+    Log log = mock(Log.class);
+    when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, minute));
+    when(log.getID()).thenReturn(new LogID(logID));
+    return log;
+  }
+
+  /**
+   * Test that the readings of several lists are merged in (timestamp, logID) order.
+   */
+  @Test
+  void shouldMergeInTimestampOrder_WhenSeveralListsAreGiven() {
+    // Arrange
+    Log log1 = createMockLog("a", 1);
+    Log log2 = createMockLog("b", 2);
+    Log log3 = createMockLog("c", 2);
+    Log log4 = createMockLog("d", 5);
+    Log log5 = createMockLog("e", 7);
+
+    // Act
+    List<Log> result = LogTimelineMerge.merge(List.of(List.of(log3, log4), List.of(),
+        List.of(log1, log2, log5)));
+
+    // Assert
+    assertEquals(List.of(log1, log2, log3, log4, log5), result);
+  }
+
+  /**
+   * Test that merging no list gives an empty list.
+   */
+  @Test
+  void shouldReturnEmptyList_WhenNoListIsGiven() {
+    // Act
+    List<Log> result = LogTimelineMerge.merge(List.of());
+
+    // Assert
+    assertEquals(List.of(), result);
+  }
+}
@@ -0,0 +1,73 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.value_object.ReadingStatistics;
+
+class ReadingStatisticsAccumulatorTest {
+
+  /**
+   * Test that the count, minimum, maximum, average and nearest-rank percentiles are computed.
+   */
+  @Test
+  void shouldComputeStatistics_WhenReadingsAreAdded() {
+    // Arrange
+    ReadingStatisticsAccumulator accumulator =
+        new ReadingStatisticsAccumulator(List.of(0.0, 50.0, 90.0, 100.0));
+    for (double value : new double[]{7, 1, 10, 4, 3, 9, 2, 8, 6, 5}) {
+      accumulator.add(value);
+    }
+
+    // Act
+    ReadingStatistics result = accumulator.toStatistics();
+
+    // Assert
+    assertEquals(10, result.getCount());
+    assertEquals(1, result.getMin());
+    assertEquals(10, result.getMax());
+    assertEquals(5.5, result.getAverage());
+    assertEquals(Map.of(0.0, 1.0, 50.0, 5.0, 90.0, 9.0, 100.0, 10.0), result.getPercentiles());
+  }
+
+  /**
+   * Test that no reading gives the empty statistics.
+   */
+  @Test
+  void shouldReturnEmptyStatistics_WhenNoReadingIsAdded() {
+    // Arrange
+    ReadingStatisticsAccumulator accumulator = new ReadingStatisticsAccumulator(List.of(50.0));
+
+    // Act
+    ReadingStatistics result = accumulator.toStatistics();
+
+    // Assert
+    assertTrue(result.isEmpty());
+    assertTrue(result.getPercentiles().isEmpty());
+  }
+
+  /**
+   * Test that a percentile outside 0 to 100 is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenPercentileIsOutOfRange() {
+    // Arrange
+    List<Double> percentiles = List.of(-1.0);
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> new ReadingStatisticsAccumulator(percentiles));
+  }
+}
@@ -0,0 +1,90 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.log_rollup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LogRollupTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  private Log createLog(LocalDateTime timestamp, String value) {
+    return logFactory.createLog(new DeviceID("device1"), new SensorID("sensor1"), timestamp,
+        new ReadingValue(value), new SensorTypeID("Temperature"), new UnitID("Celsius"));
+  }
+
+  /**
+   * Test that merging rollups of the same bucket combines their count, extremes and average.
+   */
+  @Test
+  void shouldCombineValues_WhenRollupsOfSameBucketAreMerged() {
+    // Arrange
+    LogRollup rollup = new LogRollup(createLog(LocalDateTime.of(2024, 1, 1, 10, 2), "20.5"),
+        RollupResolution.FIFTEEN_MINUTES);
+    LogRollup other = new LogRollup(createLog(LocalDateTime.of(2024, 1, 1, 10, 14), "23.5"),
+        RollupResolution.FIFTEEN_MINUTES);
+
+    // Act
+    rollup.merge(other);
+
+    // Assert
+    assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), rollup.getBucketStart());
+    assertEquals(2, rollup.getCount());
+    assertEquals(20.5, rollup.getMin());
+    assertEquals(23.5, rollup.getMax());
+    assertEquals(22.0, rollup.getAverage());
+  }
+
+  /**
+   * Test that rollups of different buckets cannot be merged.
+   */
+  @Test
+  void shouldThrowException_WhenRollupsOfDifferentBucketsAreMerged() {
+    // Arrange
+    LogRollup rollup = new LogRollup(createLog(LocalDateTime.of(2024, 1, 1, 10, 2), "20"),
+        RollupResolution.FIFTEEN_MINUTES);
+    LogRollup other = new LogRollup(createLog(LocalDateTime.of(2024, 1, 1, 10, 16), "23"),
+        RollupResolution.FIFTEEN_MINUTES);
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class, () -> rollup.merge(other));
+
+    // Assert
+    assertEquals("Only rollups of the same bucket can be merged", exception.getMessage());
+  }
+
+  /**
+   * Test that text readings cannot be rolled up.
+   */
+  @Test
+  void shouldThrowException_WhenReadingIsNotNumeric() {
+    // Arrange
+    Log log = createLog(LocalDateTime.of(2024, 1, 1, 10, 2), "06:45");
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogRollup(log, RollupResolution.ONE_HOUR));
+
+    // Assert
+    assertEquals("Only numeric readings can be rolled up", exception.getMessage());
+  }
+}
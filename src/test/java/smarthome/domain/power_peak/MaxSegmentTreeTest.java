@@ -0,0 +1,84 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.power_peak;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class MaxSegmentTreeTest {
+
+  /**
+   * Test that the highest value of a range only considers the slots of the range.
+   */
+  @Test
+  void shouldReturnHighestValueOfRange_WhenSlotsAreRaised() {
+    // Arrange
+    MaxSegmentTree tree = new MaxSegmentTree(10);
+    tree.raise(1, 5);
+    tree.raise(4, 20);
+    tree.raise(9, 12);
+
+    // Act
+    int whole = tree.max(0, 10);
+    int beforeHighest = tree.max(0, 4);
+    int afterHighest = tree.max(5, 10);
+
+    // Assert
+    assertEquals(20, whole);
+    assertEquals(5, beforeHighest);
+    assertEquals(12, afterHighest);
+  }
+
+  /**
+   * Test that a slot is never lowered.
+   */
+  @Test
+  void shouldKeepHighestValue_WhenSlotIsRaisedWithLowerValue() {
+    // Arrange
+    MaxSegmentTree tree = new MaxSegmentTree(3);
+    tree.raise(2, 30);
+
+    // Act
+    tree.raise(2, 10);
+
+    // Assert
+    assertEquals(30, tree.max(2, 3));
+  }
+
+  /**
+   * Test that a range without raised slots is empty.
+   */
+  @Test
+  void shouldReturnEmpty_WhenNoSlotOfRangeIsRaised() {
+    // Arrange
+    MaxSegmentTree tree = new MaxSegmentTree(1440);
+    tree.raise(100, 7);
+
+    // Act
+    int result = tree.max(101, 1440);
+
+    // Assert
+    assertEquals(MaxSegmentTree.EMPTY, result);
+  }
+
+  /**
+   * Test that the size must be positive.
+   */
+  @Test
+  void shouldThrowException_WhenSizeIsNotPositive() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new MaxSegmentTree(0));
+
+    // Assert
+    assertEquals("Size must be positive", exception.getMessage());
+  }
+}
@@ -0,0 +1,98 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.power_peak;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PowerWindowTest {
+
+  private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  /**
+   * Test that a reading is combined with the earlier readings of the other side within the
+   * window, at its own timestamp. The reading alone counts at its own value, so a negative
+   * reading is outweighed by the magnitude of its sum.
+   */
+  @Test
+  void shouldCombineWithEarlierReading_WhenWithinWindow() {
+    // Arrange
+    PowerWindow window = new PowerWindow(Duration.ofMinutes(15));
+    window.accept(PowerSide.POWER_METER, start, 30, (timestamp, value) -> { });
+    Map<LocalDateTime, Integer> values = new HashMap<>();
+
+    // Act
+    window.accept(PowerSide.POWER_SOURCE, start.plusMinutes(10), -50,
+        (timestamp, value) -> values.merge(timestamp, value, Math::max));
+
+    // Assert
+    assertEquals(1, values.size());
+    assertEquals(20, values.get(start.plusMinutes(10)));
+  }
+
+  /**
+   * Test that a late reading is combined with the later readings of the other side, at their
+   * timestamps.
+   */
+  @Test
+  void shouldReportAtLaterTimestamp_WhenReadingArrivesLate() {
+    // Arrange
+    PowerWindow window = new PowerWindow(Duration.ofMinutes(15));
+    window.accept(PowerSide.POWER_METER, start.plusMinutes(5), 30, (timestamp, value) -> { });
+    Map<LocalDateTime, Integer> values = new HashMap<>();
+
+    // Act
+    window.accept(PowerSide.POWER_SOURCE, start, 20,
+        (timestamp, value) -> values.merge(timestamp, value, Math::max));
+
+    // Assert
+    assertEquals(20, values.get(start));
+    assertEquals(50, values.get(start.plusMinutes(5)));
+  }
+
+  /**
+   * Test that readings the window apart are not combined.
+   */
+  @Test
+  void shouldNotCombine_WhenReadingsAreTheWindowApart() {
+    // Arrange
+    PowerWindow window = new PowerWindow(Duration.ofMinutes(15));
+    window.accept(PowerSide.POWER_METER, start, 30, (timestamp, value) -> { });
+    Map<LocalDateTime, Integer> values = new HashMap<>();
+
+    // Act
+    window.accept(PowerSide.POWER_SOURCE, start.plusMinutes(15), 20,
+        (timestamp, value) -> values.merge(timestamp, value, Math::max));
+
+    // Assert
+    assertEquals(Map.of(start.plusMinutes(15), 20), values);
+  }
+
+  /**
+   * Test that pruning forgets the older readings.
+   */
+  @Test
+  void shouldForgetOlderReadings_WhenPruned() {
+    // Arrange
+    PowerWindow window = new PowerWindow(Duration.ofMinutes(15));
+    window.add(PowerSide.POWER_METER, start, 30);
+
+    // Act
+    window.prune(start.plusMinutes(1));
+
+    // Assert
+    assertNull(window.latest());
+  }
+}
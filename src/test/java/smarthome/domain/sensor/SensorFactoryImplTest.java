@@ -182,4 +182,32 @@ class SensorFactoryImplTest {
     assertNull(result);
   }
 
+  /*
+   * Test that the factory keeps creating new sensors once the constructor has been resolved.
+   */
+  @Test
+  void shouldCreateDistinctSensors_whenCalledTwiceWithTheSameModel() {
+    // Arrange
+    DeviceID deviceIdMock = mock(DeviceID.class);
+    ModelPath modelPathMock = mock(ModelPath.class);
+    when(modelPathMock.toString()).thenReturn(
+        "smarthome.domain.sensor.solar_irradiance_sensor.SolarIrradianceSensor");
+
+    SensorTypeID sensorTypeIdMock = mock(SensorTypeID.class);
+    when(sensorTypeIdMock.getID()).thenReturn("SolarIrradiance");
+    SensorName sensorNameMock = mock(SensorName.class);
+
+    SensorFactoryImpl impSensorFactory = new SensorFactoryImpl();
+
+    // Act
+    ISensor first = impSensorFactory.create(deviceIdMock, modelPathMock, sensorTypeIdMock,
+        sensorNameMock);
+    ISensor second = impSensorFactory.create(deviceIdMock, modelPathMock, sensorTypeIdMock,
+        sensorNameMock);
+
+    // Assert
+    assertNotNull(first);
+    assertNotNull(second);
+    assertTrue(first != second);
+  }
 }
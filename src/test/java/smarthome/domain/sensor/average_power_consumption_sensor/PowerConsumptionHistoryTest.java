@@ -0,0 +1,114 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.sensor.average_power_consumption_sensor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class PowerConsumptionHistoryTest {
+
+  private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  /**
+   * Test that the average only includes the readings of the range, bounds included, whatever the
+   * order they were added in.
+   */
+  @Test
+  void shouldAverageReadingsOfRange_WhenAddedOutOfOrder() {
+    // Arrange
+    PowerConsumptionHistory history = new PowerConsumptionHistory(10);
+    history.add(start.plusMinutes(30), 400);
+    history.add(start.plusMinutes(10), 1000);
+    history.add(start, 500);
+    history.add(start.plusMinutes(20), 2000);
+
+    // Act
+    double average = history.average(start.plusMinutes(10), start.plusMinutes(20));
+
+    // Assert
+    assertEquals(1500, average);
+  }
+
+  /**
+   * Test that the arrays start small and grow with the readings, up to the capacity, keeping the
+   * readings in order.
+   */
+  @Test
+  void shouldGrowUpToCapacity_WhenReadingsAreAdded() {
+    // Arrange
+    PowerConsumptionHistory history = new PowerConsumptionHistory(40);
+    int initialLength = history.length();
+
+    // Act
+    for (int i = 49; i >= 0; i--) {
+      history.add(start.plusMinutes(i), i);
+    }
+
+    // Assert
+    assertEquals(PowerConsumptionHistory.INITIAL_LENGTH, initialLength);
+    assertEquals(40, history.length());
+    assertEquals(40, history.size());
+    assertEquals(29.5, history.average(start, start.plusMinutes(49)));
+  }
+
+  /**
+   * Test that the oldest readings are dropped once the capacity is reached.
+   */
+  @Test
+  void shouldDropOldestReadings_WhenCapacityIsReached() {
+    // Arrange
+    PowerConsumptionHistory history = new PowerConsumptionHistory(3);
+    for (int i = 0; i < 5; i++) {
+      history.add(start.plusMinutes(i), i * 100);
+    }
+
+    // Act
+    double average = history.average(start, start.plusMinutes(4));
+
+    // Assert
+    assertEquals(3, history.size());
+    assertEquals(300, average);
+  }
+
+  /**
+   * Test that the average of a range without readings is zero.
+   */
+  @Test
+  void shouldReturnZero_WhenNoReadingIsInRange() {
+    // Arrange
+    PowerConsumptionHistory history = new PowerConsumptionHistory(3);
+    history.add(start, 100);
+
+    // Act
+    double average = history.average(start.plusSeconds(1), start.plusMinutes(1));
+
+    // Assert
+    assertEquals(0, average);
+  }
+
+  /**
+   * Test that two readings cannot have the same time.
+   */
+  @Test
+  void shouldThrowException_WhenReadingTimeIsRepeated() {
+    // Arrange
+    PowerConsumptionHistory history = new PowerConsumptionHistory(3);
+    history.add(start, 100);
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> history.add(start, 200));
+
+    // Assert
+    assertEquals("There is already a reading for this time", exception.getMessage());
+  }
+}
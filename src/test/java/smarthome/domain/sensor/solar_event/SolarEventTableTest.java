@@ -0,0 +1,84 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.sensor.solar_event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import org.junit.jupiter.api.Test;
+import org.shredzone.commons.suncalc.SunTimes;
+import smarthome.domain.value_object.GPS;
+
+class SolarEventTableTest {
+
+  private final GPS gps = new GPS(41.17761, -8.60793);
+
+  /**
+   * Test that the times of a day are the ones computed by the astronomical calculation.
+   */
+  @Test
+  void shouldReturnComputedTimes_WhenDayIsRead() {
+    // Arrange
+    SolarEventTable table = new SolarEventTable();
+    LocalDate date = LocalDate.of(2024, 6, 21);
+    SunTimes expected = SunTimes.compute().on(date).at(gps.getLatitude(), gps.getLongitude())
+        .execute();
+
+    // Act
+    LocalTime sunrise = table.sunrise(gps, date);
+    LocalTime sunset = table.sunset(gps, date);
+
+    // Assert
+    assertEquals(expected.getRise().toLocalTime(), sunrise);
+    assertEquals(expected.getSet().toLocalTime(), sunset);
+  }
+
+  /**
+   * Test that every day of a precomputed year matches the astronomical calculation, the last day
+   * of a leap year included.
+   */
+  @Test
+  void shouldReturnComputedTimes_WhenYearIsPrecomputed() {
+    // Arrange
+    SolarEventTable table = new SolarEventTable();
+
+    // Act
+    table.precompute(gps, Year.of(2024));
+
+    // Assert
+    for (LocalDate date = LocalDate.of(2024, 1, 1); date.getYear() == 2024;
+        date = date.plusDays(1)) {
+      SunTimes expected = SunTimes.compute().on(date).at(gps.getLatitude(), gps.getLongitude())
+          .execute();
+      assertEquals(expected.getRise().toLocalTime(), table.sunrise(gps, date));
+      assertEquals(expected.getSet().toLocalTime(), table.sunset(gps, date));
+    }
+  }
+
+  /**
+   * Test that locations are not mixed up.
+   */
+  @Test
+  void shouldReturnTimesOfEachLocation_WhenSeveralLocationsAreRead() {
+    // Arrange
+    SolarEventTable table = new SolarEventTable();
+    GPS other = new GPS(-33.86785, 151.20732);
+    LocalDate date = LocalDate.of(2024, 12, 1);
+    table.sunrise(gps, date);
+
+    // Act
+    table.sunrise(other, date);
+
+    // Assert
+    assertEquals(SunTimes.compute().on(date).at(other.getLatitude(), other.getLongitude())
+        .execute().getRise().toLocalTime(), table.sunrise(other, date));
+  }
+}
@@ -11,6 +11,7 @@ package smarthome.domain.value_object;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -195,4 +196,21 @@ class DeviceIDTest {
     // Assert
     assertFalse(result);
   }
+
+  /**
+   * Tests if equal device IDs created with of are the same instance
+   */
+  @Test
+  void shouldReturnSameInstance_whenCreatedWithOf() {
+    // Arrange
+    String idDescription = "HXPTO";
+
+    // Act
+    DeviceID first = DeviceID.of(idDescription);
+    DeviceID second = DeviceID.of(new String(idDescription));
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(new DeviceID(idDescription), first);
+  }
 }
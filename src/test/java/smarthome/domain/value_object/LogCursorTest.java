@@ -0,0 +1,75 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+
+class LogCursorTest {
+
+  /**
+   * Test that a cursor is read back unchanged from its encoded form.
+   */
+  @Test
+  void shouldReturnSameCursor_WhenEncodedCursorIsDecoded() {
+    // Arrange
+    LogCursor cursor = new LogCursor(LocalDateTime.of(2024, 1, 1, 10, 30, 15), new LogID("log|1"));
+
+    // Act
+    LogCursor result = LogCursor.decode(cursor.encode());
+
+    // Assert
+    assertEquals(cursor, result);
+  }
+
+  /**
+   * Test that a text that was not produced by encode is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenEncodedCursorIsInvalid() {
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> LogCursor.decode("not a cursor"));
+
+    // Assert
+    assertEquals("Invalid cursor", exception.getMessage());
+  }
+
+  /**
+   * Test that logs are ordered by timestamp, then by log ID, relative to the cursor.
+   */
+  @Test
+  void shouldOrderLogsByTimestampThenLogID() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 10, 0);
+    LogCursor cursor = new LogCursor(timestamp, new LogID("b"));
+    Log sameTimeLowerID = mock(Log.class);
+    when(sameTimeLowerID.getTimeStamp()).thenReturn(timestamp);
+    when(sameTimeLowerID.getID()).thenReturn(new LogID("a"));
+    Log sameTimeHigherID = mock(Log.class);
+    when(sameTimeHigherID.getTimeStamp()).thenReturn(timestamp);
+    when(sameTimeHigherID.getID()).thenReturn(new LogID("c"));
+    Log later = mock(Log.class);
+    when(later.getTimeStamp()).thenReturn(timestamp.plusSeconds(1));
+    when(later.getID()).thenReturn(new LogID("a"));
+
+    // Act & Assert
+    assertFalse(cursor.isBefore(sameTimeLowerID));
+    assertTrue(cursor.isBefore(sameTimeHigherID));
+    assertTrue(cursor.isBefore(later));
+  }
+}
@@ -175,4 +175,82 @@ class ReadingValueTest {
     //Assert
     assertEquals(readingValue.hashCode(), result);
   }
+
+  /**
+   * Test if an integer reading is parsed as an integer
+   */
+  @Test
+  void shouldReturnIntegerKindAndValue_WhenReadingIsInteger() {
+    //Arrange
+    ReadingValue readingValue = new ReadingValue("-20");
+    //Act
+    ReadingKind kind = readingValue.getKind();
+    long result = readingValue.asLong();
+    //Assert
+    assertEquals(ReadingKind.INTEGER, kind);
+    assertEquals(-20, result);
+  }
+
+  /**
+   * Test if a decimal reading is parsed as a decimal
+   */
+  @Test
+  void shouldReturnDecimalKindAndValue_WhenReadingIsDecimal() {
+    //Arrange
+    ReadingValue readingValue = new ReadingValue("20.55");
+    //Act
+    ReadingKind kind = readingValue.getKind();
+    double result = readingValue.asDouble();
+    //Assert
+    assertEquals(ReadingKind.DECIMAL, kind);
+    assertEquals(20.55, result);
+    assertEquals(21, readingValue.asLong());
+  }
+
+  /**
+   * Test if a text reading is not numeric
+   */
+  @Test
+  void shouldThrowException_WhenReadingIsTextAndAsDoubleIsCalled() {
+    //Arrange
+    ReadingValue readingValue = new ReadingValue("18:42");
+    String expected = "Reading value is not numeric";
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        readingValue::asDouble);
+    //Assert
+    assertEquals(ReadingKind.TEXT, readingValue.getKind());
+    assertFalse(readingValue.isNumeric());
+    assertEquals(expected, exception.getMessage());
+  }
+
+  /**
+   * Test if a reading created from a number keeps its text representation
+   */
+  @Test
+  void shouldBeEqualToTextReading_WhenCreatedFromNumber() {
+    //Arrange
+    ReadingValue fromLong = new ReadingValue(20L);
+    ReadingValue fromDouble = new ReadingValue(20.5);
+    //Act
+    boolean result = fromLong.equals(new ReadingValue("20"))
+        && fromDouble.equals(new ReadingValue("20.5"));
+    //Assert
+    assertTrue(result);
+    assertEquals(ReadingKind.DECIMAL, fromDouble.getKind());
+  }
+
+  /**
+   * Test if a decimal reading cannot be created from a value that is not finite
+   */
+  @Test
+  void shouldThrowException_WhenDecimalReadingIsNotFinite() {
+    //Arrange
+    String expected = "Reading Value must be a finite number";
+    //Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new ReadingValue(Double.NaN));
+    //Assert
+    assertEquals(expected, exception.getMessage());
+  }
 }
@@ -0,0 +1,81 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.domain.value_object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class RollupResolutionTest {
+
+  /**
+   * Test that timestamps are mapped to the start of their clock-aligned bucket.
+   */
+  @Test
+  void shouldReturnBucketStart_WhenTimestampIsInsideBucket() {
+    // Arrange
+    LocalDateTime timestamp = LocalDateTime.of(2024, 3, 5, 14, 37, 42);
+
+    // Act & Assert
+    assertEquals(LocalDateTime.of(2024, 3, 5, 14, 37),
+        RollupResolution.ONE_MINUTE.bucketStartOf(timestamp));
+    assertEquals(LocalDateTime.of(2024, 3, 5, 14, 30),
+        RollupResolution.FIFTEEN_MINUTES.bucketStartOf(timestamp));
+    assertEquals(LocalDateTime.of(2024, 3, 5, 14, 0),
+        RollupResolution.ONE_HOUR.bucketStartOf(timestamp));
+    assertEquals(LocalDateTime.of(2024, 3, 5, 0, 0),
+        RollupResolution.ONE_DAY.bucketStartOf(timestamp));
+  }
+
+  /**
+   * Test that the finest resolution fitting in the point budget is chosen.
+   */
+  @Test
+  void shouldReturnFinestResolutionWithinBudget_WhenForPointBudgetIsCalled() {
+    // Arrange
+    DatePeriod week = new DatePeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+        LocalDateTime.of(2024, 1, 7, 23, 59));
+
+    // Act
+    RollupResolution result = RollupResolution.forPointBudget(week, 500);
+
+    // Assert
+    assertEquals(RollupResolution.ONE_HOUR, result);
+  }
+
+  /**
+   * Test that the coarsest resolution is used when no resolution fits in the point budget.
+   */
+  @Test
+  void shouldReturnOneDay_WhenNoResolutionFitsInBudget() {
+    // Arrange
+    DatePeriod year = new DatePeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+        LocalDateTime.of(2024, 12, 31, 0, 0));
+
+    // Act
+    RollupResolution result = RollupResolution.forPointBudget(year, 10);
+
+    // Assert
+    assertEquals(RollupResolution.ONE_DAY, result);
+  }
+
+  /**
+   * Test that a resolution is found from its short name, and unknown names are rejected.
+   */
+  @Test
+  void shouldReturnResolution_WhenTokenIsKnown() {
+    // Act & Assert
+    assertEquals(RollupResolution.FIFTEEN_MINUTES, RollupResolution.fromToken("15m"));
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> RollupResolution.fromToken("5m"));
+    assertEquals("Unknown resolution: 5m", exception.getMessage());
+  }
+}
@@ -0,0 +1,201 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.IDeviceFactory;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceName;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.assembler.IDataModelAssembler;
+import smarthome.persistence.data_model.DeviceDataModel;
+import smarthome.persistence.data_model.LogDataModel;
+import smarthome.persistence.jpa.repository.DeviceRepositoryJPAImpl;
+import smarthome.persistence.jpa.repository.LogRepositoryJPAImpl;
+
+/**
+ * Counts the EntityManagers (Hibernate sessions) opened and the connections checked out by the JPA
+ * repositories and by REST calls, using the Hibernate statistics. The counts are logged at debug
+ * level.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class EntityManagerUsageTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EntityManagerUsageTest.class);
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private IDataModelAssembler<LogDataModel, Log> logDataModelAssembler;
+
+  @Autowired
+  private IDataModelAssembler<DeviceDataModel, Device> deviceDataModelAssembler;
+
+  @Autowired
+  private ILogFactory logFactory;
+
+  @Autowired
+  private IDeviceFactory deviceFactory;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private Log createLog(DeviceID deviceID, int minute) {
+    return logFactory.createLog(deviceID, new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 10, minute), new ReadingValue("20"),
+        new SensorTypeID("Temperature"), new UnitID("Celsius"));
+  }
+
+  private void report(String operation) {
+    LOGGER.debug("{}: entity managers opened={} closed={}, connections={}, statements={}",
+        operation, statistics.getSessionOpenCount(), statistics.getSessionCloseCount(),
+        statistics.getConnectCount(), statistics.getPrepareStatementCount());
+  }
+
+  /**
+   * Test that, outside a transaction, every repository call opens one EntityManager and always
+   * closes it.
+   */
+  @Test
+  void shouldCloseEveryEntityManager_WhenCalledOutsideTransaction() {
+    // Arrange
+    LogRepositoryJPAImpl logRepository =
+        new LogRepositoryJPAImpl(logDataModelAssembler, entityManagerFactory);
+    DeviceID deviceID = new DeviceID("benchmark-device-1");
+    DatePeriod period = new DatePeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+        LocalDateTime.of(2024, 1, 2, 0, 0));
+
+    // Act
+    logRepository.save(createLog(deviceID, 1));
+    logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
+    logRepository.findLatest(deviceID, new SensorTypeID("Temperature"));
+    report("3 log repository calls, no transaction");
+
+    // Assert
+    assertEquals(3, statistics.getSessionOpenCount());
+    assertEquals(statistics.getSessionOpenCount(), statistics.getSessionCloseCount());
+  }
+
+  /**
+   * Test that updating a device opens a single EntityManager and closes it.
+   */
+  @Test
+  void shouldOpenOneEntityManager_WhenDeviceIsUpdated() {
+    // Arrange
+    DeviceRepositoryJPAImpl deviceRepository =
+        new DeviceRepositoryJPAImpl(deviceDataModelAssembler, entityManagerFactory);
+    Device device = deviceFactory.createDevice(new RoomID("room1"), new DeviceName("Heater"),
+        new DeviceTypeID("Heater"));
+    deviceRepository.save(device);
+    statistics.clear();
+
+    // Act
+    device.deactivateDevice();
+    deviceRepository.update(device);
+    report("device update");
+
+    // Assert
+    assertEquals(1, statistics.getSessionOpenCount());
+    assertEquals(1, statistics.getSessionCloseCount());
+  }
+
+  /**
+   * Test that the repository calls of a transaction share its EntityManager and connection.
+   */
+  @Test
+  void shouldShareOneEntityManager_WhenCalledInsideTransaction() {
+    // Arrange
+    LogRepositoryJPAImpl logRepository =
+        new LogRepositoryJPAImpl(logDataModelAssembler, entityManagerFactory);
+    DeviceID deviceID = new DeviceID("benchmark-device-2");
+    DatePeriod period = new DatePeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+        LocalDateTime.of(2024, 1, 2, 0, 0));
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    // Act
+    transaction.executeWithoutResult(status -> {
+      logRepository.saveAll(List.of(createLog(deviceID, 1), createLog(deviceID, 2)));
+      logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
+      logRepository.findLatest(deviceID, new SensorTypeID("Temperature"));
+    });
+    report("3 log repository calls, one transaction");
+
+    // Assert
+    assertEquals(1, statistics.getSessionOpenCount());
+    assertEquals(1, statistics.getConnectCount());
+  }
+
+  /**
+   * Test that each of some REST calls is served by a single EntityManager, which is closed.
+   */
+  @Test
+  void shouldUseOneEntityManagerPerRestCall() throws Exception {
+    String[] requests = {
+        "/logs?deviceID=benchmark-device-3&timeStart=2024-01-01T00:00:00"
+            + "&timeEnd=2024-01-02T00:00:00",
+        "/logs/page?deviceID=benchmark-device-3&timeStart=2024-01-01T00:00:00"
+            + "&timeEnd=2024-01-02T00:00:00",
+        "/devices"
+    };
+
+    for (String request : requests) {
+      // Arrange
+      statistics.clear();
+
+      // Act
+      mockMvc.perform(get(request));
+      report("GET " + request.substring(0, request.indexOf('?') < 0 ? request.length()
+          : request.indexOf('?')));
+
+      // Assert
+      assertTrue(statistics.getSessionOpenCount() <= 1);
+      assertEquals(statistics.getSessionOpenCount(), statistics.getSessionCloseCount());
+    }
+  }
+}
@@ -10,6 +10,8 @@ package smarthome.persistence.assembler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.actuator.ActuatorFactoryImpl;
 import smarthome.domain.actuator.IActuator;
@@ -117,5 +119,45 @@ class ActuatorDataModelAssemblerTest {
     assertEquals(actuator, actuator2);
   }
 
+  /**
+   * Test that a bulk load converted with a parallel stream gives the same actuators, in order, as
+   * the list conversion.
+   */
+  @Test
+  void shouldInstantiateActuators_WhenConvertedWithParallelStream() {
+    // Arrange
+    ModelPath switchModelPath = new ModelPath(
+        "smarthome.domain.actuator.switch_actuator.SwitchActuator");
+    ModelPath setIntegerModelPath = new ModelPath(
+        "smarthome.domain.actuator.set_integer_actuator.SetIntegerActuator");
+    List<ActuatorDataModel> actuatorDataModels = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      DeviceID deviceID = new DeviceID("device" + i);
+      IActuator actuator;
+      if (i % 2 == 0) {
+        actuator = new SwitchActuator(deviceID, switchModelPath, new ActuatorTypeID("Switch"),
+            new ActuatorName("actuator" + i));
+      } else {
+        actuator = new SetIntegerActuator(deviceID, setIntegerModelPath,
+            new ActuatorTypeID("SetInteger"), new ActuatorName("actuator" + i),
+            new IntegerLimits(0, i));
+      }
+      ActuatorDataModel actuatorDataModel = new ActuatorDataModel(actuator);
+      if (i % 2 != 0) {
+        actuatorDataModel.setIntegerLowerBond(0);
+        actuatorDataModel.setIntegerUpperBond(i);
+      }
+      actuatorDataModels.add(actuatorDataModel);
+    }
+    ActuatorDataModelAssembler actuatorDataModelAssembler = new ActuatorDataModelAssembler(
+        new ActuatorFactoryImpl());
+    List<IActuator> expected = actuatorDataModelAssembler.toDomain(actuatorDataModels);
 
-}
\ No newline at end of file
+    // Act
+    List<IActuator> result = actuatorDataModels.parallelStream()
+        .map(actuatorDataModelAssembler::toDomain).toList();
+
+    // Assert
+    assertEquals(expected, result);
+  }
+}
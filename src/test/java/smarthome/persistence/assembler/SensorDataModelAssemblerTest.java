@@ -11,7 +11,13 @@ package smarthome.persistence.assembler;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.sensor.ISensor;
 import smarthome.domain.sensor.ISensorFactory;
@@ -167,4 +173,61 @@ class SensorDataModelAssemblerTest {
     //Assert
     assertEquals(expected, result);
   }
-}
\ No newline at end of file
+
+  /**
+   * Stress test converting sensors with a different number of constructor parameters from many
+   * threads at once with the same assembler. Every thread must get the sensor of its own data
+   * model.
+   */
+  @Test
+  void shouldInstantiateSensors_WhenConvertedConcurrently() throws Exception {
+    // Arrange
+    ISensorFactory sensorFactory = new SensorFactoryImpl();
+    ISensor temperatureSensor = sensorFactory.create(new DeviceID("device1"),
+        new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor"),
+        new SensorTypeID("Temperature"), new SensorName("sensorName"));
+    SensorDataModel temperatureSensorDataModel = new SensorDataModel(temperatureSensor);
+
+    GPS gps = new GPS(41.1, -8.6);
+    ISensor sunriseTimeSensor = sensorFactory.create(new DeviceID("device2"),
+        new ModelPath("smarthome.domain.sensor.sunrise_time_sensor.SunriseTimeSensor"),
+        new SensorTypeID("SunriseTime"), new SensorName("sensorName"), gps);
+    SensorDataModel sunriseSensorDataModel = new SensorDataModel(sunriseTimeSensor);
+    sunriseSensorDataModel.setLatitude(String.valueOf(gps.getLatitude()));
+    sunriseSensorDataModel.setLongitude(String.valueOf(gps.getLongitude()));
+
+    SensorDataModelAssembler sensorDataModelAssembler = new SensorDataModelAssembler(sensorFactory);
+    int threads = 8;
+    int conversionsPerThread = 2000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+
+    // Act
+    for (int t = 0; t < threads; t++) {
+      boolean temperature = t % 2 == 0;
+      Callable<Integer> task = () -> {
+        start.await();
+        int mismatches = 0;
+        for (int i = 0; i < conversionsPerThread; i++) {
+          ISensor sensor = sensorDataModelAssembler.toDomain(
+              temperature ? temperatureSensorDataModel : sunriseSensorDataModel);
+          if (!(temperature ? temperatureSensor : sunriseTimeSensor).equals(sensor)) {
+            mismatches++;
+          }
+        }
+        return mismatches;
+      };
+      results.add(executor.submit(task));
+    }
+    start.countDown();
+    int mismatches = 0;
+    for (Future<Integer> result : results) {
+      mismatches += result.get();
+    }
+    executor.shutdown();
+
+    // Assert
+    assertEquals(0, mismatches);
+  }
+}
@@ -0,0 +1,65 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.data_model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CompactIDConverterTest {
+
+  private final CompactIDConverter converter = new CompactIDConverter();
+
+  /**
+   * Test that the text of a UUID is stored in 16 bytes and read back unchanged.
+   */
+  @Test
+  void shouldStoreUUIDIn16Bytes() {
+    // Arrange
+    String id = UUID.randomUUID().toString();
+
+    // Act
+    byte[] bytes = converter.convertToDatabaseColumn(id);
+
+    // Assert
+    assertEquals(16, bytes.length);
+    assertEquals(id, converter.convertToEntityAttribute(bytes));
+  }
+
+  /**
+   * Test that IDs that are not the text of a UUID are read back unchanged, including those that
+   * would take 16 bytes.
+   */
+  @Test
+  void shouldReadBackOtherIDs() {
+    // Arrange
+    String[] ids = {"device1", "fifteen-chars-x", "sixteen-chars-xx", "",
+        UUID.randomUUID().toString().toUpperCase(), "sensor-\u00e7\u00e3o"};
+
+    for (String id : ids) {
+      // Act
+      String result = converter.convertToEntityAttribute(converter.convertToDatabaseColumn(id));
+
+      // Assert
+      assertEquals(id, result);
+    }
+  }
+
+  /**
+   * Test that a null ID stays null.
+   */
+  @Test
+  void shouldReturnNull_WhenIDIsNull() {
+    // Act & Assert
+    assertNull(converter.convertToDatabaseColumn(null));
+    assertNull(converter.convertToEntityAttribute(null));
+  }
+}
@@ -10,6 +10,7 @@ package smarthome.persistence.jpa.data_model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import smarthome.domain.log.Log;
 import smarthome.domain.value_object.DeviceID;
 import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingKind;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
@@ -283,4 +285,58 @@ class LogDataModelTest {
     //Assert
     assertEquals(unitDouble.getID(), unit);
   }
+
+  /**
+   * Test that a numeric reading is stored with its kind and numeric value.
+   */
+  @Test
+  void shouldReturnKindAndNumericReading_whenReadingIsNumeric() {
+    // Arrange
+    Log logDouble = mock(Log.class);
+    when(logDouble.getID()).thenReturn(mock(LogID.class));
+    when(logDouble.getDeviceID()).thenReturn(mock(DeviceID.class));
+    when(logDouble.getSensorID()).thenReturn(mock(SensorID.class));
+    when(logDouble.getTimeStamp()).thenReturn(mock(LocalDateTime.class));
+    when(logDouble.getReadingValue()).thenReturn(new ReadingValue("21.5"));
+    when(logDouble.hasNumericReading()).thenReturn(true);
+    when(logDouble.getReadingAsDouble()).thenReturn(21.5);
+    when(logDouble.getDescription()).thenReturn(mock(SensorTypeID.class));
+    when(logDouble.getUnit()).thenReturn(mock(UnitID.class));
+
+    LogDataModel logDataModel = new LogDataModel(logDouble);
+
+    //Act
+    ReadingKind kind = logDataModel.getReadingKind();
+    Double numericReading = logDataModel.getNumericReading();
+
+    //Assert
+    assertEquals(ReadingKind.DECIMAL, kind);
+    assertEquals(21.5, numericReading);
+  }
+
+  /**
+   * Test that a text reading is stored without a numeric value.
+   */
+  @Test
+  void shouldReturnNullNumericReading_whenReadingIsText() {
+    // Arrange
+    Log logDouble = mock(Log.class);
+    when(logDouble.getID()).thenReturn(mock(LogID.class));
+    when(logDouble.getDeviceID()).thenReturn(mock(DeviceID.class));
+    when(logDouble.getSensorID()).thenReturn(mock(SensorID.class));
+    when(logDouble.getTimeStamp()).thenReturn(mock(LocalDateTime.class));
+    when(logDouble.getReadingValue()).thenReturn(new ReadingValue("18:42"));
+    when(logDouble.hasNumericReading()).thenReturn(false);
+    when(logDouble.getDescription()).thenReturn(mock(SensorTypeID.class));
+    when(logDouble.getUnit()).thenReturn(mock(UnitID.class));
+
+    LogDataModel logDataModel = new LogDataModel(logDouble);
+
+    //Act
+    Double numericReading = logDataModel.getNumericReading();
+
+    //Assert
+    assertNull(numericReading);
+    assertEquals(ReadingKind.TEXT, logDataModel.getReadingKind());
+  }
 }
@@ -0,0 +1,207 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.log_segment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LogSegmentRepositoryTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+  private final DeviceID deviceID = new DeviceID("device1");
+  private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  @TempDir
+  Path directory;
+
+  private Log createLog(DeviceID deviceID, int minute, String reading) {
+    return logFactory.createLog(deviceID, new SensorID("sensor1"), start.plusMinutes(minute),
+        new ReadingValue(reading), new SensorTypeID("Temperature"), new UnitID("Celsius"));
+  }
+
+  private LogSegmentRepository openRepository() {
+    return new LogSegmentRepository(directory.toString(), logFactory);
+  }
+
+  /**
+   * Test that a log is read back with the same values, whatever the kind of its reading.
+   */
+  @Test
+  void shouldReadBackSameValues_WhenLogsAreSaved() throws IOException {
+    // Arrange
+    List<String> readings = List.of("20", "20.5", "020", "1e3", "open");
+    try (LogSegmentRepository logRepository = openRepository()) {
+      for (int i = 0; i < readings.size(); i++) {
+        logRepository.save(createLog(deviceID, i + 1, readings.get(i)));
+      }
+      Log withTextID = logFactory.createLog(new LogID("log-1"), deviceID, new SensorID("sensor1"),
+          start.plusSeconds(30).plusNanos(5), new ReadingValue("21"),
+          new SensorTypeID("Temperature"), new UnitID("Celsius"));
+      logRepository.save(withTextID);
+      DatePeriod period = new DatePeriod(start, start.plusMinutes(10));
+
+      // Act
+      List<Log> result = logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
+
+      // Assert
+      assertEquals(6, result.size());
+      assertEquals(withTextID, result.get(0));
+      assertEquals(start.plusSeconds(30).plusNanos(5), result.get(0).getTimeStamp());
+      for (int i = 0; i < readings.size(); i++) {
+        assertEquals(readings.get(i), result.get(i + 1).getReadingValue().getValue());
+        assertEquals("Celsius", result.get(i + 1).getUnit().getID());
+      }
+    }
+  }
+
+  /**
+   * Test that a duplicated log makes saveAll fail without saving any log.
+   */
+  @Test
+  void shouldThrowException_WhenSaveAllHasExistingLog() throws IOException {
+    // Arrange
+    try (LogSegmentRepository logRepository = openRepository()) {
+      Log existing = createLog(deviceID, 1, "20");
+      logRepository.save(existing);
+      List<Log> logs = List.of(createLog(deviceID, 2, "21"), existing);
+
+      // Act & Assert
+      assertThrows(IllegalArgumentException.class, () -> logRepository.saveAll(logs));
+      assertEquals(1, logRepository.count());
+      assertTrue(logRepository.containsOfIdentity(existing.getID()));
+      assertFalse(logRepository.containsOfIdentity(logs.get(0).getID()));
+    }
+  }
+
+  /**
+   * Test that the pages of a period go through every log once, in timestamp order.
+   */
+  @Test
+  void shouldReturnNextPage_WhenCursorIsGiven() throws IOException {
+    // Arrange
+    try (LogSegmentRepository logRepository = openRepository()) {
+      Log log1 = createLog(deviceID, 1, "1");
+      Log log2 = createLog(deviceID, 2, "2");
+      Log log3 = createLog(deviceID, 3, "3");
+      logRepository.saveAll(List.of(log3, log1, createLog(new DeviceID("device2"), 2, "2"), log2));
+      DatePeriod period = new DatePeriod(start, start.plusMinutes(3));
+
+      // Act
+      List<Log> firstPage = logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period, null,
+          2);
+      List<Log> secondPage = logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period,
+          LogCursor.of(firstPage.get(1)), 2);
+
+      // Assert
+      assertEquals(List.of(log1, log2), firstPage);
+      assertEquals(List.of(log3), secondPage);
+    }
+  }
+
+  /**
+   * Test that a log is found by its ID with its own values, whether the ID is a random UUID or a
+   * text.
+   */
+  @Test
+  void shouldReturnLogOfID_WhenLogIsFoundByIdentity() throws IOException {
+    // Arrange
+    try (LogSegmentRepository logRepository = openRepository()) {
+      Log withTextID = logFactory.createLog(new LogID("log-1"), deviceID, new SensorID("sensor1"),
+          start, new ReadingValue("19"), new SensorTypeID("Temperature"), new UnitID("Celsius"));
+      Log log = createLog(deviceID, 2, "21");
+      logRepository.saveAll(List.of(createLog(deviceID, 1, "20"), withTextID, log));
+
+      // Act
+      Log result = logRepository.ofIdentity(log.getID()).orElseThrow();
+      Log resultWithTextID = logRepository.ofIdentity(withTextID.getID()).orElseThrow();
+
+      // Assert
+      assertEquals("21", result.getReadingValue().getValue());
+      assertEquals("19", resultWithTextID.getReadingValue().getValue());
+      assertTrue(logRepository.ofIdentity(new LogID("log-2")).isEmpty());
+    }
+  }
+
+  /**
+   * Test that the logs, their IDs and the latest readings are recovered when the files are opened
+   * again.
+   */
+  @Test
+  void shouldRecoverLogs_WhenRepositoryIsReopened() throws IOException {
+    // Arrange
+    Log log1 = createLog(deviceID, 1, "20");
+    Log log2 = createLog(deviceID, 2, "21.5");
+    try (LogSegmentRepository logRepository = openRepository()) {
+      logRepository.saveAll(List.of(log1, log2));
+    }
+
+    // Act
+    try (LogSegmentRepository logRepository = openRepository()) {
+
+      // Assert
+      assertEquals(List.of(log1, log2), logRepository.findAll());
+      assertEquals(log2, logRepository.findLatest(deviceID, new SensorTypeID("Temperature"))
+          .orElseThrow());
+      assertEquals(log1, logRepository.ofIdentity(log1.getID()).orElseThrow());
+      assertThrows(IllegalArgumentException.class, () -> logRepository.save(log1));
+    }
+  }
+
+  /**
+   * Test that a log that was not completely written is dropped when the files are opened again,
+   * and that new logs are saved in its place.
+   */
+  @Test
+  void shouldDropTornLog_WhenRepositoryIsReopened() throws IOException {
+    // Arrange
+    Log log1 = createLog(deviceID, 1, "20");
+    Log log2 = createLog(deviceID, 2, "21");
+    try (LogSegmentRepository logRepository = openRepository()) {
+      logRepository.saveAll(List.of(log1, log2));
+    }
+    try (RandomAccessFile segment =
+        new RandomAccessFile(directory.resolve("segment-00000000.dat").toFile(), "rw")) {
+      segment.seek(LogRecord.SIZE + 50);
+      segment.write(0x7F);
+    }
+    Log log3 = createLog(deviceID, 3, "22");
+
+    // Act
+    try (LogSegmentRepository logRepository = openRepository()) {
+      logRepository.save(log3);
+    }
+
+    // Assert
+    try (LogSegmentRepository logRepository = openRepository()) {
+      assertEquals(List.of(log1, log3), logRepository.findAll());
+      assertFalse(logRepository.containsOfIdentity(log2.getID()));
+    }
+  }
+}
@@ -0,0 +1,56 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.mem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentInsertionOrderedMapTest {
+
+  /**
+   * Test that the values are returned in the order their keys were first added.
+   */
+  @Test
+  void shouldReturnValuesInInsertionOrder_WhenValueIsReplaced() {
+    // Arrange
+    ConcurrentInsertionOrderedMap<String, String> map = new ConcurrentInsertionOrderedMap<>();
+    map.put("b", "first");
+    map.put("a", "second");
+
+    // Act
+    map.put("b", "third");
+
+    // Assert
+    assertEquals(List.of("third", "second"), List.copyOf(map.values()));
+  }
+
+  /**
+   * Test that a null key is accepted, like in a LinkedHashMap.
+   */
+  @Test
+  void shouldAcceptNullKey() {
+    // Arrange
+    ConcurrentInsertionOrderedMap<String, String> map = new ConcurrentInsertionOrderedMap<>();
+
+    // Act
+    boolean added = map.putIfAbsent(null, "value");
+    boolean addedAgain = map.putIfAbsent(null, "other");
+
+    // Assert
+    assertTrue(added);
+    assertFalse(addedAgain);
+    assertTrue(map.containsKey(null));
+    assertEquals("value", map.get(null));
+    assertEquals(1, map.size());
+  }
+}
@@ -16,10 +16,16 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import smarthome.domain.device.Device;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.device.IDeviceFactory;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceName;
+import smarthome.domain.value_object.DeviceStatus;
+import smarthome.domain.value_object.DeviceTypeID;
 import smarthome.domain.value_object.RoomID;
 
 class DeviceRepositoryTest {
@@ -225,5 +231,59 @@ class DeviceRepositoryTest {
     assertEquals(expectedDeviceList, returnedDeviceList);
   }
 
+  /**
+   * Test that a device updated with another room is only found in its new room.
+   */
+  @Test
+  void shouldFindDeviceInNewRoom_WhenDeviceIsUpdatedWithAnotherRoom() {
+    //Arrange
+    DeviceRepository deviceRepository = new DeviceRepository();
+    IDeviceFactory deviceFactory = new DeviceFactoryImpl();
+    DeviceID deviceID = new DeviceID("device1");
+    RoomID kitchen = new RoomID("kitchen");
+    RoomID bedroom = new RoomID("bedroom");
+    DeviceTypeID deviceTypeID = new DeviceTypeID("Heater");
+    deviceRepository.save(deviceFactory.createDevice(deviceID, kitchen, new DeviceName("Heater"),
+        new DeviceStatus(true), deviceTypeID));
+    Device moved = deviceFactory.createDevice(deviceID, bedroom, new DeviceName("Heater"),
+        new DeviceStatus(true), deviceTypeID);
+
+    //Act
+    deviceRepository.update(moved);
+
+    //Assert
+    assertTrue(deviceRepository.findByRoomID(kitchen).isEmpty());
+    assertEquals(List.of(moved), deviceRepository.findByRoomID(bedroom));
+    assertEquals(List.of(moved), deviceRepository.findByDeviceTypeID(deviceTypeID));
+  }
 
-}
\ No newline at end of file
+  /**
+   * Test that the devices are grouped by device type, in device type ID order.
+   */
+  @Test
+  void shouldGroupDevicesByDeviceType_WhenDevicesHaveDifferentTypes() {
+    //Arrange
+    DeviceRepository deviceRepository = new DeviceRepository();
+    IDeviceFactory deviceFactory = new DeviceFactoryImpl();
+    RoomID roomID = new RoomID("kitchen");
+    DeviceTypeID heater = new DeviceTypeID("Heater");
+    DeviceTypeID bulb = new DeviceTypeID("Bulb");
+    Device heater1 = deviceFactory.createDevice(new DeviceID("device1"), roomID,
+        new DeviceName("Heater"), new DeviceStatus(true), heater);
+    Device bulb1 = deviceFactory.createDevice(new DeviceID("device2"), roomID,
+        new DeviceName("Bulb"), new DeviceStatus(true), bulb);
+    Device heater2 = deviceFactory.createDevice(new DeviceID("device3"), roomID,
+        new DeviceName("Heater"), new DeviceStatus(true), heater);
+    deviceRepository.save(heater1);
+    deviceRepository.save(bulb1);
+    deviceRepository.save(heater2);
+
+    //Act
+    Map<DeviceTypeID, List<Device>> grouped = deviceRepository.findAllGroupedByDeviceTypeID();
+
+    //Assert
+    assertEquals(List.of(bulb, heater), List.copyOf(grouped.keySet()));
+    assertEquals(List.of(bulb1), grouped.get(bulb));
+    assertEquals(List.of(heater1, heater2), grouped.get(heater));
+  }
+}
@@ -0,0 +1,212 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.mem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.ReadingStatistics;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+
+class LogRepositoryTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+  private final DeviceID deviceID = new DeviceID("device1");
+  private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  private Log createLog(DeviceID deviceID, int minute, String sensorType) {
+    return logFactory.createLog(deviceID, new SensorID("sensor1"), start.plusMinutes(minute),
+        new ReadingValue(String.valueOf(minute)), new SensorTypeID(sensorType),
+        new UnitID("Celsius"));
+  }
+
+  /**
+   * Test that the logs of a period are found in timestamp order, bounds excluded, whatever the
+   * order they were saved in.
+   */
+  @Test
+  void shouldReturnLogsInTimestampOrder_WhenSavedOutOfOrder() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    Log log3 = createLog(deviceID, 3, "Temperature");
+    Log log1 = createLog(deviceID, 1, "Temperature");
+    Log log2 = createLog(deviceID, 2, "Temperature");
+    logRepository.saveAll(List.of(log3, log1, log2, createLog(deviceID, 0, "Temperature"),
+        createLog(new DeviceID("device2"), 2, "Temperature")));
+    DatePeriod period = new DatePeriod(start, start.plusMinutes(4));
+
+    // Act
+    List<Log> result = logRepository.findByDeviceIDAndDatePeriodBetween(deviceID, period);
+
+    // Assert
+    assertEquals(List.of(log1, log2, log3), result);
+  }
+
+  /**
+   * Test that only the logs of the sensor type are found in the period.
+   */
+  @Test
+  void shouldReturnLogsOfSensorType_WhenDeviceHasSeveralSensorTypes() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    Log temperature = createLog(deviceID, 1, "Temperature");
+    logRepository.save(temperature);
+    logRepository.save(createLog(deviceID, 2, "Humidity"));
+    DatePeriod period = new DatePeriod(start, start.plusMinutes(5));
+
+    // Act
+    List<Log> result = logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID,
+        new SensorTypeID("Temperature"), period);
+
+    // Assert
+    assertEquals(List.of(temperature), result);
+  }
+
+  /**
+   * Test that the pages of a period follow each other, bounds included.
+   */
+  @Test
+  void shouldReturnNextPage_WhenCursorIsGiven() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    List<Log> logs = new ArrayList<>();
+    for (int minute = 0; minute <= 4; minute++) {
+      logs.add(createLog(deviceID, minute, "Temperature"));
+    }
+    logRepository.saveAll(logs);
+    DatePeriod period = new DatePeriod(start, start.plusMinutes(4));
+
+    // Act
+    List<Log> firstPage = logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period, null, 3);
+    List<Log> secondPage = logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period,
+        LogCursor.of(firstPage.get(2)), 3);
+    List<Log> afterLast = logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period,
+        LogCursor.of(logs.get(4)), 3);
+
+    // Assert
+    assertEquals(logs.subList(0, 3), firstPage);
+    assertEquals(logs.subList(3, 5), secondPage);
+    assertTrue(afterLast.isEmpty());
+  }
+
+  /**
+   * Test that logs saved from several threads at once are all stored and indexed.
+   */
+  @Test
+  void shouldStoreEveryLog_WhenSavedConcurrently() throws Exception {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    int threads = 8;
+    int logsPerThread = 500;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> tasks = new ArrayList<>();
+
+    // Act
+    for (int t = 0; t < threads; t++) {
+      int thread = t;
+      tasks.add(executor.submit(() -> {
+        for (int i = 0; i < logsPerThread; i++) {
+          logRepository.save(createLog(deviceID, thread * logsPerThread + i, "Temperature"));
+        }
+      }));
+    }
+    for (Future<?> task : tasks) {
+      task.get();
+    }
+    executor.shutdown();
+
+    // Assert
+    assertEquals(threads * logsPerThread, logRepository.count());
+    assertEquals(threads * logsPerThread, logRepository.findByDeviceIDAndSensorTypeID(deviceID,
+        new SensorTypeID("Temperature")).size());
+  }
+
+  /**
+   * Test that a log cannot be saved twice.
+   */
+  @Test
+  void shouldThrowException_WhenLogAlreadyExists() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    Log log = createLog(deviceID, 1, "Temperature");
+    logRepository.save(log);
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> logRepository.save(log));
+
+    // Assert
+    assertEquals("Log already exists.", exception.getMessage());
+  }
+
+  /**
+   * Test that the statistics only cover the numeric readings of the sensor type in the period,
+   * bounds included.
+   */
+  @Test
+  void shouldComputeStatistics_WhenPeriodHasReadings() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    for (int minute = 0; minute <= 4; minute++) {
+      logRepository.save(createLog(deviceID, minute, "Temperature"));
+    }
+    logRepository.save(createLog(deviceID, 2, "Humidity"));
+    logRepository.save(logFactory.createLog(deviceID, new SensorID("sensor1"), start.plusMinutes(3),
+        new ReadingValue("open"), new SensorTypeID("Temperature"), new UnitID("Celsius")));
+    DatePeriod period = new DatePeriod(start.plusMinutes(1), start.plusMinutes(3));
+
+    // Act
+    ReadingStatistics result = logRepository.findStatistics(deviceID,
+        new SensorTypeID("Temperature"), period, List.of(50.0));
+
+    // Assert
+    assertEquals(new ReadingStatistics(3, 1, 3, 2, Map.of(50.0, 2.0)), result);
+  }
+
+  /**
+   * Test that the logs of several devices are found with one call, merged in timestamp order.
+   */
+  @Test
+  void shouldMergeLogsOfDevices_WhenSeveralDevicesAreGiven() {
+    // Arrange
+    LogRepository logRepository = new LogRepository();
+    DeviceID deviceID2 = new DeviceID("device2");
+    Log log1 = createLog(deviceID, 1, "Temperature");
+    Log log2 = createLog(deviceID2, 2, "Temperature");
+    Log log3 = createLog(deviceID, 3, "Temperature");
+    logRepository.saveAll(List.of(log3, log2, log1, createLog(deviceID2, 2, "Humidity"),
+        createLog(new DeviceID("device3"), 2, "Temperature")));
+    DatePeriod period = new DatePeriod(start, start.plusMinutes(5));
+
+    // Act
+    List<Log> result = logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(
+        List.of(deviceID, deviceID2), new SensorTypeID("Temperature"), period);
+
+    // Assert
+    assertEquals(List.of(log1, log2, log3), result);
+  }
+}
@@ -0,0 +1,213 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.log;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.persistence.data_model.CompactIDConverter;
+
+class LogIDColumnMigrationTest {
+
+  private static final String DEVICE_ID = UUID.randomUUID().toString();
+
+  private final CompactIDConverter converter = new CompactIDConverter();
+  private JdbcDataSource dataSource;
+  private Connection keepAlive;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID());
+    keepAlive = dataSource.getConnection();
+  }
+
+  @AfterEach
+  void tearDown() throws SQLException {
+    keepAlive.close();
+  }
+
+  private void execute(String... statements) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      for (String sql : statements) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  private void createTextLogsTable() throws SQLException {
+    execute("CREATE TABLE logs (log_id VARCHAR(255) PRIMARY KEY, device_id VARCHAR(255),"
+            + " sensor_id VARCHAR(255), description VARCHAR(255), timestamp TIMESTAMP)",
+        "CREATE INDEX idx_logs_device_description_timestamp"
+            + " ON logs (device_id, description, timestamp)",
+        "INSERT INTO logs VALUES ('1', '" + DEVICE_ID + "', 'sensor1', 'Temperature', NULL)",
+        "INSERT INTO logs VALUES ('2', '" + DEVICE_ID + "', 'sensor2', 'Humidity', NULL)",
+        "INSERT INTO logs VALUES ('3', NULL, 'sensor1', 'Temperature', NULL)");
+  }
+
+  private Map<String, Integer> columnTypes() throws SQLException {
+    Map<String, Integer> columnTypes = new HashMap<>();
+    try (Connection connection = dataSource.getConnection();
+        ResultSet columns = connection.getMetaData().getColumns(null, null, "LOGS", null)) {
+      while (columns.next()) {
+        columnTypes.put(columns.getString("COLUMN_NAME"), columns.getInt("DATA_TYPE"));
+      }
+    }
+    return columnTypes;
+  }
+
+  private byte[] storedID(String column, String logID) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet rows = statement.executeQuery(
+            "SELECT " + column + " FROM logs WHERE log_id = '" + logID + "'")) {
+      rows.next();
+      return rows.getBytes(1);
+    }
+  }
+
+  /**
+   * Test that the text ID columns are converted in place, every stored ID keeping its value.
+   */
+  @Test
+  void shouldConvertStoredIDs_WhenIDColumnsAreText() throws SQLException {
+    // Arrange
+    createTextLogsTable();
+    LogIDColumnMigration migration = new LogIDColumnMigration(dataSource);
+
+    // Act
+    List<String> result = migration.convertTextColumns();
+
+    // Assert
+    assertEquals(List.of("DEVICE_ID", "SENSOR_ID"), result);
+    Map<String, Integer> columnTypes = columnTypes();
+    assertEquals(Types.VARBINARY, columnTypes.get("DEVICE_ID"));
+    assertEquals(Types.VARBINARY, columnTypes.get("SENSOR_ID"));
+    assertEquals(5, columnTypes.size());
+    assertArrayEquals(converter.convertToDatabaseColumn(DEVICE_ID), storedID("device_id", "2"));
+    assertEquals("sensor2", converter.convertToEntityAttribute(storedID("sensor_id", "2")));
+    assertNull(storedID("device_id", "3"));
+  }
+
+  /**
+   * Test that nothing is done once the columns are binary.
+   */
+  @Test
+  void shouldConvertNothing_WhenRunAgain() throws SQLException {
+    // Arrange
+    createTextLogsTable();
+    LogIDColumnMigration migration = new LogIDColumnMigration(dataSource);
+    migration.convertTextColumns();
+
+    // Act
+    List<String> result = migration.convertTextColumns();
+
+    // Assert
+    assertTrue(result.isEmpty());
+    assertEquals("sensor1", converter.convertToEntityAttribute(storedID("sensor_id", "1")));
+  }
+
+  /**
+   * Test that a conversion stopped after some IDs were converted resumes with the others.
+   */
+  @Test
+  void shouldResumeConversion_WhenStoppedHalfWay() throws SQLException {
+    // Arrange
+    createTextLogsTable();
+    execute("ALTER TABLE logs ADD COLUMN device_id_compact VARBINARY(255)",
+        "UPDATE logs SET device_id_compact = X'FF31' WHERE log_id = '1'");
+    LogIDColumnMigration migration = new LogIDColumnMigration(dataSource);
+
+    // Act
+    migration.convertTextColumns();
+
+    // Assert
+    assertArrayEquals(new byte[]{(byte) 0xFF, '1'}, storedID("device_id", "1"));
+    assertArrayEquals(converter.convertToDatabaseColumn(DEVICE_ID), storedID("device_id", "2"));
+    assertEquals(5, columnTypes().size());
+  }
+
+  /**
+   * Test that a conversion stopped after the text column was dropped gives the binary column its
+   * name.
+   */
+  @Test
+  void shouldRenameBinaryColumn_WhenTextColumnWasDropped() throws SQLException {
+    // Arrange
+    execute("CREATE TABLE logs (log_id VARCHAR(255) PRIMARY KEY,"
+        + " device_id_compact VARBINARY(255), sensor_id VARBINARY(255))");
+    LogIDColumnMigration migration = new LogIDColumnMigration(dataSource);
+
+    // Act
+    List<String> result = migration.convertTextColumns();
+
+    // Assert
+    assertEquals(List.of("DEVICE_ID"), result);
+    assertEquals(Map.of("LOG_ID", Types.VARCHAR, "DEVICE_ID", Types.VARBINARY, "SENSOR_ID",
+        Types.VARBINARY), columnTypes());
+  }
+
+  /**
+   * Test that nothing is done when the logs table does not exist yet.
+   */
+  @Test
+  void shouldConvertNothing_WhenLogsTableDoesNotExist() throws SQLException {
+    // Arrange
+    LogIDColumnMigration migration = new LogIDColumnMigration(dataSource);
+
+    // Act
+    List<String> result = migration.convertTextColumns();
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the startup is stopped when the columns cannot be converted.
+   */
+  @Test
+  void shouldThrowException_WhenColumnsCannotBeConverted() throws SQLException {
+    // Arrange
+    DataSource failingDataSource = mock(DataSource.class);
+    when(failingDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+    LogIDColumnMigration migration = new LogIDColumnMigration(failingDataSource);
+
+    // Act + Assert
+    assertThrows(IllegalStateException.class, migration::migrateColumns);
+  }
+
+  /**
+   * Test that the data source is required.
+   */
+  @Test
+  void shouldThrowException_WhenDataSourceIsNull() {
+    // Act + Assert
+    assertThrows(IllegalArgumentException.class, () -> new LogIDColumnMigration(null));
+  }
+}
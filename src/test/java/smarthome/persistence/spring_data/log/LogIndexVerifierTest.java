@@ -0,0 +1,105 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.persistence.spring_data.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Iterator;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import smarthome.persistence.data_model.LogDataModel;
+
+class LogIndexVerifierTest {
+
+  private DataSource createDataSourceWithIndexes(boolean upperCase, String tableName,
+      String... indexNames) throws Exception {
+    Iterator<String> indexes = List.of(indexNames).iterator();
+    String[] currentIndex = new String[1];
+    ResultSet resultSet = mock(ResultSet.class);
+    when(resultSet.next()).thenAnswer(invocation -> {
+      currentIndex[0] = indexes.hasNext() ? indexes.next() : null;
+      return currentIndex[0] != null;
+    });
+    when(resultSet.getString("INDEX_NAME")).thenAnswer(invocation -> currentIndex[0]);
+
+    DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+    when(metaData.storesUpperCaseIdentifiers()).thenReturn(upperCase);
+    when(metaData.getIndexInfo(any(), any(), eq(tableName), eq(false), eq(true)))
+        .thenReturn(resultSet);
+
+    Connection connection = mock(Connection.class);
+    when(connection.getMetaData()).thenReturn(metaData);
+
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    return dataSource;
+  }
+
+  /**
+   * Test that no index is reported when every expected index exists, whatever its case.
+   */
+  @Test
+  void shouldReturnEmptyList_WhenAllIndexesExist() throws Exception {
+    // Arrange
+    DataSource dataSource = createDataSourceWithIndexes(true, "LOGS", "PRIMARY_KEY_2",
+        "IDX_LOGS_DEVICE_DESCRIPTION_TIMESTAMP", "IDX_LOGS_DEVICE_TIMESTAMP");
+    LogIndexVerifier verifier = new LogIndexVerifier(dataSource);
+
+    // Act
+    List<String> result = verifier.findMissingIndexes();
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the indexes not found in the database are reported.
+   */
+  @Test
+  void shouldReturnMissingIndexes_WhenIndexesDoNotExist() throws Exception {
+    // Arrange
+    DataSource dataSource = createDataSourceWithIndexes(false, "logs", "PRIMARY",
+        "idx_logs_device_timestamp");
+    LogIndexVerifier verifier = new LogIndexVerifier(dataSource);
+
+    List<String> expected = List.of(LogDataModel.DEVICE_DESCRIPTION_TIMESTAMP_INDEX);
+
+    // Act
+    List<String> result = verifier.findMissingIndexes();
+
+    // Assert
+    assertEquals(expected, result);
+  }
+
+  /**
+   * Test that the verifier cannot be created without a data source.
+   */
+  @Test
+  void shouldThrowException_WhenDataSourceIsNull() {
+    // Arrange
+    String expectedMessage = "Data source is required";
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogIndexVerifier(null));
+
+    // Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+}
@@ -602,4 +602,31 @@ class DeviceServiceImplTest {
     assertEquals(mockDevice, deviceList.get(0));
     assertEquals(1, deviceList.size());
   }
-}
\ No newline at end of file
+
+  /**
+   * Test the getDevicesGroupedByDeviceTypeID method returns the devices grouped by the repository
+   */
+  @Test
+  void shouldGetDevicesGroupedByDeviceTypeID_WhenRepositoryHasDevices() {
+    // Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    IDeviceFactory deviceFactory = mock(IDeviceFactory.class);
+    IRoomRepository roomRepository = mock(IRoomRepository.class);
+
+    DeviceServiceImpl deviceServiceImpl = new DeviceServiceImpl(deviceRepository, deviceFactory,
+        roomRepository);
+
+    DeviceTypeID deviceTypeID = mock(DeviceTypeID.class);
+    Device mockDevice = mock(Device.class);
+
+    when(deviceRepository.findAllGroupedByDeviceTypeID())
+        .thenReturn(Map.of(deviceTypeID, List.of(mockDevice)));
+
+    // Act
+    Map<DeviceTypeID, List<Device>> devices = deviceServiceImpl.getDevicesGroupedByDeviceTypeID();
+
+    // Assert
+    assertEquals(List.of(mockDevice), devices.get(deviceTypeID));
+    assertEquals(1, devices.size());
+  }
+}
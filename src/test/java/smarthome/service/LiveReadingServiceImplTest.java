@@ -0,0 +1,177 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.utils.exceptions.TooManySubscriptionsException;
+
+class LiveReadingServiceImplTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+  private final LiveReadingServiceImpl liveReadingService = new LiveReadingServiceImpl();
+
+  @AfterEach
+  void tearDown() {
+    liveReadingService.shutdown();
+  }
+
+  private Log createLog(String deviceID, String sensorTypeID, int minute) {
+    return logFactory.createLog(new DeviceID(deviceID), new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 10, minute), new ReadingValue(String.valueOf(minute)),
+        new SensorTypeID(sensorTypeID), new UnitID("Celsius"));
+  }
+
+  /**
+   * Test that a subscription only receives the readings of its device and sensor type.
+   */
+  @Test
+  void shouldDeliverMatchingReadings_WhenReadingsArePublished() throws InterruptedException {
+    // Arrange
+    BlockingQueue<Log> received = new LinkedBlockingQueue<>();
+    liveReadingService.subscribe(new DeviceID("device1"), new SensorTypeID("Temperature"),
+        received::add);
+    Log expected = createLog("device1", "Temperature", 1);
+
+    // Act
+    liveReadingService.publish(List.of(createLog("device2", "Temperature", 1),
+        createLog("device1", "Humidity", 1), expected));
+
+    // Assert
+    assertEquals(expected, received.poll(5, TimeUnit.SECONDS));
+    assertEquals(null, received.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Test that a closed subscription receives no more readings.
+   */
+  @Test
+  void shouldNotDeliver_WhenSubscriptionIsClosed() throws InterruptedException {
+    // Arrange
+    BlockingQueue<Log> received = new LinkedBlockingQueue<>();
+    LiveReadingSubscription subscription = liveReadingService.subscribe(null, null,
+        received::add);
+
+    // Act
+    subscription.close();
+    liveReadingService.publish(List.of(createLog("device1", "Temperature", 1)));
+
+    // Assert
+    assertTrue(subscription.isClosed());
+    assertEquals(null, received.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Test that the readings waiting for a slow listener are replaced by the latest reading of their
+   * sensor.
+   */
+  @Test
+  void shouldKeepLatestReading_WhenListenerIsSlow() throws InterruptedException {
+    // Arrange
+    BlockingQueue<Log> received = new LinkedBlockingQueue<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    liveReadingService.subscribe(null, null, log -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      received.add(log);
+    });
+    Log first = createLog("device1", "Temperature", 1);
+    Log latest = createLog("device1", "Temperature", 4);
+
+    // Act
+    liveReadingService.publish(List.of(first));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    liveReadingService.publish(List.of(createLog("device1", "Temperature", 2)));
+    liveReadingService.publish(List.of(latest, createLog("device1", "Temperature", 3)));
+    release.countDown();
+
+    // Assert
+    assertEquals(first, received.poll(5, TimeUnit.SECONDS));
+    assertEquals(latest, received.poll(5, TimeUnit.SECONDS));
+    assertEquals(null, received.poll(100, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * Test that a subscription is closed when its listener fails.
+   */
+  @Test
+  void shouldCloseSubscription_WhenListenerFails() throws InterruptedException {
+    // Arrange
+    CountDownLatch called = new CountDownLatch(1);
+    LiveReadingSubscription subscription = liveReadingService.subscribe(null, null, log -> {
+      called.countDown();
+      throw new IllegalStateException("Client disconnected");
+    });
+
+    // Act
+    liveReadingService.publish(List.of(createLog("device1", "Temperature", 1)));
+
+    // Assert
+    assertTrue(called.await(5, TimeUnit.SECONDS));
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!subscription.isClosed() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(subscription.isClosed());
+  }
+
+  /**
+   * Test that no more subscriptions are accepted once the limit is reached, until one is closed.
+   */
+  @Test
+  void shouldThrowException_WhenSubscriptionLimitIsReached() {
+    // Arrange
+    LiveReadingServiceImpl limitedService = new LiveReadingServiceImpl(1, 1);
+    LiveReadingSubscription subscription = limitedService.subscribe(null, null, log -> {
+    });
+
+    // Act & Assert
+    assertThrows(TooManySubscriptionsException.class,
+        () -> limitedService.subscribe(null, null, log -> {
+        }));
+    subscription.close();
+    assertFalse(limitedService.subscribe(null, null, log -> {
+    }).isClosed());
+    limitedService.shutdown();
+  }
+
+  /**
+   * Test that subscribing without a listener throws an exception.
+   */
+  @Test
+  void shouldThrowException_WhenListenerIsNull() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class,
+        () -> liveReadingService.subscribe(null, null, null));
+  }
+}
@@ -0,0 +1,210 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.log_rollup.LogRollup;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RollupResolution;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.persistence.mem.LogRollupRepository;
+
+class LogRollupServiceImplTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+  private final DeviceID deviceID = new DeviceID("device1");
+  private final DatePeriod firstDay = new DatePeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+      LocalDateTime.of(2024, 1, 1, 23, 59));
+  private final LogRepository logRepository = new LogRepository();
+  private final LogRollupRepository logRollupRepository = new LogRollupRepository();
+
+  private Log createLog(LocalDateTime timestamp, String value) {
+    return logFactory.createLog(deviceID, new SensorID("sensor1"), timestamp,
+        new ReadingValue(value), new SensorTypeID("Temperature"), new UnitID("Celsius"));
+  }
+
+  private LogRollupServiceImpl createService() {
+    return new LogRollupServiceImpl(logRollupRepository, logRepository);
+  }
+
+  /**
+   * Test that readings written in separate calls are accumulated in the same buckets.
+   */
+  @Test
+  void shouldAccumulateReadings_WhenAddedInSeveralCalls() {
+    // Arrange
+    LogRollupServiceImpl service = createService();
+    DatePeriod period = new DatePeriod(LocalDateTime.of(2024, 1, 1, 0, 0),
+        LocalDateTime.of(2024, 1, 1, 23, 59));
+
+    // Act
+    service.addToRollups(List.of(createLog(LocalDateTime.of(2024, 1, 1, 10, 1), "10"),
+        createLog(LocalDateTime.of(2024, 1, 1, 10, 20), "30")));
+    service.addToRollups(List.of(createLog(LocalDateTime.of(2024, 1, 1, 11, 5), "50")));
+
+    // Assert
+    List<LogRollup> hourly = service.getRollups(deviceID, period, RollupResolution.ONE_HOUR);
+    assertEquals(2, hourly.size());
+    assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), hourly.get(0).getBucketStart());
+    assertEquals(2, hourly.get(0).getCount());
+    assertEquals(20.0, hourly.get(0).getAverage());
+
+    List<LogRollup> daily = service.getRollups(deviceID, period, RollupResolution.ONE_DAY);
+    assertEquals(1, daily.size());
+    assertEquals(3, daily.get(0).getCount());
+    assertEquals(10.0, daily.get(0).getMin());
+    assertEquals(50.0, daily.get(0).getMax());
+  }
+
+  /**
+   * Test that text readings are not rolled up.
+   */
+  @Test
+  void shouldIgnoreReadings_WhenTheyAreNotNumeric() {
+    // Arrange
+    LogRollupServiceImpl service = createService();
+
+    // Act
+    List<LogRollup> result = service.addToRollups(
+        List.of(createLog(LocalDateTime.of(2024, 1, 1, 6, 45), "06:45")));
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the rollups of the days logged before the rollups were kept are rebuilt from the
+   * logs when they are read, and stored.
+   */
+  @Test
+  void shouldRebuildRollupsFromLogs_WhenDayHasNoRollup() {
+    // Arrange
+    logRepository.saveAll(List.of(createLog(LocalDateTime.of(2024, 1, 1, 10, 1), "10"),
+        createLog(LocalDateTime.of(2024, 1, 1, 10, 20), "30")));
+    LogRollupServiceImpl service = createService();
+
+    // Act
+    List<LogRollup> result = service.getRollups(deviceID, firstDay, RollupResolution.ONE_HOUR);
+
+    // Assert
+    assertEquals(1, result.size());
+    assertEquals(2, result.get(0).getCount());
+    assertEquals(20.0, result.get(0).getAverage());
+    assertFalse(logRollupRepository.findAll().isEmpty());
+  }
+
+  /**
+   * Test that the first readings added to a day with older logs give the rollups of every log of
+   * the day.
+   */
+  @Test
+  void shouldRollUpWholeDay_WhenFirstReadingsOfDayAreAdded() {
+    // Arrange
+    logRepository.save(createLog(LocalDateTime.of(2024, 1, 1, 8, 0), "10"));
+    List<Log> logs = logRepository.saveAll(
+        List.of(createLog(LocalDateTime.of(2024, 1, 1, 9, 0), "30")));
+    LogRollupServiceImpl service = createService();
+
+    // Act
+    service.addToRollups(logs);
+
+    // Assert
+    List<LogRollup> daily = logRollupRepository.findByDeviceIDAndResolutionAndDatePeriod(
+        deviceID, RollupResolution.ONE_DAY, firstDay);
+    assertEquals(1, daily.size());
+    assertEquals(2, daily.get(0).getCount());
+  }
+
+  /**
+   * Test that rebuilding the rollups of a day replaces the stored ones, and gives the same
+   * rollups when done again.
+   */
+  @Test
+  void shouldReplaceStoredRollups_WhenRollupsAreRebuilt() {
+    // Arrange
+    List<Log> logs = logRepository.saveAll(
+        List.of(createLog(LocalDateTime.of(2024, 1, 1, 9, 0), "30")));
+    LogRollupServiceImpl service = createService();
+    service.addToRollups(logs);
+    service.addToRollups(logs);
+
+    // Act
+    service.rebuildRollups(deviceID, firstDay);
+    service.rebuildRollups(logs);
+
+    // Assert
+    List<LogRollup> daily = service.getRollups(deviceID, firstDay, RollupResolution.ONE_DAY);
+    assertEquals(1, daily.size());
+    assertEquals(1, daily.get(0).getCount());
+  }
+
+  /**
+   * Test that the days marked stale are rebuilt from the logs when they are read.
+   */
+  @Test
+  void shouldRebuildStaleDay_WhenItIsRead() {
+    // Arrange
+    List<Log> logs = logRepository.saveAll(
+        List.of(createLog(LocalDateTime.of(2024, 1, 1, 9, 0), "30")));
+    LogRollupServiceImpl service = createService();
+    service.addToRollups(logs);
+    Log missed = logRepository.save(createLog(LocalDateTime.of(2024, 1, 1, 9, 30), "50"));
+    service.markStale(List.of(missed));
+
+    // Act
+    List<LogRollup> result = service.getRollups(deviceID, firstDay, RollupResolution.ONE_DAY);
+
+    // Assert
+    assertEquals(1, result.size());
+    assertEquals(2, result.get(0).getCount());
+    assertEquals(2, logRollupRepository.findByDeviceIDAndResolutionAndDatePeriod(deviceID,
+        RollupResolution.ONE_DAY, firstDay).get(0).getCount());
+  }
+
+  /**
+   * Test that the service cannot be created without a repository.
+   */
+  @Test
+  void shouldThrowException_WhenRepositoryIsNull() {
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogRollupServiceImpl(null, logRepository));
+
+    // Assert
+    assertEquals("Log Rollup Repository is required", exception.getMessage());
+  }
+
+  /**
+   * Test that the service cannot be created without a log repository.
+   */
+  @Test
+  void shouldThrowException_WhenLogRepositoryIsNull() {
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogRollupServiceImpl(logRollupRepository, null));
+
+    // Assert
+    assertEquals("Log Repository is required", exception.getMessage());
+  }
+}
@@ -14,8 +14,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -23,15 +28,20 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 import smarthome.domain.device.Device;
 import smarthome.domain.log.ILogFactory;
 import smarthome.domain.log.Log;
 import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.log.LogPair;
 import smarthome.domain.repository.IDeviceRepository;
 import smarthome.domain.repository.ILogRepository;
 import smarthome.domain.repository.ISensorRepository;
@@ -39,6 +49,8 @@ import smarthome.domain.repository.ISensorTypeRepository;
 import smarthome.domain.repository.IUnitRepository;
 import smarthome.domain.value_object.DatePeriod;
 import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.LogCursor;
+import smarthome.domain.value_object.LogID;
 import smarthome.domain.value_object.ReadingValue;
 import smarthome.domain.value_object.SensorID;
 import smarthome.domain.value_object.SensorTypeID;
@@ -48,8 +60,7 @@ import smarthome.domain.value_object.UnitID;
 class LogServiceImplTest {
 
   private Log createMockLog(String value, LocalDateTime timestamp) {
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn(value);
+    ReadingValue readingValue = new ReadingValue(value);
 
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
@@ -73,7 +84,8 @@ class LogServiceImplTest {
 
     // Act
     LogServiceImpl result = new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-        sensorTypeRepository, unitRepository, logFactory);
+        sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
 
     // Assert
@@ -94,7 +106,8 @@ class LogServiceImplTest {
     ILogFactory logFactory = mock(
         ILogFactory.class); // mock the logFactory to ensure proper behavior
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -136,7 +149,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -154,6 +168,277 @@ class LogServiceImplTest {
     assertEquals("Device ID does not exist", exception.getMessage());
   }
 
+  /**
+   * Test that a batch of logs is saved at once and that every ID shared by the batch is checked
+   * only once.
+   */
+  @Test
+  void shouldAddLogsCheckingEachIDOnce_WhenAllIDsExist() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    DeviceID deviceID = new DeviceID("device1");
+    SensorID sensorID = new SensorID("sensor1");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("Celsius");
+    Log log1 = logFactory.createLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 0),
+        new ReadingValue("20"), sensorTypeID, unitID);
+    Log log2 = logFactory.createLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 5),
+        new ReadingValue("21"), sensorTypeID, unitID);
+    List<Log> logs = List.of(log1, log2);
+
+    when(deviceRepository.containsOfIdentity(deviceID)).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(sensorID)).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(sensorTypeID)).thenReturn(true);
+    when(unitRepository.containsOfIdentity(unitID)).thenReturn(true);
+    when(logRepository.saveAll(logs)).thenReturn(logs);
+
+    // Act
+    List<Log> result = logService.addLogs(logs);
+
+    // Assert
+    assertEquals(logs, result);
+    verify(deviceRepository, times(1)).containsOfIdentity(deviceID);
+    verify(sensorRepository, times(1)).containsOfIdentity(sensorID);
+    verify(sensorTypeRepository, times(1)).containsOfIdentity(sensorTypeID);
+    verify(unitRepository, times(1)).containsOfIdentity(unitID);
+  }
+
+  /**
+   * Test that the rollups of the days of a batch are rebuilt from the logs when another ingestion
+   * updated them at the same time.
+   */
+  @Test
+  void shouldRebuildRollups_WhenRollupUpdateConflicts() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupService logRollupService = mock(ILogRollupService.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory, logRollupService,
+        mock(IPowerPeakService.class));
+
+    Log log = logFactory.createLog(new DeviceID("device1"), new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 1, 0), new ReadingValue("20"),
+        new SensorTypeID("Temperature"), new UnitID("Celsius"));
+    List<Log> logs = List.of(log);
+
+    when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+    when(logRepository.saveAll(logs)).thenReturn(logs);
+    when(logRollupService.addToRollups(logs))
+        .thenThrow(new OptimisticLockingFailureException("Rollup changed"));
+
+    // Act
+    List<Log> result = logService.addLogs(logs);
+
+    // Assert
+    assertEquals(logs, result);
+    verify(logRollupService, times(1)).addToRollups(logs);
+    verify(logRollupService, times(1)).rebuildRollups(logs);
+    verify(logRollupService, never()).markStale(logs);
+  }
+
+  /**
+   * Test that the logs are still saved when their rollups cannot be updated, and that their days
+   * are marked stale.
+   */
+  @Test
+  void shouldReturnSavedLogs_WhenRollupsCannotBeUpdated() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogRollupService logRollupService = mock(ILogRollupService.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory, logRollupService,
+        mock(IPowerPeakService.class));
+
+    Log log = logFactory.createLog(new DeviceID("device1"), new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 1, 0), new ReadingValue("20"),
+        new SensorTypeID("Temperature"), new UnitID("Celsius"));
+    List<Log> logs = List.of(log);
+
+    when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+    when(logRepository.saveAll(logs)).thenReturn(logs);
+    doThrow(new OptimisticLockingFailureException("Rollup changed"))
+        .when(logRollupService).addToRollups(logs);
+    doThrow(new OptimisticLockingFailureException("Rollup changed"))
+        .when(logRollupService).rebuildRollups(logs);
+
+    // Act
+    List<Log> result = logService.addLogs(logs);
+
+    // Assert
+    assertEquals(logs, result);
+    verify(logRollupService, times(LogServiceImpl.MAX_UPDATE_ATTEMPTS - 1)).rebuildRollups(logs);
+    verify(logRollupService, times(1)).markStale(logs);
+  }
+
+  /**
+   * Test that the logs are still saved when their power peaks cannot be saved, another ingestion
+   * having inserted the same minute.
+   */
+  @Test
+  void shouldReturnSavedLogs_WhenPowerPeaksCannotBeUpdated() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    IPowerPeakService powerPeakService = mock(IPowerPeakService.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), powerPeakService);
+
+    Log log = logFactory.createLog(new DeviceID("device1"), new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 1, 0), new ReadingValue("20"),
+        new SensorTypeID("InstantPowerConsumption"), new UnitID("Watt"));
+    List<Log> logs = List.of(log);
+
+    when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+    when(logRepository.saveAll(logs)).thenReturn(logs);
+    doThrow(new DataIntegrityViolationException("Duplicate power peak"))
+        .when(powerPeakService).addReadings(logs);
+
+    // Act
+    List<Log> result = logService.addLogs(logs);
+
+    // Assert
+    assertEquals(logs, result);
+    verify(powerPeakService, times(LogServiceImpl.MAX_UPDATE_ATTEMPTS)).addReadings(logs);
+  }
+
+  /**
+   * Test that the power peaks are not updated with logs whose transaction rolls back.
+   */
+  @Test
+  void shouldNotAddPowerPeaks_WhenTransactionOfAddedLogsRollsBack() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    IPowerPeakService powerPeakService = mock(IPowerPeakService.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), powerPeakService);
+
+    Log log = logFactory.createLog(new DeviceID("device1"), new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 1, 0), new ReadingValue("20"),
+        new SensorTypeID("InstantPowerConsumption"), new UnitID("Watt"));
+    List<Log> logs = List.of(log);
+
+    when(deviceRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any())).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any())).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any())).thenReturn(true);
+    when(logRepository.saveAll(logs)).thenReturn(logs);
+
+    // Act
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      logService.addLogs(logs);
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Assert
+    verify(powerPeakService, never()).addReadings(anyList());
+  }
+
+  /**
+   * Test that an empty batch of logs is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenBatchOfLogsIsEmpty() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupService.class),
+        mock(IPowerPeakService.class));
+    List<Log> logs = List.of();
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> logService.addLogs(logs));
+
+    // Assert
+    assertEquals("Logs cannot be empty", exception.getMessage());
+    verify(logRepository, never()).saveAll(any());
+  }
+
+  /**
+   * Test that no log of a batch is saved when one of them references a device that does not
+   * exist.
+   */
+  @Test
+  void shouldNotSaveAnyLog_WhenOneDeviceIDOfBatchDoesNotExist() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    DeviceID existingDeviceID = new DeviceID("device1");
+    DeviceID unknownDeviceID = new DeviceID("device2");
+    SensorID sensorID = new SensorID("sensor1");
+    SensorTypeID sensorTypeID = new SensorTypeID("Temperature");
+    UnitID unitID = new UnitID("Celsius");
+    Log log1 = logFactory.createLog(existingDeviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 0),
+        new ReadingValue("20"), sensorTypeID, unitID);
+    Log log2 = logFactory.createLog(unknownDeviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 5),
+        new ReadingValue("21"), sensorTypeID, unitID);
+    List<Log> logs = List.of(log1, log2);
+
+    when(deviceRepository.containsOfIdentity(existingDeviceID)).thenReturn(true);
+    when(deviceRepository.containsOfIdentity(unknownDeviceID)).thenReturn(false);
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> logService.addLogs(logs));
+
+    // Assert
+    assertEquals("Device ID does not exist", exception.getMessage());
+    verify(logRepository, never()).saveAll(any());
+  }
+
   /**
    * Test that the LogServiceImpl throws an IllegalArgumentException when the sensorID does not
    * exist.
@@ -168,7 +453,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -201,7 +487,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -235,7 +522,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = mock(ILogFactory.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     DeviceID deviceID = mock(DeviceID.class);
     SensorID sensorID = mock(SensorID.class);
@@ -278,7 +566,53 @@ class LogServiceImplTest {
     // Act
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
         () -> new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
-            sensorTypeRepository, unitRepository, logFactory));
+            sensorTypeRepository, unitRepository, logFactory, mock(ILogRollupService.class),
+            mock(IPowerPeakService.class)));
+    // Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+
+  /**
+   * Test that the LogServiceImpl class throws an IllegalArgumentException when the
+   * LogRollupService is null.
+   */
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenLogRollupServiceIsNull() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    String expectedMessage = "Log Rollup Service is required";
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
+            sensorTypeRepository, unitRepository, logFactory, null, mock(IPowerPeakService.class)));
+    // Assert
+    assertEquals(expectedMessage, exception.getMessage());
+  }
+
+  /**
+   * Test that the LogServiceImpl class throws an IllegalArgumentException when the
+   * PowerPeakService is null.
+   */
+  @Test
+  void shouldThrowIllegalArgumentExceptionWhenPowerPeakServiceIsNull() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    String expectedMessage = "Power Peak Service is required";
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new LogServiceImpl(logRepository, deviceRepository, sensorRepository,
+            sensorTypeRepository, unitRepository, logFactory, mock(ILogRollupService.class),
+            null));
     // Assert
     assertEquals(expectedMessage, exception.getMessage());
   }
@@ -307,7 +641,8 @@ class LogServiceImplTest {
         expectedLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Act
     List<Log> actualLogs = logService.getDeviceReadingsByTimePeriod(deviceID, period);
@@ -337,7 +672,8 @@ class LogServiceImplTest {
         expectedLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Act
     List<Log> actualLogs = logService.getDeviceReadingsByTimePeriod(deviceID, period);
@@ -346,6 +682,57 @@ class LogServiceImplTest {
     assertEquals(expectedLogs, actualLogs);
   }
 
+  /**
+   * Test that a page of logs is read from the repository after the given cursor
+   */
+  @Test
+  void shouldReturnPageOfLogs_whenDeviceReadingsPageIsCalled() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    DeviceID deviceID = mock(DeviceID.class);
+    DatePeriod period = mock(DatePeriod.class);
+    LogCursor cursor = new LogCursor(LocalDateTime.of(2024, 1, 1, 10, 0), new LogID("1"));
+    List<Log> expectedLogs = List.of(mock(Log.class));
+    when(logRepository.findPageByDeviceIDAndDatePeriod(deviceID, period, cursor, 100))
+        .thenReturn(expectedLogs);
+
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupService.class),
+        mock(IPowerPeakService.class));
+
+    // Act
+    List<Log> actualLogs = logService.getDeviceReadingsPage(deviceID, period, cursor, 100);
+
+    // Assert
+    assertEquals(expectedLogs, actualLogs);
+  }
+
+  /**
+   * Test that a page larger than the maximum page size is rejected
+   */
+  @Test
+  void shouldThrowException_whenDeviceReadingsPageLimitIsTooLarge() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupService.class),
+        mock(IPowerPeakService.class));
+    DeviceID deviceID = mock(DeviceID.class);
+    DatePeriod period = mock(DatePeriod.class);
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> logService.getDeviceReadingsPage(deviceID, period, null,
+            LogServiceImpl.MAX_PAGE_SIZE + 1));
+
+    // Assert
+    assertEquals("Limit must be between 1 and 1000", exception.getMessage());
+    verify(logRepository, never()).findPageByDeviceIDAndDatePeriod(any(), any(), any(),
+        eq(LogServiceImpl.MAX_PAGE_SIZE + 1));
+  }
+
   /**
    * Test if the List of logs is returned not empty
    */
@@ -373,7 +760,8 @@ class LogServiceImplTest {
         .thenReturn(expectedLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Act
     List<Log> actualLogs = logService.getDeviceReadingsBySensorTypeAndTimePeriod(deviceID,
@@ -407,7 +795,8 @@ class LogServiceImplTest {
         .thenReturn(emptyLogs);
 
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     String expectedMessage = "No readings found for the given time period";
 
@@ -433,8 +822,7 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     /* Mocking one log object and adding it to a list*/
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("5");
+    ReadingValue readingValue1 = new ReadingValue("5");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue1);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -442,8 +830,7 @@ class LogServiceImplTest {
     List<Log> list1 = List.of(log1);
 
     /* Mocking another log object and adding it to another list*/
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("14");
+    ReadingValue readingValue2 = new ReadingValue("14");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 5));
@@ -452,7 +839,8 @@ class LogServiceImplTest {
 
     ILogRepository logRepository = mock(ILogRepository.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     TimeDelta timeDelta = mock(TimeDelta.class);
     when(timeDelta.getMinutes()).thenReturn(5);
@@ -478,22 +866,19 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     /* Mocking one log object and adding it to a list*/
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("5");
+    ReadingValue readingValue1 = new ReadingValue("5");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue1);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
     /* Mocking another log object and adding it to the second list*/
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("14");
+    ReadingValue readingValue2 = new ReadingValue("14");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
 
     /* Mocking another log object and adding it to the second list*/
-    ReadingValue readingValue3 = mock(ReadingValue.class);
-    when(readingValue3.getValue()).thenReturn("20");
+    ReadingValue readingValue3 = new ReadingValue("20");
     Log log3 = mock(Log.class);
     when(log3.getReadingValue()).thenReturn(readingValue3);
     when(log3.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 3));
@@ -504,7 +889,8 @@ class LogServiceImplTest {
 
     ILogRepository logRepository = mock(ILogRepository.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     TimeDelta timeDelta = mock(TimeDelta.class);
     when(timeDelta.getMinutes()).thenReturn(5);
@@ -518,6 +904,44 @@ class LogServiceImplTest {
     assertEquals(expectedDifference, actualDifference);
   }
 
+  /**
+   * Test for method getDifferenceBetweenReadings when a reading of the second list matches more
+   * than one reading of the first list, and the largest difference is not on the last match.
+   */
+  @Test
+  void shouldReturnMaxDifferenceBetweenReadings_whenGetMaxDifferenceBetweenReadingsIsCalledAndEarlierMatchHasLargestDifference()
+      throws Exception {
+    // Arrange
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+
+    Log log1 = createMockLog("5", LocalDateTime.of(2024, 1, 1, 1, 3));
+    Log log2 = createMockLog("40", LocalDateTime.of(2024, 1, 1, 1, 1));
+    Log log3 = createMockLog("6", LocalDateTime.of(2024, 1, 1, 1, 4));
+
+    List<Log> list1 = List.of(log1);
+    List<Log> list2 = List.of(log2, log3);
+
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    TimeDelta timeDelta = new TimeDelta(5);
+
+    int expectedDifference = 35;
+
+    // Act
+    int actualDifference = logService.getMaxDifferenceBetweenReadingsThatAreWithinTimeDelta(list1,
+        list2, timeDelta);
+
+    // Assert
+    assertEquals(expectedDifference, actualDifference);
+  }
+
 
   /**
    * Test for method getDifferenceBetweenReadings when the readings are not within an interval of 5
@@ -532,8 +956,7 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     /* Mocking one log object and adding it to a list*/
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("5");
+    ReadingValue readingValue1 = new ReadingValue("5");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue1);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -541,8 +964,7 @@ class LogServiceImplTest {
     List<Log> list1 = List.of(log1);
 
     /* Mocking another log object and adding it to another list*/
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("14");
+    ReadingValue readingValue2 = new ReadingValue("14");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -551,7 +973,8 @@ class LogServiceImplTest {
 
     ILogRepository logRepository = mock(ILogRepository.class);
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     TimeDelta timeDelta = mock(TimeDelta.class);
     when(timeDelta.getMinutes()).thenReturn(5);
@@ -577,9 +1000,9 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
@@ -603,16 +1026,16 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("testes");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    ReadingValue readingValue = new ReadingValue("testes");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue);
 
-    String expected = "Reading values are not integers";
+    String expected = "Reading values are not numeric";
 
     // Act
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -632,9 +1055,9 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
@@ -648,6 +1071,28 @@ class LogServiceImplTest {
     assertEquals(expected, result);
   }
 
+  @Test
+  void shouldReturnRoundedDifferenceOfTwoDecimalReadings_WhenGetDifferenceBetweenReadingsCalled() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    Log log = createMockLog("20.4", LocalDateTime.of(2024, 1, 1, 1, 1));
+    Log log2 = createMockLog("23.1", LocalDateTime.of(2024, 1, 1, 1, 2));
+
+    int expected = 3;
+    // Act
+    int result = logService.getDifferenceBetweenReadings(log, log2);
+    // Assert
+    assertEquals(expected, result);
+  }
+
   @Test
   void shouldThrowExeption_WWhenGetDifferenceBetweenReadingsCalledWithNonIntengerReading() {
     // Arrange
@@ -658,16 +1103,16 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("testes");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    ReadingValue readingValue = new ReadingValue("testes");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue);
 
-    String expected = "Reading values are not integers";
+    String expected = "Reading values are not numeric";
 
     // Act
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
@@ -687,14 +1132,13 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
 
@@ -717,19 +1161,17 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("-10");
+    ReadingValue readingValue2 = new ReadingValue("-10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
 
-    ReadingValue readingValue3 = mock(ReadingValue.class);
-    when(readingValue3.getValue()).thenReturn("0");
+    ReadingValue readingValue3 = new ReadingValue("0");
     Log log3 = mock(Log.class);
     when(log3.getReadingValue()).thenReturn(readingValue3);
 
@@ -743,7 +1185,7 @@ class LogServiceImplTest {
   }
 
   @Test
-  void shouldReturnMapWithAllPositionsOfTwoListsThatAreWithinTimeDelta_WhenGetPositionsOfReadingsWithinTimeDeltaIsCalled() {
+  void shouldReturnAllPairsOfTwoListsThatAreWithinTimeDelta_WhenCalculatePairsOfReadingsWithinTimeDeltaIsCalled() {
     // Arrange
     ILogRepository logRepository = mock(ILogRepository.class);
     IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
@@ -752,22 +1194,20 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
 
-    ReadingValue readingValue3 = mock(ReadingValue.class);
-    when(readingValue3.getValue()).thenReturn("10");
+    ReadingValue readingValue3 = new ReadingValue("10");
     Log log3 = mock(Log.class);
     when(log3.getReadingValue()).thenReturn(readingValue2);
     when(log3.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 8));
@@ -775,20 +1215,19 @@ class LogServiceImplTest {
     List<Log> list1 = List.of(log);
     List<Log> list2 = List.of(log2, log3);
 
-    int timeDelta = 5;
+    TimeDelta timeDelta = new TimeDelta(5);
 
-    Map<Integer, Integer> expected = new HashMap<>();
-    expected.put(0, 0);
+    List<LogPair> expected = List.of(new LogPair(log, log2));
 
     // Act
-    Map<Integer, Integer> result = logService.calculateMapWithPositionsOfReadingsWithinTimeDelta(list1, list2,
+    List<LogPair> result = logService.calculatePairsOfReadingsWithinTimeDelta(list1, list2,
         timeDelta);
     // Assert
     assertEquals(expected, result);
   }
 
   @Test
-  void shouldReturnEmptyMapWhenNoReadingsAreWithinTimeDelta_WhenGetPositionsOfReadingsWithinTimeDeltaIsCalled() {
+  void shouldReturnEmptyListWhenNoReadingsAreWithinTimeDelta_WhenCalculatePairsOfReadingsWithinTimeDeltaIsCalled() {
     // Arrange
     ILogRepository logRepository = mock(ILogRepository.class);
     IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
@@ -797,16 +1236,15 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -814,12 +1252,12 @@ class LogServiceImplTest {
     List<Log> list1 = List.of(log);
     List<Log> list2 = List.of(log2);
 
-    int timeDelta = 5;
+    TimeDelta timeDelta = new TimeDelta(5);
 
-    Map<Integer, Integer> expected = new HashMap<>();
+    List<LogPair> expected = List.of();
 
     // Act
-    Map<Integer, Integer> result = logService.calculateMapWithPositionsOfReadingsWithinTimeDelta(list1, list2,
+    List<LogPair> result = logService.calculatePairsOfReadingsWithinTimeDelta(list1, list2,
         timeDelta);
     // Assert
     assertEquals(expected, result);
@@ -835,16 +1273,15 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
@@ -869,16 +1306,15 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -904,16 +1340,15 @@ class LogServiceImplTest {
          IUnitRepository unitRepository = mock(IUnitRepository.class);
          ILogFactory logFactory = new LogFactoryImpl();
          LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-             sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+             sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+             mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 2));
@@ -943,22 +1378,20 @@ class LogServiceImplTest {
          IUnitRepository unitRepository = mock(IUnitRepository.class);
          ILogFactory logFactory = new LogFactoryImpl();
          LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-             sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+             sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+             mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("10");
+    ReadingValue readingValue = new ReadingValue("10");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue1 = mock(ReadingValue.class);
-    when(readingValue1.getValue()).thenReturn("2");
+    ReadingValue readingValue1 = new ReadingValue("2");
     Log log1 = mock(Log.class);
     when(log1.getReadingValue()).thenReturn(readingValue);
     when(log1.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 4));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("5");
+    ReadingValue readingValue2 = new ReadingValue("5");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 6));
@@ -988,16 +1421,15 @@ class LogServiceImplTest {
          IUnitRepository unitRepository = mock(IUnitRepository.class);
          ILogFactory logFactory = new LogFactoryImpl();
          LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-             sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+             sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+             mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
-    ReadingValue readingValue = mock(ReadingValue.class);
-    when(readingValue.getValue()).thenReturn("5");
+    ReadingValue readingValue = new ReadingValue("5");
     Log log = mock(Log.class);
     when(log.getReadingValue()).thenReturn(readingValue);
     when(log.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 1));
 
-    ReadingValue readingValue2 = mock(ReadingValue.class);
-    when(readingValue2.getValue()).thenReturn("10");
+    ReadingValue readingValue2 = new ReadingValue("10");
     Log log2 = mock(Log.class);
     when(log2.getReadingValue()).thenReturn(readingValue2);
     when(log2.getTimeStamp()).thenReturn(LocalDateTime.of(2024, 1, 1, 1, 8));
@@ -1026,7 +1458,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Mock Log data
     Log log1 = createMockLog("5", LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -1042,8 +1475,8 @@ class LogServiceImplTest {
     // Mock input parameters
     DatePeriod datePeriod = mock(DatePeriod.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(deviceID, sensorTypeID,
-        datePeriod))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(List.of(deviceID),
+        sensorTypeID, datePeriod))
         .thenReturn(expectedLogs);
 
     // Act
@@ -1064,7 +1497,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Mock Log data (5 entries)
     List<Log> sampleslogs = Arrays.asList(
@@ -1093,9 +1527,9 @@ class LogServiceImplTest {
     // Mock input parameters and repository behavior
     DatePeriod datePeriod = mock(DatePeriod.class);
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(DeviceID.class),
-        eq(sensorTypeID), eq(datePeriod)))
-        .thenReturn(sampleslogs); // Return all logs for any device
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(List.of(deviceID1, deviceID2),
+        sensorTypeID, datePeriod))
+        .thenReturn(expectedLogs); // One query returns the logs of both devices
 
     // Act
     List<Log> result = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(devices,
@@ -1115,7 +1549,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Mock Devices (you can reuse the same devices from the previous example)
     Device device1 = mock(Device.class, withSettings().defaultAnswer(Answers.RETURNS_DEEP_STUBS));
@@ -1137,8 +1572,8 @@ class LogServiceImplTest {
     SensorTypeID sensorTypeID = mock(SensorTypeID.class);
 
     // Mock repository to return an empty list
-    when(logRepository.findByDeviceIDAndSensorTypeAndDatePeriodBetween(any(DeviceID.class),
-        eq(sensorTypeID), eq(datePeriod)))
+    when(logRepository.findByDeviceIDsAndSensorTypeAndDatePeriod(anyList(), eq(sensorTypeID),
+        eq(datePeriod)))
         .thenReturn(Collections.emptyList());
 
     // Act
@@ -1149,6 +1584,28 @@ class LogServiceImplTest {
     assertTrue(result.isEmpty(), "Result should be an empty list when no logs are found");
   }
 
+  /**
+   * Test that the repository is not queried when there is no device.
+   */
+  @Test
+  void shouldReturnEmptyList_WhenNoDevicesAreGiven() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    LogServiceImpl logService = new LogServiceImpl(logRepository, mock(IDeviceRepository.class),
+        mock(ISensorRepository.class), mock(ISensorTypeRepository.class),
+        mock(IUnitRepository.class), new LogFactoryImpl(), mock(ILogRollupService.class),
+        mock(IPowerPeakService.class));
+
+    // Act
+    List<Log> result = logService.getReadingsInTimePeriodByListOfDevicesAndSensorType(List.of(),
+        mock(DatePeriod.class), mock(SensorTypeID.class));
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verify(logRepository, never()).findByDeviceIDsAndSensorTypeAndDatePeriod(anyList(), any(),
+        any());
+  }
+
   @Test
   void shouldReturnDevicesReadingsByDeviceIDAndSensorTypeID () {
     //Arrange
@@ -1159,7 +1616,8 @@ class LogServiceImplTest {
     IUnitRepository unitRepository = mock(IUnitRepository.class);
     ILogFactory logFactory = new LogFactoryImpl();
     LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
-        sensorRepository, sensorTypeRepository, unitRepository, logFactory);
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
 
     // Mock Log data
     Log log1 = createMockLog("5", LocalDateTime.of(2024, 1, 1, 1, 1));
@@ -1182,4 +1640,163 @@ class LogServiceImplTest {
     // Assert
     assertEquals(expectedLogs, result);
   }
+
+  /**
+   * Test that the latest reading of a log added through the service is answered from memory, the
+   * repository being queried only on the first lookup of the sensor.
+   */
+  @Test
+  void shouldQueryRepositoryOnce_WhenGetLatestReadingIsCalledAgain() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    DeviceID deviceID = new DeviceID("device1");
+    SensorID sensorID = new SensorID("sensor1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    UnitID unitID = new UnitID("Percent");
+
+    when(deviceRepository.containsOfIdentity(deviceID)).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(sensorID)).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(sensorTypeID)).thenReturn(true);
+    when(unitRepository.containsOfIdentity(unitID)).thenReturn(true);
+    when(logRepository.save(any(Log.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    Log latestLog = logService.addLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 5),
+        new ReadingValue("40"), sensorTypeID, unitID);
+    logService.addLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 0),
+        new ReadingValue("20"), sensorTypeID, unitID);
+
+    // Act
+    logService.getLatestReading(deviceID, sensorTypeID);
+    Optional<Log> result = logService.getLatestReading(deviceID, sensorTypeID);
+
+    // Assert
+    assertEquals(Optional.of(latestLog), result);
+    verify(logRepository, times(1)).findLatest(deviceID, sensorTypeID);
+  }
+
+  /**
+   * Test that a reading back-filled after a restart does not hide a newer reading stored before
+   * it.
+   */
+  @Test
+  void shouldReturnNewerStoredReading_WhenOlderReadingIsAddedAfterRestart() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    DeviceID deviceID = new DeviceID("device1");
+    SensorID sensorID = new SensorID("sensor1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    UnitID unitID = new UnitID("Percent");
+    Log storedLog = logFactory.createLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 5),
+        new ReadingValue("40"), sensorTypeID, unitID);
+
+    when(deviceRepository.containsOfIdentity(deviceID)).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(sensorID)).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(sensorTypeID)).thenReturn(true);
+    when(unitRepository.containsOfIdentity(unitID)).thenReturn(true);
+    when(logRepository.save(any(Log.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.of(storedLog));
+
+    logService.addLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 0),
+        new ReadingValue("20"), sensorTypeID, unitID);
+
+    // Act
+    Optional<Log> result = logService.getLatestReading(deviceID, sensorTypeID);
+
+    // Assert
+    assertEquals(Optional.of(storedLog), result);
+  }
+
+  /**
+   * Test that a log whose transaction rolls back is not kept as the latest reading.
+   */
+  @Test
+  void shouldNotKeepLatestReading_WhenTransactionOfAddedLogRollsBack() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    DeviceID deviceID = new DeviceID("device1");
+    SensorID sensorID = new SensorID("sensor1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    UnitID unitID = new UnitID("Percent");
+
+    when(deviceRepository.containsOfIdentity(deviceID)).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(sensorID)).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(sensorTypeID)).thenReturn(true);
+    when(unitRepository.containsOfIdentity(unitID)).thenReturn(true);
+    when(logRepository.save(any(Log.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.empty());
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      logService.addLog(deviceID, sensorID, LocalDateTime.of(2024, 1, 1, 1, 5),
+          new ReadingValue("40"), sensorTypeID, unitID);
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Act
+    Optional<Log> result = logService.getLatestReading(deviceID, sensorTypeID);
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  /**
+   * Test that the latest reading is read from the repository when no log was added through the
+   * service.
+   */
+  @Test
+  void shouldReturnLatestReadingFromRepository_WhenNoLogWasAdded() {
+    // Arrange
+    ILogRepository logRepository = mock(ILogRepository.class);
+    IDeviceRepository deviceRepository = mock(IDeviceRepository.class);
+    ISensorRepository sensorRepository = mock(ISensorRepository.class);
+    ISensorTypeRepository sensorTypeRepository = mock(ISensorTypeRepository.class);
+    IUnitRepository unitRepository = mock(IUnitRepository.class);
+    ILogFactory logFactory = new LogFactoryImpl();
+    LogServiceImpl logService = new LogServiceImpl(logRepository, deviceRepository,
+        sensorRepository, sensorTypeRepository, unitRepository, logFactory,
+        mock(ILogRollupService.class), mock(IPowerPeakService.class));
+
+    DeviceID deviceID = new DeviceID("device1");
+    SensorTypeID sensorTypeID = new SensorTypeID("PercentagePosition");
+    Log log = createMockLog("40", LocalDateTime.of(2024, 1, 1, 1, 5));
+
+    when(logRepository.findLatest(deviceID, sensorTypeID)).thenReturn(Optional.of(log));
+
+    // Act
+    Optional<Log> result = logService.getLatestReading(deviceID, sensorTypeID);
+
+    // Assert
+    assertEquals(Optional.of(log), result);
+  }
 }
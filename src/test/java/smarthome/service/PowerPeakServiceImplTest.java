@@ -0,0 +1,277 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.device.IDeviceFactory;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.power_peak.PowerPeak;
+import smarthome.domain.value_object.DatePeriod;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.DeviceName;
+import smarthome.domain.value_object.DeviceStatus;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.DeviceRepository;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.persistence.mem.PowerPeakRepository;
+
+class PowerPeakServiceImplTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+  private final DeviceID powerMeterID = new DeviceID("meter");
+  private final DeviceID powerSourceID = new DeviceID("source");
+  private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 10, 0);
+  private LogRepository logRepository;
+  private PowerPeakRepository powerPeakRepository;
+  private DeviceRepository deviceRepository;
+
+  @BeforeEach
+  void setUp() {
+    logRepository = new LogRepository();
+    powerPeakRepository = new PowerPeakRepository();
+    deviceRepository = new DeviceRepository();
+    IDeviceFactory deviceFactory = new DeviceFactoryImpl();
+    deviceRepository.save(deviceFactory.createDevice(powerMeterID, new RoomID("room"),
+        new DeviceName("Meter"), new DeviceStatus(true), new DeviceTypeID("PowerMeter")));
+    deviceRepository.save(deviceFactory.createDevice(powerSourceID, new RoomID("room"),
+        new DeviceName("Source"), new DeviceStatus(true), new DeviceTypeID("PowerSource")));
+  }
+
+  private Log createReading(DeviceID deviceID, LocalDateTime timestamp, String value) {
+    return logFactory.createLog(deviceID, new SensorID("sensor1"), timestamp,
+        new ReadingValue(value), new SensorTypeID("InstantPowerConsumption"), new UnitID("W"));
+  }
+
+  private void log(PowerPeakServiceImpl service, Log... logs) {
+    List<Log> saved = logRepository.saveAll(List.of(logs));
+    service.addReadings(saved);
+  }
+
+  private PowerPeakServiceImpl createService() {
+    return new PowerPeakServiceImpl(powerPeakRepository, logRepository, deviceRepository);
+  }
+
+  /**
+   * Test that the peak of a long period is the highest sum of readings less than 15 minutes apart.
+   */
+  @Test
+  void shouldReturnHighestSum_WhenReadingsAreWithinWindow() {
+    // Arrange
+    PowerPeakServiceImpl service = createService();
+    log(service, createReading(powerMeterID, start.plusMinutes(30), "100"));
+    log(service, createReading(powerSourceID, start.plusMinutes(40), "50"));
+    log(service, createReading(powerSourceID, start.plusMinutes(70), "120"));
+
+    // Act
+    int result = service.getPeakPowerConsumption(
+        new DatePeriod(start, start.plusHours(3)));
+
+    // Assert
+    assertEquals(150, result);
+  }
+
+  /**
+   * Test that the readings are combined inside the period only, whatever the readings before it.
+   */
+  @Test
+  void shouldNotCombineWithReadingsBeforePeriod() {
+    // Arrange
+    PowerPeakServiceImpl service = createService();
+    log(service, createReading(powerMeterID, start.minusMinutes(5), "100"));
+    log(service, createReading(powerSourceID, start.plusMinutes(5), "80"));
+    log(service, createReading(powerMeterID, start.plusMinutes(50), "30"));
+    log(service, createReading(powerSourceID, start.plusMinutes(55), "40"));
+
+    // Act
+    int result = service.getPeakPowerConsumption(
+        new DatePeriod(start, start.plusHours(2)));
+
+    // Assert
+    assertEquals(80, result);
+  }
+
+  /**
+   * Test that a reading logged late raises the peak of the minute of the later reading.
+   */
+  @Test
+  void shouldRaisePeak_WhenReadingIsLoggedLate() {
+    // Arrange
+    PowerPeakServiceImpl service = createService();
+    log(service, createReading(powerMeterID, start.plusMinutes(40), "100"));
+
+    // Act
+    log(service, createReading(powerSourceID, start.plusMinutes(30), "60"));
+
+    // Assert
+    assertEquals(160, service.getPeakPowerConsumption(new DatePeriod(start, start.plusHours(2))));
+    assertTrue(powerPeakRepository.findAll().stream()
+        .anyMatch(peak -> peak.getBucketStart().equals(start.plusMinutes(40))
+            && peak.getPeak() == 160));
+  }
+
+  /**
+   * Test that a new service combines the readings with the ones logged before it was created.
+   */
+  @Test
+  void shouldRestoreWindowFromLogs_WhenServiceIsRestarted() {
+    // Arrange
+    log(createService(), createReading(powerMeterID, start.plusMinutes(30), "100"));
+    PowerPeakServiceImpl restarted = createService();
+
+    // Act
+    log(restarted, createReading(powerSourceID, start.plusMinutes(35), "25"));
+
+    // Assert
+    assertEquals(125, restarted.getPeakPowerConsumption(
+        new DatePeriod(start, start.plusHours(2))));
+  }
+
+  /**
+   * Test that adding the same readings again, as when a conflicting save is retried, raises
+   * nothing more.
+   */
+  @Test
+  void shouldRaiseNothing_WhenSameReadingsAreAddedAgain() {
+    // Arrange
+    PowerPeakServiceImpl service = createService();
+    List<Log> readings = logRepository.saveAll(List.of(
+        createReading(powerMeterID, start.plusMinutes(30), "100"),
+        createReading(powerSourceID, start.plusMinutes(35), "25")));
+    service.addReadings(readings);
+
+    // Act
+    List<PowerPeak> raised = service.addReadings(readings);
+
+    // Assert
+    assertTrue(raised.isEmpty());
+    assertEquals(125, service.getPeakPowerConsumption(new DatePeriod(start, start.plusHours(2))));
+  }
+
+  /**
+   * Test that the cached peaks of a day are not raised when saving the peaks rolls back.
+   */
+  @Test
+  void shouldNotRaiseCachedDay_WhenTransactionOfPeaksRollsBack() {
+    // Arrange
+    PowerPeakServiceImpl service = createService();
+    log(service, createReading(powerMeterID, start.plusMinutes(30), "100"));
+    DatePeriod period = new DatePeriod(start, start.plusHours(2));
+    service.getPeakPowerConsumption(period);
+    List<Log> readings = List.of(createReading(powerMeterID, start.plusMinutes(60), "300"));
+
+    // Act
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.addReadings(readings);
+      TransactionSynchronizationUtils.invokeAfterCompletion(
+          TransactionSynchronizationManager.getSynchronizations(),
+          TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Assert
+    assertEquals(100, service.getPeakPowerConsumption(period));
+  }
+
+  /**
+   * Test that the peak of a long period includes the readings logged before the peaks were kept,
+   * and that the rebuilt peaks are stored.
+   */
+  @Test
+  void shouldRebuildPeaksFromLogs_WhenReadingsWereLoggedBeforePeaksWereKept() {
+    // Arrange
+    logRepository.saveAll(List.of(
+        createReading(powerMeterID, start.plusMinutes(30), "100"),
+        createReading(powerSourceID, start.plusMinutes(40), "50")));
+    PowerPeakServiceImpl service = createService();
+
+    // Act
+    int result = service.getPeakPowerConsumption(new DatePeriod(start, start.plusHours(3)));
+
+    // Assert
+    assertEquals(150, result);
+    assertTrue(powerPeakRepository.findAll().stream()
+        .anyMatch(peak -> peak.getBucketStart().equals(start.plusMinutes(40))
+            && peak.getPeak() == 150));
+  }
+
+  /**
+   * Test that the first reading added to a day with older readings stores the peaks of the whole
+   * day.
+   */
+  @Test
+  void shouldStorePeaksOfWholeDay_WhenFirstReadingOfDayIsAdded() {
+    // Arrange
+    logRepository.saveAll(List.of(
+        createReading(powerMeterID, start, "100"),
+        createReading(powerSourceID, start.plusMinutes(5), "50")));
+    PowerPeakServiceImpl service = createService();
+
+    // Act
+    log(service, createReading(powerMeterID, start.plusHours(1), "30"));
+
+    // Assert
+    assertTrue(powerPeakRepository.findAll().stream()
+        .anyMatch(peak -> peak.getBucketStart().equals(start.plusMinutes(5))
+            && peak.getPeak() == 150));
+    assertEquals(150, service.getPeakPowerConsumption(new DatePeriod(start, start.plusHours(2))));
+  }
+
+  /**
+   * Test that the readings of other devices and sensor types are ignored.
+   */
+  @Test
+  void shouldIgnoreReadings_WhenNotOfPowerDevices() {
+    // Arrange
+    PowerPeakServiceImpl service = createService();
+    Log temperature = logFactory.createLog(powerMeterID, new SensorID("sensor2"),
+        start.plusMinutes(30), new ReadingValue("900"), new SensorTypeID("Temperature"),
+        new UnitID("C"));
+
+    // Act
+    List<PowerPeak> raised = service.addReadings(
+        List.of(temperature, createReading(new DeviceID("other"), start, "900")));
+
+    // Assert
+    assertTrue(raised.isEmpty());
+    assertEquals(0, service.getPeakPowerConsumption(new DatePeriod(start, start.plusHours(2))));
+  }
+
+  /**
+   * Test that the constructor requires the power peak repository.
+   */
+  @Test
+  void shouldThrowException_WhenPowerPeakRepositoryIsNull() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new PowerPeakServiceImpl(null, logRepository, deviceRepository));
+
+    // Assert
+    assertEquals("Power Peak Repository is required", exception.getMessage());
+  }
+}
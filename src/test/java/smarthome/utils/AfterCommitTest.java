@@ -0,0 +1,80 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class AfterCommitTest {
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  /**
+   * Test that the action is run at once when there is no transaction.
+   */
+  @Test
+  void shouldRunAction_WhenThereIsNoTransaction() {
+    // Arrange
+    AtomicInteger runs = new AtomicInteger();
+
+    // Act
+    AfterCommit.run(runs::incrementAndGet);
+
+    // Assert
+    assertEquals(1, runs.get());
+  }
+
+  /**
+   * Test that the action is run only once the transaction commits.
+   */
+  @Test
+  void shouldRunActionAfterCommit_WhenTransactionIsActive() {
+    // Arrange
+    AtomicInteger runs = new AtomicInteger();
+    TransactionSynchronizationManager.initSynchronization();
+    AfterCommit.run(runs::incrementAndGet);
+    assertEquals(0, runs.get());
+
+    // Act
+    TransactionSynchronizationUtils.triggerAfterCommit();
+
+    // Assert
+    assertEquals(1, runs.get());
+  }
+
+  /**
+   * Test that the action is not run when the transaction rolls back.
+   */
+  @Test
+  void shouldNotRunAction_WhenTransactionRollsBack() {
+    // Arrange
+    AtomicInteger runs = new AtomicInteger();
+    TransactionSynchronizationManager.initSynchronization();
+    AfterCommit.run(runs::incrementAndGet);
+
+    // Act
+    TransactionSynchronizationUtils.invokeAfterCompletion(
+        TransactionSynchronizationManager.getSynchronizations(),
+        TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    // Assert
+    assertEquals(0, runs.get());
+  }
+}
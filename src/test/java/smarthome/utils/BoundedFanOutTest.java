@@ -0,0 +1,65 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BoundedFanOutTest {
+
+  /**
+   * Test that the results are in the order of the items and that no more tasks than the
+   * parallelism run at once.
+   */
+  @Test
+  void shouldReturnResultsInOrder_WhenTasksRunInParallel() {
+    // Arrange
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+    try (BoundedFanOut fanOut = new BoundedFanOut("test", 3)) {
+      // Act
+      List<Integer> result = fanOut.map(items, item -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        return item * 2;
+      });
+
+      // Assert
+      assertEquals(items.stream().map(item -> item * 2).toList(), result);
+      assertTrue(maxRunning.get() <= 3);
+    }
+  }
+
+  /**
+   * Test that the exception of a task is thrown to the caller.
+   */
+  @Test
+  void shouldThrowException_WhenTaskFails() {
+    // Arrange
+    try (BoundedFanOut fanOut = new BoundedFanOut("test", 2)) {
+      // Act & Assert
+      assertThrows(IllegalArgumentException.class, () -> fanOut.map(List.of(1, 2), item -> {
+        throw new IllegalArgumentException("Failed");
+      }));
+    }
+  }
+}
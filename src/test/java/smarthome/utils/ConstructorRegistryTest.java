@@ -0,0 +1,108 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ConstructorRegistryTest {
+
+  /**
+   * Test that a known class is found and an unknown class is not.
+   */
+  @Test
+  void shouldFindClass_WhenClassExists() {
+    // Arrange
+    ConstructorRegistry registry = new ConstructorRegistry();
+
+    // Act
+    Optional<Class<?>> known = registry.findClass("java.lang.StringBuilder");
+    Optional<Class<?>> unknown = registry.findClass("smarthome.domain.sensor.UnknownSensor");
+
+    // Assert
+    assertEquals(Optional.of(StringBuilder.class), known);
+    assertTrue(unknown.isEmpty());
+  }
+
+  /**
+   * Test that the constructor matching the argument types is resolved once and then reused.
+   */
+  @Test
+  void shouldReuseConstructor_WhenArgumentTypesAreTheSame() {
+    // Arrange
+    ConstructorRegistry registry = new ConstructorRegistry();
+
+    // Act
+    Optional<Constructor<?>> first = registry.findConstructor(StringBuilder.class, "first");
+    Optional<Constructor<?>> second = registry.findConstructor(StringBuilder.class, "second");
+
+    // Assert
+    assertTrue(first.isPresent());
+    assertSame(first.get(), second.get());
+    assertTrue(first.get().getParameterTypes()[0].isAssignableFrom(String.class));
+    assertEquals(1, registry.size());
+  }
+
+  /**
+   * Test that no constructor is found when none accepts the arguments.
+   */
+  @Test
+  void shouldReturnEmpty_WhenNoConstructorAcceptsArguments() {
+    // Arrange
+    ConstructorRegistry registry = new ConstructorRegistry();
+
+    // Act
+    Optional<Constructor<?>> constructor =
+        registry.findConstructor(StringBuilder.class, "text", 1L);
+
+    // Assert
+    assertTrue(constructor.isEmpty());
+    assertEquals(0, registry.size());
+  }
+
+  /**
+   * Test that a class name that does not exist is not held by the registry.
+   */
+  @Test
+  void shouldNotHoldClass_WhenClassDoesNotExist() {
+    // Arrange
+    ConstructorRegistry registry = new ConstructorRegistry();
+
+    // Act
+    for (int i = 0; i < 100; i++) {
+      registry.findClass("smarthome.domain.sensor.UnknownSensor" + i);
+    }
+    registry.findClass("java.lang.StringBuilder");
+
+    // Assert
+    assertEquals(1, registry.size());
+  }
+
+  /**
+   * Test that a class name is required.
+   */
+  @Test
+  void shouldThrowException_WhenClassNameIsNull() {
+    // Arrange
+    ConstructorRegistry registry = new ConstructorRegistry();
+
+    // Act
+    Exception exception = assertThrows(IllegalArgumentException.class,
+        () -> registry.findClass(null));
+
+    // Assert
+    assertEquals("Class name is required", exception.getMessage());
+  }
+}
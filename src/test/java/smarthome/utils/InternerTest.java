@@ -0,0 +1,52 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class InternerTest {
+
+  /**
+   * Test that equal values are interned to the first instance.
+   */
+  @Test
+  void shouldReturnFirstInstance_WhenEqualValueIsInterned() {
+    // Arrange
+    Interner<String> interner = new Interner<>();
+    String first = new String("device1");
+    String second = new String("device1");
+
+    // Act
+    String internedFirst = interner.intern(first);
+    String internedSecond = interner.intern(second);
+
+    // Assert
+    assertNotSame(first, second);
+    assertSame(first, internedFirst);
+    assertSame(first, internedSecond);
+    assertEquals(1, interner.size());
+  }
+
+  /**
+   * Test that a null value is rejected.
+   */
+  @Test
+  void shouldThrowException_WhenValueIsNull() {
+    // Arrange
+    Interner<String> interner = new Interner<>();
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> interner.intern(null));
+  }
+}
@@ -0,0 +1,151 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.live_reading;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.ILogRepository;
+import smarthome.domain.repository.ILogRollupRepository;
+import smarthome.domain.repository.IPowerPeakRepository;
+import smarthome.domain.repository.ISensorRepository;
+import smarthome.domain.repository.ISensorTypeRepository;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILiveReadingService;
+import smarthome.service.ILogService;
+import smarthome.utils.LoadDefaultConfiguration;
+
+/**
+ * Calls the log service through its Spring proxy, with the transaction and the live reading
+ * aspect applied, to check the readings reach the live reading service.
+ */
+@SpringBootTest
+class LiveReadingFeedTest {
+
+  @Autowired
+  private ILogService logService;
+
+  @Autowired
+  private ILogFactory logFactory;
+
+  @MockBean
+  private ILiveReadingService liveReadingService;
+
+  @MockBean
+  private IDeviceRepository deviceRepository;
+
+  @MockBean
+  private ILogRepository logRepository;
+
+  @MockBean
+  private ILogRollupRepository logRollupRepository;
+
+  @MockBean
+  private IPowerPeakRepository powerPeakRepository;
+
+  @MockBean
+  private ISensorRepository sensorRepository;
+
+  @MockBean
+  private ISensorTypeRepository sensorTypeRepository;
+
+  @MockBean
+  private IUnitRepository unitRepository;
+
+  @MockBean
+  private LoadDefaultConfiguration loadDefaultConfiguration;
+
+  @BeforeEach
+  void setUp() {
+    when(deviceRepository.containsOfIdentity(any(DeviceID.class))).thenReturn(true);
+    when(sensorRepository.containsOfIdentity(any(SensorID.class))).thenReturn(true);
+    when(sensorTypeRepository.containsOfIdentity(any(SensorTypeID.class))).thenReturn(true);
+    when(unitRepository.containsOfIdentity(any(UnitID.class))).thenReturn(true);
+  }
+
+  private Log createLog(String value) {
+    return logFactory.createLog(new DeviceID("2"), new SensorID("1"),
+        LocalDateTime.of(2024, 1, 1, 10, 0), new ReadingValue(value),
+        new SensorTypeID("Temperature"), new UnitID("C"));
+  }
+
+  /**
+   * Test that a log added through the proxied service is published.
+   */
+  @Test
+  void shouldPublishLog_WhenLogIsAddedThroughProxiedService() {
+    // Arrange
+    Log log = createLog("20");
+    when(logRepository.save(any(Log.class))).thenReturn(log);
+
+    // Act
+    Log result = logService.addLog(log.getDeviceID(), log.getSensorID(), log.getTimeStamp(),
+        log.getReadingValue(), log.getDescription(), log.getUnit());
+
+    // Assert
+    assertTrue(AopUtils.isAopProxy(logService));
+    assertEquals(log, result);
+    verify(liveReadingService).publish(List.of(log));
+  }
+
+  /**
+   * Test that a batch of logs added through the proxied service is published.
+   */
+  @Test
+  void shouldPublishLogs_WhenBatchIsAddedThroughProxiedService() {
+    // Arrange
+    List<Log> logs = List.of(createLog("20"), createLog("21"));
+    when(logRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    List<Log> result = logService.addLogs(logs);
+
+    // Assert
+    assertEquals(logs, result);
+    verify(liveReadingService).publish(logs);
+  }
+
+  /**
+   * Test that nothing is published when saving the batch fails.
+   */
+  @Test
+  void shouldNotPublishLogs_WhenSavingBatchFails() {
+    // Arrange
+    List<Log> logs = List.of(createLog("20"));
+    when(logRepository.saveAll(anyList()))
+        .thenThrow(new DataIntegrityViolationException("Duplicate log"));
+
+    // Act + Assert
+    assertThrows(DataIntegrityViolationException.class, () -> logService.addLogs(logs));
+    verify(liveReadingService, never()).publish(anyList());
+  }
+}
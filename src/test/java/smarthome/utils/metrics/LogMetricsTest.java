@@ -0,0 +1,100 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import smarthome.domain.log.ILogFactory;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ReadingValue;
+import smarthome.domain.value_object.SensorID;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.UnitID;
+import smarthome.persistence.mem.LogRepository;
+import smarthome.service.ILogService;
+
+class LogMetricsTest {
+
+  private final ILogFactory logFactory = new LogFactoryImpl();
+
+  private Log createLog(int minute) {
+    return logFactory.createLog(new DeviceID("device1"), new SensorID("sensor1"),
+        LocalDateTime.of(2024, 1, 1, 10, minute), new ReadingValue("20"),
+        new SensorTypeID("Temperature"), new UnitID("Celsius"));
+  }
+
+  /**
+   * Test that the logs added one by one and in batches are counted.
+   */
+  @Test
+  void shouldCountLogsIngested_WhenLogsAreAdded() {
+    // Arrange
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    Log log = createLog(1);
+    List<Log> batch = List.of(createLog(2), createLog(3), createLog(4));
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLog(any(), any(), any(), any(), any(), any())).thenReturn(log);
+    when(logService.addLogs(batch)).thenReturn(batch);
+
+    AspectJProxyFactory factory = new AspectJProxyFactory(logService);
+    factory.addAspect(new LogMetrics(meterRegistry, new LogRepository()));
+    ILogService instrumented = factory.getProxy();
+
+    // Act
+    instrumented.addLog(log.getDeviceID(), log.getSensorID(), log.getTimeStamp(),
+        log.getReadingValue(), log.getDescription(), log.getUnit());
+    instrumented.addLogs(batch);
+
+    // Assert
+    assertEquals(4, meterRegistry.get(LogMetrics.LOGS_INGESTED).counter().count());
+  }
+
+  /**
+   * Test that the gauge reports the logs counted at startup plus the logs added since, without
+   * counting the repository again when it is read.
+   */
+  @Test
+  void shouldReportLogsStored_WhenGaugeIsRead() {
+    // Arrange
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    LogRepository logRepository = spy(new LogRepository());
+    logRepository.saveAll(List.of(createLog(1), createLog(2)));
+    List<Log> batch = List.of(createLog(3), createLog(4), createLog(5));
+    ILogService logService = mock(ILogService.class);
+    when(logService.addLogs(batch)).thenReturn(batch);
+
+    LogMetrics logMetrics = new LogMetrics(meterRegistry, logRepository);
+    AspectJProxyFactory factory = new AspectJProxyFactory(logService);
+    factory.addAspect(logMetrics);
+    ILogService instrumented = factory.getProxy();
+
+    // Act
+    logMetrics.countLogsStored();
+    instrumented.addLogs(batch);
+    meterRegistry.get(LogMetrics.LOGS_STORED).gauge().value();
+    double logsStored = meterRegistry.get(LogMetrics.LOGS_STORED).gauge().value();
+
+    // Assert
+    assertEquals(5, logsStored);
+    verify(logRepository, times(1)).count();
+  }
+}
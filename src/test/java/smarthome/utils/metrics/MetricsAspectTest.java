@@ -0,0 +1,89 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.domain.unit.UnitFactoryImpl;
+import smarthome.persistence.mem.UnitRepository;
+import smarthome.service.IUnitService;
+import smarthome.service.UnitServiceImpl;
+
+class MetricsAspectTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private <T> T instrument(Object target) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.addAspect(new MetricsAspect(meterRegistry));
+    return factory.getProxy();
+  }
+
+  /**
+   * Test that a service call is recorded in the service timer.
+   */
+  @Test
+  void shouldRecordServiceCall_WhenServiceMethodIsCalled() {
+    // Arrange
+    IUnitService unitService = instrument(
+        new UnitServiceImpl(new UnitRepository(), new UnitFactoryImpl()));
+
+    // Act
+    unitService.getAllunitTypes();
+    unitService.getAllunitTypes();
+
+    // Assert
+    long count = meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+        .tags("class", "UnitServiceImpl", "method", "getAllunitTypes", "exception", "none")
+        .timer().count();
+    assertEquals(2, count);
+  }
+
+  /**
+   * Test that a failed service call is recorded with the exception thrown.
+   */
+  @Test
+  void shouldRecordException_WhenServiceCallFails() {
+    // Arrange
+    IUnitService unitService = instrument(
+        new UnitServiceImpl(new UnitRepository(), new UnitFactoryImpl()));
+
+    // Act
+    assertThrows(IllegalArgumentException.class, () -> unitService.addunitType(null, null));
+
+    // Assert
+    long count = meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+        .tags("method", "addunitType", "exception", "IllegalArgumentException")
+        .timer().count();
+    assertEquals(1, count);
+  }
+
+  /**
+   * Test that a repository call is recorded in the repository timer.
+   */
+  @Test
+  void shouldRecordRepositoryCall_WhenRepositoryMethodIsCalled() {
+    // Arrange
+    IUnitRepository unitRepository = instrument(new UnitRepository());
+
+    // Act
+    unitRepository.findAll();
+
+    // Assert
+    long count = meterRegistry.get(MetricsAspect.REPOSITORY_TIMER)
+        .tags("class", "UnitRepository", "method", "findAll", "exception", "none")
+        .timer().count();
+    assertEquals(1, count);
+  }
+}
@@ -0,0 +1,87 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.reference_cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  /**
+   * Test that the least recently used values are evicted when the weight is exceeded.
+   */
+  @Test
+  void shouldEvictLeastRecentlyUsed_WhenMaxWeightIsExceeded() {
+    // Arrange
+    BoundedCache<String, String> cache = new BoundedCache<>(3);
+    cache.put("a", "A", 1, cache.generation());
+    cache.put("b", "B", 1, cache.generation());
+    cache.get("a");
+
+    // Act
+    cache.put("c", "C", 2, cache.generation());
+
+    // Assert
+    assertEquals("A", cache.get("a"));
+    assertNull(cache.get("b"));
+    assertEquals("C", cache.get("c"));
+    assertEquals(3, cache.weight());
+    assertEquals(1, cache.evictions());
+  }
+
+  /**
+   * Test that a value computed before an invalidation is not cached.
+   */
+  @Test
+  void shouldNotCacheValue_WhenInvalidatedSinceItWasComputed() {
+    // Arrange
+    BoundedCache<String, String> cache = new BoundedCache<>(10);
+    long generation = cache.generation();
+    cache.invalidate();
+
+    // Act
+    cache.put("a", "A", 1, generation);
+
+    // Assert
+    assertNull(cache.get("a"));
+  }
+
+  /**
+   * Test that a value heavier than the whole cache is not cached.
+   */
+  @Test
+  void shouldNotCacheValue_WhenHeavierThanMaxWeight() {
+    // Arrange
+    BoundedCache<String, String> cache = new BoundedCache<>(2);
+    cache.put("a", "A", 1, cache.generation());
+
+    // Act
+    cache.put("b", "B", 3, cache.generation());
+
+    // Assert
+    assertNull(cache.get("b"));
+    assertEquals("A", cache.get("a"));
+  }
+
+  /**
+   * Test that the maximum weight must be positive.
+   */
+  @Test
+  void shouldThrowException_WhenMaxWeightIsNotPositive() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new BoundedCache<String, String>(0));
+
+    // Assert
+    assertEquals("Maximum weight must be positive", exception.getMessage());
+  }
+}
@@ -0,0 +1,176 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.reference_cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import smarthome.domain.device.Device;
+import smarthome.domain.device.DeviceFactoryImpl;
+import smarthome.domain.repository.IDeviceRepository;
+import smarthome.domain.repository.IUnitRepository;
+import smarthome.domain.unit.Unit;
+import smarthome.domain.unit.UnitFactoryImpl;
+import smarthome.domain.value_object.DeviceName;
+import smarthome.domain.value_object.DeviceTypeID;
+import smarthome.domain.value_object.RoomID;
+import smarthome.domain.value_object.UnitDescription;
+import smarthome.domain.value_object.UnitID;
+import smarthome.domain.value_object.UnitSymbol;
+import smarthome.persistence.mem.DeviceRepository;
+import smarthome.persistence.mem.UnitRepository;
+
+class ReferenceDataCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private IUnitRepository cached(long maxSize) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(new UnitRepository());
+    factory.addAspect(new ReferenceDataCache(meterRegistry, maxSize));
+    return factory.getProxy();
+  }
+
+  private IDeviceRepository cachedDevices() {
+    AspectJProxyFactory factory = new AspectJProxyFactory(new DeviceRepository());
+    factory.addAspect(new ReferenceDataCache(meterRegistry, 100));
+    return factory.getProxy();
+  }
+
+  private Device createDevice(String deviceTypeID) {
+    return new DeviceFactoryImpl().createDevice(new RoomID("kitchen"), new DeviceName("Light"),
+        new DeviceTypeID(deviceTypeID));
+  }
+
+  private Unit createUnit(String id) {
+    return new UnitFactoryImpl().createUnit(new UnitDescription("Celsius"), new UnitSymbol("C"),
+        new UnitID(id));
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get(ReferenceDataCache.REQUESTS)
+        .tags("repository", "UnitRepository", "result", result).counter().count();
+  }
+
+  /**
+   * Test that a repeated read is answered from the cache.
+   */
+  @Test
+  void shouldAnswerFromCache_WhenReadIsRepeated() {
+    // Arrange
+    IUnitRepository unitRepository = cached(100);
+    unitRepository.save(createUnit("C"));
+
+    // Act
+    unitRepository.containsOfIdentity(new UnitID("C"));
+    boolean result = unitRepository.containsOfIdentity(new UnitID("C"));
+
+    // Assert
+    assertTrue(result);
+    assertEquals(1, requests("miss"));
+    assertEquals(1, requests("hit"));
+  }
+
+  /**
+   * Test that a write invalidates the cached reads.
+   */
+  @Test
+  void shouldReadAgain_WhenRepositoryIsWritten() {
+    // Arrange
+    IUnitRepository unitRepository = cached(100);
+    assertFalse(unitRepository.containsOfIdentity(new UnitID("F")));
+    assertEquals(0, unitRepository.findAll().size());
+
+    // Act
+    unitRepository.save(createUnit("F"));
+
+    // Assert
+    assertTrue(unitRepository.containsOfIdentity(new UnitID("F")));
+    assertEquals(1, unitRepository.findAll().size());
+    assertEquals(0, requests("hit"));
+  }
+
+  /**
+   * Test that the lists given to the callers are copies of the cached ones.
+   */
+  @Test
+  void shouldNotChangeCachedList_WhenCallerChangesIt() {
+    // Arrange
+    IUnitRepository unitRepository = cached(100);
+    unitRepository.save(createUnit("C"));
+    List<Unit> units = unitRepository.findAll();
+
+    // Act
+    units.clear();
+
+    // Assert
+    assertEquals(1, unitRepository.findAll().size());
+  }
+
+  /**
+   * Test that the cache evicts results when it holds more entities than allowed.
+   */
+  @Test
+  void shouldEvictResults_WhenMaxSizeIsExceeded() {
+    // Arrange
+    IUnitRepository unitRepository = cached(2);
+
+    // Act
+    unitRepository.containsOfIdentity(new UnitID("A"));
+    unitRepository.containsOfIdentity(new UnitID("B"));
+    unitRepository.containsOfIdentity(new UnitID("C"));
+
+    // Assert
+    assertEquals(2, meterRegistry.get(ReferenceDataCache.SIZE).gauge().value());
+    assertEquals(1, meterRegistry.get(ReferenceDataCache.EVICTIONS).functionCounter().count());
+  }
+
+  /**
+   * Test that the devices grouped by device type are cached until a device is saved.
+   */
+  @Test
+  void shouldCacheGroupedDevices_UntilDeviceIsSaved() {
+    // Arrange
+    IDeviceRepository deviceRepository = cachedDevices();
+    Device device = deviceRepository.save(createDevice("Bulb"));
+    deviceRepository.findAllGroupedByDeviceTypeID();
+    Map<DeviceTypeID, List<Device>> cached = deviceRepository.findAllGroupedByDeviceTypeID();
+
+    // Act
+    deviceRepository.save(createDevice("Fan"));
+    Map<DeviceTypeID, List<Device>> result = deviceRepository.findAllGroupedByDeviceTypeID();
+
+    // Assert
+    assertEquals(Map.of(new DeviceTypeID("Bulb"), List.of(device)), cached);
+    assertEquals(2, result.size());
+    assertEquals(1, meterRegistry.get(ReferenceDataCache.REQUESTS)
+        .tags("repository", "DeviceRepository", "result", "hit").counter().count());
+  }
+
+  /**
+   * Test that the other reads of the devices are not cached.
+   */
+  @Test
+  void shouldNotCacheOtherDeviceReads() {
+    // Arrange
+    IDeviceRepository deviceRepository = cachedDevices();
+
+    // Act
+    deviceRepository.findAll();
+    deviceRepository.findAll();
+
+    // Assert
+    assertTrue(meterRegistry.find(ReferenceDataCache.REQUESTS).counters().isEmpty());
+  }
+}
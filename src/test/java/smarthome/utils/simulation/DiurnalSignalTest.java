@@ -0,0 +1,73 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class DiurnalSignalTest {
+
+  private final LocalDateTime day = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+  /**
+   * Test that without noise the signal is highest at the peak hour and lowest twelve hours later.
+   */
+  @Test
+  void shouldPeakAtPeakHour_WhenThereIsNoNoise() {
+    // Arrange
+    DiurnalSignal signal = new DiurnalSignal(-50, 50, 15, 6, 15, 0);
+    SplittableRandom random = new SplittableRandom(1);
+
+    // Act
+    double peak = signal.next(day.withHour(15), random);
+    double trough = signal.next(day.withHour(3), random);
+    double morning = signal.next(day.withHour(9), random);
+
+    // Assert
+    assertEquals(21, peak, 1e-9);
+    assertEquals(9, trough, 1e-9);
+    assertEquals(15, morning, 1e-9);
+  }
+
+  /**
+   * Test that the values stay within the bounds, whatever the noise.
+   */
+  @Test
+  void shouldKeepValuesWithinBounds() {
+    // Arrange
+    DiurnalSignal signal = new DiurnalSignal(0, 100, 90, 20, 4, 10);
+    SplittableRandom random = new SplittableRandom(2);
+
+    // Act
+    for (int minute = 0; minute < 24 * 60; minute++) {
+      double value = signal.next(day.plusMinutes(minute), random);
+
+      // Assert
+      assertTrue(value >= 0 && value <= 100);
+    }
+  }
+
+  /**
+   * Test that the bounds must be in order.
+   */
+  @Test
+  void shouldThrowException_WhenBoundsAreInverted() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new DiurnalSignal(10, 0, 5, 1, 12, 0));
+
+    // Assert
+    assertEquals("Lower bond should be less than upper bond", exception.getMessage());
+  }
+}
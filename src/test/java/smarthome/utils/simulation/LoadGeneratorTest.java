@@ -0,0 +1,121 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smarthome.domain.log.Log;
+import smarthome.domain.log.LogFactoryImpl;
+import smarthome.domain.sensor.ISensor;
+import smarthome.domain.sensor.temperature_sensor.TemperatureSensor;
+import smarthome.domain.sensor_type.SensorType;
+import smarthome.domain.value_object.DeviceID;
+import smarthome.domain.value_object.ModelPath;
+import smarthome.domain.value_object.SensorName;
+import smarthome.domain.value_object.SensorTypeID;
+import smarthome.domain.value_object.TypeDescription;
+import smarthome.domain.value_object.UnitID;
+import smarthome.service.ILogService;
+import smarthome.service.ISensorService;
+import smarthome.service.ISensorTypeService;
+
+class LoadGeneratorTest {
+
+  private ILogService logService;
+  private ISensorService sensorService;
+  private ISensorTypeService sensorTypeService;
+  private final List<Log> logged = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  void setUp() {
+    logService = mock(ILogService.class);
+    sensorService = mock(ISensorService.class);
+    sensorTypeService = mock(ISensorTypeService.class);
+    when(logService.addLogs(anyList())).thenAnswer(invocation -> {
+      List<Log> logs = invocation.getArgument(0);
+      logged.addAll(logs);
+      return logs;
+    });
+  }
+
+  private LoadGenerator createLoadGenerator(int readingsPerSecond, int threads, int batchSize,
+      long durationSeconds) {
+    return new LoadGenerator(logService, sensorService, sensorTypeService, new LogFactoryImpl(),
+        readingsPerSecond, threads, batchSize, durationSeconds);
+  }
+
+  /**
+   * Test that the readings of the sensors are logged in batches at the configured rate.
+   */
+  @Test
+  void shouldLogReadingsAtConfiguredRate() throws Exception {
+    // Arrange
+    SensorTypeID temperatureID = new SensorTypeID("Temperature");
+    ISensor sensor = new TemperatureSensor(new DeviceID("device1"),
+        new ModelPath("smarthome.domain.sensor.temperature_sensor.TemperatureSensor"),
+        temperatureID, new SensorName("Thermometer"));
+    when(sensorService.getAllSensors()).thenReturn(List.of(sensor));
+    when(sensorTypeService.getSensorTypeByID(temperatureID)).thenReturn(
+        Optional.of(new SensorType(new TypeDescription("Temperature"), new UnitID("C"))));
+    LoadGenerator loadGenerator = createLoadGenerator(200, 2, 10, 1);
+
+    // Act
+    long result = loadGenerator.generate();
+
+    // Assert
+    assertEquals(200, result);
+    assertEquals(200, logged.size());
+    assertEquals(sensor.getID(), logged.get(0).getSensorID());
+    assertEquals(new UnitID("C"), logged.get(0).getUnit());
+  }
+
+  /**
+   * Test that no load is generated when there are no sensors.
+   */
+  @Test
+  void shouldNotLogReadings_WhenThereAreNoSensors() throws Exception {
+    // Arrange
+    when(sensorService.getAllSensors()).thenReturn(List.of());
+    LoadGenerator loadGenerator = createLoadGenerator(200, 2, 10, 1);
+
+    // Act
+    long result = loadGenerator.generate();
+
+    // Assert
+    assertEquals(0, result);
+    verify(logService, never()).addLogs(any());
+  }
+
+  /**
+   * Test that the rate must be positive.
+   */
+  @Test
+  void shouldThrowException_WhenRateIsNotPositive() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> createLoadGenerator(0, 2, 10, 1));
+
+    // Assert
+    assertEquals("Readings per second, threads and batch size must be positive",
+        exception.getMessage());
+  }
+}
@@ -0,0 +1,74 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class RandomWalkSignalTest {
+
+  private final LocalDateTime time = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  /**
+   * Test that successive values differ by small steps and stay within the bounds.
+   */
+  @Test
+  void shouldMoveBySmallSteps_WithinBounds() {
+    // Arrange
+    RandomWalkSignal signal = new RandomWalkSignal(-70, 70, 0.5, false);
+    SplittableRandom random = new SplittableRandom(3);
+    double previous = signal.next(time, random);
+
+    for (int i = 0; i < 10_000; i++) {
+      // Act
+      double value = signal.next(time, random);
+
+      // Assert
+      assertTrue(value >= -70 && value <= 70);
+      assertTrue(Math.abs(value - previous) < 5);
+      previous = value;
+    }
+  }
+
+  /**
+   * Test that a circular signal wraps around its bounds instead of being reflected.
+   */
+  @Test
+  void shouldWrapAround_WhenSignalIsCircular() {
+    // Arrange
+    RandomWalkSignal signal = new RandomWalkSignal(0, 2 * Math.PI, 3, true);
+    SplittableRandom random = new SplittableRandom(4);
+
+    for (int i = 0; i < 10_000; i++) {
+      // Act
+      double value = signal.next(time, random);
+
+      // Assert
+      assertTrue(value >= 0 && value <= 2 * Math.PI);
+    }
+  }
+
+  /**
+   * Test that the bounds must be in order.
+   */
+  @Test
+  void shouldThrowException_WhenBoundsAreInverted() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new RandomWalkSignal(1, 1, 0.5, false));
+
+    // Assert
+    assertEquals("Lower bond should be less than upper bond", exception.getMessage());
+  }
+}
@@ -0,0 +1,110 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class SimulationEngineTest {
+
+  private final LocalDateTime time = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  /**
+   * Test that each source of a signal keeps a model of its own.
+   */
+  @Test
+  void shouldKeepModelPerSource() {
+    // Arrange
+    SimulationEngine engine = new SimulationEngine();
+    engine.register("Counter", () -> new ISignalModel() {
+      private int readings;
+
+      @Override
+      public double next(LocalDateTime time, RandomGenerator random) {
+        return ++readings;
+      }
+    });
+    engine.next("Counter", "sensor1", time);
+    engine.next("Counter", "sensor1", time);
+
+    // Act
+    double first = engine.next("Counter", "sensor1", time);
+    double second = engine.next("Counter", "sensor2", time);
+
+    // Assert
+    assertEquals(3, first);
+    assertEquals(1, second);
+  }
+
+  /**
+   * Test that registering a signal again gives its sources a new model.
+   */
+  @Test
+  void shouldReplaceModels_WhenSignalIsRegisteredAgain() {
+    // Arrange
+    SimulationEngine engine = new SimulationEngine();
+    engine.register("Level", () -> new StepSignal(0, 1, 0));
+    double before = engine.next("Level", "sensor1", time);
+
+    // Act
+    engine.register("Level", () -> new StepSignal(10, 11, 0));
+    double after = engine.next("Level", "sensor1", time);
+
+    // Assert
+    assertTrue(before < 1);
+    assertTrue(after >= 10);
+    assertNotEquals(before, after);
+  }
+
+  /**
+   * Test that the default signals give values within the ranges of the sensors.
+   */
+  @Test
+  void shouldGiveValuesWithinSensorRanges_WhenEngineIsDefault() {
+    // Arrange
+    SimulationEngine engine = SimulationEngine.createDefault();
+
+    for (int minute = 0; minute < 24 * 60; minute++) {
+      // Act
+      LocalDateTime now = time.plusMinutes(minute);
+      double temperature = engine.next(SimulationEngine.TEMPERATURE, "sensor", now);
+      double humidity = engine.next(SimulationEngine.HUMIDITY, "sensor", now);
+      double dewPoint = engine.next(SimulationEngine.DEW_POINT, "sensor", now);
+      double direction = engine.next(SimulationEngine.WIND_DIRECTION, "sensor", now);
+
+      // Assert
+      assertTrue(temperature >= -50 && temperature <= 50);
+      assertTrue(humidity >= 0 && humidity <= 100);
+      assertTrue(dewPoint >= -70 && dewPoint <= 70);
+      assertTrue(direction >= 0 && direction <= 2 * Math.PI);
+    }
+  }
+
+  /**
+   * Test that a signal without model cannot be read.
+   */
+  @Test
+  void shouldThrowException_WhenSignalHasNoModel() {
+    // Arrange
+    SimulationEngine engine = new SimulationEngine();
+
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> engine.next("Pressure", "sensor1", time));
+
+    // Assert
+    assertEquals("No model for signal Pressure", exception.getMessage());
+  }
+}
@@ -0,0 +1,71 @@
+/* 
+ * School Project, educational software development.
+ * This school project is open source and does not have a specific license.
+ * It is intended for educational purposes only and should not be trusted for commercial purposes.
+ * First see if it works.  Copyright (C) 2024
+ * For any inquiries or further information, contact amm@isep.ipp.pt.
+ */ 
+
+package smarthome.utils.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class StepSignalTest {
+
+  private final LocalDateTime time = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+  /**
+   * Test that the level is held when it never changes.
+   */
+  @Test
+  void shouldHoldLevel_WhenChangeProbabilityIsZero() {
+    // Arrange
+    StepSignal signal = new StepSignal(0, 100, 0);
+    SplittableRandom random = new SplittableRandom(5);
+    double level = signal.next(time, random);
+
+    // Act
+    double value = signal.next(time.plusMinutes(1), random);
+
+    // Assert
+    assertTrue(level >= 0 && level < 100);
+    assertEquals(level, value);
+  }
+
+  /**
+   * Test that the level changes at each reading when it always changes.
+   */
+  @Test
+  void shouldChangeLevel_WhenChangeProbabilityIsOne() {
+    // Arrange
+    StepSignal signal = new StepSignal(0, 100, 1);
+    SplittableRandom random = new SplittableRandom(6);
+    double level = signal.next(time, random);
+
+    // Act
+    double value = signal.next(time.plusMinutes(1), random);
+
+    // Assert
+    assertTrue(value >= 0 && value < 100);
+    assertTrue(level != value);
+  }
+
+  /**
+   * Test that the change probability must be between 0 and 1.
+   */
+  @Test
+  void shouldThrowException_WhenChangeProbabilityIsAboveOne() {
+    // Act
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new StepSignal(0, 100, 1.5));
+
+    // Assert
+    assertEquals("Change probability must be between 0 and 1", exception.getMessage());
+  }
+}